@@ -40,6 +40,33 @@ tasks.distTar {
 
 val main = sourceSets.getByName("main")
 
+// Launcher snippet that enables class data sharing archive of Allure classes on Java 19 or later.
+// The archive is created by the JVM on the first run, since a prebuilt one is only accepted
+// by the same Java build and, before Java 19, from the same installation path. ALLURE_CDS_ARCHIVE
+// overrides the archive location and ALLURE_DISABLE_CDS turns it off.
+val cdsLauncherSnippet = """
+# Use class data sharing archive created on the first run, requires Java 19 or later
+if [ -z "${'$'}ALLURE_DISABLE_CDS" ] ; then
+    if [ -n "${'$'}JAVA_HOME" ] ; then
+        JAVA_RELEASE_FILE=${'$'}JAVA_HOME/release
+    else
+        JAVA_RELEASE_FILE=${'$'}( dirname "${'$'}( dirname "${'$'}( readlink -f "${'$'}( command -v java )" 2>/dev/null )" )" )/release
+    fi
+    JAVA_FEATURE_VERSION=${'$'}( sed -n 's/^JAVA_VERSION="\([0-9]*\).*/\1/p' "${'$'}JAVA_RELEASE_FILE" 2>/dev/null )
+    if [ "${'$'}{JAVA_FEATURE_VERSION:-0}" -ge 19 ] ; then
+        ALLURE_CDS_ARCHIVE=${'$'}{ALLURE_CDS_ARCHIVE:-${'$'}{XDG_CACHE_HOME:-${'$'}HOME/.cache}/allure/allure-${project.version}-java${'$'}JAVA_FEATURE_VERSION.jsa}
+        # The JVM keeps rejecting the archive once jars have changed, so remove it to create a new one
+        if [ -f "${'$'}ALLURE_CDS_ARCHIVE" ] && [ -n "${'$'}( find "${'$'}APP_HOME/lib" -name '*.jar' -newer "${'$'}ALLURE_CDS_ARCHIVE" 2>/dev/null )" ] ; then
+            rm -f "${'$'}ALLURE_CDS_ARCHIVE"
+        fi
+        if mkdir -p "${'$'}( dirname "${'$'}ALLURE_CDS_ARCHIVE" )" 2>/dev/null ; then
+            DEFAULT_JVM_OPTS="${'$'}DEFAULT_JVM_OPTS \"-XX:SharedArchiveFile=${'$'}ALLURE_CDS_ARCHIVE\" \"-XX:+AutoCreateSharedArchive\" \"-Xlog:cds=off\" \"-Xlog:cds+dynamic=off\""
+        fi
+    fi
+fi
+
+""".trimStart()
+
 val startScripts by tasks.existing(CreateStartScripts::class) {
     applicationName = "allure"
     classpath = files("src/lib/*", "src/lib/config")
@@ -47,10 +74,68 @@ val startScripts by tasks.existing(CreateStartScripts::class) {
         unixScript.writeText(unixScript.readText()
                 .replace(Regex("(?m)^APP_HOME="), "export APP_HOME=")
                 .replace("\$(uname)\" = \"Darwin", "")
+                .replace(
+                        "# Collect all arguments for the java command",
+                        cdsLauncherSnippet + "# Collect all arguments for the java command"
+                )
         )
     }
 }
 
+val cdsJavaLauncher = javaToolchains.launcherFor {
+    languageVersion.set(JavaLanguageVersion.of(21))
+}
+val cdsTrainingResults = rootProject.file("allure-generator/test-data/allure2")
+
+val measureCdsStartup by tasks.creating {
+    group = "Verification"
+    description = "Measures generation time over test data with and without class data sharing archive, " +
+            "it is not a part of build and is run by CI"
+    dependsOn(tasks.installDist)
+    onlyIf { !System.getProperty("os.name").lowercase().contains("windows") }
+    inputs.dir(cdsTrainingResults)
+    val report = layout.buildDirectory.file("reports/cds/startup.txt")
+    outputs.file(report)
+    outputs.upToDateWhen { false }
+
+    doLast {
+        val runs = 5
+        val javaHome = cdsJavaLauncher.get().metadata.installationPath.asFile.absolutePath
+        val launcher = layout.buildDirectory.file("install/${project.name}/bin/allure").get().asFile.absolutePath
+        val archive = layout.buildDirectory.file("cds/allure.jsa").get().asFile
+        archive.delete()
+        fun generate(disableCds: Boolean): Long {
+            val start = System.nanoTime()
+            exec {
+                executable = launcher
+                args("generate", cdsTrainingResults.absolutePath, "--clean",
+                        "-o", layout.buildDirectory.dir("cds/measure-report").get().asFile.absolutePath)
+                environment("JAVA_HOME", javaHome)
+                environment("ALLURE_CDS_ARCHIVE", archive.absolutePath)
+                if (disableCds) {
+                    environment("ALLURE_DISABLE_CDS", "true")
+                }
+            }
+            return (System.nanoTime() - start) / 1_000_000
+        }
+        fun measure(disableCds: Boolean): Long = (1..runs).map { generate(disableCds) }.sorted()[runs / 2]
+        val withoutArchive = measure(true)
+        val firstRun = generate(false)
+        val withArchive = measure(false)
+        if (!archive.isFile) {
+            throw GradleException("Class data sharing archive $archive was not created by the first run")
+        }
+        val summary = "Generation over test data, median of $runs runs: " +
+                "$withoutArchive ms without CDS archive, $withArchive ms with CDS archive " +
+                "($firstRun ms for the first run that creates the archive)"
+        report.get().asFile.apply {
+            parentFile.mkdirs()
+            writeText(summary + "\n")
+        }
+        logger.lifecycle(summary)
+    }
+}
+
 tasks.build {
     dependsOn(tasks.installDist)
 }
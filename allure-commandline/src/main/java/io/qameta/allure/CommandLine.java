@@ -18,11 +18,16 @@ package io.qameta.allure;
 import ch.qos.logback.classic.Level;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import io.qameta.allure.command.DaemonCommand;
 import io.qameta.allure.command.GenerateCommand;
 import io.qameta.allure.command.MainCommand;
+import io.qameta.allure.command.MergeCommand;
 import io.qameta.allure.command.OpenCommand;
 import io.qameta.allure.command.PluginCommand;
 import io.qameta.allure.command.ServeCommand;
+import io.qameta.allure.daemon.DaemonClient;
+import io.qameta.allure.daemon.DaemonCommands;
+import io.qameta.allure.daemon.ReportDaemon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +36,7 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.slf4j.Logger.ROOT_LOGGER_NAME;
 
@@ -50,13 +56,18 @@ public class CommandLine {
     protected static final String GENERATE_COMMAND = "generate";
     protected static final String OPEN_COMMAND = "open";
     protected static final String PLUGIN_COMMAND = "plugin";
+    protected static final String MERGE_COMMAND = "merge";
+    protected static final String DAEMON_COMMAND = "daemon";
 
     private final MainCommand mainCommand;
     private final ServeCommand serveCommand;
     private final GenerateCommand generateCommand;
     private final OpenCommand openCommand;
     private final PluginCommand pluginCommand;
+    private final MergeCommand mergeCommand;
+    private final DaemonCommand daemonCommand;
     private final Commands commands;
+    private final Path workingDirectory;
     private final JCommander commander;
 
     public CommandLine(final Path allureHome) {
@@ -64,21 +75,42 @@ public class CommandLine {
     }
 
     public CommandLine(final Commands commands) {
+        this(commands, Paths.get(""));
+    }
+
+    /**
+     * Creates command line that resolves relative paths of commands against
+     * given working directory.
+     *
+     * @param commands         the commands.
+     * @param workingDirectory the working directory.
+     * @since 2.33
+     */
+    public CommandLine(final Commands commands, final Path workingDirectory) {
         this.commands = commands;
+        this.workingDirectory = workingDirectory;
         this.mainCommand = new MainCommand();
         this.serveCommand = new ServeCommand();
         this.generateCommand = new GenerateCommand();
         this.openCommand = new OpenCommand();
         this.pluginCommand = new PluginCommand();
+        this.mergeCommand = new MergeCommand();
+        this.daemonCommand = new DaemonCommand();
         this.commander = new JCommander(mainCommand);
         this.commander.addCommand(GENERATE_COMMAND, generateCommand);
         this.commander.addCommand(SERVE_COMMAND, serveCommand);
         this.commander.addCommand(OPEN_COMMAND, openCommand);
         this.commander.addCommand(PLUGIN_COMMAND, pluginCommand);
+        this.commander.addCommand(MERGE_COMMAND, mergeCommand);
+        this.commander.addCommand(DAEMON_COMMAND, daemonCommand);
         this.commander.setProgramName(PROGRAM_NAME);
     }
 
     public static void main(final String[] args) throws InterruptedException {
+        final Optional<ExitCode> submitted = DaemonClient.submit(args);
+        if (submitted.isPresent()) {
+            System.exit(submitted.get().getCode());
+        }
         final String allureHome = System.getenv("APP_HOME");
         final CommandLine commandLine;
         if (Objects.isNull(allureHome)) {
@@ -157,9 +189,32 @@ public class CommandLine {
         }
         switch (parsedCommand) {
             case GENERATE_COMMAND:
+                if (generateCommand.isPartial()) {
+                    return commands.generatePartial(
+                            resolvePath(generateCommand.getReportDirectory()),
+                            resolvePaths(generateCommand.getResultsOptions().getResultsDirectories()),
+                            generateCommand.isCleanReportDirectory(),
+                            generateCommand.getConfigOptions()
+                    );
+                }
+                if (Objects.nonNull(generateCommand.getCacheDirectory())) {
+                    if (generateCommand.isSingleFileMode()) {
+                        LOGGER.error("The --cache-dir option can not be used with --single-file");
+                        return ExitCode.ARGUMENT_PARSING_ERROR;
+                    }
+                    return commands.generateIncremental(
+                            resolvePath(generateCommand.getReportDirectory()),
+                            resolvePaths(generateCommand.getResultsOptions().getResultsDirectories()),
+                            resolvePath(generateCommand.getCacheDirectory()),
+                            generateCommand.isCleanReportDirectory(),
+                            generateCommand.getConfigOptions(),
+                            generateCommand.getReportNameOptions(),
+                            generateCommand.getReportLanguageOptions()
+                    );
+                }
                 return commands.generate(
-                        generateCommand.getReportDirectory(),
-                        generateCommand.getResultsOptions().getResultsDirectories(),
+                        resolvePath(generateCommand.getReportDirectory()),
+                        resolvePaths(generateCommand.getResultsOptions().getResultsDirectories()),
                         generateCommand.isCleanReportDirectory(),
                         generateCommand.isSingleFileMode(),
                         generateCommand.getConfigOptions(),
@@ -167,22 +222,24 @@ public class CommandLine {
                         generateCommand.getReportLanguageOptions()
                 );
             case SERVE_COMMAND:
-                return commands.serve(
-                        serveCommand.getResultsOptions().getResultsDirectories(),
-                        serveCommand.getHostPortOptions().getHost(),
-                        serveCommand.getHostPortOptions().getPort(),
-                        serveCommand.getConfigOptions(),
-                        serveCommand.getReportNameOptions(),
-                        serveCommand.getReportLanguageOptions()
-                );
+                return serve();
+            case DAEMON_COMMAND:
+                return daemon();
             case OPEN_COMMAND:
-                return commands.open(
-                        openCommand.getReportDirectories().get(0),
-                        openCommand.getHostPortOptions().getHost(),
-                        openCommand.getHostPortOptions().getPort()
-                );
+                return open();
             case PLUGIN_COMMAND:
                 return commands.listPlugins(pluginCommand.getConfigOptions());
+            case MERGE_COMMAND:
+                return commands.merge(
+                        resolvePath(mergeCommand.getReportDirectory()),
+                        resolvePaths(mergeCommand.getPartialFiles()),
+                        mergeCommand.isCleanReportDirectory(),
+                        mergeCommand.isSingleFileMode(),
+                        mergeCommand.isPartial(),
+                        mergeCommand.getConfigOptions(),
+                        mergeCommand.getReportNameOptions(),
+                        mergeCommand.getReportLanguageOptions()
+                );
             default:
                 printUsage(commander);
                 return ExitCode.ARGUMENT_PARSING_ERROR;
@@ -197,6 +254,71 @@ public class CommandLine {
         return mainCommand;
     }
 
+    private ExitCode daemon() {
+        final DaemonCommands daemonCommands = new DaemonCommands(commands.getAllureHome());
+        daemonCommands.warmUp();
+        return new ReportDaemon(
+                daemonCommands,
+                daemonCommand.getSocket(),
+                daemonCommand.getMaxJobs(),
+                daemonCommand.getMaxHeapUsage()
+        ).run();
+    }
+
+    private Path resolvePath(final Path path) {
+        return workingDirectory.resolve(path);
+    }
+
+    private List<Path> resolvePaths(final List<Path> paths) {
+        return paths.stream().map(this::resolvePath).collect(Collectors.toList());
+    }
+
+    private ExitCode open() {
+        if (Objects.nonNull(openCommand.getRoot())) {
+            return commands.openRoot(
+                    resolvePath(openCommand.getRoot()),
+                    openCommand.getHostPortOptions().getHost(),
+                    openCommand.getHostPortOptions().getPort()
+            );
+        }
+        return commands.open(
+                resolvePath(openCommand.getReportDirectories().get(0)),
+                openCommand.getHostPortOptions().getHost(),
+                openCommand.getHostPortOptions().getPort()
+        );
+    }
+
+    private ExitCode serve() {
+        if (serveCommand.isWatch()) {
+            return commands.serveWatch(
+                    resolvePaths(serveCommand.getResultsOptions().getResultsDirectories()),
+                    serveCommand.getHostPortOptions().getHost(),
+                    serveCommand.getHostPortOptions().getPort(),
+                    serveCommand.getConfigOptions(),
+                    serveCommand.getReportNameOptions(),
+                    serveCommand.getReportLanguageOptions()
+            );
+        }
+        if (serveCommand.isOnTheFly()) {
+            return commands.serveOnTheFly(
+                    resolvePaths(serveCommand.getResultsOptions().getResultsDirectories()),
+                    serveCommand.getHostPortOptions().getHost(),
+                    serveCommand.getHostPortOptions().getPort(),
+                    serveCommand.getConfigOptions(),
+                    serveCommand.getReportNameOptions(),
+                    serveCommand.getReportLanguageOptions()
+            );
+        }
+        return commands.serve(
+                resolvePaths(serveCommand.getResultsOptions().getResultsDirectories()),
+                serveCommand.getHostPortOptions().getHost(),
+                serveCommand.getHostPortOptions().getPort(),
+                serveCommand.getConfigOptions(),
+                serveCommand.getReportNameOptions(),
+                serveCommand.getReportLanguageOptions()
+        );
+    }
+
     private void printUsage(final JCommander commander) {
         commander.usage();
     }
@@ -32,4 +32,14 @@ public class CommandlineConfig implements Serializable {
     private static final long serialVersionUID = 1L;
 
     protected List<String> plugins = new ArrayList<>();
+
+    /**
+     * The parallelism of CPU-bound report generation work, if specified.
+     */
+    protected Integer cpuThreads;
+
+    /**
+     * The concurrency of I/O-bound report generation work, if specified.
+     */
+    protected Integer ioThreads;
 }
@@ -16,33 +16,54 @@
 package io.qameta.allure;
 
 import io.qameta.allure.config.ConfigLoader;
+import io.qameta.allure.context.ExecutorContext;
+import io.qameta.allure.context.GenerationMetricsContext;
+import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LazyReportStorage;
 import io.qameta.allure.core.Plugin;
+import io.qameta.allure.core.PrecompressContext;
 import io.qameta.allure.option.ConfigOptions;
 import io.qameta.allure.option.ReportLanguageOptions;
 import io.qameta.allure.option.ReportNameOptions;
 import io.qameta.allure.plugin.DefaultPluginLoader;
+import io.qameta.allure.profiling.GenerationMetrics;
+import io.qameta.allure.profiling.PhaseMetric;
+import io.qameta.allure.server.LazyReportStorageHandler;
+import io.qameta.allure.server.MultiReportHandler;
+import io.qameta.allure.server.ReportEventsHandler;
+import io.qameta.allure.server.ReportFileCache;
+import io.qameta.allure.server.ReportResourceHandler;
+import io.qameta.allure.server.ResultsWatcher;
 import org.apache.commons.io.FileUtils;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.AWTError;
 import java.awt.Desktop;
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 import static java.lang.String.format;
 
 /**
@@ -50,15 +71,30 @@ import static java.lang.String.format;
  *
  * @author charlie (Dmitry Baev).
  */
-@SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity", "ReturnCount"})
+@SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity", "ReturnCount", "PMD.TooManyMethods"})
 public class Commands {
 
+    /**
+     * The name of environment variable with the max number of web server threads.
+     */
+    public static final String ALLURE_SERVER_THREADS = "ALLURE_SERVER_THREADS";
+
+    /**
+     * The name of environment variable with the size of web server response buffer in bytes.
+     */
+    public static final String ALLURE_SERVER_OUTPUT_BUFFER_SIZE = "ALLURE_SERVER_OUTPUT_BUFFER_SIZE";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Commands.class);
     private static final String DIRECTORY_EXISTS_MESSAGE = "Allure: Target directory {} for the report is already"
                                                            + " in use, add a '--clean' option to overwrite";
+    private static final String METRICS_ROW_FORMAT = "%-10s %-60s %6s %10s %16s %18s %12s";
+    private static final long KILOBYTE = 1024;
+    private static final int DEFAULT_SERVER_THREADS = 200;
 
     private final Path allureHome;
 
+    private final DefaultPluginLoader pluginLoader = new DefaultPluginLoader();
+
     /**
      * Instantiates a new Commands.
      *
@@ -68,6 +104,10 @@ public class Commands {
         this.allureHome = allureHome;
     }
 
+    public Path getAllureHome() {
+        return allureHome;
+    }
+
     /**
      * Gets config.
      *
@@ -129,11 +169,7 @@ public class Commands {
                               final boolean clean,
                               final boolean singleFileMode,
                               final Configuration configuration) {
-        final boolean directoryExists = Files.exists(reportDirectory);
-        if (clean && directoryExists) {
-            FileUtils.deleteQuietly(reportDirectory.toFile());
-        } else if (directoryExists && isDirectoryNotEmpty(reportDirectory)) {
-            LOGGER.error(DIRECTORY_EXISTS_MESSAGE, reportDirectory.toAbsolutePath());
+        if (!prepareReportDirectory(reportDirectory, clean)) {
             return ExitCode.GENERIC_ERROR;
         }
         final ReportGenerator generator = new ReportGenerator(configuration);
@@ -143,6 +179,7 @@ public class Commands {
             generator.generate(reportDirectory, resultsDirectories);
         }
         LOGGER.info("Report successfully generated to {}", reportDirectory);
+        printMetrics(configuration);
         return ExitCode.NO_ERROR;
     }
 
@@ -171,6 +208,118 @@ public class Commands {
         return generate(reportDirectory, resultsDirectories, clean, singleFileMode, configuration);
     }
 
+    /**
+     * Generate report using generation cache exit code. The report directory is
+     * updated in place. When clean is specified, both the report directory and
+     * the cache directory are removed first, so the report is generated from scratch.
+     * Result uids are deterministic, so report files of unchanged results are not rewritten.
+     *
+     * @param reportDirectory       the report directory
+     * @param resultsDirectories    the results directories
+     * @param cacheDirectory        the cache directory
+     * @param clean                 the clean
+     * @param configOptions         the config options
+     * @param reportNameOptions     the report name options
+     * @param reportLanguageOptions the report language options
+     * @return the exit code
+     */
+    @SuppressWarnings("ParameterNumber")
+    public ExitCode generateIncremental(final Path reportDirectory,
+                                        final List<Path> resultsDirectories,
+                                        final Path cacheDirectory,
+                                        final boolean clean,
+                                        final ConfigOptions configOptions,
+                                        final ReportNameOptions reportNameOptions,
+                                        final ReportLanguageOptions reportLanguageOptions) {
+        if (clean) {
+            FileUtils.deleteQuietly(reportDirectory.toFile());
+            FileUtils.deleteQuietly(cacheDirectory.toFile());
+        }
+        final Configuration configuration = createReportConfiguration(
+                configOptions, reportNameOptions, reportLanguageOptions,
+                Collections.singletonList(new RandomUidContext(true))
+        );
+        new ReportGenerator(configuration).generateIncremental(reportDirectory, cacheDirectory, resultsDirectories);
+        LOGGER.info("Report successfully generated to {}", reportDirectory);
+        printMetrics(configuration);
+        return ExitCode.NO_ERROR;
+    }
+
+    /**
+     * Generate partial results exit code.
+     *
+     * @param partialFile        the partial file to write
+     * @param resultsDirectories the results directories
+     * @param clean              the clean
+     * @param configOptions      the config options
+     * @return the exit code
+     */
+    public ExitCode generatePartial(final Path partialFile,
+                                    final List<Path> resultsDirectories,
+                                    final boolean clean,
+                                    final ConfigOptions configOptions) {
+        if (!preparePartialFile(partialFile, clean)) {
+            return ExitCode.GENERIC_ERROR;
+        }
+        final Configuration configuration = createReportConfiguration(
+                configOptions, new ReportNameOptions(), new ReportLanguageOptions()
+        );
+        new ReportGenerator(configuration).generatePartial(partialFile, resultsDirectories);
+        LOGGER.info("Partial results successfully generated to {}", partialFile);
+        return ExitCode.NO_ERROR;
+    }
+
+    /**
+     * Merge exit code.
+     *
+     * @param reportDirectory       the report directory or the partial file
+     * @param partialFiles          the partial files to merge
+     * @param clean                 the clean
+     * @param singleFileMode        the single file mode
+     * @param partial               merge into partial file instead of the report
+     * @param configOptions         the config options
+     * @param reportNameOptions     the report name options
+     * @param reportLanguageOptions the report language options
+     * @return the exit code
+     */
+    @SuppressWarnings("ParameterNumber")
+    public ExitCode merge(final Path reportDirectory,
+                          final List<Path> partialFiles,
+                          final boolean clean,
+                          final boolean singleFileMode,
+                          final boolean partial,
+                          final ConfigOptions configOptions,
+                          final ReportNameOptions reportNameOptions,
+                          final ReportLanguageOptions reportLanguageOptions) {
+        if (partialFiles.isEmpty()) {
+            LOGGER.error("Allure: no partial results files are specified");
+            return ExitCode.ARGUMENT_PARSING_ERROR;
+        }
+        final Configuration configuration = createReportConfiguration(
+                configOptions, reportNameOptions, reportLanguageOptions
+        );
+        final ReportGenerator generator = new ReportGenerator(configuration);
+        if (partial) {
+            if (!preparePartialFile(reportDirectory, clean)) {
+                return ExitCode.GENERIC_ERROR;
+            }
+            generator.mergePartial(reportDirectory, partialFiles);
+            LOGGER.info("Partial results successfully merged to {}", reportDirectory);
+            return ExitCode.NO_ERROR;
+        }
+        if (!prepareReportDirectory(reportDirectory, clean)) {
+            return ExitCode.GENERIC_ERROR;
+        }
+        if (singleFileMode) {
+            generator.mergeSingleFile(reportDirectory, partialFiles);
+        } else {
+            generator.merge(reportDirectory, partialFiles);
+        }
+        LOGGER.info("Report successfully generated to {}", reportDirectory);
+        printMetrics(configuration);
+        return ExitCode.NO_ERROR;
+    }
+
     /**
      * Serve exit code.
      *
@@ -217,6 +366,128 @@ public class Commands {
         return exitCode;
     }
 
+    /**
+     * Serve the report without writing report data. Aggregated data is kept in memory
+     * and rendered on request, test results attachments are streamed from results directories.
+     *
+     * @param resultsDirectories    the results directories
+     * @param host                  the host
+     * @param port                  the port
+     * @param configOptions         the config options
+     * @param reportNameOptions     the report name options
+     * @param reportLanguageOptions the report language options
+     * @return the exit code
+     */
+    public ExitCode serveOnTheFly(final List<Path> resultsDirectories,
+                                  final String host,
+                                  final int port,
+                                  final ConfigOptions configOptions,
+                                  final ReportNameOptions reportNameOptions,
+                                  final ReportLanguageOptions reportLanguageOptions) {
+        LOGGER.info("Generating report in memory...");
+
+        final Path webDirectory;
+        try {
+            final Path tmp = Files.createTempDirectory("");
+            webDirectory = tmp.resolve("allure-report");
+            tmp.toFile().deleteOnExit();
+        } catch (IOException e) {
+            LOGGER.error("Could not create temp directory", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+
+        final Configuration configuration = createReportConfiguration(
+                configOptions, reportNameOptions, reportLanguageOptions
+        );
+        final LazyReportStorage storage = new ReportGenerator(configuration)
+                .generateLazy(webDirectory, resultsDirectories);
+        printMetrics(configuration);
+
+        LOGGER.info("Starting web server...");
+        final Server server;
+        try {
+            server = setUpServer(host, port, webDirectory);
+            final LazyReportStorageHandler storageHandler = new LazyReportStorageHandler(storage);
+            storageHandler.setHandler(server.getHandler());
+            server.setHandler(storageHandler);
+            server.start();
+        } catch (Exception e) {
+            LOGGER.error("Could not serve the report", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+        return openAndJoin(server);
+    }
+
+    /**
+     * Serve the report on the fly and keep it up to date. Results directories are watched
+     * for new and changed result files, the report is regenerated in memory on change
+     * and opened browsers are notified to reload the report. Regeneration uses the
+     * generation cache, so only new and changed result files are parsed again, while
+     * aggregation runs over all the results.
+     *
+     * @param resultsDirectories    the results directories
+     * @param host                  the host
+     * @param port                  the port
+     * @param configOptions         the config options
+     * @param reportNameOptions     the report name options
+     * @param reportLanguageOptions the report language options
+     * @return the exit code
+     */
+    public ExitCode serveWatch(final List<Path> resultsDirectories,
+                               final String host,
+                               final int port,
+                               final ConfigOptions configOptions,
+                               final ReportNameOptions reportNameOptions,
+                               final ReportLanguageOptions reportLanguageOptions) {
+        LOGGER.info("Generating report in memory...");
+
+        final Path webDirectory;
+        final Path cacheDirectory;
+        try {
+            final Path tmp = Files.createTempDirectory("");
+            webDirectory = tmp.resolve("allure-report");
+            cacheDirectory = tmp.resolve("cache");
+            tmp.toFile().deleteOnExit();
+        } catch (IOException e) {
+            LOGGER.error("Could not create temp directory", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+
+        final Configuration configuration = createReportConfiguration(
+                configOptions, reportNameOptions, reportLanguageOptions,
+                Collections.singletonList(new RandomUidContext(true))
+        );
+        final ReportGenerator reportGenerator = new ReportGenerator(configuration);
+        final Supplier<LazyReportStorage> generator = () -> {
+            final LazyReportStorage storage = reportGenerator
+                    .generateLazy(webDirectory, cacheDirectory, resultsDirectories);
+            printMetrics(configuration);
+            return storage;
+        };
+
+        LOGGER.info("Starting web server...");
+        final Server server;
+        final LazyReportStorageHandler storageHandler = new LazyReportStorageHandler(generator.get());
+        final ReportEventsHandler eventsHandler = new ReportEventsHandler(webDirectory);
+        try {
+            server = setUpServer(host, port, webDirectory);
+            storageHandler.setHandler(server.getHandler());
+            eventsHandler.setHandler(storageHandler);
+            server.setHandler(eventsHandler);
+            server.start();
+            new ResultsWatcher(resultsDirectories, changed -> {
+                final long start = System.nanoTime();
+                storageHandler.setStorage(generator.get());
+                eventsHandler.publish(String.valueOf(changed.size()));
+                LOGGER.info("Report updated in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }).start();
+        } catch (Exception e) {
+            LOGGER.error("Could not serve the report", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+        return openAndJoin(server);
+    }
+
     /**
      * Open exit code.
      *
@@ -235,7 +506,32 @@ public class Commands {
             LOGGER.error("Could not serve the report", e);
             return ExitCode.GENERIC_ERROR;
         }
+        return openAndJoin(server);
+    }
 
+    /**
+     * Serve all reports located in subdirectories of the root directory.
+     *
+     * @param root the root directory
+     * @param host the host
+     * @param port the port
+     * @return the exit code
+     */
+    public ExitCode openRoot(final Path root, final String host, final int port) {
+        LOGGER.info("Starting web server...");
+        final Server server;
+        try {
+            server = createServer(host, port);
+            server.setHandler(new MultiReportHandler(root, new ReportFileCache()));
+            server.start();
+        } catch (Exception e) {
+            LOGGER.error("Could not serve the reports", e);
+            return ExitCode.GENERIC_ERROR;
+        }
+        return openAndJoin(server);
+    }
+
+    private ExitCode openAndJoin(final Server server) {
         try {
             openBrowser(server.getURI());
         } catch (IOException | AWTError e) {
@@ -245,6 +541,16 @@ public class Commands {
                     e
             );
         }
+        return join(server);
+    }
+
+    /**
+     * Waits until the started server is stopped.
+     *
+     * @param server the server
+     * @return the exit code
+     */
+    protected ExitCode join(final Server server) {
         LOGGER.info("Server started at <{}>. Press <Ctrl+C> to exit", server.getURI());
         try {
             server.join();
@@ -279,21 +585,84 @@ public class Commands {
             final ConfigOptions profile,
             final ReportNameOptions reportNameOptions,
             final ReportLanguageOptions reportLanguageOptions) {
-        final DefaultPluginLoader loader = new DefaultPluginLoader();
+        return createReportConfiguration(
+                profile, reportNameOptions, reportLanguageOptions, Collections.emptyList()
+        );
+    }
+
+    private Configuration createReportConfiguration(
+            final ConfigOptions profile,
+            final ReportNameOptions reportNameOptions,
+            final ReportLanguageOptions reportLanguageOptions,
+            final List<Context<?>> contexts) {
         final CommandlineConfig commandlineConfig = getConfig(profile);
+        final List<Plugin> plugins = loadPlugins(commandlineConfig);
+
+        final int cpuThreads = getThreads(
+                profile.getCpuThreads(), commandlineConfig.getCpuThreads(), ExecutorContext.defaultCpuThreads()
+        );
+        final int ioThreads = getThreads(
+                profile.getIoThreads(), commandlineConfig.getIoThreads(), ExecutorContext.defaultIoThreads()
+        );
+
+        final ConfigurationBuilder builder = ConfigurationBuilder
+                .bundled()
+                .withContext(new ExecutorContext(cpuThreads, ioThreads))
+                .withPlugins(plugins)
+                .withReportName(reportNameOptions.getReportName())
+                .withReportLanguage(reportLanguageOptions.getReportLanguage());
+        contexts.forEach(builder::withContext);
+        final Configuration configuration = builder.build();
+        if (profile.isMetrics()) {
+            configuration.getContext(GenerationMetricsContext.class)
+                    .ifPresent(context -> context.getValue().setEnabled(true));
+        }
+        if (profile.isPrecompress()) {
+            configuration.getContext(PrecompressContext.class)
+                    .ifPresent(context -> context.getValue().setEnabled(true));
+        }
+        return configuration;
+    }
+
+    /**
+     * Loads plugins enabled in given config.
+     *
+     * @param commandlineConfig the commandline config
+     * @return loaded plugins
+     */
+    protected List<Plugin> loadPlugins(final CommandlineConfig commandlineConfig) {
         final ClassLoader classLoader = getClass().getClassLoader();
-        final List<Plugin> plugins = commandlineConfig.getPlugins().stream()
-                .map(name -> loader.loadPlugin(classLoader, allureHome.resolve("plugins").resolve(name)))
+        return commandlineConfig.getPlugins().stream()
+                .map(name -> pluginLoader.loadPlugin(classLoader, allureHome.resolve("plugins").resolve(name)))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
+    }
 
-        return ConfigurationBuilder
-                .bundled()
-                .withPlugins(plugins)
-                .withReportName(reportNameOptions.getReportName())
-                .withReportLanguage(reportLanguageOptions.getReportLanguage())
-                .build();
+    /**
+     * Prints summary table of generation metrics if metrics are enabled. Cpu time and
+     * allocated bytes are measured on the caller thread and on report executor tasks it submits.
+     *
+     * @param configuration the report configuration
+     */
+    protected void printMetrics(final Configuration configuration) {
+        configuration.getContext(GenerationMetricsContext.class)
+                .map(GenerationMetricsContext::getValue)
+                .filter(GenerationMetrics::isEnabled)
+                .ifPresent(metrics -> {
+                    LOGGER.info(format(METRICS_ROW_FORMAT,
+                            "Phase", "Name", "Count", "Wall, ms", "Caller CPU, ms", "Caller alloc, KB", "Output, KB"
+                    ));
+                    metrics.getMetrics().forEach(metric -> LOGGER.info(format(METRICS_ROW_FORMAT,
+                            metric.getPhase(),
+                            getMetricName(metric),
+                            metric.getCount(),
+                            TimeUnit.NANOSECONDS.toMillis(metric.getWallNanos()),
+                            TimeUnit.NANOSECONDS.toMillis(metric.getCallerCpuNanos()),
+                            metric.getCallerAllocatedBytes() / KILOBYTE,
+                            metric.getOutputBytes() / KILOBYTE
+                    )));
+                });
     }
 
     /**
@@ -306,16 +675,33 @@ public class Commands {
      * @throws IOException the io exception
      */
     protected Server setUpServer(final String host, final int port, final Path reportDirectory) throws IOException {
-        final Server server = Objects.isNull(host)
-                ? new Server(port)
-                : new Server(new InetSocketAddress(host, port));
+        final Server server = createServer(host, port);
         final ResourceHandler handler = new ResourceHandler();
         handler.setRedirectWelcome(true);
         handler.setDirectoriesListed(true);
         handler.setPathInfoOnly(true);
         handler.setBaseResource(Resource.newResource(reportDirectory.toRealPath()));
+        final ReportResourceHandler reportHandler = new ReportResourceHandler(reportDirectory);
+        reportHandler.setHandler(handler);
+        server.setHandler(reportHandler);
+        return server;
+    }
+
+    private Server createServer(final String host, final int port) {
+        final QueuedThreadPool threadPool = new QueuedThreadPool(
+                getProperty(ALLURE_SERVER_THREADS).map(Integer::parseInt).orElse(DEFAULT_SERVER_THREADS)
+        );
+        threadPool.setName("allure-server");
+        final Server server = new Server(threadPool);
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        getProperty(ALLURE_SERVER_OUTPUT_BUFFER_SIZE)
+                .map(Integer::parseInt)
+                .ifPresent(httpConfiguration::setOutputBufferSize);
+        final ServerConnector connector = new ServerConnector(server, new HttpConnectionFactory(httpConfiguration));
+        connector.setHost(host);
+        connector.setPort(port);
+        server.addConnector(connector);
         server.setStopAtShutdown(true);
-        server.setHandler(handler);
         return server;
     }
 
@@ -339,6 +725,42 @@ public class Commands {
         }
     }
 
+    private static int getThreads(final Integer option, final Integer config, final int defaultValue) {
+        return Stream.of(option, config)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(defaultValue);
+    }
+
+    private static String getMetricName(final PhaseMetric metric) {
+        final String name = metric.getName().substring(metric.getName().lastIndexOf('.') + 1);
+        return Objects.isNull(metric.getTarget()) ? name : format("%s (%s)", name, metric.getTarget());
+    }
+
+    private boolean prepareReportDirectory(final Path reportDirectory, final boolean clean) {
+        final boolean directoryExists = Files.exists(reportDirectory);
+        if (clean && directoryExists) {
+            FileUtils.deleteQuietly(reportDirectory.toFile());
+        } else if (directoryExists && isDirectoryNotEmpty(reportDirectory)) {
+            LOGGER.error(DIRECTORY_EXISTS_MESSAGE, reportDirectory.toAbsolutePath());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean preparePartialFile(final Path partialFile, final boolean clean) {
+        if (Files.isDirectory(partialFile)) {
+            LOGGER.error("Allure: partial results path {} is a directory", partialFile.toAbsolutePath());
+            return false;
+        }
+        if (Files.exists(partialFile) && !clean) {
+            LOGGER.error(DIRECTORY_EXISTS_MESSAGE, partialFile.toAbsolutePath());
+            return false;
+        }
+        FileUtils.deleteQuietly(partialFile.toFile());
+        return true;
+    }
+
     private boolean isDirectoryNotEmpty(final Path path) {
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
             return stream.iterator().hasNext();
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.command;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import io.qameta.allure.convert.PathConverter;
+import io.qameta.allure.daemon.ReportDaemon;
+
+import java.nio.file.Path;
+
+/**
+ * Contains options for daemon command.
+ *
+ * @since 2.33
+ */
+@SuppressWarnings("PMD.ImmutableField")
+@Parameters(commandDescription = "Start the daemon that runs generate and serve jobs sent to its socket")
+public class DaemonCommand {
+
+    @Parameter(
+            names = {"--socket"},
+            description = "The path of the Unix domain socket to accept jobs on.",
+            converter = PathConverter.class
+    )
+    private Path socket = ReportDaemon.getDefaultSocket();
+
+    @Parameter(
+            names = {"--max-jobs"},
+            description = "The number of jobs after which the daemon exits to be restarted with a fresh heap."
+    )
+    private int maxJobs = ReportDaemon.DEFAULT_MAX_JOBS;
+
+    @Parameter(
+            names = {"--max-heap-usage"},
+            description = "The heap usage after garbage collection, in percent of max heap size, "
+                          + "above which the daemon exits to be restarted with a fresh heap."
+    )
+    private int maxHeapUsage = ReportDaemon.DEFAULT_MAX_HEAP_USAGE;
+
+    public Path getSocket() {
+        return socket;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    public int getMaxHeapUsage() {
+        return maxHeapUsage;
+    }
+}
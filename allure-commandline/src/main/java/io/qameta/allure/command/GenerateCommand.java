@@ -55,6 +55,22 @@ public class GenerateCommand {
     )
     private boolean singleFileMode;
 
+    @Parameter(
+            names = {"--partial"},
+            description = "Write parsed results and their partial aggregates to partial file at output path, "
+                          + "partials can be merged into the report using merge command."
+    )
+    private boolean partial;
+
+    @Parameter(
+            names = {"--cache-dir"},
+            description = "The directory of generation cache. When specified, only changed result files are "
+                          + "parsed and only changed report files are written. Can not be used with --single-file, "
+                          + "--clean removes the cache together with the report.",
+            converter = PathConverter.class
+    )
+    private Path cacheDirectory;
+
     @ParametersDelegate
     private ResultsOptions resultsOptions = new ResultsOptions();
 
@@ -94,4 +110,12 @@ public class GenerateCommand {
     public boolean isSingleFileMode() {
         return singleFileMode;
     }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
 }
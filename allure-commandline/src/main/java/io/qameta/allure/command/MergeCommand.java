@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.command;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import com.beust.jcommander.ParametersDelegate;
+import io.qameta.allure.convert.PathConverter;
+import io.qameta.allure.option.ConfigOptions;
+import io.qameta.allure.option.ReportLanguageOptions;
+import io.qameta.allure.option.ReportNameOptions;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contains options for merge command.
+ *
+ * @since 2.33
+ */
+@SuppressWarnings("PMD.ImmutableField")
+@Parameters(commandDescription = "Merge partial results into the report")
+public class MergeCommand {
+
+    @Parameter(
+            description = "The partial results files",
+            converter = PathConverter.class
+    )
+    private List<Path> partialFiles = new ArrayList<>();
+
+    @Parameter(
+            names = {"-c", "--clean"},
+            description = "Clean Allure report directory before generating a new one."
+    )
+    private boolean cleanReportDirectory;
+
+    @Parameter(
+            names = {"-o", "--report-dir", "--output"},
+            description = "The directory to generate Allure report into.",
+            converter = PathConverter.class
+    )
+    private Path reportDirectory = Paths.get("allure-report");
+
+    @Parameter(
+            names = {"--single-file"},
+            description = "Generate Allure report in single file mode."
+    )
+    private boolean singleFileMode;
+
+    @Parameter(
+            names = {"--partial"},
+            description = "Merge partials into one partial file at output path instead of the report."
+    )
+    private boolean partial;
+
+    @ParametersDelegate
+    private ConfigOptions configOptions = new ConfigOptions();
+
+    @ParametersDelegate
+    private ReportNameOptions reportNameOptions = new ReportNameOptions();
+
+    @ParametersDelegate
+    private ReportLanguageOptions reportLanguageOptions = new ReportLanguageOptions();
+
+    public List<Path> getPartialFiles() {
+        return Collections.unmodifiableList(partialFiles);
+    }
+
+    public boolean isCleanReportDirectory() {
+        return cleanReportDirectory;
+    }
+
+    public Path getReportDirectory() {
+        return reportDirectory;
+    }
+
+    public boolean isSingleFileMode() {
+        return singleFileMode;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public ConfigOptions getConfigOptions() {
+        return configOptions;
+    }
+
+    public ReportNameOptions getReportNameOptions() {
+        return reportNameOptions;
+    }
+
+    public ReportLanguageOptions getReportLanguageOptions() {
+        return reportLanguageOptions;
+    }
+}
@@ -42,6 +42,13 @@ public class OpenCommand {
     )
     private List<Path> reportDirectories = new ArrayList<>(Collections.singletonList(Paths.get("allure-report")));
 
+    @Parameter(
+            names = {"--root"},
+            description = "Serve all reports located in subdirectories of given directory.",
+            converter = PathConverter.class
+    )
+    private Path root;
+
     @ParametersDelegate
     private HostPortOptions hostPortOptions = new HostPortOptions();
 
@@ -49,6 +56,10 @@ public class OpenCommand {
         return Collections.unmodifiableList(reportDirectories);
     }
 
+    public Path getRoot() {
+        return root;
+    }
+
     public HostPortOptions getHostPortOptions() {
         return hostPortOptions;
     }
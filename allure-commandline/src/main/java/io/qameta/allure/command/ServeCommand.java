@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.command;
 
+import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
 import com.beust.jcommander.ParametersDelegate;
 import io.qameta.allure.option.ConfigOptions;
@@ -32,6 +33,20 @@ import io.qameta.allure.option.ResultsOptions;
 @Parameters(commandDescription = "Serve the report")
 public class ServeCommand {
 
+    @Parameter(
+            names = {"--on-the-fly"},
+            description = "Serve the report without writing report data to temp directory. "
+                          + "Report data is rendered on request, attachments are read from results directories."
+    )
+    private boolean onTheFly;
+
+    @Parameter(
+            names = {"--watch"},
+            description = "Watch results directories and update the report served on the fly "
+                          + "when result files are added or changed."
+    )
+    private boolean watch;
+
     @ParametersDelegate
     private ResultsOptions resultsOptions = new ResultsOptions();
 
@@ -47,6 +62,14 @@ public class ServeCommand {
     @ParametersDelegate
     private ReportLanguageOptions reportLanguageOptions = new ReportLanguageOptions();
 
+    public boolean isOnTheFly() {
+        return onTheFly;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
     public ResultsOptions getResultsOptions() {
         return resultsOptions;
     }
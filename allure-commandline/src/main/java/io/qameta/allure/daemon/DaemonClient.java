@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import io.qameta.allure.ExitCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Sends jobs to {@link ReportDaemon}. Relative paths of the job are resolved
+ * against the working directory of the client.
+ *
+ * @since 2.33
+ */
+public final class DaemonClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaemonClient.class);
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private static final Pattern SINGLE_LINE = Pattern.compile("[^\r\n]*");
+
+    private DaemonClient() {
+    }
+
+    /**
+     * Runs the command in the daemon if {@link ReportDaemon#ALLURE_DAEMON_SOCKET} is set,
+     * the daemon is running and the command is supported by the daemon.
+     *
+     * @param args the command arguments.
+     * @return the exit code of the job, or empty if the command should be run locally.
+     */
+    public static Optional<ExitCode> submit(final String... args) {
+        final Optional<Path> socket = getProperty(ReportDaemon.ALLURE_DAEMON_SOCKET)
+                .map(Paths::get)
+                .filter(Files::exists);
+        if (!socket.isPresent() || !ReportDaemon.isSupported(Arrays.asList(args))
+            || !UnixDomainSockets.isSupported()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(submit(
+                    socket.get(), Paths.get("").toAbsolutePath(), System.getenv(), Arrays.asList(args)
+            ));
+        } catch (IOException e) {
+            LOGGER.debug("Could not send the job to the daemon, running it locally", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Runs the job in the daemon and waits for its completion. The {@code ALLURE_*}
+     * environment variables are sent with the job, and the job log output is printed
+     * as it is received.
+     *
+     * @param socket           the daemon socket.
+     * @param workingDirectory the directory to resolve relative paths against.
+     * @param environment      the environment of the client.
+     * @param args             the command arguments.
+     * @return the exit code of the job.
+     * @throws IOException if the daemon is not available.
+     */
+    public static ExitCode submit(final Path socket,
+                                  final Path workingDirectory,
+                                  final Map<String, String> environment,
+                                  final List<String> args) throws IOException {
+        final StringBuilder request = new StringBuilder()
+                .append(workingDirectory.toAbsolutePath()).append(LINE_SEPARATOR);
+        new TreeMap<>(environment).forEach((key, value) -> {
+            if (key.startsWith(ReportDaemon.ENVIRONMENT_PREFIX) && SINGLE_LINE.matcher(value).matches()) {
+                request.append(key).append('=').append(value).append(LINE_SEPARATOR);
+            }
+        });
+        request.append(LINE_SEPARATOR);
+        for (String arg : args) {
+            request.append(arg).append(LINE_SEPARATOR);
+        }
+        request.append(LINE_SEPARATOR);
+        try (SocketChannel channel = UnixDomainSockets.connect(socket);
+             BufferedReader reader = UnixDomainSockets.reader(channel)) {
+            UnixDomainSockets.write(channel, request.toString());
+            String reply = reader.readLine();
+            while (Objects.nonNull(reply) && reply.startsWith(JobLogAppender.LOG_PREFIX)) {
+                LOGGER.info("{}", reply.substring(JobLogAppender.LOG_PREFIX.length()));
+                reply = reader.readLine();
+            }
+            if (Objects.isNull(reply)) {
+                throw new IOException("The daemon closed connection without reply");
+            }
+            return ExitCode.valueOf(reply.trim());
+        }
+    }
+}
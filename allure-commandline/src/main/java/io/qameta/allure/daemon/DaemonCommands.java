@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import io.qameta.allure.Commands;
+import io.qameta.allure.ExitCode;
+import io.qameta.allure.ReportGenerator;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.option.ConfigOptions;
+import io.qameta.allure.option.ReportLanguageOptions;
+import io.qameta.allure.option.ReportNameOptions;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Commands of the long-lived daemon. Loaded plugins are kept in memory and reused
+ * by subsequent jobs until their directories change, servers of serve jobs are kept
+ * running until the daemon exits.
+ *
+ * @since 2.33
+ */
+public class DaemonCommands extends Commands {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DaemonCommands.class);
+
+    private final List<Server> servers = new CopyOnWriteArrayList<>();
+
+    public DaemonCommands(final Path allureHome) {
+        super(allureHome);
+    }
+
+    /**
+     * Loads plugins and generates an empty report, so classes of the generator and
+     * plugins are loaded before the first job.
+     */
+    public void warmUp() {
+        final Configuration configuration = createReportConfiguration(
+                new ConfigOptions(), new ReportNameOptions(), new ReportLanguageOptions()
+        );
+        final Path tmp;
+        final Path results;
+        try {
+            tmp = Files.createTempDirectory("allure-daemon");
+            results = Files.createDirectories(tmp.resolve("allure-results"));
+        } catch (IOException e) {
+            LOGGER.warn("Could not warm up the daemon", e);
+            return;
+        }
+        try {
+            new ReportGenerator(configuration)
+                    .generate(tmp.resolve("allure-report"), Collections.singletonList(results));
+        } finally {
+            FileUtils.deleteQuietly(tmp.toFile());
+        }
+    }
+
+    /**
+     * Stops servers started by serve jobs.
+     */
+    public void stopServers() {
+        for (Server server : servers) {
+            try {
+                server.stop();
+            } catch (Exception e) {
+                LOGGER.warn("Could not stop the server {}", server.getURI(), e);
+            }
+        }
+        servers.clear();
+    }
+
+    @Override
+    protected ExitCode join(final Server server) {
+        servers.add(server);
+        LOGGER.info("Server started at <{}>, it is stopped when the daemon exits", server.getURI());
+        return ExitCode.NO_ERROR;
+    }
+}
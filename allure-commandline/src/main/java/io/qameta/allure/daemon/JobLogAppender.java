@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Streams log events of a daemon job to the client. Every line of the event is sent
+ * with {@link #LOG_PREFIX}, so the client can tell log output from the job exit code.
+ * The appender is attached to the root logger, so only events of the thread that
+ * created it, i.e. the job thread, are sent; other daemon threads log to the daemon only.
+ *
+ * @since 2.33
+ */
+/* default */ final class JobLogAppender extends AppenderBase<ILoggingEvent> {
+
+    /**
+     * The prefix of log lines sent to the client.
+     */
+    /* default */ static final String LOG_PREFIX = "> ";
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private static final String CLIENT_LOGGER = DaemonClient.class.getName();
+
+    private final SocketChannel channel;
+
+    private final String jobThreadName;
+
+    private final PatternLayout layout = new PatternLayout();
+
+    /* default */ JobLogAppender(final SocketChannel channel) {
+        this.channel = channel;
+        this.jobThreadName = Thread.currentThread().getName();
+        this.layout.setPattern("%msg%n");
+    }
+
+    @Override
+    public void start() {
+        layout.setContext(getContext());
+        layout.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        layout.stop();
+    }
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        // output printed by a client running in the same process is not sent back
+        if (!jobThreadName.equals(event.getThreadName()) || CLIENT_LOGGER.equals(event.getLoggerName())) {
+            return;
+        }
+        final StringBuilder text = new StringBuilder();
+        for (String line : layout.doLayout(event).split("\r?\n")) {
+            text.append(LOG_PREFIX).append(line).append(LINE_SEPARATOR);
+        }
+        try {
+            UnixDomainSockets.write(channel, text.toString());
+        } catch (IOException e) {
+            // the client has gone, the job is still logged by the daemon
+            stop();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import ch.qos.logback.classic.Level;
+import io.qameta.allure.CommandLine;
+import io.qameta.allure.Commands;
+import io.qameta.allure.ExitCode;
+import io.qameta.allure.util.PropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+import static org.slf4j.Logger.ROOT_LOGGER_NAME;
+
+/**
+ * Long-lived process that runs generate and serve jobs sent to a Unix domain socket,
+ * see {@link DaemonClient}. Jobs are queued and run one by one, so plugins, classes and
+ * compiled code are reused by subsequent jobs. The daemon exits after the configured
+ * number of jobs or once the heap usage after garbage collection exceeds the threshold,
+ * and is expected to be restarted by a supervisor. Each job is run with the {@code ALLURE_*}
+ * environment of the client, and its log output is streamed back to the client.
+ *
+ * @since 2.33
+ */
+public class ReportDaemon {
+
+    /**
+     * The name of environment variable with the path of daemon socket. When set and
+     * the socket exists, generate and serve commands are sent to the daemon.
+     */
+    public static final String ALLURE_DAEMON_SOCKET = "ALLURE_DAEMON_SOCKET";
+
+    /**
+     * The prefix of environment variables sent by the client with each job. Such
+     * variables of the daemon itself are ignored while running the job.
+     */
+    public static final String ENVIRONMENT_PREFIX = "ALLURE_";
+
+    public static final int DEFAULT_MAX_JOBS = 100;
+
+    public static final int DEFAULT_MAX_HEAP_USAGE = 75;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportDaemon.class);
+
+    private static final List<String> SUPPORTED_COMMANDS = Arrays.asList("generate", "serve");
+
+    private static final int PERCENT = 100;
+
+    private final Commands commands;
+
+    private final Path socket;
+
+    private final int maxJobs;
+
+    private final int maxHeapUsage;
+
+    private final AtomicInteger jobs = new AtomicInteger();
+
+    private final AtomicBoolean recycling = new AtomicBoolean();
+
+    public ReportDaemon(final Commands commands, final Path socket, final int maxJobs, final int maxHeapUsage) {
+        this.commands = commands;
+        this.socket = socket;
+        this.maxJobs = maxJobs;
+        this.maxHeapUsage = maxHeapUsage;
+    }
+
+    public static Path getDefaultSocket() {
+        return getProperty(ALLURE_DAEMON_SOCKET)
+                .map(Paths::get)
+                .orElseGet(() -> Paths.get(System.getProperty("java.io.tmpdir"), "allure-daemon.sock"));
+    }
+
+    /**
+     * Checks if the command can be run by the daemon.
+     *
+     * @param args the command arguments.
+     * @return true for generate and serve commands.
+     */
+    public static boolean isSupported(final List<String> args) {
+        return args.stream()
+                .filter(arg -> !arg.startsWith("-"))
+                .findFirst()
+                .filter(SUPPORTED_COMMANDS::contains)
+                .isPresent();
+    }
+
+    /**
+     * Accepts jobs until the daemon is recycled.
+     *
+     * @return the exit code.
+     */
+    public ExitCode run() {
+        if (!UnixDomainSockets.isSupported()) {
+            LOGGER.error("Allure daemon requires Java 16 or later to use Unix domain sockets");
+            return ExitCode.GENERIC_ERROR;
+        }
+        final ExecutorService queue = Executors.newSingleThreadExecutor();
+        try (ServerSocketChannel server = bind()) {
+            LOGGER.info("Allure daemon is listening on {}", socket);
+            while (!recycling.get()) {
+                final SocketChannel client = server.accept();
+                queue.execute(() -> handle(client, server));
+            }
+        } catch (AsynchronousCloseException e) {
+            LOGGER.debug("Allure daemon stopped accepting jobs", e);
+        } catch (IOException e) {
+            LOGGER.error("Could not accept jobs on {}", socket, e);
+            return ExitCode.GENERIC_ERROR;
+        } finally {
+            awaitJobs(queue);
+        }
+        LOGGER.info("Allure daemon exits after {} jobs", jobs.get());
+        return ExitCode.NO_ERROR;
+    }
+
+    private ServerSocketChannel bind() throws IOException {
+        if (Files.exists(socket)) {
+            if (isListening()) {
+                throw new IOException("Another daemon is listening on " + socket);
+            }
+            LOGGER.debug("Removing stale socket {}", socket);
+            Files.delete(socket);
+        }
+        return UnixDomainSockets.bind(socket);
+    }
+
+    private boolean isListening() {
+        try (SocketChannel ignored = UnixDomainSockets.connect(socket)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void awaitJobs(final ExecutorService queue) {
+        queue.shutdown();
+        try {
+            queue.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove socket {}", socket, e);
+        }
+        if (commands instanceof DaemonCommands) {
+            ((DaemonCommands) commands).stopServers();
+        }
+    }
+
+    private void handle(final SocketChannel client, final ServerSocketChannel server) {
+        try (SocketChannel channel = client; BufferedReader reader = UnixDomainSockets.reader(channel)) {
+            final String workingDirectory = reader.readLine();
+            final Map<String, String> environment = new HashMap<>();
+            for (String line : readSection(reader)) {
+                final int separator = line.indexOf('=');
+                if (separator > 0 && line.startsWith(ENVIRONMENT_PREFIX)) {
+                    environment.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+            final List<String> args = readSection(reader);
+            final ExitCode exitCode = Objects.isNull(workingDirectory)
+                    ? ExitCode.ARGUMENT_PARSING_ERROR
+                    : runJob(channel, Paths.get(workingDirectory), environment, args);
+            UnixDomainSockets.write(channel, exitCode.name() + "\n");
+        } catch (IOException e) {
+            LOGGER.error("Could not read the job", e);
+        }
+        if (jobs.incrementAndGet() >= maxJobs || getHeapUsage() >= maxHeapUsage) {
+            recycle(server);
+        }
+    }
+
+    private static List<String> readSection(final BufferedReader reader) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        String line = reader.readLine();
+        while (Objects.nonNull(line) && !line.isEmpty()) {
+            lines.add(line);
+            line = reader.readLine();
+        }
+        return lines;
+    }
+
+    private ExitCode runJob(final SocketChannel channel,
+                            final Path workingDirectory,
+                            final Map<String, String> environment,
+                            final List<String> args) {
+        if (!isSupported(args)) {
+            LOGGER.error("Only {} commands can be run by the daemon: {}", SUPPORTED_COMMANDS, args);
+            return ExitCode.ARGUMENT_PARSING_ERROR;
+        }
+        final ch.qos.logback.classic.Logger rootLogger = (ch.qos.logback.classic.Logger)
+                LoggerFactory.getLogger(ROOT_LOGGER_NAME);
+        final Level level = rootLogger.getLevel();
+        final JobLogAppender appender = new JobLogAppender(channel);
+        appender.setContext(rootLogger.getLoggerContext());
+        appender.start();
+        rootLogger.addAppender(appender);
+        PropertyUtils.setEnvironment(getJobEnvironment(environment));
+        try {
+            LOGGER.info("Running job {} in {}", args, workingDirectory);
+            final CommandLine commandLine = new CommandLine(commands, workingDirectory);
+            return commandLine.parse(args.toArray(new String[0])).orElseGet(commandLine::run);
+        } catch (RuntimeException e) {
+            LOGGER.error("Job {} failed", args, e);
+            return ExitCode.GENERIC_ERROR;
+        } finally {
+            PropertyUtils.setEnvironment(null);
+            rootLogger.detachAppender(appender);
+            appender.stop();
+            rootLogger.setLevel(level);
+        }
+    }
+
+    // the environment of the daemon with Allure variables replaced by ones of the client
+    private static Map<String, String> getJobEnvironment(final Map<String, String> environment) {
+        final Map<String, String> result = new HashMap<>();
+        System.getenv().forEach((key, value) -> {
+            if (!key.startsWith(ENVIRONMENT_PREFIX)) {
+                result.put(key, value);
+            }
+        });
+        result.putAll(environment);
+        return result;
+    }
+
+    private void recycle(final ServerSocketChannel server) {
+        if (recycling.compareAndSet(false, true)) {
+            LOGGER.info("Allure daemon is recycled after {} jobs, heap usage {}%", jobs.get(), getHeapUsage());
+            try {
+                server.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close socket {}", socket, e);
+            }
+        }
+    }
+
+    // heap usage after the last garbage collection, that ignores garbage not collected yet
+    private static int getHeapUsage() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = pool.getCollectionUsage();
+            if (MemoryType.HEAP.equals(pool.getType()) && Objects.nonNull(usage)) {
+                used += usage.getUsed();
+            }
+        }
+        return (int) (used * PERCENT / Runtime.getRuntime().maxMemory());
+    }
+}
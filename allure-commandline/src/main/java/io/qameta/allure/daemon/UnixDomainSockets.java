@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Opens Unix domain socket channels. The channels are available since Java 16,
+ * so they are created using reflection. Jobs are sent to the daemon as lines of text:
+ * the working directory of the client, {@code KEY=value} environment variables one per
+ * line and an empty line, command arguments one per line and an empty line. The daemon
+ * replies with the job log lines prefixed by {@code "> "}, then with the name of the job
+ * exit code.
+ */
+/* default */ final class UnixDomainSockets {
+
+    private static final String UNIX_FAMILY = "UNIX";
+
+    private static final String OPEN_METHOD = "open";
+
+    private static final String NOT_SUPPORTED_MESSAGE = "Unix domain sockets are not supported";
+
+    private static final String OPEN_FAILED_MESSAGE = "Could not open Unix domain socket";
+
+    private UnixDomainSockets() {
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static boolean isSupported() {
+        try {
+            getFamily();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static ServerSocketChannel bind(final Path socket) throws IOException {
+        final ServerSocketChannel channel = (ServerSocketChannel) open(ServerSocketChannel.class);
+        try {
+            channel.bind(getAddress(socket));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static SocketChannel connect(final Path socket) throws IOException {
+        final SocketChannel channel = (SocketChannel) open(SocketChannel.class);
+        try {
+            channel.connect(getAddress(socket));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static void write(final SocketChannel channel, final String text) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static BufferedReader reader(final SocketChannel channel) {
+        return new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+    }
+
+    private static Object open(final Class<?> type) throws IOException {
+        try {
+            return invoke(type.getMethod(OPEN_METHOD, ProtocolFamily.class), getFamily());
+        } catch (NoSuchMethodException | IllegalArgumentException e) {
+            throw new IOException(NOT_SUPPORTED_MESSAGE, e);
+        }
+    }
+
+    private static ProtocolFamily getFamily() {
+        return StandardProtocolFamily.valueOf(UNIX_FAMILY);
+    }
+
+    private static SocketAddress getAddress(final Path socket) throws IOException {
+        try {
+            return (SocketAddress) invoke(
+                    Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class), socket
+            );
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IOException(NOT_SUPPORTED_MESSAGE, e);
+        }
+    }
+
+    private static Object invoke(final Method method, final Object argument) throws IOException {
+        try {
+            return method.invoke(null, argument);
+        } catch (IllegalAccessException e) {
+            throw new IOException(OPEN_FAILED_MESSAGE, e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(OPEN_FAILED_MESSAGE, e.getCause());
+        }
+    }
+}
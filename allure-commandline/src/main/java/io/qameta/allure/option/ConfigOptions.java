@@ -45,6 +45,34 @@ public class ConfigOptions {
     )
     private String configPath;
 
+    @Parameter(
+            names = {"--metrics"},
+            description = "Measure report generation phases. Metrics are written to "
+                    + "export/generation-metrics.json and printed as summary table."
+    )
+    private boolean metrics;
+
+    @Parameter(
+            names = {"--precompress"},
+            description = "Write gzip compressed copies of report text files, "
+                    + "served by report server to clients that accept gzip encoding."
+    )
+    private boolean precompress;
+
+    @Parameter(
+            names = {"--cpu-threads"},
+            description = "The parallelism of CPU-bound report generation work. "
+                    + "If specified overrides cpuThreads value from config."
+    )
+    private Integer cpuThreads;
+
+    @Parameter(
+            names = {"--io-threads"},
+            description = "The number of concurrent I/O-bound report generation tasks. "
+                    + "If specified overrides ioThreads value from config."
+    )
+    private Integer ioThreads;
+
     public String getProfile() {
         return profile;
     }
@@ -56,4 +84,20 @@ public class ConfigOptions {
     public String getConfigPath() {
         return configPath;
     }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public boolean isPrecompress() {
+        return precompress;
+    }
+
+    public Integer getCpuThreads() {
+        return cpuThreads;
+    }
+
+    public Integer getIoThreads() {
+        return ioThreads;
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.HttpOutput;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single byte range of the {@code Range} request header, shared by the report handlers.
+ * Headers that are syntactically invalid (e.g. {@code bytes=5-3}), have multiple ranges
+ * or don't match {@code If-Range} validator are ignored, so the whole representation
+ * is sent with {@code 200 OK}, as required by RFC 7233.
+ * <p>
+ * File regions are written to Jetty responses as mapped buffers, so the content is
+ * sent to the connection without copying it to intermediate heap buffers.
+ *
+ * @since 2.33
+ */
+public final class ByteRange {
+
+    public static final String BYTES_UNIT = "bytes";
+
+    private static final long MAPPED_REGION_SIZE = 16L * 1024 * 1024;
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d{0,18})-(\\d{0,18})$");
+
+    private final long first;
+
+    private final long last;
+
+    private final long size;
+
+    private ByteRange(final long first, final long last, final long size) {
+        this.first = first;
+        this.last = last;
+        this.size = size;
+    }
+
+    /**
+     * Returns the range requested for the representation of given size.
+     *
+     * @param request      the request.
+     * @param etag         the strong validator of the representation.
+     * @param lastModified the modification time of the representation.
+     * @param size         the size of the representation.
+     * @return the range, or empty if the whole representation should be sent.
+     */
+    public static Optional<ByteRange> of(final HttpServletRequest request,
+                                         final String etag,
+                                         final long lastModified,
+                                         final long size) {
+        final String header = request.getHeader(HttpHeader.RANGE.asString());
+        if (Objects.isNull(header) || !isRangeApplicable(request, etag, lastModified)) {
+            return Optional.empty();
+        }
+        final Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        final String start = matcher.group(1);
+        final String end = matcher.group(2);
+        if (start.isEmpty()) {
+            if (end.isEmpty()) {
+                return Optional.empty();
+            }
+            final long suffix = Long.parseLong(end);
+            return Optional.of(suffix == 0 || size == 0
+                    ? new ByteRange(-1, -1, size)
+                    : new ByteRange(Math.max(0, size - suffix), size - 1, size));
+        }
+        final long from = Long.parseLong(start);
+        if (!end.isEmpty() && Long.parseLong(end) < from) {
+            return Optional.empty();
+        }
+        if (from >= size) {
+            return Optional.of(new ByteRange(-1, -1, size));
+        }
+        final long to = end.isEmpty() ? size - 1 : Math.min(Long.parseLong(end), size - 1);
+        return Optional.of(new ByteRange(from, to, size));
+    }
+
+    /**
+     * Returns true if the header contains more than one range.
+     *
+     * @param header the value of Range header, may be null.
+     * @return true for multiple ranges.
+     */
+    public static boolean isMultiple(final String header) {
+        return Objects.nonNull(header) && header.indexOf(',') >= 0;
+    }
+
+    public boolean isSatisfiable() {
+        return first >= 0;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * Sets the status and the range headers of the response.
+     *
+     * @param response the response.
+     * @return false if the range is not satisfiable and no content should be sent.
+     */
+    public boolean apply(final HttpServletResponse response) {
+        response.setHeader(HttpHeader.ACCEPT_RANGES.asString(), BYTES_UNIT);
+        if (!isSatisfiable()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeader.CONTENT_RANGE.asString(), BYTES_UNIT + " */" + size);
+            return false;
+        }
+        if (getLength() == size) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(
+                    HttpHeader.CONTENT_RANGE.asString(),
+                    BYTES_UNIT + " " + first + "-" + last + "/" + size
+            );
+        }
+        response.setContentLengthLong(getLength());
+        return true;
+    }
+
+    /**
+     * Writes the range of given file to the output.
+     *
+     * @param file   the file.
+     * @param output the output.
+     * @throws IOException if the file can't be read or the output can't be written.
+     */
+    public void write(final Path file, final OutputStream output) throws IOException {
+        write(file, first, getLength(), output);
+    }
+
+    /**
+     * Writes given region of the file to the output.
+     *
+     * @param file     the file.
+     * @param position the position of the region.
+     * @param length   the length of the region.
+     * @param output   the output.
+     * @throws IOException if the file can't be read or the output can't be written.
+     */
+    public static void write(final Path file,
+                             final long position,
+                             final long length,
+                             final OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, position, length, output);
+        }
+    }
+
+    /**
+     * Transfers given region of the channel to the output. Regions are mapped and
+     * written directly for Jetty responses, other outputs are written using
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     *
+     * @param channel  the channel to read.
+     * @param position the position of the region.
+     * @param length   the length of the region.
+     * @param output   the output.
+     * @throws IOException if the channel can't be read or the output can't be written.
+     */
+    public static void transfer(final FileChannel channel,
+                                final long position,
+                                final long length,
+                                final OutputStream output) throws IOException {
+        if (output instanceof HttpOutput) {
+            writeMapped(channel, position, length, (HttpOutput) output);
+            return;
+        }
+        final WritableByteChannel target = output instanceof WritableByteChannel
+                ? (WritableByteChannel) output
+                : Channels.newChannel(output);
+        long offset = position;
+        final long end = position + length;
+        while (offset < end) {
+            final long transferred = channel.transferTo(offset, end - offset, target);
+            if (transferred <= 0) {
+                break;
+            }
+            offset += transferred;
+        }
+    }
+
+    // mapped regions stay valid after the channel is closed, so channels
+    // of the file cache can be retired while regions are written
+    private static void writeMapped(final FileChannel channel,
+                                    final long position,
+                                    final long length,
+                                    final HttpOutput output) throws IOException {
+        long offset = position;
+        final long end = position + length;
+        while (offset < end) {
+            final long regionSize = Math.min(MAPPED_REGION_SIZE, end - offset);
+            output.write(channel.map(FileChannel.MapMode.READ_ONLY, offset, regionSize));
+            offset += regionSize;
+        }
+    }
+
+    // the range is applied only if the representation is not changed since
+    // the client got the part of it
+    private static boolean isRangeApplicable(final HttpServletRequest request,
+                                             final String etag,
+                                             final long lastModified) {
+        final String ifRange = request.getHeader(HttpHeader.IF_RANGE.asString());
+        if (Objects.isNull(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag.equals(ifRange.trim());
+        }
+        try {
+            return lastModified / 1000 * 1000 <= request.getDateHeader(HttpHeader.IF_RANGE.asString());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import io.qameta.allure.Constants;
+import io.qameta.allure.core.ReportWebGenerator;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache policy of report files. Attachments are stored under uids that are either random or
+ * derived from their content, and scripts and styles are referenced with the fingerprint of
+ * their content, see {@link ReportWebGenerator#VERSION_PARAMETER}. The urls of such files are
+ * content-addressed, so clients cache them without revalidation. Other report files keep
+ * their names between generations and are revalidated on every use.
+ *
+ * @since 2.33
+ */
+public class CachePolicy {
+
+    private static final String ATTACHMENTS_PREFIX = Constants.dataPath("attachments") + "/";
+
+    private static final int MAX_FINGERPRINTS = 256;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<Path, Fingerprint> fingerprints = new LinkedHashMap<>(16, LOAD_FACTOR, true);
+
+    /**
+     * Returns the value of Cache-Control header for given report file.
+     *
+     * @param name       the path of the file relative to the report directory.
+     * @param file       the file, not the precompressed sibling.
+     * @param attributes the attributes of the file.
+     * @param request    the request.
+     * @return the value of Cache-Control header.
+     * @throws IOException if the file can't be read.
+     */
+    public String getCacheControl(final String name,
+                                  final Path file,
+                                  final BasicFileAttributes attributes,
+                                  final HttpServletRequest request) throws IOException {
+        if (name.startsWith(ATTACHMENTS_PREFIX)) {
+            return ReportResourceHandler.IMMUTABLE_CACHE_CONTROL;
+        }
+        final String version = request.getParameter(ReportWebGenerator.VERSION_PARAMETER);
+        if (Objects.nonNull(version) && version.equals(getFingerprint(file, attributes))) {
+            return ReportResourceHandler.IMMUTABLE_CACHE_CONTROL;
+        }
+        return ReportResourceHandler.REVALIDATE_CACHE_CONTROL;
+    }
+
+    private String getFingerprint(final Path file, final BasicFileAttributes attributes) throws IOException {
+        synchronized (fingerprints) {
+            final Fingerprint cached = fingerprints.get(file);
+            if (Objects.nonNull(cached) && cached.matches(attributes)) {
+                return cached.value;
+            }
+        }
+        final String value = ReportWebGenerator.getFingerprint(Files.readAllBytes(file));
+        synchronized (fingerprints) {
+            fingerprints.put(file, new Fingerprint(value, attributes));
+            final Iterator<Fingerprint> iterator = fingerprints.values().iterator();
+            while (fingerprints.size() > MAX_FINGERPRINTS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * The fingerprint of file content.
+     */
+    private static final class Fingerprint {
+
+        private final String value;
+
+        private final long size;
+
+        private final FileTime lastModified;
+
+        private Fingerprint(final String value, final BasicFileAttributes attributes) {
+            this.value = value;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+        }
+
+        private boolean matches(final BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import io.qameta.allure.core.LazyReportStorage;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.URIUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves report data kept in {@link LazyReportStorage}. Json data is rendered
+ * on request, data files are streamed from their original location and support
+ * single byte range requests, see {@link ByteRange}. Attachments are cached by clients
+ * without revalidation, see {@link CachePolicy}. Requests for other resources
+ * are passed to the wrapped handler.
+ *
+ * @since 2.33
+ */
+public class LazyReportStorageHandler extends HandlerWrapper {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final AtomicReference<LazyReportStorage> storage;
+
+    private final MimeTypes mimeTypes = new MimeTypes();
+
+    private final CachePolicy cachePolicy = new CachePolicy();
+
+    public LazyReportStorageHandler(final LazyReportStorage storage) {
+        this.storage = new AtomicReference<>(storage);
+    }
+
+    /**
+     * Replaces served report data, e.g. after the report is regenerated.
+     *
+     * @param storage the new storage.
+     */
+    public void setStorage(final LazyReportStorage storage) {
+        this.storage.set(storage);
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException, ServletException {
+        final LazyReportStorage storage = this.storage.get();
+        final boolean head = HttpMethod.HEAD.is(request.getMethod());
+        final String name = Optional.ofNullable(URIUtil.canonicalPath(target))
+                .map(path -> path.replaceFirst("^/+", ""))
+                .orElse(null);
+        if (!(head || HttpMethod.GET.is(request.getMethod())) || Objects.isNull(name) || !storage.contains(name)) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        response.setContentType(Optional.ofNullable(mimeTypes.getMimeByExtension(name)).orElse(DEFAULT_CONTENT_TYPE));
+        final Optional<Path> file = storage.getFile(name);
+        if (file.isPresent()) {
+            serveFile(name, file.get(), request, response, head);
+            baseRequest.setHandled(true);
+            return;
+        }
+        response.setHeader(HttpHeader.CACHE_CONTROL.asString(), ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        response.setStatus(HttpServletResponse.SC_OK);
+        final Optional<Long> size = storage.getKnownSize(name);
+        if (size.isPresent()) {
+            response.setContentLengthLong(size.get());
+        }
+        if (!head) {
+            storage.write(name, response.getOutputStream());
+        }
+        baseRequest.setHandled(true);
+    }
+
+    private void serveFile(final String name,
+                           final Path file,
+                           final HttpServletRequest request,
+                           final HttpServletResponse response,
+                           final boolean head) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        response.setHeader(
+                HttpHeader.CACHE_CONTROL.asString(),
+                cachePolicy.getCacheControl(name, file, attributes, request)
+        );
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final String etag = ReportResourceHandler.getETag(attributes, null);
+        response.setHeader(HttpHeader.ETAG.asString(), etag);
+        response.setDateHeader(HttpHeader.LAST_MODIFIED.asString(), lastModified);
+        response.setHeader(HttpHeader.ACCEPT_RANGES.asString(), ByteRange.BYTES_UNIT);
+        final Optional<ByteRange> range = ByteRange.of(request, etag, lastModified, attributes.size());
+        if (range.isPresent()) {
+            if (range.get().apply(response) && !head) {
+                range.get().write(file, response.getOutputStream());
+            }
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentLengthLong(attributes.size());
+        if (!head) {
+            ByteRange.write(file, 0, attributes.size(), response.getOutputStream());
+        }
+    }
+}
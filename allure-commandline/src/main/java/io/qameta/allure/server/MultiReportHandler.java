@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.StringUtil;
+import org.eclipse.jetty.util.URIUtil;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Serves all reports located in subdirectories of the root directory. The root
+ * page lists available reports, the list is read on each request, so new reports
+ * are available without restart. Report files are served using {@link ReportFileCache}
+ * in the same way as {@link ReportResourceHandler} does: precompressed siblings are
+ * served to clients that accept their encoding, content-addressed files are cached without
+ * revalidation, see {@link CachePolicy}, and single byte range requests are supported,
+ * see {@link ByteRange}.
+ *
+ * @since 2.33
+ */
+public class MultiReportHandler extends AbstractHandler {
+
+    private static final String INDEX_FILE_NAME = "index.html";
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String SLASH = "/";
+
+    private final Path root;
+
+    private final ReportFileCache cache;
+
+    private final MimeTypes mimeTypes = new MimeTypes();
+
+    private final CachePolicy cachePolicy = new CachePolicy();
+
+    public MultiReportHandler(final Path root, final ReportFileCache cache) throws IOException {
+        this.root = root.toRealPath();
+        this.cache = cache;
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException {
+        final boolean head = HttpMethod.HEAD.is(request.getMethod());
+        final String path = URIUtil.canonicalPath(target);
+        if (!(head || HttpMethod.GET.is(request.getMethod())) || Objects.isNull(path)) {
+            return;
+        }
+        final String relative = path.replaceFirst("^/+", "");
+        if (relative.isEmpty()) {
+            writeReports(response, head);
+            baseRequest.setHandled(true);
+            return;
+        }
+        final Path resolved = root.resolve(relative).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            return;
+        }
+        if (Files.isDirectory(resolved) && !path.endsWith(SLASH)) {
+            response.sendRedirect(URIUtil.addPaths(request.getRequestURI(), SLASH));
+            baseRequest.setHandled(true);
+            return;
+        }
+        final Path file = Files.isDirectory(resolved) ? resolved.resolve(INDEX_FILE_NAME) : resolved;
+        if (!Files.isRegularFile(file) || !file.toRealPath().startsWith(root)) {
+            return;
+        }
+        final int slash = relative.indexOf('/');
+        serve(slash < 0 ? "" : relative.substring(slash + 1), file, request, response, head);
+        baseRequest.setHandled(true);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        cache.close();
+    }
+
+    /**
+     * Returns names of report directories, i.e. direct subdirectories of the root
+     * that contain report index page.
+     *
+     * @return sorted names of reports.
+     * @throws IOException if the root directory can't be read.
+     */
+    public List<String> getReports() throws IOException {
+        final List<String> reports = new ArrayList<>();
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path directory : directories) {
+                if (Files.isRegularFile(directory.resolve(INDEX_FILE_NAME))) {
+                    reports.add(directory.getFileName().toString());
+                }
+            }
+        }
+        Collections.sort(reports);
+        return reports;
+    }
+
+    // ranges are served from the original file, the whole file is served from the
+    // precompressed sibling if the client accepts its encoding
+    private void serve(final String name,
+                       final Path file,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response,
+                       final boolean head) throws IOException {
+        final BasicFileAttributes original = Files.readAttributes(file, BasicFileAttributes.class);
+        final Optional<ByteRange> range = ByteRange.of(
+                request,
+                ReportResourceHandler.getETag(original, null),
+                original.lastModifiedTime().toMillis(),
+                original.size()
+        );
+        final Optional<ReportResourceHandler.Encoding> selected = range.isPresent()
+                ? Optional.empty()
+                : ReportResourceHandler.Encoding.select(
+                        request.getHeader(HttpHeader.ACCEPT_ENCODING.asString()), file, original
+                );
+        final String encoding = selected.map(ReportResourceHandler.Encoding::getCoding).orElse(null);
+        final Path served = selected.map(value -> value.resolve(file)).orElse(file);
+        final BasicFileAttributes attributes = Objects.equals(served, file)
+                ? original
+                : Files.readAttributes(served, BasicFileAttributes.class);
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final String etag = ReportResourceHandler.getETag(attributes, encoding);
+
+        response.setHeader(HttpHeader.ETAG.asString(), etag);
+        response.setDateHeader(HttpHeader.LAST_MODIFIED.asString(), lastModified);
+        response.setHeader(
+                HttpHeader.CACHE_CONTROL.asString(),
+                cachePolicy.getCacheControl(name, file, original, request)
+        );
+        response.setHeader(HttpHeader.ACCEPT_RANGES.asString(), ByteRange.BYTES_UNIT);
+        if (!range.isPresent()) {
+            response.setHeader(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+        }
+        if (ReportResourceHandler.isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(Optional.ofNullable(mimeTypes.getMimeByExtension(file.getFileName().toString()))
+                .orElse(DEFAULT_CONTENT_TYPE));
+        if (range.isPresent()) {
+            if (range.get().apply(response) && !head) {
+                cache.write(file, attributes, range.get().getFirst(), range.get().getLength(),
+                        response.getOutputStream());
+            }
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (Objects.nonNull(encoding)) {
+            response.setHeader(HttpHeader.CONTENT_ENCODING.asString(), encoding);
+        }
+        response.setContentLengthLong(attributes.size());
+        if (!head) {
+            cache.write(served, attributes, response.getOutputStream());
+        }
+    }
+
+    private void writeReports(final HttpServletResponse response, final boolean head) throws IOException {
+        final StringBuilder html = new StringBuilder(
+                "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Allure Reports</title></head>"
+                + "<body><h1>Allure Reports</h1><ul>"
+        );
+        for (String report : getReports()) {
+            html.append("<li><a href=\"")
+                    .append(URIUtil.encodePath(report))
+                    .append("/\">")
+                    .append(StringUtil.sanitizeXmlString(report))
+                    .append("</a></li>");
+        }
+        html.append("</ul></body></html>");
+        final byte[] bytes = html.toString().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/html;charset=utf-8");
+        response.setHeader(HttpHeader.CACHE_CONTROL.asString(), ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        response.setContentLength(bytes.length);
+        if (!head) {
+            response.getOutputStream().write(bytes);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes report change notifications to browsers using server-sent events. The
+ * report index page is served with a script that subscribes to the events and
+ * reloads the page on update. Requests for other resources are passed to the
+ * wrapped handler.
+ * <p>
+ * Event streams are served asynchronously, so open browser tabs don't hold server
+ * threads; events and keep-alive comments are queued for every browser and written
+ * with non-blocking I/O, so a slow browser does not delay others.
+ *
+ * @since 2.33
+ */
+public class ReportEventsHandler extends HandlerWrapper {
+
+    public static final String EVENTS_PATH = "/events";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportEventsHandler.class);
+
+    private static final String INDEX_PATH = "/index.html";
+
+    private static final String UPDATE_EVENT = "update";
+
+    private static final String BODY_END = "</body>";
+
+    private static final String RELOAD_SCRIPT = "<script>new EventSource('events')"
+            + ".addEventListener('" + UPDATE_EVENT + "', function () { window.location.reload(); });</script>";
+
+    private static final String KEEP_ALIVE_MESSAGE = ": keep-alive\n\n";
+
+    private static final byte[] CONNECTED_MESSAGE = ": connected\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final long KEEP_ALIVE_SECONDS = 15;
+
+    private static final int MAX_PENDING_MESSAGES = 64;
+
+    private final Path reportDirectory;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService keepAlive;
+
+    public ReportEventsHandler(final Path reportDirectory) {
+        this.reportDirectory = reportDirectory;
+    }
+
+    /**
+     * Notifies all connected browsers that the report is updated.
+     *
+     * @param data the event data.
+     */
+    public void publish(final String data) {
+        send("event: " + UPDATE_EVENT + "\ndata: " + data + "\n\n");
+    }
+
+    public int getSubscribersCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        keepAlive = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "allure-events-keep-alive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        keepAlive.scheduleAtFixedRate(
+                () -> send(KEEP_ALIVE_MESSAGE), KEEP_ALIVE_SECONDS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS
+        );
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (Objects.nonNull(keepAlive)) {
+            keepAlive.shutdownNow();
+        }
+        subscribers.forEach(Subscriber::complete);
+        super.doStop();
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException, ServletException {
+        if (!HttpMethod.GET.is(request.getMethod())) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        if (EVENTS_PATH.equals(target)) {
+            baseRequest.setHandled(true);
+            streamEvents(request, response);
+            return;
+        }
+        if ("/".equals(target) || INDEX_PATH.equals(target)) {
+            baseRequest.setHandled(true);
+            writeIndex(response);
+            return;
+        }
+        super.handle(target, baseRequest, request, response);
+    }
+
+    private void writeIndex(final HttpServletResponse response) throws IOException {
+        final String index = new String(
+                Files.readAllBytes(reportDirectory.resolve(INDEX_PATH.substring(1))),
+                StandardCharsets.UTF_8
+        );
+        final int position = index.lastIndexOf(BODY_END);
+        final String content = position < 0
+                ? index + RELOAD_SCRIPT
+                : index.substring(0, position) + RELOAD_SCRIPT + index.substring(position);
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/html;charset=utf-8");
+        response.setHeader(HttpHeader.CACHE_CONTROL.asString(), ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private void streamEvents(final HttpServletRequest request,
+                              final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/event-stream;charset=utf-8");
+        response.setHeader(HttpHeader.CACHE_CONTROL.asString(), ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        final AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        final ServletOutputStream output = response.getOutputStream();
+        final Subscriber subscriber = new Subscriber(async, output);
+        async.addListener(subscriber);
+        subscribers.add(subscriber);
+        output.setWriteListener(subscriber);
+        subscriber.send(CONNECTED_MESSAGE);
+    }
+
+    private void send(final String message) {
+        final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        subscribers.forEach(subscriber -> subscriber.send(bytes));
+    }
+
+    /**
+     * Event stream of a browser. Messages are queued and written with non-blocking I/O
+     * when the connection is ready, so a slow browser does not block the publishing
+     * thread. Browsers that do not read the stream are dropped.
+     */
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext async;
+
+        private final ServletOutputStream output;
+
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private boolean flushNeeded;
+
+        Subscriber(final AsyncContext async, final ServletOutputStream output) {
+            this.async = async;
+            this.output = output;
+        }
+
+        private void send(final byte[] message) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_MESSAGES) {
+                LOGGER.debug("Event stream is not read, subscriber is removed");
+                complete();
+                return;
+            }
+            pending.add(message);
+            onWritePossible();
+        }
+
+        // publisher, keep-alive and container threads should not write to the stream at the same time
+        @Override
+        public void onWritePossible() {
+            synchronized (this) {
+                try {
+                    while (output.isReady()) {
+                        if (flushNeeded) {
+                            flushNeeded = false;
+                            output.flush();
+                        } else {
+                            final byte[] message = pending.poll();
+                            if (Objects.isNull(message)) {
+                                return;
+                            }
+                            pendingCount.decrementAndGet();
+                            output.write(message);
+                            flushNeeded = true;
+                        }
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    LOGGER.debug("Could not write event, subscriber is removed", e);
+                    complete();
+                }
+            }
+        }
+
+        private void complete() {
+            if (subscribers.remove(this)) {
+                try {
+                    async.complete();
+                } catch (IllegalStateException e) {
+                    LOGGER.debug("Event stream is already completed", e);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            LOGGER.debug("Could not write event, subscriber is removed", throwable);
+            complete();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of open report files and contents of small json files. Both caches
+ * are evicted in least recently used order, so the number of open files and memory
+ * usage do not depend on the number of served reports. Cached entries are validated
+ * against file size and modification time on each access.
+ *
+ * @since 2.33
+ */
+public class ReportFileCache implements Closeable {
+
+    public static final int DEFAULT_MAX_OPEN_FILES = 256;
+
+    public static final long DEFAULT_MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_CACHED_FILE_SIZE = 1024L * 1024;
+
+    private static final String JSON_EXTENSION = ".json";
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int maxOpenFiles;
+
+    private final long maxCachedBytes;
+
+    private final long maxCachedFileSize;
+
+    private final Object lock = new Object();
+
+    private final Map<Path, OpenFile> openFiles = new LinkedHashMap<>(16, LOAD_FACTOR, true);
+
+    private final Map<Path, CachedContent> contents = new LinkedHashMap<>(16, LOAD_FACTOR, true);
+
+    private long cachedBytes;
+
+    public ReportFileCache() {
+        this(DEFAULT_MAX_OPEN_FILES, DEFAULT_MAX_CACHED_BYTES, DEFAULT_MAX_CACHED_FILE_SIZE);
+    }
+
+    public ReportFileCache(final int maxOpenFiles, final long maxCachedBytes, final long maxCachedFileSize) {
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("Max open files should be positive: " + maxOpenFiles);
+        }
+        this.maxOpenFiles = maxOpenFiles;
+        this.maxCachedBytes = maxCachedBytes;
+        this.maxCachedFileSize = Math.min(maxCachedFileSize, maxCachedBytes);
+    }
+
+    /**
+     * Writes the file to given output. Small json files are served from memory,
+     * other files are transferred from cached file channels, see {@link ByteRange#transfer}.
+     *
+     * @param file       the file to write.
+     * @param attributes the current attributes of the file.
+     * @param output     the output.
+     * @throws IOException if the file can't be read or the output can't be written.
+     */
+    public void write(final Path file,
+                      final BasicFileAttributes attributes,
+                      final OutputStream output) throws IOException {
+        write(file, attributes, 0, attributes.size(), output);
+    }
+
+    /**
+     * Writes the region of the file to given output, see {@link #write(Path, BasicFileAttributes, OutputStream)}.
+     *
+     * @param file       the file to write.
+     * @param attributes the current attributes of the file.
+     * @param position   the position of the region.
+     * @param length     the length of the region.
+     * @param output     the output.
+     * @throws IOException if the file can't be read or the output can't be written.
+     */
+    public void write(final Path file,
+                      final BasicFileAttributes attributes,
+                      final long position,
+                      final long length,
+                      final OutputStream output) throws IOException {
+        if (isCacheable(file, attributes)) {
+            output.write(getContent(file, attributes), (int) position, (int) length);
+            return;
+        }
+        final OpenFile openFile = acquire(file, attributes);
+        try {
+            ByteRange.transfer(openFile.channel, position, length, output);
+        } finally {
+            release(openFile);
+        }
+    }
+
+    public int getOpenFilesCount() {
+        synchronized (lock) {
+            return openFiles.size();
+        }
+    }
+
+    public long getCachedBytes() {
+        synchronized (lock) {
+            return cachedBytes;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            new ArrayList<>(openFiles.values()).forEach(this::retire);
+            openFiles.clear();
+            contents.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private boolean isCacheable(final Path file, final BasicFileAttributes attributes) {
+        return attributes.size() <= maxCachedFileSize && file.getFileName().toString().endsWith(JSON_EXTENSION);
+    }
+
+    private byte[] getContent(final Path file, final BasicFileAttributes attributes) throws IOException {
+        synchronized (lock) {
+            final CachedContent cached = contents.get(file);
+            if (Objects.nonNull(cached) && cached.matches(attributes)) {
+                return cached.bytes;
+            }
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        synchronized (lock) {
+            final CachedContent previous = contents.put(file, new CachedContent(bytes, attributes));
+            if (Objects.nonNull(previous)) {
+                cachedBytes -= previous.bytes.length;
+            }
+            cachedBytes += bytes.length;
+            final Iterator<CachedContent> iterator = contents.values().iterator();
+            while (cachedBytes > maxCachedBytes && iterator.hasNext()) {
+                cachedBytes -= iterator.next().bytes.length;
+                iterator.remove();
+            }
+        }
+        return bytes;
+    }
+
+    private OpenFile acquire(final Path file, final BasicFileAttributes attributes) throws IOException {
+        synchronized (lock) {
+            final OpenFile cached = openFiles.get(file);
+            if (Objects.nonNull(cached) && cached.matches(attributes)) {
+                cached.references++;
+                return cached;
+            }
+        }
+        final OpenFile opened = new OpenFile(FileChannel.open(file, StandardOpenOption.READ), attributes);
+        synchronized (lock) {
+            final OpenFile previous = openFiles.put(file, opened);
+            if (Objects.nonNull(previous)) {
+                retire(previous);
+            }
+            final Iterator<OpenFile> iterator = openFiles.values().iterator();
+            while (openFiles.size() > maxOpenFiles && iterator.hasNext()) {
+                retire(iterator.next());
+                iterator.remove();
+            }
+        }
+        return opened;
+    }
+
+    private void release(final OpenFile openFile) {
+        synchronized (lock) {
+            openFile.references--;
+            closeIfUnused(openFile);
+        }
+    }
+
+    private void retire(final OpenFile openFile) {
+        openFile.evicted = true;
+        closeIfUnused(openFile);
+    }
+
+    private static void closeIfUnused(final OpenFile openFile) {
+        if (openFile.evicted && openFile.references == 0) {
+            try {
+                openFile.channel.close();
+            } catch (IOException ignored) {
+                // nothing to do, the file is not used any more
+            }
+        }
+    }
+
+    /**
+     * The open file channel shared between requests. Guarded by the cache lock.
+     */
+    private static final class OpenFile {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private final FileTime lastModified;
+
+        private int references = 1;
+
+        private boolean evicted;
+
+        private OpenFile(final FileChannel channel, final BasicFileAttributes attributes) {
+            this.channel = channel;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+        }
+
+        private boolean matches(final BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+
+    /**
+     * The content of small file.
+     */
+    private static final class CachedContent {
+
+        private final byte[] bytes;
+
+        private final FileTime lastModified;
+
+        private CachedContent(final byte[] bytes, final BasicFileAttributes attributes) {
+            this.bytes = bytes;
+            this.lastModified = attributes.lastModifiedTime();
+        }
+
+        private boolean matches(final BasicFileAttributes attributes) {
+            return bytes.length == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
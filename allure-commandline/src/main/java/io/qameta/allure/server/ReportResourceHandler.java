@@ -0,0 +1,306 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import io.qameta.allure.core.ReportPrecompressor;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.URIUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Serves regular files of the report directory with HTTP caching support:
+ * <ul>
+ * <li>precompressed {@code .br} and {@code .gz} siblings are served to clients
+ * that accept corresponding encoding;</li>
+ * <li>every response has a strong {@code ETag} and {@code Last-Modified} validators,
+ * conditional requests are answered with {@code 304 Not Modified};</li>
+ * <li>attachments and versioned scripts and styles have content-addressed urls and
+ * are cached without revalidation, other files are revalidated on every use, since
+ * report files keep their names between generations, see {@link CachePolicy};</li>
+ * <li>single byte range requests are answered with {@code 206 Partial Content},
+ * see {@link ByteRange}.</li>
+ * </ul>
+ * File content is sent from memory mapped file regions, so large attachments are not
+ * copied through heap buffers. Directories, multiple range requests and methods other
+ * than GET and HEAD are passed to the wrapped handler.
+ *
+ * @since 2.33
+ */
+public class ReportResourceHandler extends HandlerWrapper {
+
+    public static final String REVALIDATE_CACHE_CONTROL = "no-cache";
+
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+
+    private final MimeTypes mimeTypes = new MimeTypes();
+
+    private final CachePolicy cachePolicy = new CachePolicy();
+
+    public ReportResourceHandler(final Path reportDirectory) throws IOException {
+        this.root = reportDirectory.toRealPath();
+    }
+
+    @Override
+    public void handle(final String target,
+                       final Request baseRequest,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException, ServletException {
+        final boolean head = HttpMethod.HEAD.is(request.getMethod());
+        final boolean get = HttpMethod.GET.is(request.getMethod());
+        final String range = request.getHeader(HttpHeader.RANGE.asString());
+        final Optional<Path> file = (get || head) && !ByteRange.isMultiple(range)
+                ? resolve(target)
+                : Optional.empty();
+        if (!file.isPresent()) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        final BasicFileAttributes attributes = Files.readAttributes(file.get(), BasicFileAttributes.class);
+        final String name = URIUtil.canonicalPath(target).replaceFirst("^/+", "");
+        response.setHeader(
+                HttpHeader.CACHE_CONTROL.asString(),
+                cachePolicy.getCacheControl(name, file.get(), attributes, request)
+        );
+        final Optional<ByteRange> byteRange = ByteRange.of(
+                request, getETag(attributes, null), attributes.lastModifiedTime().toMillis(), attributes.size()
+        );
+        if (byteRange.isPresent()) {
+            serveRange(file.get(), attributes, byteRange.get(), request, response, head);
+        } else {
+            serve(file.get(), attributes, request, response, head);
+        }
+        baseRequest.setHandled(true);
+    }
+
+    private void serve(final Path file,
+                       final BasicFileAttributes original,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response,
+                       final boolean head) throws IOException {
+        final Optional<Encoding> selected = Encoding.select(
+                request.getHeader(HttpHeader.ACCEPT_ENCODING.asString()), file, original
+        );
+        final String encoding = selected.map(Encoding::getCoding).orElse(null);
+        final Path served = selected.map(value -> value.resolve(file)).orElse(file);
+        final BasicFileAttributes attributes = Objects.equals(served, file)
+                ? original
+                : Files.readAttributes(served, BasicFileAttributes.class);
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final String etag = getETag(attributes, encoding);
+
+        response.setHeader(HttpHeader.ETAG.asString(), etag);
+        response.setDateHeader(HttpHeader.LAST_MODIFIED.asString(), lastModified);
+        response.setHeader(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+        response.setHeader(HttpHeader.ACCEPT_RANGES.asString(), ByteRange.BYTES_UNIT);
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(getContentType(file));
+        if (Objects.nonNull(encoding)) {
+            response.setHeader(HttpHeader.CONTENT_ENCODING.asString(), encoding);
+        }
+        response.setContentLengthLong(attributes.size());
+        if (!head) {
+            ByteRange.write(served, 0, attributes.size(), response.getOutputStream());
+        }
+    }
+
+    private void serveRange(final Path file,
+                            final BasicFileAttributes attributes,
+                            final ByteRange range,
+                            final HttpServletRequest request,
+                            final HttpServletResponse response,
+                            final boolean head) throws IOException {
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final String etag = getETag(attributes, null);
+
+        response.setHeader(HttpHeader.ETAG.asString(), etag);
+        response.setDateHeader(HttpHeader.LAST_MODIFIED.asString(), lastModified);
+        response.setHeader(HttpHeader.ACCEPT_RANGES.asString(), ByteRange.BYTES_UNIT);
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(getContentType(file));
+        if (range.apply(response) && !head) {
+            range.write(file, response.getOutputStream());
+        }
+    }
+
+    private Optional<Path> resolve(final String target) throws IOException {
+        final String path = URIUtil.canonicalPath(target);
+        if (Objects.isNull(path)) {
+            return Optional.empty();
+        }
+        final Path file = root.resolve(path.replaceFirst("^/+", "")).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file) || !file.toRealPath().startsWith(root)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private String getContentType(final Path file) {
+        return Optional.ofNullable(mimeTypes.getMimeByExtension(file.getFileName().toString()))
+                .orElse(DEFAULT_CONTENT_TYPE);
+    }
+
+    private static boolean isFresh(final Path sibling, final BasicFileAttributes original) throws IOException {
+        return Files.isRegularFile(sibling)
+                && Files.getLastModifiedTime(sibling).compareTo(original.lastModifiedTime()) >= 0;
+    }
+
+    // report files are written once and replaced as a whole, so size and modification
+    // time identify the content and can be used as a strong validator
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static String getETag(final BasicFileAttributes attributes, final String encoding) {
+        final StringBuilder etag = new StringBuilder("\"")
+                .append(Long.toHexString(attributes.size()))
+                .append('-')
+                .append(Long.toHexString(attributes.lastModifiedTime().toMillis()));
+        if (Objects.nonNull(encoding)) {
+            etag.append('-').append(encoding);
+        }
+        return etag.append('"').toString();
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static boolean isNotModified(final HttpServletRequest request,
+                                               final String etag,
+                                               final long lastModified) {
+        final String ifNoneMatch = request.getHeader(HttpHeader.IF_NONE_MATCH.asString());
+        if (Objects.nonNull(ifNoneMatch)) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                final String value = candidate.trim().replaceFirst("^W/", "");
+                if ("*".equals(value) || etag.equals(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final long ifModifiedSince = request.getDateHeader(HttpHeader.IF_MODIFIED_SINCE.asString());
+        return ifModifiedSince >= 0 && lastModified / 1000 * 1000 <= ifModifiedSince;
+    }
+
+    /**
+     * Checks if given content coding is acceptable according to Accept-Encoding header.
+     *
+     * @param header the value of Accept-Encoding header, may be null.
+     * @param coding the content coding.
+     * @return true if the coding has non zero quality.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static boolean accepts(final String header, final String coding) {
+        if (Objects.isNull(header)) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String part : header.split(",")) {
+            final String[] params = part.split(";");
+            final String name = params[0].trim().toLowerCase(Locale.ROOT);
+            final double quality = getQuality(params);
+            if (coding.equals(name)) {
+                return quality > 0;
+            }
+            if ("*".equals(name)) {
+                wildcard = quality;
+            }
+        }
+        return Objects.nonNull(wildcard) && wildcard > 0;
+    }
+
+    private static double getQuality(final String... params) {
+        for (int i = 1; i < params.length; i++) {
+            final String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Content codings of precompressed siblings, in order of preference.
+     */
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ enum Encoding {
+
+        BROTLI("br", ReportPrecompressor.BROTLI_SUFFIX),
+        GZIP("gzip", ReportPrecompressor.GZIP_SUFFIX);
+
+        private final String coding;
+
+        private final String suffix;
+
+        Encoding(final String coding, final String suffix) {
+            this.coding = coding;
+            this.suffix = suffix;
+        }
+
+        /**
+         * Returns the preferred encoding that is accepted by the client and has a precompressed
+         * sibling of given file that is not older than the file.
+         *
+         * @param acceptEncoding the value of Accept-Encoding header, may be null.
+         * @param file           the requested file.
+         * @param original       the attributes of requested file.
+         * @return the encoding, or empty if the file should be sent as is.
+         * @throws IOException if the sibling can't be read.
+         */
+        /* default */ static Optional<Encoding> select(final String acceptEncoding,
+                                                       final Path file,
+                                                       final BasicFileAttributes original) throws IOException {
+            for (Encoding candidate : values()) {
+                if (accepts(acceptEncoding, candidate.coding) && isFresh(candidate.resolve(file), original)) {
+                    return Optional.of(candidate);
+                }
+            }
+            return Optional.empty();
+        }
+
+        /* default */ String getCoding() {
+            return coding;
+        }
+
+        /* default */ Path resolve(final Path file) {
+            return file.resolveSibling(file.getFileName() + suffix);
+        }
+    }
+}
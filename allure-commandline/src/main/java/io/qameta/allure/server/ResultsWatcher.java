@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches results directories for new and modified result files. Changes are
+ * debounced: the listener is notified once no more changes arrive during the quiet
+ * period, but not later than the max delay after the first change.
+ *
+ * @since 2.33
+ */
+public class ResultsWatcher implements Closeable {
+
+    public static final long DEFAULT_QUIET_PERIOD_MILLIS = 200;
+
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultsWatcher.class);
+
+    private static final List<String> RESULT_FILE_SUFFIXES = Arrays.asList(
+            "-result.json", "-container.json", "-testsuite.json", ".xml", ".trx"
+    );
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    private final Consumer<Set<Path>> listener;
+
+    private final long quietPeriodMillis;
+
+    private final long maxDelayMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ResultsWatcher(final List<Path> resultsDirectories,
+                          final Consumer<Set<Path>> listener) throws IOException {
+        this(resultsDirectories, listener, DEFAULT_QUIET_PERIOD_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    public ResultsWatcher(final List<Path> resultsDirectories,
+                          final Consumer<Set<Path>> listener,
+                          final long quietPeriodMillis,
+                          final long maxDelayMillis) throws IOException {
+        this.listener = listener;
+        this.quietPeriodMillis = quietPeriodMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        if (resultsDirectories.isEmpty()) {
+            throw new IllegalArgumentException("At least one results directory should be specified");
+        }
+        this.watchService = resultsDirectories.get(0).getFileSystem().newWatchService();
+        for (Path directory : resultsDirectories) {
+            final WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            directories.put(key, directory);
+        }
+    }
+
+    /**
+     * Starts watching in a daemon thread.
+     */
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::watch, "allure-results-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running.set(false);
+        watchService.close();
+    }
+
+    @SuppressWarnings("PMD.DefaultPackage")
+    /* default */ static boolean isResultFile(final Path file) {
+        final String name = file.getFileName().toString();
+        return RESULT_FILE_SUFFIXES.stream().anyMatch(name::endsWith);
+    }
+
+    private void watch() {
+        final Set<Path> changed = new LinkedHashSet<>();
+        long firstChange = 0;
+        try {
+            while (running.get()) {
+                final WatchKey key;
+                if (changed.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstChange);
+                    final long timeout = Math.min(quietPeriodMillis, maxDelayMillis - elapsed);
+                    key = timeout > 0 ? watchService.poll(timeout, TimeUnit.MILLISECONDS) : null;
+                }
+                if (Objects.isNull(key)) {
+                    notifyListener(changed);
+                    changed.clear();
+                    continue;
+                }
+                if (changed.isEmpty()) {
+                    firstChange = System.nanoTime();
+                }
+                collectChanges(key, changed);
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            LOGGER.debug("Results watcher is closed", e);
+        }
+    }
+
+    private void collectChanges(final WatchKey key, final Set<Path> changed) {
+        final Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (OVERFLOW.equals(event.kind())) {
+                changed.add(directory);
+                continue;
+            }
+            final Path file = directory.resolve((Path) event.context());
+            if (isResultFile(file)) {
+                changed.add(file);
+            }
+        }
+    }
+
+    private void notifyListener(final Set<Path> changed) {
+        LOGGER.info("Detected {} changed result files", changed.size());
+        try {
+            listener.accept(Collections.unmodifiableSet(new LinkedHashSet<>(changed)));
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not update the report", e);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static io.qameta.allure.CommandLine.GENERATE_COMMAND;
+import static io.qameta.allure.CommandLine.MERGE_COMMAND;
 import static io.qameta.allure.CommandLine.OPEN_COMMAND;
 import static io.qameta.allure.CommandLine.PLUGIN_COMMAND;
 import static io.qameta.allure.CommandLine.SERVE_COMMAND;
@@ -225,6 +226,41 @@ class CommandLineTest {
                 .isEqualTo(lang);
     }
 
+    @Test
+    void shouldRunMerge(@TempDir final Path temp) {
+        final Path report = temp.resolve("report");
+        final Path first = temp.resolve("first.zip");
+        final Path second = temp.resolve("second.zip");
+        final List<Path> partials = Arrays.asList(first, second);
+
+        when(
+                commands.merge(
+                        eq(report), eq(partials),
+                        eq(false), eq(false), eq(true),
+                        any(ConfigOptions.class),
+                        any(ReportNameOptions.class), any(ReportLanguageOptions.class)
+                )
+        ).thenReturn(NO_ERROR);
+
+        final Optional<ExitCode> exitCode = commandLine.parse(
+                MERGE_COMMAND, first.toString(), second.toString(),
+                "--output", report.toString(), "--partial"
+        );
+        assertThat(exitCode)
+                .isEmpty();
+
+        final ExitCode code = commandLine.run();
+        verify(commands, times(1))
+                .merge(
+                        eq(report), eq(partials),
+                        eq(false), eq(false), eq(true),
+                        any(ConfigOptions.class),
+                        any(ReportNameOptions.class), any(ReportLanguageOptions.class)
+                );
+        assertThat(code)
+                .isEqualTo(NO_ERROR);
+    }
+
     @Test
     void shouldRunOpen(@TempDir final Path report) {
         final int port = randomPort();
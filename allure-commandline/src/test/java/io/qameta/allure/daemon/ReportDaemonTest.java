@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.daemon;
+
+import io.qameta.allure.Commands;
+import io.qameta.allure.ExitCode;
+import io.qameta.allure.option.ConfigOptions;
+import io.qameta.allure.option.ReportLanguageOptions;
+import io.qameta.allure.option.ReportNameOptions;
+import io.qameta.allure.util.PropertyUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.qameta.allure.ExitCode.NO_ERROR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportDaemonTest {
+
+    @Test
+    void shouldRunSubmittedJobs(@TempDir final Path temp) throws Exception {
+        final Commands commands = mock(Commands.class);
+        final AtomicReference<String> environment = new AtomicReference<>();
+        when(commands.generate(any(), any(), anyBoolean(), anyBoolean(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    environment.set(PropertyUtils.getProperty("ALLURE_JOB_NAME").orElse(null));
+                    return NO_ERROR;
+                });
+        final Path socket = temp.resolve("daemon.sock");
+        final CompletableFuture<ExitCode> daemon = CompletableFuture.supplyAsync(
+                () -> new ReportDaemon(commands, socket, 1, 100).run()
+        );
+        for (int i = 0; i < 100 && !Files.exists(socket); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        final ExitCode exitCode = DaemonClient.submit(
+                socket, temp, Collections.singletonMap("ALLURE_JOB_NAME", "nightly"),
+                Arrays.asList("generate", "allure-results", "-o", "report")
+        );
+
+        assertThat(exitCode).isEqualTo(NO_ERROR);
+        verify(commands).generate(
+                eq(temp.resolve("report")), eq(Collections.singletonList(temp.resolve("allure-results"))),
+                eq(false), eq(false),
+                any(ConfigOptions.class), any(ReportNameOptions.class), any(ReportLanguageOptions.class)
+        );
+        assertThat(environment.get()).isEqualTo("nightly");
+        assertThat(PropertyUtils.getProperty("ALLURE_JOB_NAME")).isEmpty();
+        assertThat(daemon.get(10, TimeUnit.SECONDS)).isEqualTo(NO_ERROR);
+        assertThat(socket).doesNotExist();
+    }
+
+    @Test
+    void shouldRunOnlyGenerateAndServeJobs() {
+        assertThat(ReportDaemon.isSupported(Arrays.asList("-v", "generate", "results"))).isTrue();
+        assertThat(ReportDaemon.isSupported(Collections.singletonList("serve"))).isTrue();
+        assertThat(ReportDaemon.isSupported(Arrays.asList("open", "report"))).isFalse();
+        assertThat(ReportDaemon.isSupported(Collections.singletonList("daemon"))).isFalse();
+        assertThat(ReportDaemon.isSupported(Collections.singletonList("--version"))).isFalse();
+    }
+}
@@ -24,8 +24,10 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -150,6 +152,71 @@ class DirectoryPluginLoaderTest {
                 .isEqualTo("io.qameta.allure.packages.PackagesPlugin");
     }
 
+    @Test
+    void shouldReuseLoadedClassesWhenDirectoryIsNotChanged(@TempDir final Path pluginFolder) throws Exception {
+        add(pluginFolder, "plugin.jar", "plugin.jar");
+        add(pluginFolder, "dummy-plugin.yml", "allure-plugin.yml");
+
+        final Optional<Plugin> first = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+        final Optional<Plugin> second = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+
+        assertThat(first)
+                .isPresent();
+        assertThat(second)
+                .isPresent();
+        final List<LazyExtension> firstExtensions = ((DefaultPlugin) first.get()).getLazyExtensions();
+        final List<LazyExtension> secondExtensions = ((DefaultPlugin) second.get()).getLazyExtensions();
+        assertThat(firstExtensions)
+                .extracting(extension -> extension.getType().getCanonicalName())
+                .containsExactly("io.qameta.allure.packages.PackagesPlugin");
+        assertThat(secondExtensions.get(0).getType())
+                .isSameAs(firstExtensions.get(0).getType());
+        assertThat(second.get().getExtensions().get(0))
+                .isNotSameAs(first.get().getExtensions().get(0));
+    }
+
+    @Test
+    void shouldCloseClassLoaderWhenJarsAreChanged(@TempDir final Path pluginFolder) throws Exception {
+        add(pluginFolder, "plugin.jar", "plugin.jar");
+        add(pluginFolder, "dummy-plugin.yml", "allure-plugin.yml");
+
+        final Optional<Plugin> first = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+        assertThat(first)
+                .isPresent();
+        final Class<? extends Extension> type = ((DefaultPlugin) first.get()).getLazyExtensions().get(0).getType();
+
+        add(pluginFolder, "plugin.jar", "lib/plugin.jar");
+
+        final Optional<Plugin> second = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+        assertThat(second)
+                .isPresent();
+        assertThat(((DefaultPlugin) second.get()).getLazyExtensions().get(0).getType())
+                .isNotSameAs(type);
+        assertThat(((URLClassLoader) type.getClassLoader()).findResource(type.getName().replace('.', '/') + ".class"))
+                .isNull();
+    }
+
+    @Test
+    void shouldReloadPluginWhenConfigurationIsChanged(@TempDir final Path pluginFolder) throws Exception {
+        add(pluginFolder, "static-file.txt", "static/some-file");
+        add(pluginFolder, "dummy-plugin2.yml", "allure-plugin.yml");
+
+        final Optional<Plugin> first = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+        assertThat(first)
+                .isPresent();
+
+        final Path configuration = pluginFolder.resolve("allure-plugin.yml");
+        Files.delete(configuration);
+        add(pluginFolder, "dummy-plugin.yml", "allure-plugin.yml");
+        add(pluginFolder, "plugin.jar", "plugin.jar");
+
+        final Optional<Plugin> second = pluginLoader.loadPlugin(getClass().getClassLoader(), pluginFolder);
+        assertThat(second)
+                .isPresent();
+        assertThat(second.get().getConfig())
+                .hasFieldOrPropertyWithValue("id", "packages");
+    }
+
     @Test
     void shouldProcessInvalidConfigFile(@TempDir final Path pluginFolder) throws Exception {
         add(pluginFolder, "static-file.txt", "allure-plugin.yml");
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiReportHandlerTest {
+
+    private static final String CONTENT = "{\"name\":\"report\"}";
+
+    private static final String VIDEO = "first/data/attachments/video.mp4";
+
+    private static final int DOWNLOAD_THREADS = 8;
+
+    private static final int DOWNLOADS_PER_THREAD = 4;
+
+    private Server server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldServeGzipSiblingIfAccepted(@TempDir final Path root) throws Exception {
+        writeFile(root.resolve("first/index.html"));
+        final Path file = writeFile(root.resolve("first/data/suites.json"));
+        final Path gzipFile = root.resolve("first/data/suites.json.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.setLastModifiedTime(gzipFile, Files.getLastModifiedTime(file));
+
+        final HttpURLConnection gzip = open(root, "first/data/suites.json");
+        gzip.setRequestProperty("Accept-Encoding", "gzip");
+        assertThat(gzip.getResponseCode()).isEqualTo(200);
+        assertThat(gzip.getHeaderField("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzip.getHeaderField("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(gzip.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        try (InputStream is = new GZIPInputStream(gzip.getInputStream())) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+
+        final HttpURLConnection identity = open(root, "first/data/suites.json");
+        identity.setRequestProperty("Accept-Encoding", "identity");
+        assertThat(identity.getHeaderField("Content-Encoding")).isNull();
+        try (InputStream is = identity.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void shouldCacheAttachmentsWithoutRevalidation(@TempDir final Path root) throws Exception {
+        writeFile(root.resolve("first/index.html"));
+        writeFile(root.resolve("first/data/attachments/a.txt"));
+
+        final HttpURLConnection attachment = open(root, "first/data/attachments/a.txt");
+        assertThat(attachment.getResponseCode()).isEqualTo(200);
+        assertThat(attachment.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.IMMUTABLE_CACHE_CONTROL);
+
+        final HttpURLConnection index = open(root, "first/");
+        assertThat(index.getResponseCode()).isEqualTo(200);
+        assertThat(index.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldServeConcurrentDownloads(@TempDir final Path root) throws Exception {
+        writeFile(root.resolve("first/index.html"));
+        // larger than a mapped region, so downloads cross region boundaries
+        final byte[] content = new byte[20 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        Files.createDirectories(root.resolve(VIDEO).getParent());
+        Files.write(root.resolve(VIDEO), content);
+        assertThat(open(root, "first/").getResponseCode()).isEqualTo(200);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(DOWNLOAD_THREADS);
+        try {
+            final List<Future<Boolean>> downloads = new ArrayList<>();
+            for (int i = 0; i < DOWNLOAD_THREADS * DOWNLOADS_PER_THREAD; i++) {
+                final long first = i % 2 == 0 ? 0 : 16L * 1024 * 1024 - i * 1024;
+                downloads.add(executor.submit(() -> isDownloaded(root, content, first)));
+            }
+            for (Future<Boolean> download : downloads) {
+                assertThat(download.get(1, TimeUnit.MINUTES)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isDownloaded(final Path root, final byte[] content, final long first) throws Exception {
+        final HttpURLConnection connection = open(root, VIDEO);
+        if (first > 0) {
+            connection.setRequestProperty("Range", "bytes=" + first + "-");
+        }
+        try (InputStream is = connection.getInputStream()) {
+            final byte[] downloaded = IOUtils.toByteArray(is);
+            return Arrays.equals(downloaded, Arrays.copyOfRange(content, (int) first, content.length));
+        }
+    }
+
+    private HttpURLConnection open(final Path root, final String path) throws Exception {
+        if (server == null) {
+            server = new Server(0);
+            server.setHandler(new MultiReportHandler(root, new ReportFileCache()));
+            server.start();
+        }
+        final int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/" + path).openConnection();
+    }
+
+    private static Path writeFile(final Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.DefaultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportEventsHandlerTest {
+
+    private static final String INDEX = "<html><body>report</body></html>";
+
+    private Server server;
+
+    private ReportEventsHandler handler;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldInjectReloadScriptToIndex(@TempDir final Path report) throws Exception {
+        Files.write(report.resolve("index.html"), INDEX.getBytes(StandardCharsets.UTF_8));
+
+        final HttpURLConnection index = open(report, "");
+        assertThat(index.getResponseCode()).isEqualTo(200);
+        assertThat(index.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+        try (InputStream is = index.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8))
+                    .startsWith("<html><body>report<script>new EventSource('events')")
+                    .endsWith("</script></body></html>");
+        }
+
+        assertThat(open(report, "app.js").getResponseCode()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldPushUpdatesToSubscribers(@TempDir final Path report) throws Exception {
+        final HttpURLConnection events = open(report, "events");
+        events.setReadTimeout(10_000);
+        assertThat(events.getResponseCode()).isEqualTo(200);
+        assertThat(events.getContentType()).startsWith("text/event-stream");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(events.getInputStream(), StandardCharsets.UTF_8))) {
+            assertThat(reader.readLine()).isEqualTo(": connected");
+            assertThat(reader.readLine()).isEmpty();
+            assertThat(handler.getSubscribersCount()).isEqualTo(1);
+
+            handler.publish("3");
+            assertThat(reader.readLine()).isEqualTo("event: update");
+            assertThat(reader.readLine()).isEqualTo("data: 3");
+        }
+    }
+
+    private HttpURLConnection open(final Path report, final String path) throws Exception {
+        if (server == null) {
+            server = new Server(0);
+            handler = new ReportEventsHandler(report);
+            handler.setHandler(new DefaultHandler());
+            server.setHandler(handler);
+            server.start();
+        }
+        final int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/" + path).openConnection();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportFileCacheTest {
+
+    @Test
+    void shouldKeepOpenFilesBounded(@TempDir final Path report) throws Exception {
+        try (ReportFileCache cache = new ReportFileCache(2, 1024, 1024)) {
+            for (int i = 0; i < 5; i++) {
+                final Path file = write(report.resolve("attachment-" + i + ".txt"), "content " + i);
+                assertThat(read(cache, file)).isEqualTo("content " + i);
+            }
+            assertThat(cache.getOpenFilesCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldKeepCachedBytesBounded(@TempDir final Path report) throws Exception {
+        try (ReportFileCache cache = new ReportFileCache(2, 20, 20)) {
+            for (int i = 0; i < 5; i++) {
+                final Path file = write(report.resolve("data-" + i + ".json"), "{\"id\":" + i + "}");
+                assertThat(read(cache, file)).isEqualTo("{\"id\":" + i + "}");
+            }
+            assertThat(cache.getCachedBytes()).isLessThanOrEqualTo(20);
+            assertThat(cache.getOpenFilesCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldReadChangedFile(@TempDir final Path report) throws Exception {
+        try (ReportFileCache cache = new ReportFileCache()) {
+            final Path file = write(report.resolve("suites.json"), "{\"a\":1}");
+            assertThat(read(cache, file)).isEqualTo("{\"a\":1}");
+
+            write(file, "{\"a\":22}");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            assertThat(read(cache, file)).isEqualTo("{\"a\":22}");
+        }
+    }
+
+    private static String read(final ReportFileCache cache, final Path file) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        cache.write(file, Files.readAttributes(file, BasicFileAttributes.class), output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Path write(final Path file, final String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import io.qameta.allure.core.ReportWebGenerator;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.DefaultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportResourceHandlerTest {
+
+    private static final String CONTENT = "{\"name\":\"report\"}";
+
+    private Server server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldServeGzipSiblingIfAccepted(@TempDir final Path report) throws Exception {
+        final Path file = writeFile(report.resolve("data/suites.json"));
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(report.resolve("data/suites.json.gz")))) {
+            os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.setLastModifiedTime(report.resolve("data/suites.json.gz"), Files.getLastModifiedTime(file));
+
+        final HttpURLConnection gzip = open(report, "data/suites.json");
+        gzip.setRequestProperty("Accept-Encoding", "br;q=0, gzip");
+        assertThat(gzip.getResponseCode()).isEqualTo(200);
+        assertThat(gzip.getHeaderField("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzip.getHeaderField("Vary")).isEqualTo("Accept-Encoding");
+        try (InputStream is = new GZIPInputStream(gzip.getInputStream())) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+
+        final HttpURLConnection identity = open(report, "data/suites.json");
+        identity.setRequestProperty("Accept-Encoding", "identity");
+        assertThat(identity.getHeaderField("Content-Encoding")).isNull();
+        assertThat(identity.getHeaderField("ETag")).isNotEqualTo(gzip.getHeaderField("ETag"));
+        try (InputStream is = identity.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void shouldAnswerConditionalRequests(@TempDir final Path report) throws Exception {
+        writeFile(report.resolve("data/attachments/a.txt"));
+        writeFile(report.resolve("widgets/summary.json"));
+
+        final HttpURLConnection attachment = open(report, "data/attachments/a.txt");
+        assertThat(attachment.getResponseCode()).isEqualTo(200);
+        assertThat(attachment.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.IMMUTABLE_CACHE_CONTROL);
+        final String etag = attachment.getHeaderField("ETag");
+        assertThat(etag).startsWith("\"").endsWith("\"");
+
+        final HttpURLConnection revalidate = open(report, "data/attachments/a.txt");
+        revalidate.setRequestProperty("If-None-Match", etag);
+        assertThat(revalidate.getResponseCode()).isEqualTo(304);
+
+        final HttpURLConnection widget = open(report, "widgets/summary.json");
+        assertThat(widget.getResponseCode()).isEqualTo(200);
+        assertThat(widget.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldCacheVersionedFilesWithoutRevalidation(@TempDir final Path report) throws Exception {
+        writeFile(report.resolve("app.js"));
+        final String version = ReportWebGenerator.getFingerprint(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        final HttpURLConnection versioned = open(report, "app.js?v=" + version);
+        assertThat(versioned.getResponseCode()).isEqualTo(200);
+        assertThat(versioned.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.IMMUTABLE_CACHE_CONTROL);
+
+        final HttpURLConnection stale = open(report, "app.js?v=0123456789abcdef");
+        assertThat(stale.getResponseCode()).isEqualTo(200);
+        assertThat(stale.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+
+        final HttpURLConnection plain = open(report, "app.js");
+        assertThat(plain.getHeaderField("Cache-Control"))
+                .isEqualTo(ReportResourceHandler.REVALIDATE_CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldServeByteRanges(@TempDir final Path report) throws Exception {
+        writeFile(report.resolve("data/attachments/video.txt"));
+
+        final HttpURLConnection range = open(report, "data/attachments/video.txt");
+        range.setRequestProperty("Range", "bytes=2-5");
+        assertThat(range.getResponseCode()).isEqualTo(206);
+        assertThat(range.getHeaderField("Content-Range")).isEqualTo("bytes 2-5/17");
+        assertThat(range.getHeaderField("Accept-Ranges")).isEqualTo("bytes");
+        try (InputStream is = range.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo("name");
+        }
+
+        final HttpURLConnection suffix = open(report, "data/attachments/video.txt");
+        suffix.setRequestProperty("Range", "bytes=-8");
+        assertThat(suffix.getResponseCode()).isEqualTo(206);
+        try (InputStream is = suffix.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo("report\"}");
+        }
+
+        final HttpURLConnection stale = open(report, "data/attachments/video.txt");
+        stale.setRequestProperty("Range", "bytes=2-5");
+        stale.setRequestProperty("If-Range", "\"stale\"");
+        assertThat(stale.getResponseCode()).isEqualTo(200);
+        try (InputStream is = stale.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+
+        final HttpURLConnection invalid = open(report, "data/attachments/video.txt");
+        invalid.setRequestProperty("Range", "bytes=5-3");
+        assertThat(invalid.getResponseCode()).isEqualTo(200);
+        try (InputStream is = invalid.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        }
+
+        final HttpURLConnection unsatisfiable = open(report, "data/attachments/video.txt");
+        unsatisfiable.setRequestProperty("Range", "bytes=100-");
+        assertThat(unsatisfiable.getResponseCode()).isEqualTo(416);
+        assertThat(unsatisfiable.getHeaderField("Content-Range")).isEqualTo("bytes */17");
+    }
+
+    @Test
+    void shouldNotServeFilesOutsideOfReport(@TempDir final Path temp) throws Exception {
+        final Path report = Files.createDirectories(temp.resolve("report"));
+        writeFile(temp.resolve("secret.json"));
+
+        assertThat(open(report, "../secret.json").getResponseCode()).isIn(400, 404);
+    }
+
+    @Test
+    void shouldParseAcceptEncoding() {
+        assertThat(ReportResourceHandler.accepts("gzip, deflate, br", "br")).isTrue();
+        assertThat(ReportResourceHandler.accepts("gzip;q=0.5", "gzip")).isTrue();
+        assertThat(ReportResourceHandler.accepts("gzip;q=0", "gzip")).isFalse();
+        assertThat(ReportResourceHandler.accepts("*", "br")).isTrue();
+        assertThat(ReportResourceHandler.accepts("*, br;q=0", "br")).isFalse();
+        assertThat(ReportResourceHandler.accepts(null, "gzip")).isFalse();
+    }
+
+    private HttpURLConnection open(final Path report, final String path) throws Exception {
+        if (server == null) {
+            server = new Server(0);
+            final ReportResourceHandler handler = new ReportResourceHandler(report);
+            handler.setHandler(new DefaultHandler());
+            server.setHandler(handler);
+            server.start();
+        }
+        final int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/" + path).openConnection();
+    }
+
+    private static Path writeFile(final Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+}
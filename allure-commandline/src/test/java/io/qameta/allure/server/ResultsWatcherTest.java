@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultsWatcherTest {
+
+    @Test
+    void shouldNotifyAboutNewResultFiles(@TempDir final Path results) throws Exception {
+        final BlockingQueue<Set<Path>> changes = new LinkedBlockingQueue<>();
+        try (ResultsWatcher watcher = new ResultsWatcher(Collections.singletonList(results), changes::add, 50, 500)) {
+            watcher.start();
+            Files.write(results.resolve("a-attachment.txt"), "log".getBytes(StandardCharsets.UTF_8));
+            Files.write(results.resolve("a-result.json"), "{}".getBytes(StandardCharsets.UTF_8));
+            Files.write(results.resolve("b-container.json"), "{}".getBytes(StandardCharsets.UTF_8));
+
+            final Set<Path> changed = changes.poll(10, TimeUnit.SECONDS);
+            assertThat(changed)
+                    .isNotNull()
+                    .contains(results.resolve("a-result.json"))
+                    .doesNotContain(results.resolve("a-attachment.txt"));
+        }
+    }
+
+    @Test
+    void shouldMatchResultFiles() {
+        assertThat(ResultsWatcher.isResultFile(Paths.get("a-result.json"))).isTrue();
+        assertThat(ResultsWatcher.isResultFile(Paths.get("a-container.json"))).isTrue();
+        assertThat(ResultsWatcher.isResultFile(Paths.get("TEST-a.xml"))).isTrue();
+        assertThat(ResultsWatcher.isResultFile(Paths.get("a-attachment.json"))).isFalse();
+        assertThat(ResultsWatcher.isResultFile(Paths.get("environment.properties"))).isFalse();
+    }
+}
@@ -17,9 +17,12 @@ package io.qameta.allure;
 
 import io.qameta.allure.allure1.Allure1Plugin;
 import io.qameta.allure.allure2.Allure2Plugin;
+import io.qameta.allure.cache.ParseCacheContext;
 import io.qameta.allure.category.CategoriesPlugin;
 import io.qameta.allure.category.CategoriesTrendPlugin;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.context.FreemarkerContext;
+import io.qameta.allure.context.GenerationMetricsContext;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.context.MarkdownContext;
 import io.qameta.allure.context.RandomUidContext;
@@ -28,8 +31,10 @@ import io.qameta.allure.core.AttachmentsPlugin;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.MarkdownDescriptionsPlugin;
 import io.qameta.allure.core.Plugin;
+import io.qameta.allure.core.PrecompressContext;
 import io.qameta.allure.core.TestsResultsPlugin;
 import io.qameta.allure.duration.DurationPlugin;
+import io.qameta.allure.duration.DurationRegressionPlugin;
 import io.qameta.allure.duration.DurationTrendPlugin;
 import io.qameta.allure.environment.Allure1EnvironmentPlugin;
 import io.qameta.allure.executor.ExecutorPlugin;
@@ -41,9 +46,12 @@ import io.qameta.allure.influxdb.InfluxDbExportPlugin;
 import io.qameta.allure.launch.LaunchPlugin;
 import io.qameta.allure.mail.MailPlugin;
 import io.qameta.allure.owner.OwnerPlugin;
+import io.qameta.allure.plugin.DefaultPlugin;
+import io.qameta.allure.plugin.LazyExtension;
 import io.qameta.allure.prometheus.PrometheusExportPlugin;
 import io.qameta.allure.retry.RetryPlugin;
 import io.qameta.allure.retry.RetryTrendPlugin;
+import io.qameta.allure.search.SearchIndexPlugin;
 import io.qameta.allure.severity.SeverityPlugin;
 import io.qameta.allure.status.StatusChartPlugin;
 import io.qameta.allure.suites.SuitesPlugin;
@@ -82,38 +90,7 @@ public class ConfigurationBuilder {
 
     private static final String UNDEFINED = "Undefined";
 
-    private static final List<Extension> BUNDLED_EXTENSIONS = Arrays.asList(
-            new MarkdownDescriptionsPlugin(),
-            new TagsPlugin(),
-            new RetryPlugin(),
-            new RetryTrendPlugin(),
-            new SeverityPlugin(),
-            new OwnerPlugin(),
-            new IdeaLinksPlugin(),
-            new HistoryPlugin(),
-            new HistoryTrendPlugin(),
-            new CategoriesPlugin(),
-            new CategoriesTrendPlugin(),
-            new DurationPlugin(),
-            new DurationTrendPlugin(),
-            new StatusChartPlugin(),
-            new TimelinePlugin(),
-            new SuitesPlugin(),
-            new TestsResultsPlugin(),
-            new AttachmentsPlugin(),
-            new MailPlugin(),
-            new InfluxDbExportPlugin(),
-            new PrometheusExportPlugin(),
-            new SummaryPlugin(),
-            new ExecutorPlugin(),
-            new LaunchPlugin(),
-            new Allure1Plugin(),
-            new Allure1EnvironmentPlugin(),
-            new Allure2Plugin(),
-            new GaPlugin()
-    );
-
-    private final List<Extension> extensions = new ArrayList<>();
+    private final List<LazyExtension> extensions = new ArrayList<>();
 
     private final List<Plugin> plugins = new ArrayList<>();
 
@@ -159,6 +136,10 @@ public class ConfigurationBuilder {
                 new MarkdownContext(),
                 new FreemarkerContext(),
                 new RandomUidContext(),
+                new ParseCacheContext(),
+                new GenerationMetricsContext(),
+                new ExecutorContext(),
+                new PrecompressContext(),
                 new MarkdownDescriptionsPlugin(),
                 new TagsPlugin(),
                 new RetryPlugin(),
@@ -172,6 +153,7 @@ public class ConfigurationBuilder {
                 new CategoriesTrendPlugin(),
                 new DurationPlugin(),
                 new DurationTrendPlugin(),
+                new DurationRegressionPlugin(),
                 new StatusChartPlugin(),
                 new TimelinePlugin(),
                 new SuitesPlugin(),
@@ -181,6 +163,7 @@ public class ConfigurationBuilder {
                 new InfluxDbExportPlugin(),
                 new PrometheusExportPlugin(),
                 new SummaryPlugin(),
+                new SearchIndexPlugin(),
                 new ExecutorPlugin(),
                 new LaunchPlugin(),
                 new Allure1Plugin(),
@@ -197,7 +180,7 @@ public class ConfigurationBuilder {
      */
     public static ConfigurationBuilder bundled() {
         return empty()
-                .withExtensions(BUNDLED_EXTENSIONS);
+                .withExtensions(createBundledExtensions());
     }
 
     /**
@@ -213,7 +196,11 @@ public class ConfigurationBuilder {
                         new JacksonContext(),
                         new MarkdownContext(),
                         new FreemarkerContext(),
-                        new RandomUidContext()
+                        new RandomUidContext(),
+                        new ParseCacheContext(),
+                        new GenerationMetricsContext(),
+                        new ExecutorContext(),
+                        new PrecompressContext()
                 ));
     }
 
@@ -236,7 +223,28 @@ public class ConfigurationBuilder {
      * @return the configuration builder
      */
     public ConfigurationBuilder withExtensions(final List<Extension> extensions) {
-        this.extensions.addAll(extensions);
+        extensions.stream()
+                .map(LazyExtension::of)
+                .forEach(this.extensions::add);
+        return this;
+    }
+
+    /**
+     * With context configuration builder. Replaces already added context
+     * of the same class, if any.
+     *
+     * @param context the context
+     * @return the configuration builder
+     * @since 2.33
+     */
+    public ConfigurationBuilder withContext(final Context<?> context) {
+        for (int i = 0; i < extensions.size(); i++) {
+            if (extensions.get(i).getType().equals(context.getClass())) {
+                extensions.set(i, LazyExtension.of(context));
+                return this;
+            }
+        }
+        extensions.add(LazyExtension.of(context));
         return this;
     }
 
@@ -260,9 +268,13 @@ public class ConfigurationBuilder {
      */
     public ConfigurationBuilder withPlugins(final List<Plugin> plugins) {
         this.plugins.addAll(plugins);
-        plugins.stream()
-                .map(Plugin::getExtensions)
-                .forEach(this::withExtensions);
+        for (Plugin plugin : plugins) {
+            if (plugin instanceof DefaultPlugin) {
+                this.extensions.addAll(((DefaultPlugin) plugin).getLazyExtensions());
+            } else {
+                withExtensions(plugin.getExtensions());
+            }
+        }
         return this;
     }
 
@@ -304,6 +316,43 @@ public class ConfigurationBuilder {
         );
     }
 
+    // extensions read their properties when created, so they are created for every
+    // builder, e.g. with the environment of a daemon job
+    private static List<Extension> createBundledExtensions() {
+        return Arrays.asList(
+                new MarkdownDescriptionsPlugin(),
+                new TagsPlugin(),
+                new RetryPlugin(),
+                new RetryTrendPlugin(),
+                new SeverityPlugin(),
+                new OwnerPlugin(),
+                new IdeaLinksPlugin(),
+                new HistoryPlugin(),
+                new HistoryTrendPlugin(),
+                new CategoriesPlugin(),
+                new CategoriesTrendPlugin(),
+                new DurationPlugin(),
+                new DurationTrendPlugin(),
+                new DurationRegressionPlugin(),
+                new StatusChartPlugin(),
+                new TimelinePlugin(),
+                new SuitesPlugin(),
+                new TestsResultsPlugin(),
+                new AttachmentsPlugin(),
+                new MailPlugin(),
+                new InfluxDbExportPlugin(),
+                new PrometheusExportPlugin(),
+                new SummaryPlugin(),
+                new SearchIndexPlugin(),
+                new ExecutorPlugin(),
+                new LaunchPlugin(),
+                new Allure1Plugin(),
+                new Allure1EnvironmentPlugin(),
+                new Allure2Plugin(),
+                new GaPlugin()
+        );
+    }
+
     private static String getVersion() {
         return getVersionFromFile()
                 .orElse(getVersionFromManifest().orElse(UNDEFINED));
@@ -17,11 +17,16 @@ package io.qameta.allure;
 
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.Plugin;
+import io.qameta.allure.plugin.LazyExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link Configuration}.
@@ -32,7 +37,9 @@ public class DefaultConfiguration implements Configuration {
 
     private static final String UNDEFINED = "Undefined";
 
-    private final List<Extension> extensions;
+    private final List<LazyExtension> extensions;
+
+    private final Map<Class<?>, List<?>> extensionsByType = new ConcurrentHashMap<>();
 
     private final List<Plugin> plugins;
 
@@ -54,7 +61,7 @@ public class DefaultConfiguration implements Configuration {
     @Deprecated
     public DefaultConfiguration(final List<Extension> extensions,
                                 final List<Plugin> plugins) {
-        this(UUID.randomUUID().toString(), UNDEFINED, null, null, extensions, plugins);
+        this(UUID.randomUUID().toString(), UNDEFINED, null, null, toLazy(extensions), plugins);
     }
 
     /**
@@ -69,7 +76,7 @@ public class DefaultConfiguration implements Configuration {
     public DefaultConfiguration(final String reportName,
                                 final List<Extension> extensions,
                                 final List<Plugin> plugins) {
-        this(UUID.randomUUID().toString(), UNDEFINED, reportName, null, extensions, plugins);
+        this(UUID.randomUUID().toString(), UNDEFINED, reportName, null, toLazy(extensions), plugins);
 
     }
 
@@ -80,14 +87,14 @@ public class DefaultConfiguration implements Configuration {
      * @param version        the Allure version
      * @param reportName     the report name
      * @param reportLanguage the report language
-     * @param extensions     the extensions
+     * @param extensions     the extensions, instantiated on first request of their type
      * @param plugins        the plugins
      */
     DefaultConfiguration(final String uuid,
                          final String version,
                          final String reportName,
                          final String reportLanguage,
-                         final List<Extension> extensions,
+                         final List<LazyExtension> extensions,
                          final List<Plugin> plugins) {
         this.reportName = reportName;
         this.reportLanguage = reportLanguage;
@@ -124,7 +131,26 @@ public class DefaultConfiguration implements Configuration {
 
     @Override
     public List<Extension> getExtensions() {
-        return Collections.unmodifiableList(extensions);
+        return getExtensions(Extension.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Extension> List<T> getExtensions(final Class<T> extensionType) {
+        final List<?> cached = extensionsByType.get(extensionType);
+        if (Objects.nonNull(cached)) {
+            return (List<T>) cached;
+        }
+        final List<T> found = Collections.unmodifiableList(extensions.stream()
+                .filter(extension -> extensionType.isAssignableFrom(extension.getType()))
+                .map(LazyExtension::get)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .map(extensionType::cast)
+                .collect(Collectors.toList())
+        );
+        final List<?> previous = extensionsByType.putIfAbsent(extensionType, found);
+        return Objects.isNull(previous) ? found : (List<T>) previous;
     }
 
     @Override
@@ -133,4 +159,10 @@ public class DefaultConfiguration implements Configuration {
                 .findFirst();
     }
 
+    private static List<LazyExtension> toLazy(final List<Extension> extensions) {
+        return extensions.stream()
+                .map(LazyExtension::of)
+                .collect(Collectors.toList());
+    }
+
 }
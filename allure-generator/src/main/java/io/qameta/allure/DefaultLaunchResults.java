@@ -56,6 +56,16 @@ public class DefaultLaunchResults implements LaunchResults {
         return attachments;
     }
 
+    /**
+     * Returns all extra blocks of the launch.
+     *
+     * @return the extra blocks by name.
+     * @since 2.33
+     */
+    public Map<String, Object> getExtras() {
+        return extra;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> Optional<T> getExtra(final String name) {
@@ -15,12 +15,19 @@
  */
 package io.qameta.allure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.cache.CachedResults;
+import io.qameta.allure.cache.ParseCache;
+import io.qameta.allure.cache.ParseCacheContext;
+import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.HistorySnapshot;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.Attachment;
 import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.profiling.JfrEvent;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
 import org.slf4j.Logger;
@@ -36,7 +43,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import static io.qameta.allure.profiling.JfrEventType.BYTES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.CACHED_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.PATH_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READER_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READ_FILE;
+import static io.qameta.allure.profiling.JfrEventType.RESULTS_FIELD;
 import static java.nio.file.Files.newInputStream;
 import static java.nio.file.Files.size;
 import static org.apache.commons.io.FilenameUtils.getExtension;
@@ -60,18 +74,37 @@ public class DefaultResultsVisitor implements ResultsVisitor {
 
     private final Map<String, Object> extra;
 
+    private final Map<Path, HistorySnapshot> history;
+
+    private final ParseCache parseCache;
+
     public DefaultResultsVisitor(final Configuration configuration) {
+        this(configuration, configuration.getContext(ParseCacheContext.class)
+                .map(ParseCacheContext::getValue)
+                .orElseGet(ParseCache::disabled));
+    }
+
+    /**
+     * Creates visitor that uses given cache of parsed result files.
+     *
+     * @param configuration the configuration.
+     * @param parseCache    the parse cache.
+     * @since 2.33
+     */
+    public DefaultResultsVisitor(final Configuration configuration, final ParseCache parseCache) {
         this.configuration = configuration;
+        this.parseCache = parseCache;
         this.results = ConcurrentHashMap.newKeySet();
         this.attachments = new ConcurrentHashMap<>();
         this.extra = new ConcurrentHashMap<>();
+        this.history = new ConcurrentHashMap<>();
     }
 
     @Override
     public Attachment visitAttachmentFile(final Path attachmentFile) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
         return attachments.computeIfAbsent(attachmentFile, file -> {
-            final String uid = context.getValue().get();
+            final String uid = context.forFile(file.getParent(), file).getValue().get();
             final String realType = probeContentType(file);
             final String extension = Optional.of(getExtension(file.toString()))
                     .filter(s -> !s.isEmpty())
@@ -108,6 +141,85 @@ public class DefaultResultsVisitor implements ResultsVisitor {
         //not implemented yet
     }
 
+    @Override
+    public HistorySnapshot getHistorySnapshot(final Path resultsDirectory) {
+        return history.computeIfAbsent(resultsDirectory.toAbsolutePath().normalize(), directory -> {
+            final ObjectMapper mapper = configuration.requireContext(JacksonContext.class).getValue();
+            try {
+                return HistorySnapshot.open(directory, mapper);
+            } catch (IOException e) {
+                error("Could not read history directory of " + directory, e);
+                return HistorySnapshot.empty(directory, mapper);
+            }
+        });
+    }
+
+    @Override
+    public <T> T visitCachedResults(final Path file,
+                                    final String readerKey,
+                                    final Function<ResultsVisitor, T> parser) {
+        try (JfrEvent event = READ_FILE.begin()) {
+            final int before = results.size();
+            final T value = readCachedResults(file, readerKey, parser, event);
+            if (event.isRecording()) {
+                event.set(READER_FIELD, readerKey)
+                        .set(PATH_FIELD, file.toString())
+                        .set(BYTES_FIELD, Optional.ofNullable(getFileSizeSafe(file)).orElse(0L))
+                        .set(RESULTS_FIELD, (long) results.size() - before);
+            }
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readCachedResults(final Path file,
+                                    final String readerKey,
+                                    final Function<ResultsVisitor, T> parser,
+                                    final JfrEvent event) {
+        final Optional<String> key = parseCache.getKey(
+                file, String.format("%s;%s", configuration.getVersion(), readerKey)
+        );
+        if (!key.isPresent()) {
+            return parser.apply(this);
+        }
+        final Path directory = file.toAbsolutePath().normalize().getParent();
+        final Optional<CachedResults> cached = parseCache.get(key.get(), directory);
+        if (cached.isPresent() && replayAttachments(directory, cached.get())) {
+            results.addAll(cached.get().getResults());
+            extra.putAll(cached.get().getExtra());
+            event.set(CACHED_FIELD, true);
+            return (T) cached.get().getValue();
+        }
+        final RecordingResultsVisitor recording = new RecordingResultsVisitor(this, directory);
+        final T value = parser.apply(recording);
+        parseCache.put(key.get(), directory, recording.getResults().setValue(value));
+        return value;
+    }
+
+    /**
+     * Registers attachments of cached results. Returns false if an attachment file is already
+     * registered with another uid, e.g. by a fresh parse of other file, since cached results
+     * refer to the cached uid. The file should be parsed again in that case, parsing reuses
+     * the registered attachments.
+     */
+    private boolean replayAttachments(final Path directory, final CachedResults cached) {
+        boolean consistent = true;
+        for (Map.Entry<String, Attachment> entry : cached.getAttachments().entrySet()) {
+            final Attachment attachment = entry.getValue();
+            final Attachment registered = attachments.putIfAbsent(
+                    directory.resolve(entry.getKey()).normalize(), attachment
+            );
+            if (Objects.nonNull(registered) && !Objects.equals(registered.getUid(), attachment.getUid())) {
+                consistent = false;
+            }
+        }
+        return consistent;
+    }
+
+    public int getResultsCount() {
+        return results.size();
+    }
+
     public LaunchResults getLaunchResults() {
         return new DefaultLaunchResults(
                 Collections.unmodifiableSet(results),
@@ -153,4 +265,60 @@ public class DefaultResultsVisitor implements ResultsVisitor {
             return null;
         }
     }
+
+    /**
+     * Visitor that records results of single file for parse cache.
+     */
+    private static final class RecordingResultsVisitor implements ResultsVisitor {
+
+        private final ResultsVisitor delegate;
+
+        private final Path directory;
+
+        private final CachedResults results = new CachedResults();
+
+        RecordingResultsVisitor(final ResultsVisitor delegate, final Path directory) {
+            this.delegate = delegate;
+            this.directory = directory;
+        }
+
+        @Override
+        public Attachment visitAttachmentFile(final Path attachmentFile) {
+            final Attachment attachment = delegate.visitAttachmentFile(attachmentFile);
+            final Path path = attachmentFile.toAbsolutePath().normalize();
+            results.getAttachments().put(directory.relativize(path).toString(), attachment);
+            return attachment;
+        }
+
+        @Override
+        public void visitTestResult(final TestResult result) {
+            delegate.visitTestResult(result);
+            results.getResults().add(result);
+        }
+
+        @Override
+        public void visitExtra(final String name, final Object object) {
+            delegate.visitExtra(name, object);
+            results.getExtra().put(name, object);
+        }
+
+        @Override
+        public void error(final String message, final Exception e) {
+            delegate.error(message, e);
+        }
+
+        @Override
+        public void error(final String message) {
+            delegate.error(message);
+        }
+
+        @Override
+        public HistorySnapshot getHistorySnapshot(final Path resultsDirectory) {
+            return delegate.getHistorySnapshot(resultsDirectory);
+        }
+
+        public CachedResults getResults() {
+            return results;
+        }
+    }
 }
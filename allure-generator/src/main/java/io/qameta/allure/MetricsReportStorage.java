@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.qameta.allure.profiling.GenerationMetrics;
+import io.qameta.allure.profiling.JfrEvent;
+import io.qameta.allure.profiling.MetricsSpan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.qameta.allure.profiling.GenerationMetrics.STORAGE_PHASE;
+import static io.qameta.allure.profiling.JfrEventType.BYTES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.NAME_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.STORAGE_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.STORAGE_WRITE;
+
+/**
+ * Report storage that measures writes of the delegate storage and emits storage write
+ * flight recorder events. Json data is serialized here to count the written bytes,
+ * the same way as report storages do.
+ */
+class MetricsReportStorage implements ReportStorage {
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final ReportStorage delegate;
+
+    private final GenerationMetrics metrics;
+
+    private final AtomicLong outputBytes;
+
+    MetricsReportStorage(final ReportStorage delegate,
+                         final GenerationMetrics metrics,
+                         final AtomicLong outputBytes) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.outputBytes = outputBytes;
+    }
+
+    @Override
+    public void addDataJson(final String name, final Object data) {
+        try {
+            addDataBinary(name, mapper.writeValueAsBytes(data));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addDataBinary(final String name, final byte[] data) {
+        try (MetricsSpan span = startSpan();
+             JfrEvent event = startEvent(name)) {
+            delegate.addDataBinary(name, data);
+            addOutputBytes(span, event, data.length);
+        }
+    }
+
+    @Override
+    public void addDataFile(final String name, final Path file) {
+        try (MetricsSpan span = startSpan();
+             JfrEvent event = startEvent(name)) {
+            delegate.addDataFile(name, file);
+            addOutputBytes(span, event, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addDataLink(final String name, final Path file) {
+        try (MetricsSpan span = startSpan();
+             JfrEvent event = startEvent(name)) {
+            delegate.addDataLink(name, file);
+            addOutputBytes(span, event, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MetricsSpan startSpan() {
+        return metrics.start(STORAGE_PHASE, delegate.getClass().getName());
+    }
+
+    private JfrEvent startEvent(final String name) {
+        return STORAGE_WRITE.begin()
+                .set(STORAGE_FIELD, delegate.getClass().getName())
+                .set(NAME_FIELD, name);
+    }
+
+    private void addOutputBytes(final MetricsSpan span, final JfrEvent event, final long bytes) {
+        span.addOutputBytes(bytes);
+        event.set(BYTES_FIELD, bytes);
+        outputBytes.addAndGet(bytes);
+    }
+}
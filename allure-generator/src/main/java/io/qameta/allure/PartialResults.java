@@ -0,0 +1,438 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.cache.ModelMapper;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.TestResult;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Partial results are parsed launch results of a single node, written to zip archive
+ * with test results, extra blocks, attachment files and partial aggregates of the node.
+ * Any number of partials can be merged into one report or into one partial again.
+ * Launches and aggregates are ordered by their content, so the result of merge does not
+ * depend on the order of partials. Attachments of every partial are extracted to its own
+ * directory, and the same attachment name with different content in two partials is
+ * reported as an error.
+ *
+ * @since 2.33
+ */
+public final class PartialResults {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartialResults.class);
+
+    private static final String LAUNCHES_ENTRY = "launches.json";
+
+    private static final String AGGREGATES_ENTRY = "aggregates.json";
+
+    private static final String ATTACHMENTS_DIR = "attachments/";
+
+    //@formatter:off
+    private static final TypeReference<List<PartialLaunch>> LAUNCHES_TYPE =
+            new TypeReference<List<PartialLaunch>>() {
+            };
+    //@formatter:on
+
+    private PartialResults() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Writes given launches to partial file.
+     *
+     * @param file     the partial file to write.
+     * @param launches the launches to write.
+     * @throws IOException if any occurs.
+     */
+    public static void write(final Path file, final List<LaunchResults> launches) throws IOException {
+        write(file, launches, null, Collections::emptyMap);
+    }
+
+    /**
+     * Writes given launches and partial aggregates to partial file. Launches are written
+     * before aggregates are requested, so the aggregation may modify the results.
+     *
+     * @param file       the partial file to write.
+     * @param launches   the launches to write.
+     * @param aggregates the supplier of partial aggregates by aggregator name.
+     * @throws IOException if any occurs.
+     */
+    public static void write(final Path file,
+                             final List<LaunchResults> launches,
+                             final Supplier<Map<String, Object>> aggregates) throws IOException {
+        write(file, launches, null, aggregates);
+    }
+
+    /**
+     * Writes given launches to partial file without attachment files. Partial refers to the
+     * attachment files by their paths relative to given results directory, so it can be read
+     * only with the same results directory using {@link #read(List, Path, Path)}.
+     *
+     * @param file             the partial file to write.
+     * @param launches         the launches to write.
+     * @param resultsDirectory the results directory that contains attachment files.
+     * @throws IOException if any occurs, or if attachment file is not in the results directory.
+     */
+    public static void write(final Path file,
+                             final List<LaunchResults> launches,
+                             final Path resultsDirectory) throws IOException {
+        write(file, launches, resultsDirectory, Collections::emptyMap);
+    }
+
+    private static void write(final Path file,
+                              final List<LaunchResults> launches,
+                              final Path resultsDirectory,
+                              final Supplier<Map<String, Object>> aggregates) throws IOException {
+        final List<PartialLaunch> partials = new ArrayList<>();
+        for (LaunchResults launch : launches) {
+            partials.add(toPartial(launch, resultsDirectory));
+        }
+        partials.sort(Comparator.comparing(PartialLaunch::getKey));
+        if (Objects.nonNull(file.getParent())) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream os = Files.newOutputStream(file);
+             ZipOutputStream zip = new ZipOutputStream(os)) {
+            zip.putNextEntry(new ZipEntry(LAUNCHES_ENTRY));
+            ModelMapper.getValue().writerFor(LAUNCHES_TYPE).writeValue(zip, partials);
+            zip.closeEntry();
+            final String key = partials.isEmpty() ? "" : partials.get(0).getKey();
+            zip.putNextEntry(new ZipEntry(AGGREGATES_ENTRY));
+            ModelMapper.getValue().writeValue(zip, new PartialAggregates(key, aggregates.get()));
+            zip.closeEntry();
+            if (Objects.nonNull(resultsDirectory)) {
+                return;
+            }
+            final Map<String, Path> written = new HashMap<>();
+            for (LaunchResults launch : launches) {
+                for (Map.Entry<Path, Attachment> entry : launch.getAttachments().entrySet()) {
+                    final String source = entry.getValue().getSource();
+                    final Path existing = written.putIfAbsent(source, entry.getKey());
+                    if (Objects.nonNull(existing)) {
+                        checkSameContent(source, existing, entry.getKey());
+                        continue;
+                    }
+                    zip.putNextEntry(new ZipEntry(ATTACHMENTS_DIR + source));
+                    Files.copy(entry.getKey(), zip);
+                    zip.closeEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads launches from given partial files. Attachment files are extracted
+     * to given directory, that should be kept until the report is generated.
+     *
+     * @param files                the partial files to read.
+     * @param attachmentsDirectory the directory to extract attachments to.
+     * @return the launches ordered by content.
+     * @throws IOException if any occurs, or if partials have different attachments with the same name.
+     */
+    public static List<LaunchResults> read(final List<Path> files,
+                                           final Path attachmentsDirectory) throws IOException {
+        return read(files, attachmentsDirectory, null);
+    }
+
+    /**
+     * Reads launches from given partial files, resolving attachment files that are not
+     * embedded against given results directory.
+     *
+     * @param files                the partial files to read.
+     * @param attachmentsDirectory the directory to extract attachments to.
+     * @param resultsDirectory     the results directory the partials were written with.
+     * @return the launches ordered by content.
+     * @throws IOException if any occurs, or if partials have different attachments with the same name.
+     */
+    public static List<LaunchResults> read(final List<Path> files,
+                                           final Path attachmentsDirectory,
+                                           final Path resultsDirectory) throws IOException {
+        final List<PartialLaunch> partials = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            partials.addAll(read(files.get(i), attachmentsDirectory.resolve(String.valueOf(i)), resultsDirectory));
+        }
+        partials.sort(Comparator.comparing(PartialLaunch::getKey));
+
+        final Map<String, Path> sources = new HashMap<>();
+        final List<LaunchResults> launches = new ArrayList<>();
+        for (PartialLaunch partial : partials) {
+            final Map<Path, Attachment> attachments = new HashMap<>();
+            for (Map.Entry<String, Attachment> entry : partial.getAttachments().entrySet()) {
+                final String source = entry.getKey();
+                final Path attachmentFile = Paths.get(partial.getAttachmentFiles().get(source));
+                final Path existing = sources.putIfAbsent(source, attachmentFile);
+                if (Objects.nonNull(existing)) {
+                    checkSameContent(source, existing, attachmentFile);
+                }
+                attachments.put(attachmentFile, entry.getValue());
+            }
+            launches.add(new DefaultLaunchResults(partial.getResults(), attachments, readExtra(partial)));
+        }
+        return launches;
+    }
+
+    private static List<PartialLaunch> read(final Path file,
+                                            final Path attachmentsDirectory,
+                                            final Path resultsDirectory) throws IOException {
+        List<PartialLaunch> partials = null;
+        Files.createDirectories(attachmentsDirectory);
+        try (InputStream is = Files.newInputStream(file);
+             ZipInputStream zip = new ZipInputStream(is)) {
+            ZipEntry entry = zip.getNextEntry();
+            while (Objects.nonNull(entry)) {
+                final String name = entry.getName();
+                if (LAUNCHES_ENTRY.equals(name)) {
+                    partials = ModelMapper.getValue().readerFor(LAUNCHES_TYPE).readValue(zip);
+                } else if (name.startsWith(ATTACHMENTS_DIR)) {
+                    final Path target = attachmentsDirectory.resolve(name.substring(ATTACHMENTS_DIR.length()))
+                            .normalize();
+                    if (!target.startsWith(attachmentsDirectory) || target.equals(attachmentsDirectory)) {
+                        throw new IOException("Invalid attachment entry " + name + " in " + file);
+                    }
+                    Files.copy(zip, target);
+                }
+                entry = zip.getNextEntry();
+            }
+        }
+        if (Objects.isNull(partials)) {
+            throw new IOException("Could not find " + LAUNCHES_ENTRY + " in partial results " + file);
+        }
+        for (PartialLaunch partial : partials) {
+            for (String source : partial.getAttachments().keySet()) {
+                final String reference = partial.getAttachmentFiles().get(source);
+                final Path attachmentFile = Objects.isNull(reference)
+                        ? attachmentsDirectory.resolve(source)
+                        : resolveReference(file, resultsDirectory, reference);
+                partial.getAttachmentFiles().put(source, attachmentFile.toString());
+            }
+        }
+        return partials;
+    }
+
+    /**
+     * Reads partial aggregates from given partial files. Partials written without
+     * aggregates have no aggregates.
+     *
+     * @param files the partial files to read.
+     * @return the partial aggregates by aggregator name, ordered by content of partials.
+     * @throws IOException if any occurs.
+     */
+    public static List<Map<String, Object>> readAggregates(final List<Path> files) throws IOException {
+        final List<PartialAggregates> aggregates = new ArrayList<>();
+        for (Path file : files) {
+            try (ZipFile zip = new ZipFile(file.toFile())) {
+                final ZipEntry entry = zip.getEntry(AGGREGATES_ENTRY);
+                if (Objects.isNull(entry)) {
+                    aggregates.add(new PartialAggregates("", Collections.emptyMap()));
+                    continue;
+                }
+                try (InputStream is = zip.getInputStream(entry)) {
+                    aggregates.add(ModelMapper.getValue().readValue(is, PartialAggregates.class));
+                }
+            }
+        }
+        aggregates.sort(Comparator.comparing(PartialAggregates::getKey));
+        return aggregates.stream()
+                .map(PartialAggregates::getAggregates)
+                .collect(Collectors.toList());
+    }
+
+    private static Path resolveReference(final Path file,
+                                         final Path resultsDirectory,
+                                         final String reference) throws IOException {
+        if (Objects.isNull(resultsDirectory)) {
+            throw new IOException("Partial results " + file + " refer to attachment files of results directory");
+        }
+        final Path root = resultsDirectory.toAbsolutePath().normalize();
+        final Path target = root.resolve(reference).normalize();
+        if (!target.startsWith(root)) {
+            throw new IOException("Invalid attachment file " + reference + " in " + file);
+        }
+        return target;
+    }
+
+    private static void checkSameContent(final String source,
+                                         final Path first,
+                                         final Path second) throws IOException {
+        if (!first.equals(second) && !FileUtils.contentEquals(first.toFile(), second.toFile())) {
+            throw new IOException(
+                    "Attachment " + source + " has different content in " + first + " and " + second
+            );
+        }
+    }
+
+    private static PartialLaunch toPartial(final LaunchResults launch,
+                                           final Path resultsDirectory) throws IOException {
+        final Map<String, Attachment> attachments = new HashMap<>();
+        final Map<String, String> attachmentFiles = new HashMap<>();
+        for (Map.Entry<Path, Attachment> entry : launch.getAttachments().entrySet()) {
+            final Attachment attachment = entry.getValue();
+            attachments.put(attachment.getSource(), attachment);
+            if (Objects.nonNull(resultsDirectory)) {
+                attachmentFiles.put(attachment.getSource(), relativize(resultsDirectory, entry.getKey()));
+            }
+        }
+
+        final ObjectMapper mapper = ModelMapper.getValue();
+        final Map<String, JsonNode> extra = new HashMap<>();
+        if (launch instanceof DefaultLaunchResults) {
+            ((DefaultLaunchResults) launch).getExtras().forEach((name, value) -> {
+                if (!(value instanceof Serializable)) {
+                    LOGGER.warn("Extra block {} can not be written to partial results", name);
+                    return;
+                }
+                try {
+                    extra.put(name, mapper.readTree(mapper.writerFor(Object.class).writeValueAsBytes(value)));
+                } catch (IOException e) {
+                    LOGGER.warn("Extra block {} can not be written to partial results", name, e);
+                }
+            });
+        }
+        return new PartialLaunch(new HashSet<>(launch.getAllResults()), attachments, attachmentFiles, extra);
+    }
+
+    private static String relativize(final Path resultsDirectory, final Path file) throws IOException {
+        final Path root = resultsDirectory.toAbsolutePath().normalize();
+        final Path target = file.toAbsolutePath().normalize();
+        if (!target.startsWith(root)) {
+            throw new IOException("Attachment file " + file + " is not located in " + resultsDirectory);
+        }
+        return root.relativize(target).toString();
+    }
+
+    private static Map<String, Object> readExtra(final PartialLaunch partial) {
+        final Map<String, Object> extra = new HashMap<>();
+        partial.getExtra().forEach((name, node) -> {
+            try {
+                extra.put(name, ModelMapper.getValue().readerFor(Object.class).readValue(node));
+            } catch (IOException e) {
+                LOGGER.warn("Extra block {} can not be read from partial results", name, e);
+            }
+        });
+        return extra;
+    }
+
+    /**
+     * Launch results written to partial file.
+     */
+    private static final class PartialLaunch {
+
+        private final Set<TestResult> results;
+
+        private final Map<String, Attachment> attachments;
+
+        private final Map<String, String> attachmentFiles;
+
+        private final Map<String, JsonNode> extra;
+
+        private final String key;
+
+        @JsonCreator
+        PartialLaunch(@JsonProperty("results") final Set<TestResult> results,
+                      @JsonProperty("attachments") final Map<String, Attachment> attachments,
+                      @JsonProperty("attachmentFiles") final Map<String, String> attachmentFiles,
+                      @JsonProperty("extra") final Map<String, JsonNode> extra) {
+            this.results = results;
+            this.attachments = attachments;
+            this.attachmentFiles = attachmentFiles;
+            this.extra = extra;
+            this.key = results.stream()
+                    .map(TestResult::getUid)
+                    .filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder())
+                    .orElse("");
+        }
+
+        public Set<TestResult> getResults() {
+            return results;
+        }
+
+        public Map<String, Attachment> getAttachments() {
+            return attachments;
+        }
+
+        public Map<String, String> getAttachmentFiles() {
+            return attachmentFiles;
+        }
+
+        public Map<String, JsonNode> getExtra() {
+            return extra;
+        }
+
+        @JsonIgnore
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Partial aggregates of the node, ordered by the key of its first launch.
+     */
+    private static final class PartialAggregates {
+
+        private final String key;
+
+        private final Map<String, Object> aggregates;
+
+        @JsonCreator
+        PartialAggregates(@JsonProperty("key") final String key,
+                          @JsonProperty("aggregates") final Map<String, Object> aggregates) {
+            this.key = Objects.isNull(key) ? "" : key;
+            this.aggregates = Objects.isNull(aggregates) ? Collections.emptyMap() : aggregates;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Map<String, Object> getAggregates() {
+            return aggregates;
+        }
+    }
+}
@@ -15,11 +15,23 @@
  */
 package io.qameta.allure;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.qameta.allure.cache.GenerationCache;
+import io.qameta.allure.cache.ModelMapper;
+import io.qameta.allure.context.ExecutorContext;
+import io.qameta.allure.context.GenerationMetricsContext;
+import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.FileSystemReportStorage;
 import io.qameta.allure.core.InMemoryReportStorage;
 import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.core.LazyReportStorage;
+import io.qameta.allure.core.PrecompressContext;
 import io.qameta.allure.core.ReportWebGenerator;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.profiling.GenerationMetrics;
+import io.qameta.allure.profiling.JfrEvent;
+import io.qameta.allure.profiling.MetricsSpan;
 import io.qameta.allure.util.DeleteVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,36 +43,114 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static io.qameta.allure.profiling.GenerationMetrics.AGGREGATE_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.READ_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.TOTAL_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.WEB_PHASE;
+import static io.qameta.allure.profiling.JfrEventType.AGGREGATE;
+import static io.qameta.allure.profiling.JfrEventType.AGGREGATOR_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.BYTES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.LAUNCHES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.PATH_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READER_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READ_RESULTS;
+import static io.qameta.allure.profiling.JfrEventType.RESULTS_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.STORAGE_WRITE;
+
 /**
  * @author charlie (Dmitry Baev).
  */
+@SuppressWarnings({"ClassFanOutComplexity", "PMD.TooManyMethods"})
 public class ReportGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportGenerator.class);
 
+    private static final String METRICS_FILE_NAME = "generation-metrics.json";
+
+    private static final TypeReference<Map<String, Object>> AGGREGATES_TYPE =
+            new TypeReference<Map<String, Object>>() {
+            };
+
     private final Configuration configuration;
 
+    /**
+     * Partial aggregates of results directories from the previous lazy generation,
+     * stored serialized, since merge of aggregates can modify them.
+     */
+    private final Map<Path, byte[]> directoryAggregates = new ConcurrentHashMap<>();
+
     public ReportGenerator(final Configuration configuration) {
         this.configuration = configuration;
     }
 
     private LaunchResults readResults(final Path resultsDirectory) {
-        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
-        configuration.getExtensions(Reader.class)
-                .forEach(reader -> reader.readResults(configuration, visitor, resultsDirectory));
+        return readResults(resultsDirectory, new DefaultResultsVisitor(configuration));
+    }
+
+    private LaunchResults readResults(final Path resultsDirectory, final DefaultResultsVisitor visitor) {
+        final GenerationMetrics metrics = getMetrics();
+        configuration.getExtensions(Reader.class).forEach(reader -> {
+            try (MetricsSpan ignored = metrics.start(READ_PHASE, getName(reader), resultsDirectory.toString());
+                 JfrEvent event = READ_RESULTS.begin()) {
+                final int before = visitor.getResultsCount();
+                reader.readResults(configuration, visitor, resultsDirectory);
+                event.set(READER_FIELD, getName(reader))
+                        .set(PATH_FIELD, resultsDirectory.toString())
+                        .set(RESULTS_FIELD, (long) visitor.getResultsCount() - before);
+            }
+        });
         return visitor.getLaunchResults();
     }
 
     private void aggregate(final List<LaunchResults> results, final ReportStorage storage) {
+        aggregate(results, storage, Collections.emptyList());
+    }
+
+    /**
+     * Runs the aggregators. Partial aggregators, that have aggregates in all the given
+     * partials, write the merged aggregate instead of processing the results.
+     */
+    @SuppressWarnings("unchecked")
+    private void aggregate(final List<LaunchResults> results,
+                           final ReportStorage storage,
+                           final List<Map<String, Object>> partials) {
         processOldAggregators(results, storage);
 
+        final GenerationMetrics metrics = getMetrics();
         for (final Aggregator2 aggregator : configuration.getExtensions(Aggregator2.class)) {
-            aggregator.aggregate(configuration, results, storage);
+            try (MetricsSpan span = metrics.start(AGGREGATE_PHASE, getName(aggregator));
+                 JfrEvent event = AGGREGATE.begin()) {
+                final AtomicLong outputBytes = new AtomicLong();
+                final ReportStorage measured = measure(storage, event.isRecording(), outputBytes);
+                final Optional<Object> merged = mergeAggregates(aggregator, partials);
+                if (merged.isPresent()) {
+                    ((PartialAggregator2<Object>) aggregator).write(configuration, results, merged.get(), measured);
+                } else {
+                    aggregator.aggregate(configuration, results, measured);
+                }
+                span.addOutputBytes(outputBytes.get());
+                event.set(AGGREGATOR_FIELD, getName(aggregator))
+                        .set(LAUNCHES_FIELD, (long) results.size())
+                        .set(BYTES_FIELD, outputBytes.get());
+            }
         }
     }
 
@@ -71,20 +161,31 @@ public class ReportGenerator {
         try {
             tempDir = Files.createTempDirectory("allure-");
 
+            final GenerationMetrics metrics = getMetrics();
             for (Aggregator aggregator : configuration.getExtensions(Aggregator.class)) {
-                aggregator.aggregate(configuration, results, tempDir);
+                try (MetricsSpan ignored = metrics.start(AGGREGATE_PHASE, getName(aggregator));
+                     JfrEvent event = AGGREGATE.begin()) {
+                    aggregator.aggregate(configuration, results, tempDir);
+                    event.set(AGGREGATOR_FIELD, getName(aggregator))
+                            .set(LAUNCHES_FIELD, (long) results.size());
+                }
             }
 
             final Path finalTempDir = tempDir;
-            Files.walkFileTree(tempDir, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(final Path file,
-                                                 final BasicFileAttributes attrs) {
-                    final String fileId = file.relativize(finalTempDir).toString();
-                    storage.addDataFile(fileId, file);
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+            try (MetricsSpan span = metrics.start(AGGREGATE_PHASE, Aggregator.class.getName())) {
+                final AtomicLong outputBytes = new AtomicLong();
+                final ReportStorage measured = measure(storage, false, outputBytes);
+                Files.walkFileTree(tempDir, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file,
+                                                     final BasicFileAttributes attrs) {
+                        final String fileId = file.relativize(finalTempDir).toString();
+                        measured.addDataFile(fileId, file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+                span.addOutputBytes(outputBytes.get());
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } finally {
@@ -114,17 +215,390 @@ public class ReportGenerator {
     private void generate(final ReportStorage storage,
                           final Path outputDirectory,
                           final List<Path> resultsDirectories) {
+        final GenerationMetrics metrics = startMetrics();
+        try (MetricsSpan ignored = metrics.start(TOTAL_PHASE, getName(this))) {
+            final List<LaunchResults> results = resultsDirectories.stream()
+                    .filter(this::isValidResultsDirectory)
+                    .map(this::readResults)
+                    .collect(Collectors.toList());
+            aggregate(results, storage);
+            generateWeb(storage, outputDirectory);
+        }
+        writeMetrics(outputDirectory);
+    }
+
+    public void generateSingleFile(final Path outputDirectory, final List<Path> resultsDirectories) {
+        final InMemoryReportStorage storage = new InMemoryReportStorage();
+        generate(storage, outputDirectory, resultsDirectories);
+    }
+
+    /**
+     * Generates the report without writing report data. Aggregated data is kept in returned
+     * storage and serialized on request, data files are read from results directories.
+     * Only report web files (index page, scripts, styles and plugin files) are written.
+     *
+     * @param webDirectory       the directory to write report web files to.
+     * @param resultsDirectories the results directories.
+     * @return the storage with report data.
+     * @since 2.33
+     */
+    public LazyReportStorage generateLazy(final Path webDirectory, final List<Path> resultsDirectories) {
+        final LazyReportStorage storage = new LazyReportStorage();
+        generate(storage, webDirectory, resultsDirectories);
+        return storage;
+    }
+
+    /**
+     * Generates the report using the generation cache. Results directories that are not
+     * changed since the previous generation are not read again, only changed result files
+     * of other directories are parsed, and only changed report files are written.
+     *
+     * @param outputDirectory    the report directory.
+     * @param cacheDirectory     the cache directory.
+     * @param resultsDirectories the results directories.
+     * @since 2.33
+     */
+    public void generateIncremental(final Path outputDirectory,
+                                    final Path cacheDirectory,
+                                    final List<Path> resultsDirectories) {
+        generateCached(
+                outputDirectory, cacheDirectory, resultsDirectories,
+                cache -> cache.createStorage(outputDirectory), false
+        );
+    }
+
+    /**
+     * Generates the report without writing report data, see {@link #generateLazy(Path, List)}.
+     * Results directories that are not changed since the previous generation with the same
+     * cache directory are not read again. The generator keeps partial aggregates of every
+     * results directory, so repeated generations, e.g. in watch mode, aggregate only
+     * changed directories if runs of a test are not spread over several directories.
+     *
+     * @param webDirectory       the directory to write report web files to.
+     * @param cacheDirectory     the cache directory.
+     * @param resultsDirectories the results directories.
+     * @return the storage with report data.
+     * @since 2.33
+     */
+    public LazyReportStorage generateLazy(final Path webDirectory,
+                                          final Path cacheDirectory,
+                                          final List<Path> resultsDirectories) {
+        final LazyReportStorage storage = new LazyReportStorage();
+        generateCached(webDirectory, cacheDirectory, resultsDirectories, cache -> storage, true);
+        return storage;
+    }
+
+    private void generateCached(final Path outputDirectory,
+                                final Path cacheDirectory,
+                                final List<Path> resultsDirectories,
+                                final Function<GenerationCache, ReportStorage> storageFactory,
+                                final boolean incremental) {
+        final GenerationMetrics metrics = startMetrics();
+        try (MetricsSpan ignored = metrics.start(TOTAL_PHASE, getName(this))) {
+            final GenerationCache cache = GenerationCache.open(cacheDirectory, configuration);
+            final List<Path> directories = resultsDirectories.stream()
+                    .filter(this::isValidResultsDirectory)
+                    .collect(Collectors.toList());
+            final Set<Path> changed = new HashSet<>();
+            final List<LaunchResults> results = directories.stream()
+                    .map(directory -> cache.getLaunchResults(directory, () -> {
+                        changed.add(directory);
+                        return readResults(directory, new DefaultResultsVisitor(configuration, cache.getParseCache()));
+                    }))
+                    .collect(Collectors.toList());
+            final ReportStorage storage = storageFactory.apply(cache);
+            if (incremental) {
+                aggregateIncremental(directories, results, changed, storage);
+            } else {
+                aggregate(results, storage);
+            }
+            generateWeb(storage, outputDirectory);
+            cache.commit(outputDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeMetrics(outputDirectory);
+    }
+
+    /**
+     * Reads results and writes them to partial file, that can be merged
+     * with other partials using {@link #merge(Path, List)}. Partial aggregators store
+     * their aggregates of the results to the partial, so they do not process all the
+     * results again when partials are merged. Other aggregators run only for their
+     * changes of the results, their data is discarded and written when partials are
+     * merged, so aggregators that export to external services should be enabled
+     * only for the merge. Aggregates of a node do not see results of other nodes,
+     * so all the runs of a test should be on the same node.
+     *
+     * @param partialFile        the partial file to write.
+     * @param resultsDirectories the results directories.
+     * @since 2.33
+     */
+    public void generatePartial(final Path partialFile, final List<Path> resultsDirectories) {
         final List<LaunchResults> results = resultsDirectories.stream()
                 .filter(this::isValidResultsDirectory)
                 .map(this::readResults)
                 .collect(Collectors.toList());
-        aggregate(results, storage);
-        new ReportWebGenerator().generate(configuration, storage, outputDirectory);
+        writePartial(partialFile, results, () -> aggregatePartial(results));
     }
 
-    public void generateSingleFile(final Path outputDirectory, final List<Path> resultsDirectories) {
-        final InMemoryReportStorage storage = new InMemoryReportStorage();
-        generate(storage, outputDirectory, resultsDirectories);
+    /**
+     * Merges partial files into the report.
+     *
+     * @param outputDirectory the report directory.
+     * @param partialFiles    the partial files.
+     * @since 2.33
+     */
+    public void merge(final Path outputDirectory, final List<Path> partialFiles) {
+        merge(new FileSystemReportStorage(outputDirectory), outputDirectory, partialFiles);
+    }
+
+    /**
+     * Merges partial files into the single file report.
+     *
+     * @param outputDirectory the report directory.
+     * @param partialFiles    the partial files.
+     * @since 2.33
+     */
+    public void mergeSingleFile(final Path outputDirectory, final List<Path> partialFiles) {
+        merge(new InMemoryReportStorage(), outputDirectory, partialFiles);
+    }
+
+    /**
+     * Merges partial files into one partial file.
+     *
+     * @param partialFile  the partial file to write.
+     * @param partialFiles the partial files to merge.
+     * @since 2.33
+     */
+    public void mergePartial(final Path partialFile, final List<Path> partialFiles) {
+        withPartials(partialFiles, (results, partials) -> writePartial(
+                partialFile, results, () -> mergeAggregates(partials)
+        ));
+    }
+
+    private void merge(final ReportStorage storage,
+                       final Path outputDirectory,
+                       final List<Path> partialFiles) {
+        final GenerationMetrics metrics = startMetrics();
+        try (MetricsSpan ignored = metrics.start(TOTAL_PHASE, getName(this))) {
+            withPartials(partialFiles, (results, partials) -> {
+                aggregate(results, storage, partials);
+                generateWeb(storage, outputDirectory);
+            });
+        }
+        writeMetrics(outputDirectory);
+    }
+
+    /**
+     * Runs the aggregators reusing partial aggregates of directories that are not changed
+     * since the previous call. Aggregates of a directory do not see runs of its tests in
+     * other directories, so all the results are aggregated again if directories share
+     * tests, as well as for aggregators of the old API.
+     */
+    private void aggregateIncremental(final List<Path> directories,
+                                      final List<LaunchResults> results,
+                                      final Set<Path> changed,
+                                      final ReportStorage storage) {
+        directoryAggregates.keySet().retainAll(directories);
+        directoryAggregates.keySet().removeAll(changed);
+        if (directories.size() < 2
+                || !configuration.getExtensions(Aggregator.class).isEmpty()
+                || !isDisjoint(results)) {
+            directoryAggregates.clear();
+            aggregate(results, storage);
+            return;
+        }
+        final List<Map<String, Object>> partials = new ArrayList<>();
+        for (int i = 0; i < directories.size(); i++) {
+            final List<LaunchResults> launch = Collections.singletonList(results.get(i));
+            final byte[] aggregates = directoryAggregates.computeIfAbsent(
+                    directories.get(i), directory -> writeAggregates(aggregatePartial(launch))
+            );
+            partials.add(readAggregates(aggregates));
+        }
+        aggregate(results, storage, partials);
+    }
+
+    private static boolean isDisjoint(final List<LaunchResults> results) {
+        final Set<String> all = new HashSet<>();
+        for (final LaunchResults launch : results) {
+            final Set<String> historyIds = launch.getAllResults().stream()
+                    .map(TestResult::getHistoryId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            for (final String historyId : historyIds) {
+                if (!all.add(historyId)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static byte[] writeAggregates(final Map<String, Object> aggregates) {
+        try {
+            return ModelMapper.getBinaryValue().writerFor(AGGREGATES_TYPE).writeValueAsBytes(aggregates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> readAggregates(final byte[] aggregates) {
+        try {
+            return ModelMapper.getBinaryValue().readerFor(AGGREGATES_TYPE).readValue(aggregates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> aggregatePartial(final List<LaunchResults> results) {
+        final Map<String, Object> aggregates = new HashMap<>();
+        final ReportStorage discarded = new DiscardingReportStorage();
+        for (final Aggregator2 aggregator : configuration.getExtensions(Aggregator2.class)) {
+            if (aggregator instanceof PartialAggregator2) {
+                ((PartialAggregator2<?>) aggregator).aggregatePartial(configuration, results)
+                        .ifPresent(aggregate -> aggregates.putIfAbsent(getName(aggregator), aggregate));
+            } else {
+                aggregator.aggregate(configuration, results, discarded);
+            }
+        }
+        return aggregates;
+    }
+
+    private Map<String, Object> mergeAggregates(final List<Map<String, Object>> partials) {
+        final Map<String, Object> aggregates = new HashMap<>();
+        for (final Aggregator2 aggregator : configuration.getExtensions(Aggregator2.class)) {
+            mergeAggregates(aggregator, partials)
+                    .ifPresent(aggregate -> aggregates.putIfAbsent(getName(aggregator), aggregate));
+        }
+        return aggregates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Object> mergeAggregates(final Aggregator2 aggregator,
+                                                    final List<Map<String, Object>> partials) {
+        final String name = getName(aggregator);
+        if (!(aggregator instanceof PartialAggregator2) || partials.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!partials.stream().allMatch(partial -> partial.containsKey(name))) {
+            return Optional.empty();
+        }
+        final PartialAggregator2<Object> partialAggregator = (PartialAggregator2<Object>) aggregator;
+        return partials.stream()
+                .map(partial -> partial.get(name))
+                .reduce(partialAggregator::merge);
+    }
+
+    private void generateWeb(final ReportStorage storage, final Path outputDirectory) {
+        final GenerationMetrics metrics = getMetrics();
+        try (MetricsSpan span = metrics.start(WEB_PHASE, ReportWebGenerator.class.getName())) {
+            final long start = System.currentTimeMillis();
+            new ReportWebGenerator().generate(configuration, storage, outputDirectory);
+            configuration.getContext(PrecompressContext.class)
+                    .map(PrecompressContext::getValue)
+                    .ifPresent(precompressor -> precompressor.precompress(
+                            outputDirectory, ExecutorContext.getExecutors(configuration)
+                    ));
+            if (metrics.isEnabled()) {
+                span.addOutputBytes(getWrittenSize(outputDirectory, start));
+            }
+        }
+    }
+
+    private GenerationMetrics getMetrics() {
+        return configuration.getContext(GenerationMetricsContext.class)
+                .map(GenerationMetricsContext::getValue)
+                .orElseGet(() -> new GenerationMetrics(false));
+    }
+
+    private GenerationMetrics startMetrics() {
+        final GenerationMetrics metrics = getMetrics();
+        metrics.clear();
+        return metrics;
+    }
+
+    private ReportStorage measure(final ReportStorage storage,
+                                  final boolean recording,
+                                  final AtomicLong outputBytes) {
+        final GenerationMetrics metrics = getMetrics();
+        return metrics.isEnabled() || recording || STORAGE_WRITE.isEnabled()
+                ? new MetricsReportStorage(storage, metrics, outputBytes)
+                : storage;
+    }
+
+    private void writeMetrics(final Path outputDirectory) {
+        final GenerationMetrics metrics = getMetrics();
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        try {
+            final Path exportDirectory = Files.createDirectories(outputDirectory.resolve(Constants.EXPORT_DIR));
+            configuration.requireContext(JacksonContext.class).getValue()
+                    .writeValue(exportDirectory.resolve(METRICS_FILE_NAME).toFile(), metrics.getMetrics());
+        } catch (IOException e) {
+            LOGGER.warn("Could not write generation metrics", e);
+        }
+    }
+
+    private static String getName(final Object extension) {
+        return extension.getClass().getName();
+    }
+
+    /**
+     * Returns the total size of files modified since given time, walking the directory once.
+     * The time is truncated to seconds for file systems with coarse modification times.
+     */
+    private static long getWrittenSize(final Path directory, final long since) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        final long threshold = TimeUnit.SECONDS.toMillis(TimeUnit.MILLISECONDS.toSeconds(since));
+        final AtomicLong size = new AtomicLong();
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && attrs.lastModifiedTime().toMillis() >= threshold) {
+                        size.addAndGet(attrs.size());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.debug("Could not compute size of {}", directory, e);
+        }
+        return size.get();
+    }
+
+    private void withPartials(final List<Path> partialFiles,
+                              final BiConsumer<List<LaunchResults>, List<Map<String, Object>>> consumer) {
+        Path tempDir = null;
+        try {
+            tempDir = Files.createTempDirectory("allure-partial-");
+            consumer.accept(PartialResults.read(partialFiles, tempDir), PartialResults.readAggregates(partialFiles));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (Objects.nonNull(tempDir)) {
+                try {
+                    Files.walkFileTree(tempDir, new DeleteVisitor());
+                } catch (IOException ignored) {
+                    // do nothing
+                }
+            }
+        }
+    }
+
+    private static void writePartial(final Path partialFile,
+                                     final List<LaunchResults> results,
+                                     final Supplier<Map<String, Object>> aggregates) {
+        try {
+            PartialResults.write(partialFile, results, aggregates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private boolean isValidResultsDirectory(final Path resultsDirectory) {
@@ -138,4 +612,26 @@ public class ReportGenerator {
         }
         return true;
     }
+
+    /**
+     * Storage of aggregators that run for results of a single node, their data
+     * is written when partials are merged.
+     */
+    private static final class DiscardingReportStorage implements ReportStorage {
+
+        @Override
+        public void addDataJson(final String name, final Object data) {
+            // do nothing
+        }
+
+        @Override
+        public void addDataBinary(final String name, final byte[] data) {
+            // do nothing
+        }
+
+        @Override
+        public void addDataFile(final String name, final Path file) {
+            // do nothing
+        }
+    }
 }
@@ -106,6 +106,8 @@ public class Allure1Plugin implements Reader {
     private static final String MD_5 = "md5";
     private static final String ISSUE_URL_PROPERTY = "allure.issues.tracker.pattern";
     private static final String TMS_LINK_PROPERTY = "allure.tests.management.pattern";
+    private static final String CACHE_VERSION = "1";
+    private static final String JSON_SUFFIX = ".json";
     private static final Comparator<Parameter> PARAMETER_COMPARATOR =
             comparing(Parameter::getName, nullsFirst(naturalOrder()))
                     .thenComparing(Parameter::getValue, nullsFirst(naturalOrder()));
@@ -145,18 +147,41 @@ public class Allure1Plugin implements Reader {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
 
         final Map<String, String> environment = processEnvironment(resultsDirectory);
-        getStreamOfAllure1Results(resultsDirectory).forEach(testSuite -> testSuite.getTestCases()
-                .forEach(testCase -> {
-                    convert(context.getValue(), resultsDirectory, visitor, testSuite, testCase, allureProperties);
-                    getEnvironmentParameters(testCase).forEach(param ->
-                            environment.put(param.getName(), param.getValue())
-                    );
-                })
-        );
+        final String cacheKey = getCacheKey(allureProperties);
+        getAllure1ResultFiles(resultsDirectory).forEach(file -> environment.putAll(visitor.visitCachedResults(
+                file,
+                cacheKey,
+                fileVisitor -> convertTestSuite(context, resultsDirectory, fileVisitor, file, allureProperties)
+        )));
 
         visitor.visitExtra(ENVIRONMENT_BLOCK_NAME, environment);
     }
 
+    private Map<String, String> convertTestSuite(final RandomUidContext context,
+                                                 final Path resultsDirectory,
+                                                 final ResultsVisitor visitor,
+                                                 final Path file,
+                                                 final Properties allureProperties) {
+        final Map<String, String> environment = new LinkedHashMap<>();
+        final Supplier<String> uids = context.forFile(resultsDirectory, file).getValue();
+        readTestSuiteFile(file).ifPresent(testSuite -> testSuite.getTestCases().forEach(testCase -> {
+            convert(uids, resultsDirectory, visitor, testSuite, testCase, allureProperties);
+            getEnvironmentParameters(testCase).forEach(param ->
+                    environment.put(param.getName(), param.getValue())
+            );
+        }));
+        return environment;
+    }
+
+    private static String getCacheKey(final Properties properties) {
+        return String.join(";",
+                ALLURE1_RESULTS_FORMAT,
+                CACHE_VERSION,
+                properties.getProperty(ISSUE_URL_PROPERTY, ""),
+                properties.getProperty(TMS_LINK_PROPERTY, "")
+        );
+    }
+
     private List<ru.yandex.qatools.allure.model.Parameter> getEnvironmentParameters(final TestCaseResult testCase) {
         return testCase.getParameters().stream().filter(this::hasEnvType).collect(toList());
     }
@@ -434,36 +459,34 @@ public class Allure1Plugin implements Reader {
         return String.format(properties.getProperty(TMS_LINK_PROPERTY, "%s"), testCaseId);
     }
 
-    private Stream<TestSuiteResult> getStreamOfAllure1Results(final Path source) {
+    private Stream<Path> getAllure1ResultFiles(final Path source) {
         return Stream.concat(xmlFiles(source), jsonFiles(source));
     }
 
-    private Stream<TestSuiteResult> xmlFiles(final Path source) {
+    private Stream<Path> xmlFiles(final Path source) {
         try {
-            return AllureUtils.listTestSuiteXmlFiles(source)
-                    .stream()
-                    .map(this::readXmlTestSuiteFile)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get);
+            return AllureUtils.listTestSuiteXmlFiles(source).stream();
         } catch (IOException e) {
             LOGGER.error("Could not list allure1 xml files", e);
             return Stream.empty();
         }
     }
 
-    private Stream<TestSuiteResult> jsonFiles(final Path source) {
+    private Stream<Path> jsonFiles(final Path source) {
         try {
-            return AllureUtils.listTestSuiteJsonFiles(source)
-                    .stream()
-                    .map(this::readJsonTestSuiteFile)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get);
+            return AllureUtils.listTestSuiteJsonFiles(source).stream();
         } catch (IOException e) {
             LOGGER.error("Could not list allure1 json files", e);
             return Stream.empty();
         }
     }
 
+    private Optional<TestSuiteResult> readTestSuiteFile(final Path source) {
+        return Objects.toString(source.getFileName()).endsWith(JSON_SUFFIX)
+                ? readJsonTestSuiteFile(source)
+                : readXmlTestSuiteFile(source);
+    }
+
     private Optional<TestSuiteResult> readXmlTestSuiteFile(final Path source) {
         try (InputStream is = Files.newInputStream(source)) {
             return Optional.of(xmlMapper.readValue(is, TestSuiteResult.class));
@@ -20,6 +20,9 @@ import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.qameta.allure.Reader;
+import io.qameta.allure.cache.ParseCache;
+import io.qameta.allure.concurrent.ReportExecutors;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.ResultsVisitor;
@@ -35,6 +38,7 @@ import io.qameta.allure.model.FixtureResult;
 import io.qameta.allure.model.StepResult;
 import io.qameta.allure.model.TestResult;
 import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.profiling.JfrEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +48,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
@@ -61,6 +66,11 @@ import java.util.stream.StreamSupport;
 import static io.qameta.allure.entity.LabelName.RESULT_FORMAT;
 import static io.qameta.allure.model.Parameter.Mode.HIDDEN;
 import static io.qameta.allure.model.Parameter.Mode.MASKED;
+import static io.qameta.allure.profiling.JfrEventType.BYTES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.PATH_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READER_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.READ_FILE;
+import static io.qameta.allure.profiling.JfrEventType.RESULTS_FIELD;
 import static io.qameta.allure.util.ConvertUtils.convertList;
 import static java.nio.file.Files.newDirectoryStream;
 import static java.util.Comparator.comparing;
@@ -112,27 +122,50 @@ public class Allure2Plugin implements Reader {
                             final ResultsVisitor visitor,
                             final Path resultsDirectory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
+        final ReportExecutors executors = ExecutorContext.getExecutors(configuration);
 
         final Map<String, List<StageResult>> befores = new ConcurrentHashMap<>();
         final Map<String, List<StageResult>> afters = new ConcurrentHashMap<>();
 
-        readTestResultsContainers(resultsDirectory)
+        final List<Path> containers = listFiles(resultsDirectory, "*-container.json");
+        executors.forEachIo(containers, file -> readTestResultContainer(file)
                 .filter(group -> !Objects.isNull(group.getChildren()))
-                .forEach(group -> {
+                .ifPresent(group -> {
                     processStages(visitor, resultsDirectory, group, befores, group.getBefores());
                     processStages(visitor, resultsDirectory, group, afters, group.getAfters());
-                });
+                }));
 
         sortByStart(befores);
         sortByStart(afters);
 
-        readTestResults(resultsDirectory)
-                .forEach(result -> convert(
-                        context.getValue(),
-                        resultsDirectory, visitor,
-                        result,
-                        befores, afters
-                ));
+        // befores and afters of results come from containers, so cached results are valid only
+        // while containers are not changed
+        final Optional<String> cacheKey = ParseCache.getDigest(containers)
+                .map(digest -> ALLURE2_RESULTS_FORMAT + ";" + digest);
+        executors.forEachIo(listFiles(resultsDirectory, "*-result.json"), file -> {
+            if (cacheKey.isPresent()) {
+                visitor.visitCachedResults(file, cacheKey.get(), fileVisitor -> {
+                    convertTestResult(context, resultsDirectory, fileVisitor, file, befores, afters);
+                    return null;
+                });
+            } else {
+                convertTestResult(context, resultsDirectory, visitor, file, befores, afters);
+            }
+        });
+    }
+
+    private void convertTestResult(final RandomUidContext context,
+                                   final Path resultsDirectory,
+                                   final ResultsVisitor visitor,
+                                   final Path file,
+                                   final Map<String, List<StageResult>> befores,
+                                   final Map<String, List<StageResult>> afters) {
+        readTestResult(file).ifPresent(result -> convert(
+                context.forFile(resultsDirectory, file).getValue(),
+                resultsDirectory, visitor,
+                result,
+                befores, afters
+        ));
     }
 
     private static void sortByStart(final Map<String, List<StageResult>> befores) {
@@ -162,7 +195,7 @@ public class Allure2Plugin implements Reader {
         final Set<String> visited = ConcurrentHashMap.newKeySet();
 
         group.getChildren()
-                .parallelStream()
+                .stream()
                 .filter(Objects::nonNull)
                 .filter(visited::add)
                 .forEach(child -> befores.compute(child, (s, stageResults) -> {
@@ -371,25 +404,12 @@ public class Allure2Plugin implements Reader {
                 ));
     }
 
-    private Stream<TestResultContainer> readTestResultsContainers(final Path resultsDirectory) {
-        return listFiles(resultsDirectory, "*-container.json")
-                .parallel()
-                .map(this::readTestResultContainer)
-                .filter(Optional::isPresent)
-                .map(Optional::get);
-    }
-
-    private Stream<TestResult> readTestResults(final Path resultsDirectory) {
-        return listFiles(resultsDirectory, "*-result.json")
-                .parallel()
-                .map(this::readTestResult)
-                .filter(Optional::isPresent)
-                .map(Optional::get);
-    }
-
     private Optional<TestResult> readTestResult(final Path file) {
-        try (InputStream is = Files.newInputStream(file)) {
-            return Optional.ofNullable(mapper.readValue(is, TestResult.class));
+        try (JfrEvent event = READ_FILE.begin();
+             InputStream is = Files.newInputStream(file)) {
+            final Optional<TestResult> result = Optional.ofNullable(mapper.readValue(is, TestResult.class));
+            setReadFileEvent(event, file, result.isPresent() ? 1 : 0);
+            return result;
         } catch (IOException e) {
             LOGGER.error("Could not read test result file {}", file, e);
             return Optional.empty();
@@ -397,23 +417,36 @@ public class Allure2Plugin implements Reader {
     }
 
     private Optional<TestResultContainer> readTestResultContainer(final Path file) {
-        try (InputStream is = Files.newInputStream(file)) {
-            return Optional.ofNullable(mapper.readValue(is, TestResultContainer.class));
+        try (JfrEvent event = READ_FILE.begin();
+             InputStream is = Files.newInputStream(file)) {
+            final Optional<TestResultContainer> container = Optional.ofNullable(
+                    mapper.readValue(is, TestResultContainer.class)
+            );
+            setReadFileEvent(event, file, 0);
+            return container;
         } catch (IOException e) {
             LOGGER.error("Could not read result container file {}", file, e);
             return Optional.empty();
         }
     }
 
-    private Stream<Path> listFiles(final Path directory, final String glob) {
+    private void setReadFileEvent(final JfrEvent event, final Path file, final long results) throws IOException {
+        if (event.isRecording()) {
+            event.set(READER_FIELD, getClass().getName())
+                    .set(PATH_FIELD, file.toString())
+                    .set(BYTES_FIELD, Files.size(file))
+                    .set(RESULTS_FIELD, results);
+        }
+    }
+
+    private List<Path> listFiles(final Path directory, final String glob) {
         try (DirectoryStream<Path> directoryStream = newDirectoryStream(directory, glob)) {
-            return StreamSupport.stream(directoryStream.spliterator(), true)
+            return StreamSupport.stream(directoryStream.spliterator(), false)
                     .filter(Files::isRegularFile)
-                    .collect(Collectors.toList())
-                    .stream();
+                    .collect(Collectors.toList());
         } catch (IOException e) {
             LOGGER.error("Could not list files in directory {}", directory, e);
-            return Stream.empty();
+            return Collections.emptyList();
         }
     }
 }
@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.TestResult;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of single parsed file stored in {@link ParseCache}. Attachments and
+ * fingerprints of attachment files are stored by path relative to the directory
+ * of parsed file. Extra blocks visited while parsing the file are replayed together
+ * with the results.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class CachedResults implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected List<TestResult> results = new ArrayList<>();
+    protected Map<String, Attachment> attachments = new LinkedHashMap<>();
+    protected Map<String, String> fingerprints = new TreeMap<>();
+    protected Map<String, Object> extra = new LinkedHashMap<>();
+    protected Object value;
+
+}
@@ -0,0 +1,413 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.qameta.allure.DefaultLaunchResults;
+import io.qameta.allure.PartialResults;
+import io.qameta.allure.Reader;
+import io.qameta.allure.ReportStorage;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.FileSystemReportStorage;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.core.ReportPrecompressor;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.cache.HashUtils.hash;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Cache for incremental report generation. Parsed results of each results directory are
+ * stored together with fingerprints (size, modification time and optionally content hash)
+ * of the directory files, and are reused while the files are not changed. When some files
+ * of the directory are changed, the directory is read again using {@link #getParseCache()},
+ * so only the changed result files are parsed, and results of other files are replayed
+ * from the parse cache. Aggregation
+ * always runs on all the results, so report data stays exactly the same, but only
+ * the report files with changed content are rewritten, and files that are not
+ * generated anymore are removed.
+ *
+ * @since 2.33
+ */
+@SuppressWarnings({"ClassDataAbstractionCoupling", "ClassFanOutComplexity"})
+public final class GenerationCache {
+
+    /**
+     * The name of environment variable that enables content hashes in input fingerprints.
+     */
+    public static final String ALLURE_CACHE_CONTENT_HASH = "ALLURE_CACHE_CONTENT_HASH";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationCache.class);
+
+    private static final int VERSION = 1;
+
+    private static final String MANIFEST_FILE_NAME = "manifest.json";
+
+    private static final String LAUNCHES_DIR = "launches";
+
+    private static final String ATTACHMENTS_DIR = "attachments";
+
+    private static final String PARSE_DIR = "parse";
+
+    private final Path directory;
+
+    private final ObjectMapper mapper;
+
+    private final boolean contentHash;
+
+    private final CacheManifest previous;
+
+    private final CacheManifest next;
+
+    private final ParseCache parseCache;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong savedTime = new AtomicLong();
+
+    private final AtomicLong readTime = new AtomicLong();
+
+    private final AtomicLong writtenOutputs = new AtomicLong();
+
+    private final AtomicLong skippedOutputs = new AtomicLong();
+
+    private final AtomicLong removedOutputs = new AtomicLong();
+
+    private GenerationCache(final Path directory,
+                            final ObjectMapper mapper,
+                            final boolean contentHash,
+                            final CacheManifest previous,
+                            final String configurationKey) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.contentHash = contentHash;
+        this.previous = previous;
+        this.parseCache = new ParseCache(directory.resolve(PARSE_DIR), ParseCache.DEFAULT_MAX_SIZE);
+        this.next = new CacheManifest()
+                .setVersion(VERSION)
+                .setConfiguration(configurationKey)
+                .setInputs(new ConcurrentHashMap<>())
+                .setOutputs(new ConcurrentHashMap<>());
+    }
+
+    public static GenerationCache open(final Path directory,
+                                       final Configuration configuration) throws IOException {
+        return open(
+                directory,
+                configuration,
+                getProperty(ALLURE_CACHE_CONTENT_HASH).map(Boolean::parseBoolean).orElse(false)
+        );
+    }
+
+    public static GenerationCache open(final Path directory,
+                                       final Configuration configuration,
+                                       final boolean contentHash) throws IOException {
+        Files.createDirectories(directory.resolve(LAUNCHES_DIR));
+        final ObjectMapper mapper = configuration.requireContext(JacksonContext.class).getValue();
+        final String configurationKey = getConfigurationKey(configuration, contentHash);
+        final Path manifestFile = directory.resolve(MANIFEST_FILE_NAME);
+        CacheManifest previous = new CacheManifest();
+        if (Files.isRegularFile(manifestFile)) {
+            try (InputStream is = Files.newInputStream(manifestFile)) {
+                previous = mapper.readValue(is, CacheManifest.class);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read generation cache manifest {}, cache is ignored", manifestFile, e);
+            }
+        }
+        if (previous.getVersion() != VERSION || !configurationKey.equals(previous.getConfiguration())) {
+            previous.getInputs().clear();
+            FileUtils.deleteQuietly(directory.resolve(PARSE_DIR).toFile());
+        }
+        return new GenerationCache(directory, mapper, contentHash, previous, configurationKey);
+    }
+
+    /**
+     * Returns cached results of given directory if its files are not changed, otherwise
+     * reads the results using given reader and stores them to the cache.
+     *
+     * @param resultsDirectory the results directory.
+     * @param reader           the reader of the results.
+     * @return the launch results.
+     */
+    public LaunchResults getLaunchResults(final Path resultsDirectory,
+                                          final Supplier<LaunchResults> reader) {
+        final String key = resultsDirectory.toAbsolutePath().normalize().toString();
+        final Map<String, FileFingerprint> fingerprints = fingerprint(resultsDirectory);
+        final CachedInput cached = previous.getInputs().get(key);
+        if (Objects.nonNull(cached) && cached.getFiles().equals(fingerprints)) {
+            final Optional<LaunchResults> launch = readLaunch(cached, resultsDirectory);
+            if (launch.isPresent()) {
+                hits.incrementAndGet();
+                savedTime.addAndGet(cached.getReadTime());
+                next.getInputs().put(key, cached);
+                return launch.get();
+            }
+        }
+        misses.incrementAndGet();
+        final long start = System.nanoTime();
+        final LaunchResults launch = reader.get();
+        final long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        readTime.addAndGet(time);
+        if (isCacheable(launch)) {
+            final String launchFile = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + ".zip";
+            try {
+                PartialResults.write(
+                        directory.resolve(LAUNCHES_DIR).resolve(launchFile),
+                        Collections.singletonList(launch),
+                        resultsDirectory
+                );
+                next.getInputs().put(key, new CachedInput()
+                        .setLaunch(launchFile)
+                        .setReadTime(time)
+                        .setFiles(fingerprints));
+            } catch (IOException e) {
+                LOGGER.warn("Could not cache results of {}", resultsDirectory, e);
+            }
+        }
+        return launch;
+    }
+
+    /**
+     * Returns the cache of parsed result files. Readers of changed results directories
+     * should use it, so that only the changed files are parsed again.
+     *
+     * @return the parse cache.
+     */
+    public ParseCache getParseCache() {
+        return parseCache;
+    }
+
+    /**
+     * Creates report storage that writes only the changed files to the report directory.
+     *
+     * @param reportDirectory the report directory.
+     * @return the report storage.
+     */
+    public ReportStorage createStorage(final Path reportDirectory) {
+        return new IncrementalReportStorage(reportDirectory);
+    }
+
+    /**
+     * Removes report files that are not generated anymore and stores the cache manifest.
+     *
+     * @param reportDirectory the report directory.
+     * @throws IOException if any occurs.
+     */
+    public void commit(final Path reportDirectory) throws IOException {
+        final Path root = reportDirectory.toAbsolutePath().normalize();
+        for (String name : previous.getOutputs().keySet()) {
+            final Path target = root.resolve(name).normalize();
+            if (!next.getOutputs().containsKey(name) && target.startsWith(root) && Files.deleteIfExists(target)) {
+                removedOutputs.incrementAndGet();
+                final String fileName = target.getFileName().toString();
+                Files.deleteIfExists(target.resolveSibling(fileName + ReportPrecompressor.GZIP_SUFFIX));
+                Files.deleteIfExists(target.resolveSibling(fileName + ReportPrecompressor.BROTLI_SUFFIX));
+            }
+        }
+        for (Map.Entry<String, CachedInput> entry : previous.getInputs().entrySet()) {
+            if (!next.getInputs().containsKey(entry.getKey())) {
+                Files.deleteIfExists(directory.resolve(LAUNCHES_DIR).resolve(entry.getValue().getLaunch()));
+            }
+        }
+        mapper.writeValue(directory.resolve(MANIFEST_FILE_NAME).toFile(), next);
+
+        final long total = hits.get() + misses.get();
+        LOGGER.info(
+                "Generation cache: {} of {} results directories reused ({}%), read {} ms, saved ~{} ms; "
+                + "result files: {} reused, {} parsed; report files: {} written, {} unchanged, {} removed",
+                hits.get(), total, total == 0 ? 0 : hits.get() * 100 / total,
+                readTime.get(), savedTime.get(), parseCache.getHits(), parseCache.getMisses(),
+                writtenOutputs.get(), skippedOutputs.get(), removedOutputs.get()
+        );
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getWrittenOutputs() {
+        return writtenOutputs.get();
+    }
+
+    public long getSkippedOutputs() {
+        return skippedOutputs.get();
+    }
+
+    public long getRemovedOutputs() {
+        return removedOutputs.get();
+    }
+
+    private Optional<LaunchResults> readLaunch(final CachedInput cached, final Path resultsDirectory) {
+        final Path launchFile = directory.resolve(LAUNCHES_DIR).resolve(cached.getLaunch());
+        if (!Files.isRegularFile(launchFile)) {
+            return Optional.empty();
+        }
+        try {
+            final List<LaunchResults> launches = PartialResults.read(
+                    Collections.singletonList(launchFile),
+                    directory.resolve(ATTACHMENTS_DIR),
+                    resultsDirectory
+            );
+            return launches.stream().findFirst();
+        } catch (IOException e) {
+            LOGGER.warn("Could not read cached results {}", launchFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, FileFingerprint> fingerprint(final Path resultsDirectory) {
+        final Map<String, FileFingerprint> fingerprints = new HashMap<>();
+        try (Stream<Path> files = Files.walk(resultsDirectory)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                fingerprints.put(resultsDirectory.relativize(file).toString(), new FileFingerprint()
+                        .setSize(attributes.size())
+                        .setModified(attributes.lastModifiedTime().toMillis())
+                        .setHash(contentHash ? hash(file) : null));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return fingerprints;
+    }
+
+    private static boolean isCacheable(final LaunchResults launch) {
+        if (!(launch instanceof DefaultLaunchResults)) {
+            return false;
+        }
+        final boolean serializable = ((DefaultLaunchResults) launch).getExtras().values().stream()
+                .allMatch(Serializable.class::isInstance);
+        if (!serializable) {
+            LOGGER.debug("Results contain extra blocks that can not be cached");
+        }
+        return serializable;
+    }
+
+    private static String getConfigurationKey(final Configuration configuration, final boolean contentHash) {
+        final String readers = configuration.getExtensions(Reader.class).stream()
+                .map(reader -> reader.getClass().getName())
+                .collect(Collectors.joining(","));
+        return String.format("%s;%s;%s", configuration.getVersion(), contentHash, readers);
+    }
+
+    /**
+     * Report storage that skips writing of unchanged files.
+     */
+    private final class IncrementalReportStorage implements ReportStorage {
+
+        private final JsonMapper jsonMapper = JsonMapper.builder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        private final ReportStorage delegate;
+
+        private final Path reportDirectory;
+
+        IncrementalReportStorage(final Path reportDirectory) {
+            this.reportDirectory = reportDirectory;
+            this.delegate = new FileSystemReportStorage(reportDirectory);
+        }
+
+        @Override
+        public void addDataJson(final String name, final Object data) {
+            try {
+                addDataBinary(name, jsonMapper.writeValueAsBytes(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void addDataBinary(final String name, final byte[] data) {
+            if (isUnchanged(name, hash(data))) {
+                return;
+            }
+            delegate.addDataBinary(name, data);
+        }
+
+        @Override
+        public void addDataFile(final String name, final Path file) {
+            if (!isUnchanged(name, getFingerprint(file))) {
+                delegate.addDataFile(name, file);
+            }
+        }
+
+        @Override
+        public void addDataLink(final String name, final Path file) {
+            if (!isUnchanged(name, getFingerprint(file))) {
+                delegate.addDataLink(name, file);
+            }
+        }
+
+        private String getFingerprint(final Path file) {
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return String.format(
+                        "file:%s:%d:%d",
+                        file.toAbsolutePath().normalize(),
+                        attributes.size(),
+                        attributes.lastModifiedTime().toMillis()
+                );
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean isUnchanged(final String name, final String fingerprint) {
+            next.getOutputs().put(name, fingerprint);
+            if (fingerprint.equals(previous.getOutputs().get(name))
+                && Files.isRegularFile(reportDirectory.resolve(name))) {
+                skippedOutputs.incrementAndGet();
+                return true;
+            }
+            writtenOutputs.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 hashes of cache keys and file contents.
+ *
+ * @since 2.33
+ */
+@SuppressWarnings("PMD.DefaultPackage")
+final class HashUtils {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int NIBBLE_BITS = 4;
+
+    private static final int NIBBLE_MASK = 0x0f;
+
+    private HashUtils() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /* default */ static String hash(final Path file) throws IOException {
+        final MessageDigest digest = createDigest();
+        update(digest, file);
+        return toHex(digest.digest());
+    }
+
+    /* default */ static String hash(final byte[] data) {
+        return toHex(createDigest().digest(data));
+    }
+
+    /* default */ static void update(final MessageDigest digest, final Path file) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read = is.read(buffer);
+            while (read >= 0) {
+                digest.update(buffer, 0, read);
+                read = is.read(buffer);
+            }
+        }
+    }
+
+    /* default */ static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /* default */ static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >> NIBBLE_BITS) & NIBBLE_MASK];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & NIBBLE_MASK];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.entity.TestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Jackson mapper for results written by Allure itself, such as partial results
+ * and parse cache entries. Values of untyped fields, like extra blocks, are written
+ * with their class names, so they are read back as the same classes. Only classes
+ * of Allure, boxed primitives, strings and standard collections are resolved.
+ *
+ * @since 2.33
+ */
+public final class ModelMapper {
+
+    private static final List<Class<?>> ALLOWED_TYPES = Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class,
+            ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, TreeSet.class,
+            HashMap.class, LinkedHashMap.class, TreeMap.class
+    );
+
+    /**
+     * Unmodifiable, singleton and empty collections of {@link java.util.Collections},
+     * {@link java.util.Arrays#asList(Object[])} and {@code List.of}, that Jackson reads
+     * as the standard collections.
+     */
+    private static final List<String> ALLOWED_COLLECTIONS = Arrays.asList(
+            "java.util.Collections$", "java.util.Arrays$ArrayList", "java.util.ImmutableCollections$"
+    );
+
+    private static final ObjectMapper MAPPER = new JacksonContext().getValue().copy()
+            .activateDefaultTyping(getTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL)
+            .addMixIn(TestResult.class, TestResultMixin.class)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    private static final ObjectMapper BINARY_MAPPER = MAPPER.copyWith(new SmileFactory());
+
+    private ModelMapper() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    private static PolymorphicTypeValidator getTypeValidator() {
+        final BasicPolymorphicTypeValidator.Builder builder = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("io.qameta.allure.")
+                .allowIfSubTypeIsArray();
+        ALLOWED_COLLECTIONS.forEach(builder::allowIfSubType);
+        return builder
+                .allowIfSubType(new BasicPolymorphicTypeValidator.TypeMatcher() {
+                    @Override
+                    public boolean match(final MapperConfig<?> config, final Class<?> clazz) {
+                        return ALLOWED_TYPES.contains(clazz);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the mapper. Streams passed to the mapper are not closed by it.
+     *
+     * @return the mapper.
+     */
+    public static ObjectMapper getValue() {
+        return MAPPER;
+    }
+
+    /**
+     * Returns the mapper with the same configuration that writes binary Smile format. It is
+     * used for entries that are only read by Allure itself, since Smile is more compact
+     * and faster to read than JSON.
+     *
+     * @return the binary mapper.
+     */
+    public static ObjectMapper getBinaryValue() {
+        return BINARY_MAPPER;
+    }
+
+    /**
+     * Extra blocks of test result have no setter, so the field is used to read them.
+     */
+    @SuppressWarnings("unused")
+    private abstract static class TestResultMixin {
+
+        @JsonProperty
+        protected Map<String, Object> extra;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.cache.HashUtils.createDigest;
+import static io.qameta.allure.cache.HashUtils.toHex;
+import static io.qameta.allure.cache.HashUtils.update;
+
+/**
+ * Local cache of parsed results that persists between report generations. Entries
+ * are keyed by the digest of parsed file content and the key of reader, and are stored
+ * as {@link CachedResults} in binary Smile format written by {@link ModelMapper#getBinaryValue()}.
+ * The total size of entries is bounded, least recently used entries are evicted first.
+ *
+ * @since 2.33
+ */
+public final class ParseCache {
+
+    /**
+     * The name of environment variable that sets the parse cache directory.
+     */
+    public static final String ALLURE_PARSE_CACHE_DIR = "ALLURE_PARSE_CACHE_DIR";
+
+    /**
+     * The name of environment variable that sets the max size of parse cache in bytes.
+     */
+    public static final String ALLURE_PARSE_CACHE_SIZE = "ALLURE_PARSE_CACHE_SIZE";
+
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParseCache.class);
+
+    private static final int VERSION = 3;
+
+    private static final String ENTRY_SUFFIX = ".bin";
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private long totalSize;
+
+    private boolean loaded;
+
+    /**
+     * Creates parse cache.
+     *
+     * @param directory the cache directory, or null to disable the cache.
+     * @param maxSize   the max total size of cache entries in bytes.
+     */
+    public ParseCache(final Path directory, final long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public static ParseCache disabled() {
+        return new ParseCache(null, 0);
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(directory);
+    }
+
+    /**
+     * Returns the key of cache entry for given file, or empty if the file can not be read.
+     *
+     * @param file      the parsed file.
+     * @param readerKey the key of reader.
+     * @return the key of cache entry.
+     */
+    public Optional<String> getKey(final Path file, final String readerKey) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        final MessageDigest digest = createDigest();
+        digest.update(String.format("%s;%s;", VERSION, readerKey).getBytes(StandardCharsets.UTF_8));
+        try {
+            update(digest, file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not compute digest of {}", file, e);
+            return Optional.empty();
+        }
+        return Optional.of(toHex(digest.digest()));
+    }
+
+    /**
+     * Returns the digest of names and content of given files, or empty if any file can not
+     * be read. Readers can add it to the reader key when results of a file depend on other files.
+     *
+     * @param files the files.
+     * @return the digest of files.
+     */
+    public static Optional<String> getDigest(final Collection<Path> files) {
+        final MessageDigest digest = createDigest();
+        final List<Path> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparing(file -> String.valueOf(file.getFileName())));
+        for (Path file : sorted) {
+            digest.update(String.format("%s;", file.getFileName()).getBytes(StandardCharsets.UTF_8));
+            try {
+                update(digest, file);
+            } catch (IOException e) {
+                LOGGER.debug("Could not compute digest of {}", file, e);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(toHex(digest.digest()));
+    }
+
+    /**
+     * Returns cached results for given key. The same entry is returned only once per
+     * cache instance, so files with the same content in different results directories
+     * are parsed separately and don't share result uids. Entries are stored together
+     * with fingerprints of attachment files referenced by the results, and are valid
+     * only while the attachment files are not changed.
+     *
+     * @param key       the key of cache entry.
+     * @param directory the directory of parsed file.
+     * @return the cached results if present.
+     */
+    public Optional<CachedResults> get(final String key, final Path directory) {
+        if (!isEnabled() || !visited.add(key)) {
+            return Optional.empty();
+        }
+        final Path entry = getEntry(key);
+        if (!contains(key)) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        try (InputStream is = Files.newInputStream(entry)) {
+            final CachedResults results = ModelMapper.getBinaryValue().readValue(is, CachedResults.class);
+            if (!results.getFingerprints().equals(getFingerprints(directory, results))) {
+                LOGGER.debug("Attachments of parse cache entry {} are changed, entry will be removed", entry);
+                remove(key);
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return Optional.of(results);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read parse cache entry {}, entry will be removed", entry, e);
+            remove(key);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores results to the cache together with fingerprints of referenced attachment files.
+     * Results that can not be written (e.g. with value of unknown class) are skipped.
+     *
+     * @param key       the key of cache entry.
+     * @param directory the directory of parsed file.
+     * @param results   the results to store.
+     */
+    public void put(final String key, final Path directory, final CachedResults results) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Path entry = getEntry(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(this.directory);
+            temp = Files.createTempFile(this.directory, key, ".tmp");
+            results.setFingerprints(getFingerprints(directory, results));
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                ModelMapper.getBinaryValue().writeValue(os, results);
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            added(key, Files.size(entry));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write parse cache entry {}", entry, e);
+            if (Objects.nonNull(temp)) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getTotalSize() {
+        synchronized (entries) {
+            load();
+            return totalSize;
+        }
+    }
+
+    private Path getEntry(final String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private boolean contains(final String key) {
+        synchronized (entries) {
+            load();
+            return Objects.nonNull(entries.get(key));
+        }
+    }
+
+    private void remove(final String key) {
+        synchronized (entries) {
+            load();
+            final Long size = entries.remove(key);
+            if (Objects.nonNull(size)) {
+                totalSize -= size;
+            }
+            deleteQuietly(getEntry(key));
+        }
+    }
+
+    private void added(final String key, final long size) {
+        synchronized (entries) {
+            load();
+            final Long previous = entries.put(key, size);
+            totalSize += size - (Objects.isNull(previous) ? 0 : previous);
+            final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (totalSize > maxSize && iterator.hasNext()) {
+                final Map.Entry<String, Long> eldest = iterator.next();
+                iterator.remove();
+                totalSize -= eldest.getValue();
+                deleteQuietly(getEntry(eldest.getKey()));
+            }
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .map(ParseCache::readAttributes)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .sorted(Comparator.comparing(
+                            (Map.Entry<Path, BasicFileAttributes> entry) -> entry.getValue().lastModifiedTime()
+                    ))
+                    .forEach(entry -> {
+                        final String name = entry.getKey().getFileName().toString();
+                        final long size = entry.getValue().size();
+                        entries.put(name.substring(0, name.length() - ENTRY_SUFFIX.length()), size);
+                        totalSize += size;
+                    });
+        } catch (IOException e) {
+            LOGGER.warn("Could not read parse cache directory {}", directory, e);
+        }
+    }
+
+    private static Map<String, String> getFingerprints(final Path directory, final CachedResults results) {
+        final Map<String, String> fingerprints = new TreeMap<>();
+        results.getAttachments().keySet().forEach(path -> fingerprints.put(
+                path, getFingerprint(directory.resolve(path))
+        ));
+        return fingerprints;
+    }
+
+    private static String getFingerprint(final Path file) {
+        return readAttributes(file)
+                .map(Map.Entry::getValue)
+                .map(attributes -> attributes.size() + ":" + attributes.lastModifiedTime().toMillis())
+                .orElse("");
+    }
+
+    private static Optional<Map.Entry<Path, BasicFileAttributes>> readAttributes(final Path file) {
+        try {
+            return Optional.of(new AbstractMap.SimpleImmutableEntry<>(
+                    file, Files.readAttributes(file, BasicFileAttributes.class)
+            ));
+        } catch (IOException e) {
+            LOGGER.debug("Could not read attributes of {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete parse cache entry {}", file, e);
+        }
+    }
+}
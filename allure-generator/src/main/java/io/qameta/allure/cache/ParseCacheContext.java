@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import io.qameta.allure.Context;
+
+import java.nio.file.Paths;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Context that provides the parse cache. The cache is enabled by
+ * {@link ParseCache#ALLURE_PARSE_CACHE_DIR} environment variable.
+ *
+ * @since 2.33
+ */
+public class ParseCacheContext implements Context<ParseCache> {
+
+    private final ParseCache cache;
+
+    public ParseCacheContext() {
+        this(getProperty(ParseCache.ALLURE_PARSE_CACHE_DIR)
+                .map(Paths::get)
+                .map(directory -> new ParseCache(directory, getProperty(ParseCache.ALLURE_PARSE_CACHE_SIZE)
+                        .map(Long::parseLong)
+                        .orElse(ParseCache.DEFAULT_MAX_SIZE)))
+                .orElseGet(ParseCache::disabled));
+    }
+
+    public ParseCacheContext(final ParseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public ParseCache getValue() {
+        return cache;
+    }
+}
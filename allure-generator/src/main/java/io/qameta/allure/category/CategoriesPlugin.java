@@ -19,10 +19,12 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import io.qameta.allure.Aggregator2;
 import io.qameta.allure.CommonCsvExportAggregator2;
 import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.CommonTreeAggregator2;
 import io.qameta.allure.CompositeAggregator2;
 import io.qameta.allure.Constants;
 import io.qameta.allure.Reader;
 import io.qameta.allure.ReportStorage;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
@@ -49,14 +51,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static io.qameta.allure.entity.Statistic.comparator;
 import static io.qameta.allure.entity.TestResult.comparingByTimeAsc;
 import static io.qameta.allure.tree.TreeUtils.calculateStatisticByLeafs;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
 import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
 
 /**
  * Plugin that generates data for Categories tab.
@@ -76,14 +77,23 @@ public class CategoriesPlugin extends CompositeAggregator2 implements Reader {
 
     public static final String CSV_FILE_NAME = "categories.csv";
 
+    /**
+     * The name of environment variable that enables failure clustering.
+     */
+    public static final String ALLURE_FAILURE_CLUSTERING = "ALLURE_FAILURE_CLUSTERING";
+
     //@formatter:off
     private static final TypeReference<List<Category>> CATEGORIES_TYPE =
         new TypeReference<List<Category>>() { };
     //@formatter:on
 
     public CategoriesPlugin() {
+        this(getProperty(ALLURE_FAILURE_CLUSTERING).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    public CategoriesPlugin(final boolean clusterFailures) {
         super(Arrays.asList(
-                new EnrichDataAggregator(), new JsonAggregator(),
+                new EnrichDataAggregator(clusterFailures), new JsonAggregator(),
                 new CsvExportAggregator(), new WidgetAggregator()
         ));
     }
@@ -111,11 +121,11 @@ public class CategoriesPlugin extends CompositeAggregator2 implements Reader {
         final Tree<TestResult> categories = new TestResultTree(CATEGORIES, CategoriesPlugin::groupByCategories);
         // @formatter:on
 
-        launchResults.stream()
+        categories.addAll(launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
                 .sorted(comparingByTimeAsc())
-                .forEach(categories::add);
+                .collect(Collectors.toList()));
         return categories;
     }
 
@@ -123,18 +133,15 @@ public class CategoriesPlugin extends CompositeAggregator2 implements Reader {
     /* default */ static void addCategoriesForResults(final List<LaunchResults> launchesResults) {
         launchesResults.forEach(launch -> {
             final List<Category> categories = launch.getExtra(CATEGORIES, Collections::emptyList);
-            launch.getResults().forEach(result -> {
+            final CategoryMatcher matcher = CategoryMatcher.compile(categories);
+            launch.getResults().parallelStream().forEach(result -> {
                 final List<Category> resultCategories = result.getExtraBlock(CATEGORIES, new ArrayList<>());
-                categories.forEach(category -> {
-                    if (matches(result, category)) {
-                        resultCategories.add(category);
-                    }
-                });
+                resultCategories.addAll(matcher.match(result));
                 if (resultCategories.isEmpty() && Status.FAILED.equals(result.getStatus())) {
-                    result.getExtraBlock(CATEGORIES, new ArrayList<Category>()).add(FAILED_TESTS);
+                    resultCategories.add(FAILED_TESTS);
                 }
                 if (resultCategories.isEmpty() && Status.BROKEN.equals(result.getStatus())) {
-                    result.getExtraBlock(CATEGORIES, new ArrayList<Category>()).add(BROKEN_TESTS);
+                    resultCategories.add(BROKEN_TESTS);
                 }
             });
         });
@@ -147,26 +154,15 @@ public class CategoriesPlugin extends CompositeAggregator2 implements Reader {
                 .map(Category::getName)
                 .collect(Collectors.toSet());
         final TreeLayer categoriesLayer = new DefaultTreeLayer(categories);
-        final TreeLayer messageLayer = new DefaultTreeLayer(testResult.getStatusMessage());
+        final FailureCluster cluster = testResult.getExtraBlock(FailureClusters.FAILURE_CLUSTER);
+        final TreeLayer messageLayer = new DefaultTreeLayer(
+                isNull(cluster) ? testResult.getStatusMessage() : cluster.getName()
+        );
         return Arrays.asList(categoriesLayer, messageLayer);
     }
 
     public static boolean matches(final TestResult result, final Category category) {
-        final boolean matchesStatus = category.getMatchedStatuses().isEmpty()
-                                      || nonNull(result.getStatus())
-                                         && category.getMatchedStatuses().contains(result.getStatus());
-        final boolean matchesMessage = isNull(category.getMessageRegex())
-                                       || nonNull(result.getStatusMessage())
-                                          && matches(result.getStatusMessage(), category.getMessageRegex());
-        final boolean matchesTrace = isNull(category.getTraceRegex())
-                                     || nonNull(result.getStatusTrace())
-                                        && matches(result.getStatusTrace(), category.getTraceRegex());
-        final boolean matchesFlaky = result.isFlaky() == category.isFlaky();
-        return matchesStatus && matchesMessage && matchesTrace && matchesFlaky;
-    }
-
-    private static boolean matches(final String message, final String pattern) {
-        return Pattern.compile(pattern, Pattern.DOTALL).matcher(message).matches();
+        return !CategoryMatcher.compile(Collections.singletonList(category)).match(result).isEmpty();
     }
 
     protected static TreeWidgetItem toWidgetItem(final TestResultTreeGroup group) {
@@ -177,22 +173,36 @@ public class CategoriesPlugin extends CompositeAggregator2 implements Reader {
     }
 
     /**
-     * Adds categories info to test results.
+     * Adds categories and failure clusters info to test results.
      */
     private static final class EnrichDataAggregator implements Aggregator2 {
 
+        private final boolean clusterFailures;
+
+        EnrichDataAggregator(final boolean clusterFailures) {
+            this.clusterFailures = clusterFailures;
+        }
+
         @Override
         public void aggregate(final Configuration configuration,
                               final List<LaunchResults> launchesResults,
                               final ReportStorage storage) {
-            addCategoriesForResults(launchesResults);
+            ExecutorContext.getExecutors(configuration).runCpu(() -> {
+                addCategoriesForResults(launchesResults);
+                if (clusterFailures) {
+                    FailureClusters.cluster(launchesResults.stream()
+                            .map(LaunchResults::getResults)
+                            .flatMap(Collection::stream)
+                            .collect(Collectors.toList()));
+                }
+            });
         }
     }
 
     /**
      * Generates tree data.
      */
-    private static final class JsonAggregator extends CommonJsonAggregator2 {
+    private static final class JsonAggregator extends CommonTreeAggregator2 {
 
         JsonAggregator() {
             super(JSON_FILE_NAME);
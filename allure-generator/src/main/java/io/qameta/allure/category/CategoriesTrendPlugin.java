@@ -44,6 +44,11 @@ public class CategoriesTrendPlugin extends AbstractTrendPlugin<CategoriesTrendIt
         super(Arrays.asList(new JsonAggregator(), new WidgetAggregator()), JSON_FILE_NAME, CATEGORIES_TREND_BLOCK_NAME);
     }
 
+    @Override
+    protected Optional<Class<? extends CategoriesTrendItem>> getItemType() {
+        return Optional.of(CategoriesTrendItem.class);
+    }
+
     @Override
     protected Optional<CategoriesTrendItem> parseItem(final ObjectMapper mapper, final JsonNode child)
             throws JsonProcessingException {
@@ -0,0 +1,323 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Categories compiled for matching. Regular expressions are compiled once, categories
+ * are prefiltered by status and flaky flag, and literals that any match must contain are
+ * checked before the full regular expression is run. The matcher is immutable and can be
+ * shared between threads. Matched categories are always returned in declaration order.
+ *
+ * @since 2.33
+ */
+public final class CategoryMatcher {
+
+    private static final int FLAKY_VARIANTS = 2;
+
+    private final List<List<Rule>> candidates;
+
+    private CategoryMatcher(final List<Rule> rules) {
+        final int statuses = Status.values().length + 1;
+        this.candidates = new ArrayList<>(statuses * FLAKY_VARIANTS);
+        for (int i = 0; i < statuses * FLAKY_VARIANTS; i++) {
+            final Status status = i / FLAKY_VARIANTS < Status.values().length
+                    ? Status.values()[i / FLAKY_VARIANTS]
+                    : null;
+            final boolean flaky = i % FLAKY_VARIANTS == 1;
+            candidates.add(rules.stream()
+                    .filter(rule -> rule.matchesStatus(status) && rule.category.isFlaky() == flaky)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    public static CategoryMatcher compile(final List<Category> categories) {
+        return new CategoryMatcher(categories.stream()
+                .map(Rule::new)
+                .collect(Collectors.toList()));
+    }
+
+    public List<Category> match(final TestResult result) {
+        final List<Rule> rules = candidates.get(index(result.getStatus(), result.isFlaky()));
+        if (rules.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Category> matched = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.matchesMessage(result.getStatusMessage()) && rule.matchesTrace(result.getStatusTrace())) {
+                matched.add(rule.category);
+            }
+        }
+        return matched;
+    }
+
+    private static int index(final Status status, final boolean flaky) {
+        final int ordinal = isNull(status) ? Status.values().length : status.ordinal();
+        return ordinal * FLAKY_VARIANTS + (flaky ? 1 : 0);
+    }
+
+    /**
+     * Compiled category.
+     */
+    private static final class Rule {
+
+        private final Category category;
+
+        private final Set<Status> statuses;
+
+        private final Expression message;
+
+        private final Expression trace;
+
+        Rule(final Category category) {
+            this.category = category;
+            this.statuses = category.getMatchedStatuses().isEmpty()
+                    ? Collections.emptySet()
+                    : EnumSet.copyOf(category.getMatchedStatuses());
+            this.message = Expression.compile(category.getMessageRegex());
+            this.trace = Expression.compile(category.getTraceRegex());
+        }
+
+        boolean matchesStatus(final Status status) {
+            return statuses.isEmpty() || nonNull(status) && statuses.contains(status);
+        }
+
+        boolean matchesMessage(final String value) {
+            return isNull(message) || nonNull(value) && message.matches(value);
+        }
+
+        boolean matchesTrace(final String value) {
+            return isNull(trace) || nonNull(value) && trace.matches(value);
+        }
+    }
+
+    /**
+     * Compiled regular expression with literal prefilter.
+     */
+    /* default */ static final class Expression {
+
+        private final Pattern pattern;
+
+        private final String prefix;
+
+        private final List<String> literals;
+
+        private Expression(final Pattern pattern, final String prefix, final List<String> literals) {
+            this.pattern = pattern;
+            this.prefix = prefix;
+            this.literals = literals;
+        }
+
+        /* default */ static Expression compile(final String regex) {
+            if (isNull(regex)) {
+                return null;
+            }
+            final Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
+            final List<String> literals = new ArrayList<>();
+            final boolean anchored = extractLiterals(regex, literals);
+            final String prefix = anchored ? literals.remove(0) : "";
+            return new Expression(pattern, prefix, literals);
+        }
+
+        /* default */ boolean matches(final String value) {
+            if (!value.startsWith(prefix)) {
+                return false;
+            }
+            for (String literal : literals) {
+                if (!value.contains(literal)) {
+                    return false;
+                }
+            }
+            return pattern.matcher(value).matches();
+        }
+
+        /* default */ String getPrefix() {
+            return prefix;
+        }
+
+        /* default */ List<String> getLiterals() {
+            return Collections.unmodifiableList(literals);
+        }
+
+        /**
+         * Collects literal runs that every full match must contain. Only top-level sequence
+         * is inspected: groups, character classes and escape sequences other than escaped
+         * punctuation are skipped, and any top-level alternation, embedded flags, quoting or
+         * back references disable the prefilter. Returns true if the first collected literal
+         * starts at the beginning of the expression.
+         */
+        @SuppressWarnings({"PMD.CognitiveComplexity", "PMD.CyclomaticComplexity", "PMD.NPathComplexity",
+                "CyclomaticComplexity", "NPathComplexity"})
+        private static boolean extractLiterals(final String regex, final List<String> literals) {
+            if (regex.contains("(?") || regex.contains("\\Q")) {
+                return false;
+            }
+            final List<String> found = new ArrayList<>();
+            final StringBuilder run = new StringBuilder();
+            boolean anchored = false;
+            int runStart = 0;
+            int depth = 0;
+            int i = 0;
+            while (i < regex.length()) {
+                final char c = regex.charAt(i);
+                if (c == '\\' && i + 1 < regex.length()) {
+                    final char escaped = regex.charAt(i + 1);
+                    final int length = escapeLength(regex, i);
+                    if (length < 0) {
+                        return false;
+                    }
+                    if (depth == 0 && !Character.isLetterOrDigit(escaped)) {
+                        if (run.length() == 0) {
+                            runStart = i;
+                        }
+                        run.append(escaped);
+                    } else if (depth == 0) {
+                        anchored |= flush(found, run, runStart);
+                    }
+                    i += length;
+                } else if (c == '[') {
+                    anchored |= flush(found, run, runStart);
+                    i = skipClass(regex, i);
+                } else if (c == '(') {
+                    anchored |= flush(found, run, runStart);
+                    depth++;
+                    i++;
+                } else if (c == ')') {
+                    depth--;
+                    i++;
+                } else if (c == '|' && depth == 0) {
+                    return false;
+                } else if (c == '*' || c == '?' || c == '{') {
+                    if (depth == 0 && run.length() > 0) {
+                        run.setLength(run.length() - 1);
+                    }
+                    anchored |= flush(found, run, runStart);
+                    i = c == '{' ? Math.max(regex.indexOf('}', i), i) + 1 : i + 1;
+                } else if (c == '+' || c == '.' || c == '^' || c == '$') {
+                    anchored |= flush(found, run, runStart);
+                    i++;
+                } else {
+                    if (depth == 0) {
+                        if (run.length() == 0) {
+                            runStart = i;
+                        }
+                        run.append(c);
+                    }
+                    i++;
+                }
+            }
+            anchored |= flush(found, run, runStart);
+            literals.addAll(found);
+            return anchored;
+        }
+
+        /**
+         * Returns the length of escape sequence that starts at given backslash,
+         * or -1 for back references, which match text unknown beforehand.
+         */
+        @SuppressWarnings({"PMD.CyclomaticComplexity", "CyclomaticComplexity"})
+        private static int escapeLength(final String regex, final int start) {
+            final char escaped = regex.charAt(start + 1);
+            final boolean braced = start + 2 < regex.length() && regex.charAt(start + 2) == '{';
+            switch (escaped) {
+                case 'x':
+                    return braced ? lengthTo(regex, start, '}') : Math.min(4, regex.length() - start);
+                case 'u':
+                    return Math.min(6, regex.length() - start);
+                case 'c':
+                    return Math.min(3, regex.length() - start);
+                case 'p':
+                case 'P':
+                case 'N':
+                    return braced ? lengthTo(regex, start, '}') : Math.min(3, regex.length() - start);
+                case 'k':
+                    return -1;
+                case '0':
+                    return 2 + octalDigits(regex, start + 2);
+                default:
+                    return escaped >= '1' && escaped <= '9' ? -1 : 2;
+            }
+        }
+
+        private static int lengthTo(final String regex, final int start, final char end) {
+            final int index = regex.indexOf(end, start);
+            return index < 0 ? regex.length() - start : index - start + 1;
+        }
+
+        private static int octalDigits(final String regex, final int start) {
+            int count = 0;
+            while (count < 3 && start + count < regex.length()) {
+                final char c = regex.charAt(start + count);
+                if (c < '0' || c > '7' || count == 2 && regex.charAt(start) > '3') {
+                    break;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        private static boolean flush(final List<String> found, final StringBuilder run, final int runStart) {
+            if (run.length() == 0) {
+                return false;
+            }
+            final boolean anchored = runStart == 0 && found.isEmpty();
+            found.add(run.toString());
+            run.setLength(0);
+            return anchored;
+        }
+
+        private static int skipClass(final String regex, final int start) {
+            int nesting = 0;
+            int i = start;
+            while (i < regex.length()) {
+                final char c = regex.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                    continue;
+                }
+                if (c == '[') {
+                    nesting++;
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                        i++;
+                    }
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                        i++;
+                    }
+                } else if (c == ']') {
+                    nesting--;
+                    if (nesting == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Group of similar failures. Key is derived from the representative signature,
+ * so it stays the same between runs for the same kind of failure.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class FailureCluster implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String key;
+    protected String name;
+    protected long size;
+
+}
@@ -0,0 +1,266 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Groups failed and broken results by failure signature. Signature is the status message
+ * and the top stack frames with volatile tokens (ids, numbers, addresses, line numbers)
+ * masked. Equal signatures are grouped directly, and similar signatures are merged using
+ * MinHash locality-sensitive hashing, so clustering takes near-linear time.
+ *
+ * @since 2.33
+ */
+public final class FailureClusters {
+
+    public static final String FAILURE_CLUSTER = "failureCluster";
+
+    private static final int MAX_MESSAGE_LENGTH = 512;
+
+    private static final int MAX_FRAMES = 5;
+
+    private static final int BANDS = 8;
+
+    private static final int ROWS = 4;
+
+    private static final int HASHES = BANDS * ROWS;
+
+    private static final int MAX_BUCKET_CANDIDATES = 16;
+
+    private static final double SIMILARITY_THRESHOLD = 0.75;
+
+    private static final long[] SEEDS = seeds();
+
+    private static final Pattern UUID = Pattern.compile(
+            "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b"
+    );
+
+    private static final Pattern HEX = Pattern.compile("\\b(0x[0-9a-fA-F]+|(?=[a-fA-F]*\\d)[0-9a-fA-F]{8,})\\b");
+
+    private static final Pattern LINE_NUMBER = Pattern.compile(":\\d+\\)");
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private FailureClusters() {
+        throw new IllegalStateException("Do not instance");
+    }
+
+    /**
+     * Assigns {@link FailureCluster} extra block to every failed or broken result.
+     *
+     * @param results the results to cluster.
+     */
+    public static void cluster(final Collection<TestResult> results) {
+        final Map<String, List<TestResult>> bySignature = results.parallelStream()
+                .filter(FailureClusters::isFailure)
+                .collect(Collectors.groupingByConcurrent(FailureClusters::signature))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+        if (bySignature.isEmpty()) {
+            return;
+        }
+
+        final List<String> signatures = new ArrayList<>(bySignature.keySet());
+        final List<long[]> sketches = signatures.parallelStream()
+                .map(FailureClusters::minHash)
+                .collect(Collectors.toList());
+        final int[] parents = link(sketches);
+
+        final Map<Integer, List<Integer>> clusters = new TreeMap<>();
+        for (int i = 0; i < signatures.size(); i++) {
+            clusters.computeIfAbsent(find(parents, i), root -> new ArrayList<>()).add(i);
+        }
+        clusters.values().forEach(members -> {
+            int representative = members.get(0);
+            long size = 0;
+            for (Integer member : members) {
+                final int count = bySignature.get(signatures.get(member)).size();
+                size += count;
+                if (count > bySignature.get(signatures.get(representative)).size()) {
+                    representative = member;
+                }
+            }
+            final String signature = signatures.get(representative);
+            final FailureCluster cluster = new FailureCluster()
+                    .setKey(String.format("%016x", hash(signature)))
+                    .setName(getName(signature))
+                    .setSize(size);
+            members.forEach(member -> bySignature.get(signatures.get(member))
+                    .forEach(result -> result.addExtraBlock(FAILURE_CLUSTER, cluster)));
+        });
+    }
+
+    /**
+     * Returns normalized failure signature of given result.
+     *
+     * @param result the result.
+     * @return the signature, message and top frames separated by new lines.
+     */
+    public static String signature(final TestResult result) {
+        final StringBuilder signature = new StringBuilder(mask(result.getStatusMessage()));
+        if (signature.length() > MAX_MESSAGE_LENGTH) {
+            signature.setLength(MAX_MESSAGE_LENGTH);
+        }
+        if (Objects.nonNull(result.getStatusTrace())) {
+            Arrays.stream(result.getStatusTrace().split("\n"))
+                    .map(String::trim)
+                    .filter(line -> line.startsWith("at "))
+                    .limit(MAX_FRAMES)
+                    .map(line -> mask(LINE_NUMBER.matcher(line).replaceAll(")")))
+                    .forEach(frame -> signature.append('\n').append(frame));
+        }
+        return signature.toString();
+    }
+
+    /* default */ static String mask(final String value) {
+        if (Objects.isNull(value)) {
+            return "";
+        }
+        String masked = UUID.matcher(value).replaceAll("<uuid>");
+        masked = HEX.matcher(masked).replaceAll("<hex>");
+        masked = NUMBER.matcher(masked).replaceAll("<num>");
+        return WHITESPACE.matcher(masked).replaceAll(" ").trim();
+    }
+
+    private static boolean isFailure(final TestResult result) {
+        return (Status.FAILED.equals(result.getStatus()) || Status.BROKEN.equals(result.getStatus()))
+               && (Objects.nonNull(result.getStatusMessage()) || Objects.nonNull(result.getStatusTrace()));
+    }
+
+    private static String getName(final String signature) {
+        final int end = signature.indexOf('\n');
+        if (end == 0) {
+            final int next = signature.indexOf('\n', 1);
+            return signature.substring(1, next < 0 ? signature.length() : next);
+        }
+        return end < 0 ? signature : signature.substring(0, end);
+    }
+
+    private static int[] link(final List<long[]> sketches) {
+        final int[] parents = new int[sketches.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        final List<Map<Long, List<Integer>>> buckets = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+        for (int i = 0; i < sketches.size(); i++) {
+            final long[] sketch = sketches.get(i);
+            final Set<Integer> candidates = new LinkedHashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                long key = band;
+                for (int row = 0; row < ROWS; row++) {
+                    key = mix(key * 31 + sketch[band * ROWS + row]);
+                }
+                final List<Integer> bucket = buckets.get(band).computeIfAbsent(key, k -> new ArrayList<>());
+                candidates.addAll(bucket.subList(0, Math.min(bucket.size(), MAX_BUCKET_CANDIDATES)));
+                bucket.add(i);
+            }
+            for (Integer candidate : candidates) {
+                if (similarity(sketch, sketches.get(candidate)) >= SIMILARITY_THRESHOLD) {
+                    union(parents, i, candidate);
+                }
+            }
+        }
+        return parents;
+    }
+
+    private static double similarity(final long[] first, final long[] second) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static int find(final int[] parents, final int index) {
+        int root = index;
+        while (parents[root] != root) {
+            parents[root] = parents[parents[root]];
+            root = parents[root];
+        }
+        return root;
+    }
+
+    private static void union(final int[] parents, final int first, final int second) {
+        final int firstRoot = find(parents, first);
+        final int secondRoot = find(parents, second);
+        if (firstRoot < secondRoot) {
+            parents[secondRoot] = firstRoot;
+        } else {
+            parents[firstRoot] = secondRoot;
+        }
+    }
+
+    /* default */ static long[] minHash(final String signature) {
+        final long[] sketch = new long[HASHES];
+        Arrays.fill(sketch, Long.MAX_VALUE);
+        final String[] tokens = WHITESPACE.split(signature);
+        for (int i = 0; i < tokens.length; i++) {
+            final long shingle = i + 1 < tokens.length
+                    ? hash(tokens[i]) * 31 + hash(tokens[i + 1])
+                    : hash(tokens[i]);
+            for (int h = 0; h < HASHES; h++) {
+                sketch[h] = Math.min(sketch[h], mix(shingle ^ SEEDS[h]));
+            }
+        }
+        return sketch;
+    }
+
+    private static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(final long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long[] seeds() {
+        final long[] seeds = new long[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            seeds[i] = mix(i + 1);
+        }
+        return seeds;
+    }
+}
@@ -18,6 +18,8 @@ package io.qameta.allure.core;
 import io.qameta.allure.Aggregator2;
 import io.qameta.allure.Constants;
 import io.qameta.allure.ReportStorage;
+import io.qameta.allure.concurrent.ReportExecutors;
+import io.qameta.allure.context.ExecutorContext;
 
 import java.util.List;
 
@@ -32,11 +34,13 @@ public class AttachmentsPlugin implements Aggregator2 {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
-        launchesResults.forEach(launch -> launch.getAttachments().entrySet()
-                .parallelStream()
-                .forEach(entry -> storage.addDataFile(
+        final ReportExecutors executors = ExecutorContext.getExecutors(configuration);
+        launchesResults.forEach(launch -> executors.forEachIo(
+                launch.getAttachments().entrySet(),
+                entry -> storage.addDataFile(
                         Constants.dataPath("attachments", entry.getValue().getSource()),
                         entry.getKey()
-                )));
+                )
+        ));
     }
 }
@@ -73,6 +73,21 @@ public class FileSystemReportStorage implements ReportStorage {
         }
     }
 
+    /**
+     * Creates hard link to the file, or copies it if the link can not be created,
+     * for example when the file is on another file system.
+     */
+    @Override
+    public void addDataLink(final String name, final Path file) {
+        final Path target = getPath(name);
+        try {
+            Files.deleteIfExists(target);
+            Files.createLink(target, file);
+        } catch (IOException | UnsupportedOperationException e) {
+            addDataFile(name, file);
+        }
+    }
+
     private Path getPath(final String name) {
         final Path normalized = checkPath(name);
         final Path target = dataDirectory.resolve(normalized);
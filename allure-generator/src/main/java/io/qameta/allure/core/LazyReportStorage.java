@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.qameta.allure.ReportStorage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Report storage that keeps report data in memory instead of writing it. Json data
+ * is kept as objects and serialized only when requested, data files are not copied
+ * but read from their original location, e.g. results directory.
+ *
+ * @since 2.33
+ */
+public class LazyReportStorage implements ReportStorage {
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final Map<String, Object> jsonData = new ConcurrentHashMap<>();
+
+    private final Map<String, byte[]> binaryData = new ConcurrentHashMap<>();
+
+    private final Map<String, Path> fileData = new ConcurrentHashMap<>();
+
+    @Override
+    public void addDataJson(final String name, final Object data) {
+        remove(name);
+        jsonData.put(name, data);
+    }
+
+    @Override
+    public void addDataBinary(final String name, final byte[] data) {
+        remove(name);
+        binaryData.put(name, data);
+    }
+
+    @Override
+    public void addDataFile(final String name, final Path file) {
+        remove(name);
+        fileData.put(name, file);
+    }
+
+    public boolean contains(final String name) {
+        return jsonData.containsKey(name) || binaryData.containsKey(name) || fileData.containsKey(name);
+    }
+
+    /**
+     * Returns the original location of data file, if given name is stored as a file.
+     *
+     * @param name the name of report data file.
+     * @return the file.
+     */
+    public Optional<Path> getFile(final String name) {
+        return Optional.ofNullable(fileData.get(name));
+    }
+
+    /**
+     * Returns the size of data if it is known without serialization.
+     *
+     * @param name the name of report data file.
+     * @return the size in bytes.
+     * @throws IOException if file can't be read.
+     */
+    public Optional<Long> getKnownSize(final String name) throws IOException {
+        final byte[] bytes = binaryData.get(name);
+        if (Objects.nonNull(bytes)) {
+            return Optional.of((long) bytes.length);
+        }
+        final Path file = fileData.get(name);
+        return Objects.isNull(file) ? Optional.empty() : Optional.of(Files.size(file));
+    }
+
+    /**
+     * Writes data stored with given name.
+     *
+     * @param name the name of report data file.
+     * @param os   the stream to write data to.
+     * @return false if there is no such data.
+     * @throws IOException if data can't be written.
+     */
+    public boolean write(final String name, final OutputStream os) throws IOException {
+        final Object json = jsonData.get(name);
+        if (Objects.nonNull(json)) {
+            mapper.writeValue(os, json);
+            return true;
+        }
+        final byte[] bytes = binaryData.get(name);
+        if (Objects.nonNull(bytes)) {
+            os.write(bytes);
+            return true;
+        }
+        final Path file = fileData.get(name);
+        if (Objects.nonNull(file)) {
+            Files.copy(file, os);
+            return true;
+        }
+        return false;
+    }
+
+    public Set<String> getNames() {
+        final Set<String> names = new TreeSet<>(jsonData.keySet());
+        names.addAll(binaryData.keySet());
+        names.addAll(fileData.keySet());
+        return Collections.unmodifiableSet(names);
+    }
+
+    private void remove(final String name) {
+        jsonData.remove(name);
+        binaryData.remove(name);
+        fileData.remove(name);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import io.qameta.allure.Context;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Context that provides {@link ReportPrecompressor}. Precompression is enabled by
+ * {@link #ALLURE_PRECOMPRESS} environment variable.
+ *
+ * @since 2.33
+ */
+public class PrecompressContext implements Context<ReportPrecompressor> {
+
+    /**
+     * The name of environment variable that enables writing of compressed report files.
+     */
+    public static final String ALLURE_PRECOMPRESS = "ALLURE_PRECOMPRESS";
+
+    private final ReportPrecompressor precompressor;
+
+    public PrecompressContext() {
+        this(getProperty(ALLURE_PRECOMPRESS).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    public PrecompressContext(final boolean enabled) {
+        this.precompressor = new ReportPrecompressor(enabled);
+    }
+
+    @Override
+    public ReportPrecompressor getValue() {
+        return precompressor;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import io.qameta.allure.Constants;
+import io.qameta.allure.ReportGenerationException;
+import io.qameta.allure.concurrent.ReportExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes gzip compressed siblings ({@code file.json.gz}) for text files of the report,
+ * so the report server can serve them to clients that accept gzip encoding. Siblings
+ * that are newer than the original file are kept as is, so repeated runs over the same
+ * report directory only compress changed files. Gzip siblings of text files without
+ * the original file are removed. Attachments directory is never touched, since
+ * attachments may be compressed files themselves.
+ * <p>
+ * Brotli siblings ({@code .br}) are served as well if present, but are not produced
+ * nor removed by the generator, since JDK has no brotli encoder.
+ *
+ * @since 2.33
+ */
+public class ReportPrecompressor {
+
+    public static final String GZIP_SUFFIX = ".gz";
+
+    public static final String BROTLI_SUFFIX = ".br";
+
+    /**
+     * Files smaller than this are not worth compressing.
+     */
+    public static final long MIN_SIZE = 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportPrecompressor.class);
+
+    private static final String ATTACHMENTS_DIR = "attachments";
+
+    private static final Set<String> TEXT_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "html", "js", "css", "json", "csv", "txt", "log", "svg", "xml"
+    )));
+
+    private final AtomicBoolean enabled;
+
+    public ReportPrecompressor(final boolean enabled) {
+        this.enabled = new AtomicBoolean(enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled.get();
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled.set(enabled);
+    }
+
+    /**
+     * Writes compressed siblings for text files of given report directory.
+     *
+     * @param outputDirectory the report directory.
+     * @param executors       the executors to compress files with.
+     */
+    public void precompress(final Path outputDirectory, final ReportExecutors executors) {
+        if (!isEnabled() || !Files.isDirectory(outputDirectory)) {
+            return;
+        }
+        final Path attachments = outputDirectory.resolve(Constants.DATA_DIR).resolve(ATTACHMENTS_DIR);
+        final List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(outputDirectory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    return dir.equals(attachments) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new ReportGenerationException("Could not list report files", e);
+        }
+        executors.runCpu(() -> files.parallelStream().forEach(this::precompressFile));
+    }
+
+    private void precompressFile(final Path file) {
+        final String name = file.getFileName().toString();
+        if (name.endsWith(GZIP_SUFFIX)) {
+            deleteOrphan(file, name);
+            return;
+        }
+        if (!isText(name)) {
+            return;
+        }
+        final Path compressed = file.resolveSibling(name + GZIP_SUFFIX);
+        try {
+            final long size = Files.size(file);
+            final FileTime modified = Files.getLastModifiedTime(file);
+            if (size < MIN_SIZE) {
+                Files.deleteIfExists(compressed);
+                return;
+            }
+            if (Files.isRegularFile(compressed)
+                    && Files.getLastModifiedTime(compressed).compareTo(modified) >= 0) {
+                return;
+            }
+            final Path temp = file.resolveSibling(name + GZIP_SUFFIX + ".tmp");
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                Files.copy(file, os);
+            }
+            if (Files.size(temp) < size) {
+                Files.move(temp, compressed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(temp);
+                Files.deleteIfExists(compressed);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not compress report file {}", file, e);
+        }
+    }
+
+    private static void deleteOrphan(final Path file, final String name) {
+        final String originalName = name.substring(0, name.length() - GZIP_SUFFIX.length());
+        if (isText(originalName) && !Files.exists(file.resolveSibling(originalName))) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete compressed report file {}", file, e);
+            }
+        }
+    }
+
+    private static boolean isText(final String name) {
+        final int index = name.lastIndexOf('.');
+        return index >= 0 && TEXT_EXTENSIONS.contains(name.substring(index + 1).toLowerCase(Locale.ROOT));
+    }
+}
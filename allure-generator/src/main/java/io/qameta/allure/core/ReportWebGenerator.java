@@ -21,6 +21,7 @@ import io.qameta.allure.PluginConfiguration;
 import io.qameta.allure.ReportGenerationException;
 import io.qameta.allure.ReportStorage;
 import io.qameta.allure.context.FreemarkerContext;
+import io.qameta.allure.util.PropertyUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
@@ -31,6 +32,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
@@ -45,6 +48,17 @@ import java.util.Optional;
 @SuppressWarnings("PMD.CognitiveComplexity")
 public class ReportWebGenerator {
 
+    /**
+     * The name of query parameter that is added to the urls of scripts and styles. Its value is
+     * the fingerprint of file content, see {@link #getFingerprint(byte[])}, so the url changes
+     * with the content and clients can cache the file without revalidation.
+     *
+     * @since 2.33
+     */
+    public static final String VERSION_PARAMETER = "v";
+
+    private static final int FINGERPRINT_BYTES = 8;
+
     private static final String FAVICON_ICO = "favicon.ico";
     private static final String STYLES_CSS = "styles.css";
     private static final String APP_JS = "app.js";
@@ -63,16 +77,18 @@ public class ReportWebGenerator {
         if (inline) {
             jsFiles.add(dataBase64(TEXT_JAVASCRIPT, APP_JS));
         } else {
-            jsFiles.add(APP_JS);
-            write(outputDirectory, APP_JS, readResource(APP_JS));
+            final byte[] appJs = readResource(APP_JS);
+            jsFiles.add(versioned(APP_JS, appJs));
+            write(outputDirectory, APP_JS, appJs);
         }
 
         final List<String> cssFiles = new ArrayList<>();
         if (inline) {
             cssFiles.add(dataBase64(TEXT_CSS, STYLES_CSS));
         } else {
-            cssFiles.add(STYLES_CSS);
-            write(outputDirectory, STYLES_CSS, readResource(STYLES_CSS));
+            final byte[] stylesCss = readResource(STYLES_CSS);
+            cssFiles.add(versioned(STYLES_CSS, stylesCss));
+            write(outputDirectory, STYLES_CSS, stylesCss);
         }
 
         configuration.getPlugins().forEach(plugin -> {
@@ -88,7 +104,7 @@ public class ReportWebGenerator {
                     ));
                 } else {
                     final String key = pluginFileKey(config, jsFile);
-                    jsFiles.add(key);
+                    jsFiles.add(versioned(key, jsFilePath));
                     write(outputDirectory, key, jsFilePath);
                 }
             });
@@ -102,7 +118,7 @@ public class ReportWebGenerator {
                     ));
                 } else {
                     final String key = pluginFileKey(config, cssFile);
-                    cssFiles.add(key);
+                    cssFiles.add(versioned(key, cssFilePath));
                     write(outputDirectory, key, cssFilePath);
                 }
             });
@@ -143,7 +159,8 @@ public class ReportWebGenerator {
                 dataModel.put("reportDataFiles", reportDataFiles);
             }
 
-            final boolean analyticsDisable = Optional.ofNullable(System.getenv(Constants.NO_ANALYTICS))
+            final boolean analyticsDisable = Optional
+                    .ofNullable(PropertyUtils.getEnvironment().get(Constants.NO_ANALYTICS))
                     .map(Boolean::parseBoolean)
                     .orElse(false);
             dataModel.put("analyticsDisable", analyticsDisable);
@@ -159,6 +176,38 @@ public class ReportWebGenerator {
         }
     }
 
+    /**
+     * Returns the fingerprint of given content, the hex prefix of its SHA-256 digest.
+     *
+     * @param content the content.
+     * @return the fingerprint.
+     * @since 2.33
+     */
+    public static String getFingerprint(final byte[] content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            final StringBuilder fingerprint = new StringBuilder();
+            for (int i = 0; i < FINGERPRINT_BYTES; i++) {
+                fingerprint.append(String.format("%02x", digest[i]));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static String versioned(final String url, final byte[] content) {
+        return url + "?" + VERSION_PARAMETER + "=" + getFingerprint(content);
+    }
+
+    private static String versioned(final String url, final Path path) {
+        try {
+            return versioned(url, Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new ReportGenerationException("Can't read file " + path, e);
+        }
+    }
+
     private static String pluginFileKey(final PluginConfiguration config, final String cssFile) {
         return "plugin/" + config.getId() + "/" + cssFile;
     }
@@ -22,6 +22,7 @@ import io.qameta.allure.Constants;
 import io.qameta.allure.PluginConfiguration;
 import io.qameta.allure.ReportGenerationException;
 import io.qameta.allure.context.FreemarkerContext;
+import io.qameta.allure.util.PropertyUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,7 +83,7 @@ public class ReportWebPlugin implements Aggregator {
             final Template template = context.getValue().getTemplate("index.html.ftl");
             final Map<String, Object> dataModel = new HashMap<>();
             dataModel.put(Constants.PLUGINS_DIR, pluginConfigurations);
-            final Boolean noAnalytics = Optional.ofNullable(System.getenv(Constants.NO_ANALYTICS))
+            final Boolean noAnalytics = Optional.ofNullable(PropertyUtils.getEnvironment().get(Constants.NO_ANALYTICS))
                     .map(Boolean::parseBoolean)
                     .orElse(false);
             dataModel.put(Constants.NO_ANALYTICS, noAnalytics);
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.duration;
+
+import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.history.HistoryPlugin;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Plugin that detects tests that got slower. The duration of each test is compared
+ * with the quantile of its own history durations, kept by {@link HistoryPlugin}
+ * as {@link DurationSketch}.
+ *
+ * @since 2.33
+ */
+public class DurationRegressionPlugin extends CommonJsonAggregator2 {
+
+    /**
+     * The name of environment variable that sets the quantile of history durations
+     * that current duration should exceed to be reported.
+     */
+    public static final String ALLURE_DURATION_REGRESSION_QUANTILE = "ALLURE_DURATION_REGRESSION_QUANTILE";
+
+    private static final double DEFAULT_QUANTILE = 0.95;
+
+    private static final int MIN_RUNS = 5;
+
+    private final double quantile;
+
+    public DurationRegressionPlugin() {
+        this(getProperty(ALLURE_DURATION_REGRESSION_QUANTILE).map(Double::parseDouble).orElse(DEFAULT_QUANTILE));
+    }
+
+    public DurationRegressionPlugin(final double quantile) {
+        super("duration-regressions.json");
+        this.quantile = Math.min(1, Math.max(0, quantile));
+    }
+
+    @Override
+    protected List<DurationRegression> getData(final List<LaunchResults> launchesResults) {
+        return launchesResults.stream()
+                .flatMap(launch -> launch.getResults().stream())
+                .map(this::createRegression)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .sorted(Comparator.comparingLong(DurationRegressionPlugin::getExcess).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private Optional<DurationRegression> createRegression(final TestResult result) {
+        final DurationSketch sketch = result.getExtraBlock(HistoryPlugin.DURATION_SKETCH_BLOCK_NAME);
+        if (Objects.isNull(sketch) || sketch.getCount() < MIN_RUNS
+            || Objects.isNull(result.getTime()) || Objects.isNull(result.getTime().getDuration())) {
+            return Optional.empty();
+        }
+        final long duration = result.getTime().getDuration();
+        final long threshold = sketch.getQuantile(quantile);
+        if (duration <= threshold) {
+            return Optional.empty();
+        }
+        return Optional.of(new DurationRegression()
+                .setUid(result.getUid())
+                .setHistoryId(result.getHistoryId())
+                .setName(result.getName())
+                .setStatus(result.getStatus())
+                .setDuration(duration)
+                .setThreshold(threshold)
+                .setQuantile(quantile)
+                .setRuns(sketch.getCount()));
+    }
+
+    private static long getExcess(final DurationRegression regression) {
+        return regression.getDuration() - regression.getThreshold();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.duration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch of test durations. Durations are counted in logarithmic
+ * bins, so every quantile is estimated with {@link #RELATIVE_ACCURACY} relative error.
+ * The count of bins is limited by {@link #MAX_BINS}, the lowest bins are collapsed
+ * when the limit is reached, so the memory per sketch is fixed and high quantiles
+ * stay accurate.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class DurationSketch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final double RELATIVE_ACCURACY = 0.02;
+
+    public static final int MAX_BINS = 128;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    protected long count;
+    protected long zeroCount;
+    protected long max;
+    protected NavigableMap<Integer, Long> bins = new TreeMap<>();
+
+    /**
+     * Adds duration to the sketch.
+     *
+     * @param duration the duration in milliseconds.
+     */
+    public void add(final long duration) {
+        count++;
+        max = Math.max(max, duration);
+        if (duration <= 0) {
+            zeroCount++;
+            return;
+        }
+        bins.merge(index(duration), 1L, Long::sum);
+        collapse();
+    }
+
+    /**
+     * Merges other sketch into this one.
+     *
+     * @param other the sketch to merge.
+     */
+    public void merge(final DurationSketch other) {
+        if (Objects.isNull(other)) {
+            return;
+        }
+        count += other.getCount();
+        zeroCount += other.getZeroCount();
+        max = Math.max(max, other.getMax());
+        other.getBins().forEach((index, value) -> bins.merge(index, value, Long::sum));
+        collapse();
+    }
+
+    /**
+     * Returns estimated duration at given quantile.
+     *
+     * @param quantile the quantile, from 0 to 1.
+     * @return the estimated duration in milliseconds, 0 if sketch is empty.
+     */
+    public long getQuantile(final double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(quantile * count);
+        if (rank >= count) {
+            return max;
+        }
+        long seen = zeroCount;
+        if (seen >= rank) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            seen += bin.getValue();
+            if (seen >= rank) {
+                return Math.min(max, value(bin.getKey()));
+            }
+        }
+        return max;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public DurationSketch copy() {
+        return new DurationSketch()
+                .setCount(count)
+                .setZeroCount(zeroCount)
+                .setMax(max)
+                .setBins(new TreeMap<>(bins));
+    }
+
+    private void collapse() {
+        while (bins.size() > MAX_BINS) {
+            final Map.Entry<Integer, Long> lowest = bins.pollFirstEntry();
+            bins.merge(bins.firstKey(), lowest.getValue(), Long::sum);
+        }
+    }
+
+    private static int index(final long duration) {
+        return (int) Math.ceil(Math.log(duration) / LOG_GAMMA);
+    }
+
+    private static long value(final int index) {
+        return Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+}
@@ -44,6 +44,11 @@ public class DurationTrendPlugin extends AbstractTrendPlugin<DurationTrendItem>
         super(Arrays.asList(new JsonAggregator(), new WidgetAggregator()), JSON_FILE_NAME, DURATION_TREND_BLOCK_NAME);
     }
 
+    @Override
+    protected Optional<Class<? extends DurationTrendItem>> getItemType() {
+        return Optional.of(DurationTrendItem.class);
+    }
+
     @Override
     protected Optional<DurationTrendItem> parseItem(final ObjectMapper mapper, final JsonNode child)
             throws JsonProcessingException {
@@ -24,6 +24,7 @@ import io.qameta.allure.entity.ExecutorInfo;
 import io.qameta.allure.entity.Label;
 import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.executor.ExecutorPlugin;
+import io.qameta.allure.util.PropertyUtils;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ContentType;
@@ -74,7 +75,7 @@ public class GaPlugin implements Aggregator2 {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
-        if (Objects.nonNull(System.getenv(NO_ANALYTICS))) {
+        if (Objects.nonNull(PropertyUtils.getEnvironment().get(NO_ANALYTICS))) {
             LOGGER.debug("analytics is disabled");
             return;
         }
@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.history;
 
+import io.qameta.allure.duration.DurationSketch;
 import io.qameta.allure.entity.Statistic;
 import lombok.Data;
 import lombok.experimental.Accessors;
@@ -33,5 +34,7 @@ public class HistoryData implements Serializable {
     private static final long serialVersionUID = 1L;
 
     protected Statistic statistic = new Statistic();
+    protected Stability stability;
+    protected DurationSketch duration;
     protected List<HistoryItem> items = new ArrayList<>();
 }
@@ -17,11 +17,16 @@ package io.qameta.allure.history;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.Constants;
 import io.qameta.allure.Reader;
+import io.qameta.allure.ReportStorage;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.HistorySnapshot;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.duration.DurationSketch;
 import io.qameta.allure.entity.ExecutorInfo;
 import io.qameta.allure.entity.Statistic;
 import io.qameta.allure.entity.Status;
@@ -29,11 +34,11 @@ import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.executor.ExecutorPlugin;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -41,23 +46,69 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
 /**
- * Plugin that adds history to the report.
+ * Plugin that adds history to the report. By default history is stored in
+ * {@code history/history.json}, the append-only {@link HistoryStore} can be enabled
+ * using {@link #ALLURE_HISTORY_STORE} environment variable. With the store, {@code history/history.json}
+ * is written only if {@link #ALLURE_HISTORY_EXPORT} is set, since the export loads and
+ * writes history of every retained id. Each history id also keeps
+ * incremental {@link Stability}, tests with history get it as extra block and the most
+ * unstable of them are shown in {@code widgets/stability.json}. It also keeps
+ * {@link DurationSketch} of its durations, that is added to tests with history.
  *
  * @since 2.0
  */
 public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
 
+    /**
+     * The name of extra block with duration sketch of the test history, before current run.
+     */
+    public static final String DURATION_SKETCH_BLOCK_NAME = "durationSketch";
+
     private static final Set<Status> MARK_STATUSES = new HashSet<>(Arrays.asList(
             Status.FAILED, Status.BROKEN, Status.PASSED
     ));
 
+    /**
+     * The name of environment variable that enables append-only history store.
+     */
+    public static final String ALLURE_HISTORY_STORE = "ALLURE_HISTORY_STORE";
+
+    /**
+     * The name of environment variable that sets the count of runs kept in history store.
+     */
+    public static final String ALLURE_HISTORY_RETENTION = "ALLURE_HISTORY_RETENTION";
+
+    /**
+     * The name of environment variable that enables export of history store
+     * to {@code history/history.json}.
+     */
+    public static final String ALLURE_HISTORY_EXPORT = "ALLURE_HISTORY_EXPORT";
+
+    private static final int DEFAULT_RETENTION = 500;
+
+    private static final int HISTORY_ITEMS_LIMIT = 20;
+
+    private static final int FLAKY_ITEMS_LIMIT = 5;
+
+    private static final int STABILITY_MIN_RUNS = 10;
+
+    private static final double STABILITY_FLAKY_FLIP_RATE = 0.2;
+
+    private static final int STABILITY_WIDGET_LIMIT = 100;
+
     private static final String HISTORY_BLOCK_NAME = "history";
+    private static final String HISTORY_STORE_BLOCK_NAME = "historyStore";
     private static final String HISTORY_FILE_NAME = "history.json";
+    private static final String STABILITY_BLOCK_NAME = "stability";
+    private static final String STABILITY_FILE_NAME = "stability.json";
 
     //@formatter:off
     private static final TypeReference<Map<String, HistoryData>> HISTORY_TYPE =
@@ -66,23 +117,55 @@ public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
     //@formatter:on
 
 
+    private final boolean useStore;
+
+    private final int retention;
+
+    private final boolean export;
+
     public HistoryPlugin() {
+        this(
+                getProperty(ALLURE_HISTORY_STORE).map(Boolean::parseBoolean).orElse(false),
+                getProperty(ALLURE_HISTORY_RETENTION).map(Integer::parseInt).orElse(DEFAULT_RETENTION),
+                getProperty(ALLURE_HISTORY_EXPORT).map(Boolean::parseBoolean).orElse(false)
+        );
+    }
+
+    public HistoryPlugin(final boolean useStore, final int retention) {
+        this(useStore, retention, false);
+    }
+
+    public HistoryPlugin(final boolean useStore, final int retention, final boolean export) {
         super(HISTORY_BLOCK_NAME, HISTORY_FILE_NAME);
+        this.useStore = useStore;
+        this.retention = Math.max(1, retention);
+        this.export = export;
     }
 
     @Override
     public void readResults(final Configuration configuration,
                             final ResultsVisitor visitor,
                             final Path directory) {
+        final HistorySnapshot snapshot = visitor.getHistorySnapshot(directory);
+        if (snapshot.isEmpty()) {
+            return;
+        }
         final JacksonContext context = configuration.requireContext(JacksonContext.class);
-        final Path historyFile = directory.resolve(HISTORY_BLOCK_NAME).resolve(HISTORY_FILE_NAME);
-        if (Files.exists(historyFile)) {
-            try (InputStream is = Files.newInputStream(historyFile)) {
-                final Map<String, HistoryData> history = context.getValue().readValue(is, HISTORY_TYPE);
-                visitor.visitExtra(HISTORY_BLOCK_NAME, history);
+        final Path historyDirectory = directory.resolve(HISTORY_BLOCK_NAME);
+        if (useStore && HistoryStore.exists(historyDirectory)) {
+            try {
+                final HistoryStore store = HistoryStore.open(historyDirectory, context.getValue(), retention);
+                visitor.visitExtra(HISTORY_STORE_BLOCK_NAME, store);
             } catch (IOException e) {
-                visitor.error("Could not read history file " + historyFile, e);
+                visitor.error("Could not read history store " + historyDirectory, e);
             }
+            return;
+        }
+        try {
+            snapshot.getValue(HISTORY_FILE_NAME, HISTORY_TYPE)
+                    .ifPresent(history -> visitor.visitExtra(HISTORY_BLOCK_NAME, history));
+        } catch (IOException e) {
+            visitor.error("Could not read history file " + snapshot.getPath(HISTORY_FILE_NAME), e);
         }
     }
 
@@ -121,14 +204,125 @@ public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
         if (current.getStatus() != Status.FAILED && current.getStatus() != Status.BROKEN) {
             return false;
         }
-        final List<Status> statuses = prev
-                .stream()
-                .map(HistoryItem::getStatus)
-                .limit(5)
-                .collect(Collectors.toList());
+        int firstPassed = -1;
+        int lastFailed = -1;
+        final int count = Math.min(prev.size(), FLAKY_ITEMS_LIMIT);
+        for (int i = 0; i < count; i++) {
+            final Status status = prev.get(i).getStatus();
+            if (status == Status.PASSED && firstPassed < 0) {
+                firstPassed = i;
+            }
+            if (status == Status.FAILED) {
+                lastFailed = i;
+            }
+        }
+        return firstPassed >= 0 && firstPassed < lastFailed;
+    }
 
-        return statuses.contains(Status.PASSED)
-               && statuses.indexOf(Status.PASSED) < statuses.lastIndexOf(Status.FAILED);
+    private boolean isUnstable(final HistoryItem current,
+                               final Stability stability) {
+        return (current.getStatus() == Status.FAILED || current.getStatus() == Status.BROKEN)
+               && stability.getRuns() >= STABILITY_MIN_RUNS
+               && stability.getFlipRate() >= STABILITY_FLAKY_FLIP_RATE;
+    }
+
+    @Override
+    public void aggregate(final Configuration configuration,
+                          final List<LaunchResults> launchesResults,
+                          final ReportStorage storage) {
+        if (useStore) {
+            aggregateStore(configuration, launchesResults, storage);
+        } else {
+            super.aggregate(configuration, launchesResults, storage);
+        }
+        storage.addDataJson(Constants.widgetsPath(STABILITY_FILE_NAME), getStabilityWidget(launchesResults));
+    }
+
+    private void aggregateStore(final Configuration configuration,
+                                final List<LaunchResults> launchesResults,
+                                final ReportStorage storage) {
+        final JacksonContext context = configuration.requireContext(JacksonContext.class);
+        final HistoryStore store = launchesResults.stream()
+                .map(launch -> launch.<HistoryStore>getExtra(HISTORY_STORE_BLOCK_NAME))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst()
+                .orElseGet(() -> HistoryStore.empty(context.getValue(), retention));
+        try (HistoryStore closeable = store) {
+            launchesResults.stream()
+                    .map(launch -> launch.<Map<String, HistoryData>>getExtra(HISTORY_BLOCK_NAME))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .forEach(closeable::importHistory);
+
+            final Map<String, HistoryData> history = new ConcurrentHashMap<>();
+            ExecutorContext.getExecutors(configuration).forEachIo(
+                    launchesResults.stream()
+                            .flatMap(launch -> launch.getResults().stream())
+                            .map(TestResult::getHistoryId)
+                            .filter(Objects::nonNull)
+                            .distinct()
+                            .collect(Collectors.toList()),
+                    historyId -> history.put(historyId, closeable.load(historyId, HISTORY_ITEMS_LIMIT))
+            );
+
+            final Map<String, List<HistoryItem>> appended = new HashMap<>();
+            launchesResults.forEach(launch -> {
+                final ExecutorInfo executorInfo = launch.getExtra(
+                        ExecutorPlugin.EXECUTORS_BLOCK_NAME,
+                        ExecutorInfo::new
+                );
+                launch.getResults().stream()
+                        .filter(result -> Objects.nonNull(result.getHistoryId()))
+                        .forEach(result -> appended
+                                .computeIfAbsent(result.getHistoryId(), id -> new ArrayList<>())
+                                .add(updateHistory(history, result, executorInfo)));
+            });
+            closeable.write(storage, history, appended);
+            if (export) {
+                exportHistory(configuration, closeable, history, storage);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void exportHistory(final Configuration configuration,
+                                      final HistoryStore store,
+                                      final Map<String, HistoryData> history,
+                                      final ReportStorage storage) {
+        final Map<String, HistoryData> exported = new ConcurrentHashMap<>(history);
+        ExecutorContext.getExecutors(configuration).forEachIo(
+                store.getHistoryIds().stream()
+                        .filter(historyId -> !history.containsKey(historyId))
+                        .collect(Collectors.toList()),
+                historyId -> exported.put(historyId, store.load(historyId, HISTORY_ITEMS_LIMIT))
+        );
+        storage.addDataJson(Constants.historyPath(HISTORY_FILE_NAME), exported);
+    }
+
+    protected List<StabilityWidgetItem> getStabilityWidget(final List<LaunchResults> launches) {
+        return launches.stream()
+                .flatMap(launch -> launch.getResults().stream())
+                .filter(result -> result.hasExtraBlock(STABILITY_BLOCK_NAME))
+                .map(result -> {
+                    final Stability stability = result.getExtraBlock(STABILITY_BLOCK_NAME);
+                    return new StabilityWidgetItem()
+                            .setUid(result.getUid())
+                            .setHistoryId(result.getHistoryId())
+                            .setName(result.getName())
+                            .setStatus(result.getStatus())
+                            .setRuns(stability.getRuns())
+                            .setFlips(stability.getFlips())
+                            .setPassRate(stability.getPassRate())
+                            .setFailureRate(stability.getFailureRate())
+                            .setScore(stability.getScore());
+                })
+                .filter(item -> item.getScore() > 0)
+                .sorted(Comparator.comparingDouble(StabilityWidgetItem::getScore).reversed()
+                        .thenComparing(StabilityWidgetItem::getName, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .limit(STABILITY_WIDGET_LIMIT)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -151,9 +345,9 @@ public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
         return history;
     }
 
-    private void updateHistory(final Map<String, HistoryData> history,
-                               final TestResult result,
-                               final ExecutorInfo info) {
+    private HistoryItem updateHistory(final Map<String, HistoryData> history,
+                                      final TestResult result,
+                                      final ExecutorInfo info) {
         //@formatter:off
         final HistoryData data = history.computeIfAbsent(
                 result.getHistoryId(),
@@ -161,6 +355,15 @@ public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
         );
         //@formatter:on
 
+        if (Objects.isNull(data.getStability())) {
+            data.setStability(createStability(data.getItems()));
+        }
+        final Stability stability = data.getStability();
+        if (Objects.isNull(data.getDuration())) {
+            data.setDuration(createDurationSketch(data.getItems()));
+        }
+        updateDuration(data.getDuration(), result, !data.getItems().isEmpty());
+
         data.getStatistic().update(result);
         if (!data.getItems().isEmpty()) {
             result.addExtraBlock(HISTORY_BLOCK_NAME, copy(data));
@@ -176,15 +379,53 @@ public class HistoryPlugin extends CommonJsonAggregator2 implements Reader {
         }
 
         final List<HistoryItem> prevItems = data.getItems();
-        result.setFlaky(result.isFlaky() || isFlaky(current, prevItems));
+        final boolean hasStability = stability.getRuns() > 0;
+        stability.update(current.getStatus());
+        if (hasStability) {
+            result.addExtraBlock(STABILITY_BLOCK_NAME, stability.copy());
+        }
+        result.setFlaky(result.isFlaky() || isFlaky(current, prevItems) || isUnstable(current, stability));
         result.setNewFailed(isNewFailed(current, prevItems));
         result.setNewBroken(isNewBroken(current, prevItems));
         result.setNewPassed(isNewPassed(current, prevItems));
 
         final List<HistoryItem> newItems = Stream.concat(Stream.of(current), prevItems.stream())
-                .limit(20)
+                .limit(HISTORY_ITEMS_LIMIT)
                 .collect(Collectors.toList());
         data.setItems(newItems);
+        return current;
+    }
+
+    private static void updateDuration(final DurationSketch sketch,
+                                       final TestResult result,
+                                       final boolean hasHistory) {
+        if (Objects.isNull(result.getTime()) || Objects.isNull(result.getTime().getDuration())) {
+            return;
+        }
+        if (hasHistory && !sketch.isEmpty()) {
+            result.addExtraBlock(DURATION_SKETCH_BLOCK_NAME, sketch.copy());
+        }
+        sketch.add(result.getTime().getDuration());
+    }
+
+    private static DurationSketch createDurationSketch(final List<HistoryItem> items) {
+        final DurationSketch sketch = new DurationSketch();
+        items.stream()
+                .map(HistoryItem::getTime)
+                .filter(time -> Objects.nonNull(time) && Objects.nonNull(time.getDuration()))
+                .forEach(time -> sketch.add(time.getDuration()));
+        return sketch;
+    }
+
+    /**
+     * Seeds stability of history written by previous versions from the kept items.
+     */
+    private static Stability createStability(final List<HistoryItem> items) {
+        final Stability stability = new Stability();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            stability.update(items.get(i).getStatus());
+        }
+        return stability;
     }
 
     private static HistoryData copy(final HistoryData other) {
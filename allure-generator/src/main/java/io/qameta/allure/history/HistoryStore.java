@@ -0,0 +1,437 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Constants;
+import io.qameta.allure.ReportStorage;
+import io.qameta.allure.entity.Statistic;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only history store. Every report generation appends one segment with a record
+ * per executed test, and each record points to the previous record of the same history id.
+ * The index keeps the latest record and the statistic per history id. Status details are
+ * kept once per segment in the segment message dictionary. Older segments are never
+ * rewritten and are added to the report as links where the file system allows, so an
+ * update costs O(changed ids) of new data. Segments older than retention are dropped
+ * together with their messages. As the report shares older segments with the results,
+ * its history should replace the results history rather than be copied over it.
+ *
+ * @since 2.33
+ */
+@SuppressWarnings({"PMD.GodClass", "ClassDataAbstractionCoupling"})
+public final class HistoryStore implements Closeable {
+
+    public static final String STORE_DIR = "store";
+
+    private static final String MANIFEST_FILE_NAME = "manifest.json";
+
+    private static final String INDEX_FILE_NAME = "index.json";
+
+    private static final String MESSAGES_FILE_NAME = "messages.jsonl";
+
+    private static final String SEGMENT_MESSAGES_EXTENSION = ".messages.jsonl";
+
+    private static final String SEGMENTS_DIR = "segments";
+
+    private static final String SEGMENT_EXTENSION = ".jsonl";
+
+    private static final int VERSION = 2;
+
+    private static final int READ_CHUNK_SIZE = 4096;
+
+    private static final byte NEW_LINE = '\n';
+
+    //@formatter:off
+    private static final TypeReference<Map<String, HistoryIndexEntry>> INDEX_TYPE =
+            new TypeReference<Map<String, HistoryIndexEntry>>() {
+            };
+    //@formatter:on
+
+    private final Path directory;
+
+    private final ObjectMapper mapper;
+
+    private final HistoryStoreManifest manifest;
+
+    private final int retention;
+
+    private final Set<Integer> retained;
+
+    private final Map<String, HistoryIndexEntry> index;
+
+    private final List<String> legacyMessages;
+
+    private final Map<String, HistoryData> imported = new HashMap<>();
+
+    private final Map<Integer, FileChannel> channels = new ConcurrentHashMap<>();
+
+    private final Map<Integer, List<String>> segmentMessages = new ConcurrentHashMap<>();
+
+    private HistoryStore(final Path directory,
+                         final ObjectMapper mapper,
+                         final HistoryStoreManifest manifest,
+                         final int retention,
+                         final Map<String, HistoryIndexEntry> index,
+                         final List<String> legacyMessages) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.manifest = manifest;
+        this.retention = retention;
+        this.index = index;
+        this.legacyMessages = legacyMessages;
+        this.retained = new TreeSet<>();
+        manifest.getSegments().stream()
+                .filter(segment -> segment > manifest.getNextSegment() - retention)
+                .forEach(retained::add);
+    }
+
+    public static HistoryStore empty(final ObjectMapper mapper, final int retention) {
+        return new HistoryStore(
+                null, mapper, new HistoryStoreManifest().setMessagesFrom(0), retention, new HashMap<>(),
+                new ArrayList<>()
+        );
+    }
+
+    public static boolean exists(final Path historyDirectory) {
+        return Files.exists(historyDirectory.resolve(STORE_DIR).resolve(MANIFEST_FILE_NAME));
+    }
+
+    public static HistoryStore open(final Path historyDirectory,
+                                    final ObjectMapper mapper,
+                                    final int retention) throws IOException {
+        final Path directory = historyDirectory.resolve(STORE_DIR);
+        final HistoryStoreManifest manifest;
+        try (InputStream is = Files.newInputStream(directory.resolve(MANIFEST_FILE_NAME))) {
+            manifest = mapper.readValue(is, HistoryStoreManifest.class);
+        }
+        final Map<String, HistoryIndexEntry> index;
+        try (InputStream is = Files.newInputStream(directory.resolve(INDEX_FILE_NAME))) {
+            index = mapper.readValue(is, INDEX_TYPE);
+        }
+        final List<String> legacyMessages = readLines(mapper, directory.resolve(MESSAGES_FILE_NAME));
+        return new HistoryStore(directory, mapper, manifest, retention, index, legacyMessages);
+    }
+
+    /**
+     * Adds history in {@code history.json} format. Imported history is written
+     * to the store with the next update. History ids that are already in the store
+     * are skipped, the store keeps the newer history of them.
+     *
+     * @param history the history to import.
+     */
+    public void importHistory(final Map<String, HistoryData> history) {
+        history.forEach((historyId, data) -> {
+            if (!isRetained(historyId)) {
+                imported.put(historyId, copy(data, Integer.MAX_VALUE));
+            }
+        });
+    }
+
+    /**
+     * Returns ids of all history kept in the store, including imported history.
+     *
+     * @return the history ids.
+     */
+    public Set<String> getHistoryIds() {
+        final Set<String> ids = new TreeSet<>(imported.keySet());
+        index.keySet().stream()
+                .filter(this::isRetained)
+                .forEach(ids::add);
+        return ids;
+    }
+
+    /**
+     * Loads statistic and latest items for given history id.
+     *
+     * @param historyId the history id.
+     * @param limit     the max count of items to load.
+     * @return the history data, empty if there is no history for given id.
+     */
+    public HistoryData load(final String historyId, final int limit) {
+        final HistoryData importedData = imported.get(historyId);
+        if (Objects.nonNull(importedData)) {
+            return copy(importedData, limit);
+        }
+        final HistoryData data = new HistoryData().setStatistic(new Statistic());
+        final HistoryIndexEntry entry = index.get(historyId);
+        if (Objects.isNull(entry)) {
+            return data;
+        }
+        data.getStatistic().merge(entry.getStatistic());
+        if (Objects.nonNull(entry.getStability())) {
+            data.setStability(entry.getStability().copy());
+        }
+        if (Objects.nonNull(entry.getDuration())) {
+            data.setDuration(entry.getDuration().copy());
+        }
+        int segment = entry.getSegment();
+        long offset = entry.getOffset();
+        while (data.getItems().size() < limit && offset >= 0 && retained.contains(segment)) {
+            final HistoryRecord record = readRecord(segment, offset);
+            data.getItems().add(toItem(segment, record));
+            segment = record.getPrevSegment();
+            offset = record.getPrevOffset();
+        }
+        return data;
+    }
+
+    /**
+     * Appends new segment and writes the store to the report. Segments that are
+     * out of retention are dropped.
+     *
+     * @param storage  the report storage.
+     * @param updated  the updated history data by history id.
+     * @param appended the new items by history id, oldest first.
+     */
+    @SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops", "PMD.CognitiveComplexity", "CyclomaticComplexity"})
+    public void write(final ReportStorage storage,
+                      final Map<String, HistoryData> updated,
+                      final Map<String, List<HistoryItem>> appended) {
+        final int current = manifest.getNextSegment();
+        final Set<Integer> segments = new TreeSet<>(retained);
+        segments.add(current);
+
+        final Map<String, Integer> messageIds = new HashMap<>();
+        final List<String> newMessages = new ArrayList<>();
+
+        final Map<String, HistoryIndexEntry> newIndex = new TreeMap<>(index);
+        final ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        final Set<String> ids = new TreeSet<>(imported.keySet());
+        ids.addAll(appended.keySet());
+        for (String historyId : ids) {
+            final HistoryIndexEntry head = index.get(historyId);
+            final boolean chained = Objects.nonNull(head) && segments.contains(head.getSegment());
+            int prevSegment = chained ? head.getSegment() : -1;
+            long prevOffset = chained ? head.getOffset() : -1;
+
+            final List<HistoryItem> items = new ArrayList<>();
+            if (imported.containsKey(historyId)) {
+                items.addAll(imported.get(historyId).getItems());
+                Collections.reverse(items);
+            }
+            items.addAll(appended.getOrDefault(historyId, Collections.emptyList()));
+            for (HistoryItem item : items) {
+                final HistoryRecord record = new HistoryRecord()
+                        .setHistoryId(historyId)
+                        .setUid(item.getUid())
+                        .setReportUrl(item.getReportUrl())
+                        .setStatus(item.getStatus())
+                        .setMessage(getMessageId(item.getStatusDetails(), messageIds, newMessages))
+                        .setTime(item.getTime())
+                        .setPrevSegment(prevSegment)
+                        .setPrevOffset(prevOffset);
+                prevSegment = current;
+                prevOffset = segment.size();
+                writeLine(segment, record);
+            }
+            final HistoryData data = updated.containsKey(historyId)
+                    ? updated.get(historyId)
+                    : imported.get(historyId);
+            newIndex.put(historyId, new HistoryIndexEntry()
+                    .setSegment(prevSegment)
+                    .setOffset(prevOffset)
+                    .setStatistic(data.getStatistic())
+                    .setStability(data.getStability())
+                    .setDuration(data.getDuration()));
+        }
+        newIndex.values().removeIf(entry -> !segments.contains(entry.getSegment()));
+
+        storage.addDataBinary(segmentPath(current, SEGMENT_EXTENSION), segment.toByteArray());
+        final ByteArrayOutputStream messagesOut = new ByteArrayOutputStream();
+        newMessages.forEach(message -> writeLine(messagesOut, message));
+        storage.addDataBinary(segmentPath(current, SEGMENT_MESSAGES_EXTENSION), messagesOut.toByteArray());
+
+        for (Integer id : retained) {
+            copySegmentFile(storage, id, SEGMENT_EXTENSION);
+            if (id >= manifest.getMessagesFrom()) {
+                copySegmentFile(storage, id, SEGMENT_MESSAGES_EXTENSION);
+            }
+        }
+        final boolean legacy = retained.stream().anyMatch(id -> id < manifest.getMessagesFrom());
+        if (legacy && Files.exists(directory.resolve(MESSAGES_FILE_NAME))) {
+            storage.addDataLink(storePath(MESSAGES_FILE_NAME), directory.resolve(MESSAGES_FILE_NAME));
+        }
+
+        storage.addDataJson(storePath(INDEX_FILE_NAME), newIndex);
+        storage.addDataJson(storePath(MANIFEST_FILE_NAME), new HistoryStoreManifest()
+                .setVersion(VERSION)
+                .setRetention(retention)
+                .setNextSegment(current + 1)
+                .setSegments(new ArrayList<>(segments))
+                .setMessagesFrom(Math.min(manifest.getMessagesFrom(), current)));
+    }
+
+    private void copySegmentFile(final ReportStorage storage, final int segment, final String extension) {
+        final Path file = directory.resolve(SEGMENTS_DIR).resolve(segment + extension);
+        if (Files.exists(file)) {
+            storage.addDataLink(segmentPath(segment, extension), file);
+        }
+    }
+
+    private boolean isRetained(final String historyId) {
+        final HistoryIndexEntry entry = index.get(historyId);
+        return Objects.nonNull(entry) && retained.contains(entry.getSegment());
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (FileChannel channel : channels.values()) {
+            channel.close();
+        }
+        channels.clear();
+    }
+
+    private int getMessageId(final String message,
+                             final Map<String, Integer> messageIds,
+                             final List<String> newMessages) {
+        if (Objects.isNull(message)) {
+            return -1;
+        }
+        return messageIds.computeIfAbsent(message, m -> {
+            newMessages.add(m);
+            return newMessages.size() - 1;
+        });
+    }
+
+    private void writeLine(final ByteArrayOutputStream out, final Object value) {
+        try {
+            out.write(mapper.writeValueAsBytes(value));
+            out.write(NEW_LINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HistoryRecord readRecord(final int segment, final long offset) {
+        try {
+            final FileChannel channel = channels.computeIfAbsent(segment, this::openSegment);
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            final ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_SIZE);
+            long position = offset;
+            boolean found = false;
+            while (!found) {
+                buffer.clear();
+                final int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                final byte[] bytes = buffer.array();
+                int end = 0;
+                while (end < read && bytes[end] != NEW_LINE) {
+                    end++;
+                }
+                found = end < read;
+                line.write(bytes, 0, end);
+                position += read;
+            }
+            return mapper.readValue(line.toByteArray(), HistoryRecord.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel openSegment(final int segment) {
+        try {
+            return FileChannel.open(
+                    directory.resolve(SEGMENTS_DIR).resolve(segment + SEGMENT_EXTENSION),
+                    StandardOpenOption.READ
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HistoryItem toItem(final int segment, final HistoryRecord record) {
+        final List<String> messages = segment >= manifest.getMessagesFrom()
+                ? segmentMessages.computeIfAbsent(segment, this::readSegmentMessages)
+                : legacyMessages;
+        final int message = record.getMessage();
+        return new HistoryItem()
+                .setUid(record.getUid())
+                .setReportUrl(record.getReportUrl())
+                .setStatus(record.getStatus())
+                .setStatusDetails(message >= 0 && message < messages.size() ? messages.get(message) : null)
+                .setTime(record.getTime());
+    }
+
+    private List<String> readSegmentMessages(final int segment) {
+        try {
+            return readLines(mapper, directory.resolve(SEGMENTS_DIR).resolve(segment + SEGMENT_MESSAGES_EXTENSION));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> readLines(final ObjectMapper mapper, final Path file) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line = reader.readLine();
+                while (Objects.nonNull(line)) {
+                    lines.add(mapper.readValue(line, String.class));
+                    line = reader.readLine();
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static HistoryData copy(final HistoryData other, final int limit) {
+        final Statistic statistic = new Statistic();
+        statistic.merge(other.getStatistic());
+        final List<HistoryItem> items = new ArrayList<>(other.getItems().subList(
+                0, Math.min(limit, other.getItems().size())
+        ));
+        return new HistoryData()
+                .setStatistic(statistic)
+                .setStability(Objects.isNull(other.getStability()) ? null : other.getStability().copy())
+                .setDuration(Objects.isNull(other.getDuration()) ? null : other.getDuration().copy())
+                .setItems(items);
+    }
+
+    private static String segmentPath(final int segment, final String extension) {
+        return Constants.historyPath(STORE_DIR, SEGMENTS_DIR, segment + extension);
+    }
+
+    private static String storePath(final String fileName) {
+        return Constants.historyPath(STORE_DIR, fileName);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * History store manifest, lists retained segments.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class HistoryStoreManifest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int version;
+    protected int retention;
+    protected int nextSegment;
+    protected List<Integer> segments = new ArrayList<>();
+    /**
+     * The first segment that has its own message dictionary. Older segments use
+     * the shared dictionary of version 1 stores.
+     */
+    protected int messagesFrom = Integer.MAX_VALUE;
+
+}
@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.history;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,6 +26,7 @@ import io.qameta.allure.entity.Statistic;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.executor.ExecutorPlugin;
 import io.qameta.allure.trend.AbstractTrendPlugin;
+import lombok.EqualsAndHashCode;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -49,6 +51,19 @@ public class HistoryTrendPlugin extends AbstractTrendPlugin<HistoryTrendItem> {
         super(Arrays.asList(new JsonAggregator(), new WidgetAggregator()), JSON_FILE_NAME, HISTORY_TREND_BLOCK_NAME);
     }
 
+    @Override
+    protected Optional<Class<? extends HistoryTrendItem>> getItemType() {
+        return Optional.of(LegacyAwareHistoryTrendItem.class);
+    }
+
+    @Override
+    protected HistoryTrendItem convertItem(final HistoryTrendItem item) {
+        if (item instanceof LegacyAwareHistoryTrendItem) {
+            return ((LegacyAwareHistoryTrendItem) item).toHistoryTrendItem();
+        }
+        return item;
+    }
+
     @Override
     protected Optional<HistoryTrendItem> parseItem(final ObjectMapper mapper, final JsonNode child)
             throws JsonProcessingException {
@@ -127,4 +142,42 @@ public class HistoryTrendPlugin extends AbstractTrendPlugin<HistoryTrendItem> {
             return HistoryTrendPlugin.getData(launches);
         }
     }
+
+    /**
+     * Trend item that also accepts legacy format, where item is a plain statistic.
+     */
+    @EqualsAndHashCode(callSuper = true)
+    private static final class LegacyAwareHistoryTrendItem extends HistoryTrendItem {
+
+        private static final long serialVersionUID = 1L;
+
+        @JsonProperty
+        private Long total;
+        @JsonProperty
+        private long failed;
+        @JsonProperty
+        private long broken;
+        @JsonProperty
+        private long skipped;
+        @JsonProperty
+        private long passed;
+        @JsonProperty
+        private long unknown;
+
+        HistoryTrendItem toHistoryTrendItem() {
+            if (Objects.isNull(total)) {
+                return new HistoryTrendItem()
+                        .setStatistic(getStatistic())
+                        .setBuildOrder(getBuildOrder())
+                        .setReportUrl(getReportUrl())
+                        .setReportName(getReportName());
+            }
+            return new HistoryTrendItem().setStatistic(new Statistic()
+                    .setFailed(failed)
+                    .setBroken(broken)
+                    .setSkipped(skipped)
+                    .setPassed(passed)
+                    .setUnknown(unknown));
+        }
+    }
 }
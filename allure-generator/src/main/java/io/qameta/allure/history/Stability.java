@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.history;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.qameta.allure.entity.Status;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Incremental stability statistic of a test. Every update takes constant time,
+ * so stability is tracked over all runs without rescanning the history.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class Stability implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double FAILURE_RATE_WEIGHT = 0.2;
+
+    private static final int MAX_STATUS_RUNS = 50;
+
+    protected long runs;
+    protected long passed;
+    protected long flips;
+    protected double failureRate;
+    protected Status lastStatus;
+    protected List<StatusRun> statuses = new ArrayList<>();
+
+    /**
+     * Adds run with given status. Only passed, failed and broken runs are counted.
+     *
+     * @param status the status of the run.
+     */
+    public void update(final Status status) {
+        if (status != Status.PASSED && status != Status.FAILED && status != Status.BROKEN) {
+            return;
+        }
+        final boolean failure = status != Status.PASSED;
+        if (Objects.nonNull(lastStatus) && (lastStatus != Status.PASSED) != failure) {
+            flips++;
+        }
+        final double value = failure ? 1 : 0;
+        failureRate = runs == 0
+                ? value
+                : FAILURE_RATE_WEIGHT * value + (1 - FAILURE_RATE_WEIGHT) * failureRate;
+        runs++;
+        if (!failure) {
+            passed++;
+        }
+        lastStatus = status;
+
+        final StatusRun last = statuses.isEmpty() ? null : statuses.get(statuses.size() - 1);
+        if (Objects.nonNull(last) && last.getStatus() == status) {
+            last.setCount(last.getCount() + 1);
+            return;
+        }
+        statuses.add(new StatusRun().setStatus(status).setCount(1));
+        if (statuses.size() > MAX_STATUS_RUNS) {
+            statuses.remove(0);
+        }
+    }
+
+    @JsonIgnore
+    public double getPassRate() {
+        return runs == 0 ? 0 : (double) passed / runs;
+    }
+
+    @JsonIgnore
+    public double getFlipRate() {
+        return runs < 2 ? 0 : (double) flips / (runs - 1);
+    }
+
+    /**
+     * Returns instability score from 0 (stable) to 1, the average of flip rate
+     * and weighted failure rate.
+     *
+     * @return the instability score.
+     */
+    @JsonIgnore
+    public double getScore() {
+        return (getFlipRate() + failureRate) / 2;
+    }
+
+    public Stability copy() {
+        final List<StatusRun> runsCopy = new ArrayList<>(statuses.size());
+        statuses.forEach(run -> runsCopy.add(new StatusRun().setStatus(run.getStatus()).setCount(run.getCount())));
+        return new Stability()
+                .setRuns(runs)
+                .setPassed(passed)
+                .setFlips(flips)
+                .setFailureRate(failureRate)
+                .setLastStatus(lastStatus)
+                .setStatuses(runsCopy);
+    }
+}
@@ -17,6 +17,7 @@ package io.qameta.allure.influxdb;
 
 import io.qameta.allure.CommonMetricAggregator2;
 import io.qameta.allure.category.CategoriesMetric;
+import io.qameta.allure.category.FailureClustersMetric;
 import io.qameta.allure.metric.Metric;
 import io.qameta.allure.metric.StatusMetric;
 import io.qameta.allure.metric.TimeMetric;
@@ -48,6 +49,9 @@ public class InfluxDbExportPlugin extends CommonMetricAggregator2 {
         final CategoriesMetric categoriesMetric = new CategoriesMetric((category, count) ->
                 new InfluxDbMetricLine("launch_problems", category, String.valueOf(count), timestamp));
 
+        final FailureClustersMetric failureClustersMetric = new FailureClustersMetric((cluster, count) ->
+                new InfluxDbMetricLine("launch_failure_clusters", cluster, String.valueOf(count), timestamp));
+
         final RetryMetric retryMetric = new RetryMetric((key, count) ->
                 new InfluxDbMetricLine("launch_retries", key, String.valueOf(count), timestamp)
         );
@@ -56,6 +60,7 @@ public class InfluxDbExportPlugin extends CommonMetricAggregator2 {
                 statusMetric,
                 timeMetric,
                 categoriesMetric,
+                failureClustersMetric,
                 retryMetric
         );
     }
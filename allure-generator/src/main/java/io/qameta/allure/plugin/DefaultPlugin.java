@@ -31,6 +31,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Default plugin implementation that unpack files from directory.
@@ -41,13 +43,31 @@ public class DefaultPlugin implements Plugin {
 
     private final PluginConfiguration configuration;
 
-    private final List<Extension> extensions;
+    private final List<LazyExtension> extensions;
 
     private final Path pluginDirectory;
 
     public DefaultPlugin(final PluginConfiguration configuration,
                          final List<Extension> extensions,
                          final Path pluginDirectory) {
+        this(
+                pluginDirectory,
+                configuration,
+                extensions.stream().map(LazyExtension::of).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Creates plugin which extensions are instantiated on first access.
+     *
+     * @param pluginDirectory the plugin directory
+     * @param configuration   the plugin configuration
+     * @param extensions      the plugin extensions
+     * @since 2.33
+     */
+    public DefaultPlugin(final Path pluginDirectory,
+                         final PluginConfiguration configuration,
+                         final List<LazyExtension> extensions) {
         this.configuration = configuration;
         this.extensions = extensions;
         this.pluginDirectory = pluginDirectory;
@@ -91,6 +111,20 @@ public class DefaultPlugin implements Plugin {
 
     @Override
     public List<Extension> getExtensions() {
+        return extensions.stream()
+                .map(LazyExtension::get)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns plugin extensions without instantiating them.
+     *
+     * @return the plugin extensions
+     * @since 2.33
+     */
+    public List<LazyExtension> getLazyExtensions() {
         return Collections.unmodifiableList(extensions);
     }
 
@@ -31,9 +31,13 @@ import java.net.URLClassLoader;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -47,31 +51,66 @@ public class DefaultPluginLoader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPluginLoader.class);
 
+    private static final String PLUGIN_CONFIGURATION = "allure-plugin.yml";
+
+    private static final String LIB = "lib";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private final Map<Path, CachedPlugin> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Loads plugin from given directory. Plugin configuration and extension classes are
+     * cached until size or modification time of the configuration or plugin jars changes,
+     * the class loader of replaced plugin is closed. Every call returns new plugin with
+     * own extensions that are instantiated on first access.
+     *
+     * @param parent          the parent class loader
+     * @param pluginDirectory the plugin directory
+     * @return the loaded plugin or empty if directory does not contain a valid plugin
+     */
     public Optional<Plugin> loadPlugin(final ClassLoader parent, final Path pluginDirectory) {
+        final Path key = pluginDirectory.toAbsolutePath().normalize();
+        final List<Path> jars = getJars(key);
+        final List<String> stamp = getStamp(key, jars);
+        final CachedPlugin cached = cache.get(key);
+        if (Objects.nonNull(cached) && cached.isValid(parent, stamp)) {
+            return cached.newPlugin(pluginDirectory);
+        }
+        final CachedPlugin loaded = readPlugin(parent, pluginDirectory, jars, stamp);
+        final CachedPlugin replaced = cache.put(key, loaded);
+        if (Objects.nonNull(replaced)) {
+            replaced.close();
+        }
+        return loaded.newPlugin(pluginDirectory);
+    }
+
+    private CachedPlugin readPlugin(final ClassLoader parent,
+                                    final Path pluginDirectory,
+                                    final List<Path> jars,
+                                    final List<String> stamp) {
         final Optional<PluginConfiguration> pluginConfiguration = loadPluginConfiguration(pluginDirectory);
         if (pluginConfiguration.isPresent()) {
             final PluginConfiguration configuration = pluginConfiguration.get();
             if (!configuration.getExtensions().isEmpty()) {
-                final ClassLoader classLoader = createClassLoader(parent, pluginDirectory);
-                final List<Extension> extensions = configuration.getExtensions().stream()
+                final URLClassLoader classLoader = createClassLoader(parent, jars);
+                final List<Class<? extends Extension>> extensions = configuration.getExtensions().stream()
                         .map(name -> load(classLoader, name))
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .collect(Collectors.toList());
 
-                return Optional.of(new DefaultPlugin(configuration, extensions, pluginDirectory));
+                return new CachedPlugin(parent, stamp, configuration, extensions, classLoader);
             } else {
-                return Optional.of(new DefaultPlugin(configuration, Collections.emptyList(), pluginDirectory));
+                return new CachedPlugin(parent, stamp, configuration, Collections.emptyList(), null);
             }
         }
-        return Optional.empty();
+        return new CachedPlugin(parent, stamp, null, Collections.emptyList(), null);
     }
 
-    private Optional<Extension> load(final ClassLoader classLoader, final String name) {
+    private Optional<Class<? extends Extension>> load(final ClassLoader classLoader, final String name) {
         try {
-            final Extension loaded = (Extension) classLoader.loadClass(name)
-                    .getDeclaredConstructor().newInstance();
-            return Optional.of(loaded);
+            return Optional.of(classLoader.loadClass(name).asSubclass(Extension.class));
         } catch (Exception e) {
             LOGGER.error("Could not load extension class {}", name, e);
             return Optional.empty();
@@ -79,39 +118,58 @@ public class DefaultPluginLoader {
     }
 
     private Optional<PluginConfiguration> loadPluginConfiguration(final Path pluginDirectory) {
-        final Path configuration = pluginDirectory.resolve("allure-plugin.yml");
+        final Path configuration = pluginDirectory.resolve(PLUGIN_CONFIGURATION);
         if (Files.notExists(configuration)) {
             LOGGER.warn("Invalid plugin directory " + pluginDirectory);
             return Optional.empty();
         }
 
-        final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
         try (InputStream is = Files.newInputStream(configuration)) {
-            return Optional.of(mapper.readValue(is, PluginConfiguration.class));
+            return Optional.of(MAPPER.readValue(is, PluginConfiguration.class));
         } catch (IOException e) {
             LOGGER.error("Could not read plugin configuration", e);
             return Optional.empty();
         }
     }
 
-    private ClassLoader createClassLoader(final ClassLoader parent, final Path pluginDirectory) {
-        final Path lib = pluginDirectory.resolve("lib");
-        final URL[] urls = Stream.of(pluginDirectory, lib)
-                .filter(Files::isDirectory)
-                .flatMap(dir -> jarsInDirectory(dir).stream())
+    private static List<String> getStamp(final Path pluginDirectory, final List<Path> jars) {
+        return Stream.concat(Stream.of(pluginDirectory.resolve(PLUGIN_CONFIGURATION)), jars.stream())
+                .map(DefaultPluginLoader::getFileStamp)
+                .collect(Collectors.toList());
+    }
+
+    private static String getFileStamp(final Path file) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return file + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return file.toString();
+        }
+    }
+
+    private URLClassLoader createClassLoader(final ClassLoader parent, final List<Path> jars) {
+        final URL[] urls = jars.stream()
+                .map(this::toUrlSafe)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
                 .toArray(URL[]::new);
         return new URLClassLoader(urls, parent);
     }
 
-    private List<URL> jarsInDirectory(final Path directory) {
+    private List<Path> getJars(final Path pluginDirectory) {
+        return Stream.of(pluginDirectory, pluginDirectory.resolve(LIB))
+                .filter(Files::isDirectory)
+                .flatMap(dir -> jarsInDirectory(dir).stream())
+                .collect(Collectors.toList());
+    }
+
+    private List<Path> jarsInDirectory(final Path directory) {
         final DirectoryStream.Filter<Path> pathFilter = entry ->
                 Files.isRegularFile(entry) && entry.toString().endsWith(".jar");
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, pathFilter)) {
             return StreamSupport.stream(stream.spliterator(), false)
                     .filter(Files::isRegularFile)
-                    .map(this::toUrlSafe)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
+                    .sorted()
                     .collect(Collectors.toList());
         } catch (IOException e) {
             LOGGER.error("Could not load plugin", e);
@@ -127,4 +185,54 @@ public class DefaultPluginLoader {
             return Optional.empty();
         }
     }
+
+    /**
+     * Plugin configuration and extension classes loaded from the directory with given stamp.
+     */
+    private static final class CachedPlugin {
+
+        private final ClassLoader parent;
+
+        private final List<String> stamp;
+
+        private final PluginConfiguration configuration;
+
+        private final List<Class<? extends Extension>> extensions;
+
+        private final URLClassLoader classLoader;
+
+        CachedPlugin(final ClassLoader parent,
+                     final List<String> stamp,
+                     final PluginConfiguration configuration,
+                     final List<Class<? extends Extension>> extensions,
+                     final URLClassLoader classLoader) {
+            this.parent = parent;
+            this.stamp = stamp;
+            this.configuration = configuration;
+            this.extensions = extensions;
+            this.classLoader = classLoader;
+        }
+
+        boolean isValid(final ClassLoader parent, final List<String> stamp) {
+            return Objects.equals(this.parent, parent) && this.stamp.equals(stamp);
+        }
+
+        Optional<Plugin> newPlugin(final Path pluginDirectory) {
+            return Optional.ofNullable(configuration).map(config -> new DefaultPlugin(
+                    pluginDirectory,
+                    config,
+                    extensions.stream().map(LazyExtension::of).collect(Collectors.toList())
+            ));
+        }
+
+        void close() {
+            if (Objects.nonNull(classLoader)) {
+                try {
+                    classLoader.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Could not close plugin class loader", e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.plugin;
+
+import io.qameta.allure.Extension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Extension that is instantiated on first access. The type of extension is known
+ * beforehand, so extensions can be filtered by type without being created.
+ *
+ * @since 2.33
+ */
+public final class LazyExtension {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyExtension.class);
+
+    private final Class<? extends Extension> type;
+
+    private final AtomicReference<Optional<Extension>> instance = new AtomicReference<>();
+
+    private LazyExtension(final Class<? extends Extension> type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates lazy extension of given type. The extension is created using
+     * the default constructor on first access.
+     *
+     * @param type the type of extension
+     * @return the lazy extension
+     */
+    public static LazyExtension of(final Class<? extends Extension> type) {
+        return new LazyExtension(type);
+    }
+
+    /**
+     * Wraps already created extension.
+     *
+     * @param extension the extension
+     * @return the lazy extension
+     */
+    public static LazyExtension of(final Extension extension) {
+        final LazyExtension lazy = new LazyExtension(extension.getClass());
+        lazy.instance.set(Optional.of(extension));
+        return lazy;
+    }
+
+    public Class<? extends Extension> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the extension, creating it on first call. Returns empty if
+     * the extension could not be created.
+     *
+     * @return the extension
+     */
+    public Optional<Extension> get() {
+        final Optional<Extension> current = instance.get();
+        if (current != null) {
+            return current;
+        }
+        instance.compareAndSet(null, create());
+        return instance.get();
+    }
+
+    private Optional<Extension> create() {
+        try {
+            return Optional.of(type.getDeclaredConstructor().newInstance());
+        } catch (Exception e) {
+            LOGGER.error("Could not load extension class {}", type.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
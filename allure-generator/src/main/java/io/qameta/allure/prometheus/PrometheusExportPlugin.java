@@ -17,10 +17,12 @@ package io.qameta.allure.prometheus;
 
 import io.qameta.allure.CommonMetricAggregator2;
 import io.qameta.allure.category.CategoriesMetric;
+import io.qameta.allure.category.FailureClustersMetric;
 import io.qameta.allure.metric.Metric;
 import io.qameta.allure.metric.StatusMetric;
 import io.qameta.allure.metric.TimeMetric;
 import io.qameta.allure.retry.RetryMetric;
+import io.qameta.allure.util.PropertyUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -49,6 +51,9 @@ public class PrometheusExportPlugin extends CommonMetricAggregator2 {
         final CategoriesMetric categoriesMetric = new CategoriesMetric((category, count) ->
                 new PrometheusMetricLine("launch_problems", category, String.valueOf(count), labels));
 
+        final FailureClustersMetric failureClustersMetric = new FailureClustersMetric((cluster, count) ->
+                new PrometheusMetricLine("launch_failure_clusters", cluster, String.valueOf(count), labels));
+
         final RetryMetric retryMetric = new RetryMetric((key, count) ->
                 new PrometheusMetricLine("launch_retries", key, String.valueOf(count), labels)
         );
@@ -57,6 +62,7 @@ public class PrometheusExportPlugin extends CommonMetricAggregator2 {
                 statusMetric,
                 timeMetric,
                 categoriesMetric,
+                failureClustersMetric,
                 retryMetric
         );
     }
@@ -65,6 +71,6 @@ public class PrometheusExportPlugin extends CommonMetricAggregator2 {
         if (System.getProperties().getProperty(ALLURE_PROMETHEUS_LABELS) != null) {
             return System.getProperties().getProperty(ALLURE_PROMETHEUS_LABELS);
         }
-        return System.getenv(ALLURE_PROMETHEUS_LABELS);
+        return PropertyUtils.getEnvironment().get(ALLURE_PROMETHEUS_LABELS);
     }
 }
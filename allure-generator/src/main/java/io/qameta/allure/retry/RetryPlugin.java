@@ -17,20 +17,17 @@ package io.qameta.allure.retry;
 
 import io.qameta.allure.Aggregator2;
 import io.qameta.allure.ReportStorage;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
-import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import static io.qameta.allure.entity.TestResult.comparingByTime;
 
@@ -43,37 +40,43 @@ public class RetryPlugin implements Aggregator2 {
 
     public static final String RETRY_BLOCK_NAME = "retries";
 
-    @SuppressWarnings({"PMD.AvoidLiteralsInIfCondition", "PMD.AvoidInstantiatingObjectsInLoops"})
     @Override
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
 
-        final Map<String, List<TestResult>> byHistory = launchesResults.stream()
-                .flatMap(results -> results.getAllResults().stream())
-                .filter(result -> Objects.nonNull(result.getHistoryId()))
-                .collect(Collectors.toMap(TestResult::getHistoryId, Arrays::asList, this::merge));
-        byHistory.forEach((historyId, results) ->
-                findLatest(results).ifPresent(addRetries(results)));
+        final Map<String, List<TestResult>> byHistory = new HashMap<>();
+        launchesResults.forEach(results -> results.getAllResults().forEach(result -> {
+            if (Objects.nonNull(result.getHistoryId())) {
+                byHistory.computeIfAbsent(result.getHistoryId(), id -> new ArrayList<>()).add(result);
+            }
+        }));
+        ExecutorContext.getExecutors(configuration)
+                .runCpu(() -> byHistory.values().parallelStream().forEach(this::resolve));
     }
 
-    private Consumer<TestResult> addRetries(final List<TestResult> results) {
-        return latest -> {
-            final List<RetryItem> retries = results.stream()
-                    .sorted(comparingByTime())
-                    .filter(result -> !latest.equals(result))
-                    .map(this::prepareRetry)
-                    .map(this::createRetryItem)
-                    .collect(Collectors.toList());
-            latest.addExtraBlock(RETRY_BLOCK_NAME, retries);
-            final Set<Status> statuses = retries.stream()
-                    .map(RetryItem::getStatus)
-                    .filter(status -> !status.equals(latest.getStatus()))
-                    .collect(Collectors.toSet());
-
-            latest.setRetriesStatusChange(!statuses.isEmpty());
-            latest.setRetriesCount(retries.size());
-        };
+    private void resolve(final List<TestResult> results) {
+        results.sort(comparingByTime());
+        final Optional<TestResult> found = results.stream()
+                .filter(result -> !result.isHidden())
+                .findFirst();
+        if (!found.isPresent()) {
+            return;
+        }
+        final TestResult latest = found.get();
+        final List<RetryItem> retries = new ArrayList<>(results.size() - 1);
+        boolean statusChange = false;
+        for (TestResult result : results) {
+            if (latest.equals(result)) {
+                continue;
+            }
+            final RetryItem retry = createRetryItem(prepareRetry(result));
+            statusChange |= !retry.getStatus().equals(latest.getStatus());
+            retries.add(retry);
+        }
+        latest.addExtraBlock(RETRY_BLOCK_NAME, retries);
+        latest.setRetriesStatusChange(statusChange);
+        latest.setRetriesCount(retries.size());
     }
 
     private TestResult prepareRetry(final TestResult result) {
@@ -89,18 +92,4 @@ public class RetryPlugin implements Aggregator2 {
                 .setTime(result.getTime())
                 .setUid(result.getUid());
     }
-
-    private Optional<TestResult> findLatest(final List<TestResult> results) {
-        return results.stream()
-                .filter(result -> !result.isHidden())
-                .min(comparingByTime());
-    }
-
-    private List<TestResult> merge(final List<TestResult> first,
-                                   final List<TestResult> second) {
-        final List<TestResult> merged = new ArrayList<>();
-        merged.addAll(first);
-        merged.addAll(second);
-        return merged;
-    }
 }
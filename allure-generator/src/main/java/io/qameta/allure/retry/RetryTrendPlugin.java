@@ -44,6 +44,11 @@ public class RetryTrendPlugin extends AbstractTrendPlugin<RetryTrendItem> {
         super(Arrays.asList(new JsonAggregator(), new WidgetAggregator()), JSON_FILE_NAME, RETRY_TREND_BLOCK_NAME);
     }
 
+    @Override
+    protected Optional<Class<? extends RetryTrendItem>> getItemType() {
+        return Optional.of(RetryTrendItem.class);
+    }
+
     @Override
     protected Optional<RetryTrendItem> parseItem(final ObjectMapper mapper, final JsonNode child)
             throws JsonProcessingException {
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.search;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search index manifest. Lists the available prefix shards, so the report
+ * fetches only the shards that match the query tokens.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class SearchIndexData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected int version;
+    protected int prefixLength;
+    protected long documentsCount;
+    protected long tokensCount;
+    protected String documents;
+    protected List<String> shards = new ArrayList<>();
+
+}
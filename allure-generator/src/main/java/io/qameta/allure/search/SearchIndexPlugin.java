@@ -0,0 +1,211 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Aggregator2;
+import io.qameta.allure.Constants;
+import io.qameta.allure.ReportStorage;
+import io.qameta.allure.context.ExecutorContext;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Label;
+import io.qameta.allure.entity.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Plugin that builds inverted search index for test results. Indexes test names, full names,
+ * label values, parameter values and normalized status messages. Tokens are split into shards
+ * by prefix, and postings are stored as delta-encoded document positions.
+ * The report tree search uses the index to also match results by labels, parameters
+ * and status messages.
+ *
+ * @since 2.33
+ */
+public class SearchIndexPlugin implements Aggregator2 {
+
+    /**
+     * The name of environment variable that enables search index.
+     */
+    public static final String ALLURE_SEARCH_INDEX = "ALLURE_SEARCH_INDEX";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexPlugin.class);
+
+    private static final String SEARCH_DIR = "search";
+
+    private static final String INDEX_FILE_NAME = "index.json";
+
+    private static final String DOCUMENTS_FILE_NAME = "documents.json";
+
+    private static final int INDEX_VERSION = 1;
+
+    private static final int PREFIX_LENGTH = 2;
+
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private static final char PREFIX_PLACEHOLDER = '_';
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern VOLATILE_TOKEN = Pattern.compile("\\p{N}+|(?=.*\\p{N})[0-9a-f]{8,}");
+
+    private final boolean enabled;
+
+    public SearchIndexPlugin() {
+        this(getProperty(ALLURE_SEARCH_INDEX).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    public SearchIndexPlugin(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void aggregate(final Configuration configuration,
+                          final List<LaunchResults> launchesResults,
+                          final ReportStorage storage) {
+        if (!enabled) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final ObjectMapper mapper = configuration.requireContext(JacksonContext.class).getValue();
+
+        final List<TestResult> results = launchesResults.stream()
+                .map(LaunchResults::getResults)
+                .flatMap(Collection::stream)
+                .filter(result -> !result.isHidden())
+                .sorted(Comparator.comparing(TestResult::getUid, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        final List<Set<String>> tokens = ExecutorContext.getExecutors(configuration)
+                .callCpu(() -> results.parallelStream()
+                        .map(SearchIndexPlugin::tokenize)
+                        .collect(Collectors.toList()));
+
+        final Map<String, Map<String, List<Integer>>> shards = new TreeMap<>();
+        final Map<String, Integer> lastPositions = new HashMap<>();
+        for (int position = 0; position < tokens.size(); position++) {
+            for (String token : tokens.get(position)) {
+                final Integer last = lastPositions.put(token, position);
+                shards.computeIfAbsent(getShardName(token), name -> new TreeMap<>())
+                        .computeIfAbsent(token, name -> new ArrayList<>())
+                        .add(Objects.isNull(last) ? position : position - last);
+            }
+        }
+
+        final AtomicLong size = new AtomicLong();
+        final List<SearchDocument> documents = results.stream()
+                .map(result -> new SearchDocument()
+                        .setUid(result.getUid())
+                        .setName(result.getName())
+                        .setStatus(result.getStatus()))
+                .collect(Collectors.toList());
+        size.addAndGet(write(mapper, storage, DOCUMENTS_FILE_NAME, documents));
+
+        shards.forEach((name, postings) -> size.addAndGet(write(mapper, storage, name + ".json", postings)));
+
+        final SearchIndexData index = new SearchIndexData()
+                .setVersion(INDEX_VERSION)
+                .setPrefixLength(PREFIX_LENGTH)
+                .setDocumentsCount(documents.size())
+                .setTokensCount(shards.values().stream().mapToLong(Map::size).sum())
+                .setDocuments(DOCUMENTS_FILE_NAME)
+                .setShards(new ArrayList<>(shards.keySet()));
+        size.addAndGet(write(mapper, storage, INDEX_FILE_NAME, index));
+
+        LOGGER.info(
+                "Search index built in {} ms: {} documents, {} tokens, {} shards, {} bytes",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                index.getDocumentsCount(),
+                index.getTokensCount(),
+                index.getShards().size(),
+                size.get()
+        );
+    }
+
+    private static long write(final ObjectMapper mapper,
+                              final ReportStorage storage,
+                              final String name,
+                              final Object data) {
+        try {
+            final byte[] bytes = mapper.writeValueAsBytes(data);
+            storage.addDataBinary(Constants.dataPath(SEARCH_DIR, name), bytes);
+            return bytes.length;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* default */ static Set<String> tokenize(final TestResult result) {
+        final Set<String> tokens = new TreeSet<>();
+        addTokens(tokens, result.getName(), false);
+        addTokens(tokens, result.getFullName(), false);
+        result.getLabels().stream()
+                .map(Label::getValue)
+                .forEach(value -> addTokens(tokens, value, false));
+        result.getParameterValues()
+                .forEach(value -> addTokens(tokens, value, false));
+        final String message = result.getStatusMessage();
+        if (Objects.nonNull(message)) {
+            final String head = message.length() > MAX_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_MESSAGE_LENGTH)
+                    : message;
+            addTokens(tokens, head, true);
+        }
+        return tokens;
+    }
+
+    private static void addTokens(final Set<String> tokens, final String value, final boolean normalize) {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !(normalize && VOLATILE_TOKEN.matcher(token).matches())) {
+                tokens.add(token);
+            }
+        }
+    }
+
+    /* default */ static String getShardName(final String token) {
+        final StringBuilder name = new StringBuilder(PREFIX_LENGTH);
+        for (int i = 0; i < PREFIX_LENGTH; i++) {
+            final char c = i < token.length() ? token.charAt(i) : PREFIX_PLACEHOLDER;
+            name.append(c >= 'a' && c <= 'z' || c >= '0' && c <= '9' ? c : PREFIX_PLACEHOLDER);
+        }
+        return name.toString();
+    }
+}
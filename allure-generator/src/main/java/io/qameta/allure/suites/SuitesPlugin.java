@@ -17,6 +17,7 @@ package io.qameta.allure.suites;
 
 import io.qameta.allure.CommonCsvExportAggregator2;
 import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.CommonTreeAggregator2;
 import io.qameta.allure.CompositeAggregator2;
 import io.qameta.allure.Constants;
 import io.qameta.allure.core.LaunchResults;
@@ -78,18 +79,18 @@ public class SuitesPlugin extends CompositeAggregator2 {
         );
         // @formatter:on
 
-        launchResults.stream()
+        xunit.addAll(launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
                 .sorted(comparingByTimeAsc())
-                .forEach(xunit::add);
+                .collect(Collectors.toList()));
         return xunit;
     }
 
     /**
      * Generates tree data.
      */
-    private static class JsonAggregator extends CommonJsonAggregator2 {
+    private static class JsonAggregator extends CommonTreeAggregator2 {
 
         JsonAggregator() {
             super(JSON_FILE_NAME);
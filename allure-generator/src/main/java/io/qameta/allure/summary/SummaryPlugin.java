@@ -15,8 +15,8 @@
  */
 package io.qameta.allure.summary;
 
-import io.qameta.allure.Aggregator2;
 import io.qameta.allure.Constants;
+import io.qameta.allure.PartialAggregator2;
 import io.qameta.allure.ReportStorage;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
@@ -27,6 +27,7 @@ import io.qameta.allure.entity.Statistic;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static io.qameta.allure.executor.ExecutorPlugin.getLatestExecutor;
 
@@ -35,7 +36,7 @@ import static io.qameta.allure.executor.ExecutorPlugin.getLatestExecutor;
  *
  * @since 2.0
  */
-public class SummaryPlugin implements Aggregator2 {
+public class SummaryPlugin implements PartialAggregator2<SummaryData> {
 
     /**
      * Name of the json file.
@@ -46,10 +47,35 @@ public class SummaryPlugin implements Aggregator2 {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
+        write(configuration, launchesResults, getSummary(launchesResults), storage);
+    }
+
+    @Override
+    public Optional<SummaryData> aggregatePartial(final Configuration configuration,
+                                                  final List<LaunchResults> launchesResults) {
+        return Optional.of(getSummary(launchesResults));
+    }
+
+    @Override
+    public SummaryData merge(final SummaryData first, final SummaryData second) {
+        first.getStatistic().merge(second.getStatistic());
+        first.getTime().merge(second.getTime());
+        return first;
+    }
+
+    @Override
+    public void write(final Configuration configuration,
+                      final List<LaunchResults> launchesResults,
+                      final SummaryData aggregate,
+                      final ReportStorage storage) {
+        aggregate.setReportName(getReportName(configuration, launchesResults));
+        storage.addDataJson(String.format("%s/%s", Constants.WIDGETS_DIR, JSON_FILE_NAME), aggregate);
+    }
+
+    private static SummaryData getSummary(final List<LaunchResults> launchesResults) {
         final SummaryData data1 = new SummaryData()
                 .setStatistic(new Statistic())
-                .setTime(new GroupTime())
-                .setReportName(getReportName(configuration, launchesResults));
+                .setTime(new GroupTime());
 
         launchesResults.stream()
                 .map(LaunchResults::getResults)
@@ -58,8 +84,7 @@ public class SummaryPlugin implements Aggregator2 {
                     data1.getStatistic().update(result);
                     data1.getTime().update(result);
                 });
-
-        storage.addDataJson(String.format("%s/%s", Constants.WIDGETS_DIR, JSON_FILE_NAME), data1);
+        return data1;
     }
 
     private static String getReportName(final Configuration configuration,
@@ -24,6 +24,7 @@ import io.qameta.allure.tree.Tree;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static io.qameta.allure.tree.TreeUtils.groupByLabels;
 
@@ -48,10 +49,10 @@ public class TimelinePlugin extends CommonJsonAggregator2 {
         );
         // @formatter:on
 
-        launchResults.stream()
+        timeline.addAll(launchResults.stream()
                 .map(LaunchResults::getAllResults)
                 .flatMap(Collection::stream)
-                .forEach(timeline::add);
+                .collect(Collectors.toList()));
         return timeline;
     }
 }
@@ -20,10 +20,10 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Aggregator2;
 import io.qameta.allure.CompositeAggregator2;
-import io.qameta.allure.Constants;
 import io.qameta.allure.Reader;
 import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.HistorySnapshot;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.ExecutorInfo;
@@ -68,28 +68,63 @@ public abstract class AbstractTrendPlugin<T> extends CompositeAggregator2 implem
     public void readResults(final Configuration configuration,
                             final ResultsVisitor visitor,
                             final Path directory) {
-        final JacksonContext context = configuration.requireContext(JacksonContext.class);
-        final Path historyFile = directory.resolve(Constants.HISTORY_DIR).resolve(jsonFileName);
+        final HistorySnapshot snapshot = visitor.getHistorySnapshot(directory);
+        if (!snapshot.contains(jsonFileName)) {
+            return;
+        }
+        final Path historyFile = snapshot.getPath(jsonFileName);
+        try {
+            final Optional<Class<? extends T>> itemType = getItemType();
+            final List<T> history;
+            if (itemType.isPresent()) {
+                history = snapshot.getItems(jsonFileName, itemType.get()).stream()
+                        .map(this::convertItem)
+                        .collect(Collectors.toList());
+            } else {
+                history = readTree(configuration, historyFile);
+            }
+            visitor.visitExtra(trendBlockName, history);
+        } catch (IOException e) {
+            visitor.error("Could not read " + trendBlockName + " file " + historyFile, e);
+        }
+    }
+
+    /**
+     * Returns type of trend items to read history file straight into typed items.
+     * If empty, history file is read as json tree and parsed using
+     * {@link #parseItem(ObjectMapper, JsonNode)}.
+     *
+     * @return the type of trend items.
+     * @since 2.33
+     */
+    protected Optional<Class<? extends T>> getItemType() {
+        return Optional.empty();
+    }
 
-        if (Files.exists(historyFile)) {
-            try (InputStream is = Files.newInputStream(historyFile)) {
-                final ObjectMapper mapper = context.getValue();
-                final JsonNode jsonNode = mapper.readTree(is);
-                final List<T> history;
-                if (jsonNode != null) {
-                    history = getStream(jsonNode)
-                            .map(child -> parseItem(historyFile, mapper, child))
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .collect(Collectors.toList());
-                } else {
-                    history = Collections.emptyList();
-                }
+    /**
+     * Converts item read using {@link #getItemType()}, e.g. from legacy format.
+     *
+     * @param item the item.
+     * @return the converted item.
+     * @since 2.33
+     */
+    protected T convertItem(final T item) {
+        return item;
+    }
 
-                visitor.visitExtra(trendBlockName, history);
-            } catch (IOException e) {
-                visitor.error("Could not read " + trendBlockName + " file " + historyFile, e);
+    private List<T> readTree(final Configuration configuration, final Path historyFile) throws IOException {
+        final JacksonContext context = configuration.requireContext(JacksonContext.class);
+        try (InputStream is = Files.newInputStream(historyFile)) {
+            final ObjectMapper mapper = context.getValue();
+            final JsonNode jsonNode = mapper.readTree(is);
+            if (jsonNode == null) {
+                return Collections.emptyList();
             }
+            return getStream(jsonNode)
+                    .map(child -> parseItem(historyFile, mapper, child))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
         }
     }
 
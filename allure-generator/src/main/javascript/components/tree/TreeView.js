@@ -1,5 +1,6 @@
 import "./styles.scss";
 import { View } from "backbone.marionette";
+import { searchUids } from "../../data/search/SearchIndex";
 import getComparator from "../../data/tree/comparator";
 import { byCriteria, byMark, byStatuses, mix } from "../../data/tree/filter";
 import { behavior, className, on } from "../../decorators";
@@ -14,6 +15,7 @@ class TreeView extends View {
   template = template;
 
   cachedQuery = "";
+  indexedUids = null;
   initialize({ routeState, state, tabName, baseUrl, settings }) {
     this.state = state;
     this.routeState = routeState;
@@ -37,7 +39,11 @@ class TreeView extends View {
     const visibleStatuses = this.settings.getVisibleStatuses();
     const visibleMarks = this.settings.getVisibleMarks();
     const searchQuery = this.state.get(SEARCH_QUERY_KEY);
-    const filter = mix(byCriteria(searchQuery), byStatuses(visibleStatuses), byMark(visibleMarks));
+    const filter = mix(
+      byCriteria(searchQuery, this.indexedUids),
+      byStatuses(visibleStatuses),
+      byMark(visibleMarks),
+    );
 
     const sortSettings = this.settings.getTreeSorting();
     const sorter = getComparator(sortSettings);
@@ -61,16 +67,45 @@ class TreeView extends View {
     this.applyFilters();
   }
 
+  loadShards() {
+    if (!this.collection.hasLazyNodes()) {
+      return;
+    }
+    const treeNode = this.routeState.get("treeNode");
+    if (this.state.get(SEARCH_QUERY_KEY)) {
+      this.collection.loadAllShards().then(() => this.render());
+    } else if (treeNode && this.collection.isLazyNode(treeNode.testGroup)) {
+      this.collection.loadShard(treeNode.testGroup).then(() => this.render());
+    } else if (treeNode && treeNode.testGroup && !this.collection.findGroup(treeNode.testGroup)) {
+      this.collection.loadAllShards().then(() => this.render());
+    }
+  }
+
   handleStateChange() {
     const query = this.state.get(SEARCH_QUERY_KEY);
     // need to check this ot to re-render nodes on folding
     if (query !== this.cachedQuery) {
       this.cachedQuery = query;
+      this.indexedUids = null;
       this.render();
+      this.searchIndex(query);
     }
   }
 
+  searchIndex(query) {
+    if (!query || query.startsWith("tag:")) {
+      return;
+    }
+    searchUids(query).then((uids) => {
+      if (uids && query === this.cachedQuery) {
+        this.indexedUids = uids;
+        this.render();
+      }
+    });
+  }
+
   onRender() {
+    this.loadShards();
     this.selectNode();
     if (this.state.get(SEARCH_QUERY_KEY)) {
       this.$(".node__title").each((i, node) => {
@@ -136,6 +171,9 @@ class TreeView extends View {
     const uid = node.data("uid");
     this.changeState(uid, !this.state.has(uid));
     node.parent().toggleClass("node__expanded");
+    if (node.data("lazy") && this.collection.isLazyNode(uid)) {
+      this.collection.loadShard(uid).then(() => this.render());
+    }
   }
 
   onKeyUp(event) {
@@ -0,0 +1,92 @@
+import $ from "jquery";
+import { reportDataUrl } from "../loader";
+
+const BASE_URL = "data/search/";
+const TOKEN_SEPARATOR = /[^\p{L}\p{N}]+/u;
+const PLACEHOLDER = "_";
+
+let indexPromise;
+const shards = {};
+
+const loadJson = (name) =>
+  reportDataUrl(`${BASE_URL}${name}`, "application/json").then((value) => $.getJSON(value));
+
+const loadIndex = () => {
+  if (!indexPromise) {
+    indexPromise = loadJson("index.json")
+      .then((index) =>
+        loadJson(index.documents).then((documents) => ({
+          ...index,
+          documents,
+          shardNames: new Set(index.shards),
+        })),
+      )
+      .catch(() => null);
+  }
+  return indexPromise;
+};
+
+const getShardName = (token, prefixLength) => {
+  let name = "";
+  for (let i = 0; i < prefixLength; i++) {
+    const c = i < token.length ? token.charAt(i) : PLACEHOLDER;
+    name += (c >= "a" && c <= "z") || (c >= "0" && c <= "9") ? c : PLACEHOLDER;
+  }
+  return name;
+};
+
+const loadShard = (name) => {
+  if (!shards[name]) {
+    shards[name] = loadJson(`${name}.json`).catch(() => ({}));
+  }
+  return shards[name];
+};
+
+const decodePostings = (deltas) => {
+  let position = 0;
+  return deltas.map((delta, i) => {
+    position = i === 0 ? delta : position + delta;
+    return position;
+  });
+};
+
+const findPositions = (index, token) => {
+  const name = getShardName(token, index.prefixLength);
+  if (!index.shardNames.has(name)) {
+    return Promise.resolve(new Set());
+  }
+  return loadShard(name).then((postings) => {
+    const positions = new Set();
+    Object.keys(postings)
+      .filter((key) => key.startsWith(token))
+      .forEach((key) => decodePostings(postings[key]).forEach((p) => positions.add(p)));
+    return positions;
+  });
+};
+
+// resolves to uids of results matching every query word by prefix,
+// or to null when the report has no index or the query is too short for it
+export const searchUids = (query) =>
+  loadIndex().then((index) => {
+    if (!index) {
+      return null;
+    }
+    const tokens = (query || "")
+      .toLowerCase()
+      .split(TOKEN_SEPARATOR)
+      .filter((token) => token);
+    const tooShort = tokens.some((token) => token.length < index.prefixLength);
+    if (tokens.length === 0 || tooShort) {
+      return null;
+    }
+    return Promise.all(tokens.map((token) => findPositions(index, token))).then((sets) => {
+      const [first, ...rest] = sets;
+      const uids = new Set();
+      first.forEach((position) => {
+        if (rest.every((set) => set.has(position)) && index.documents[position]) {
+          uids.add(index.documents[position].uid);
+        }
+      });
+      return uids;
+    });
+  });
@@ -1,4 +1,5 @@
 import { Collection } from "backbone";
+import $ from "jquery";
 import { findWhere, flatten } from "underscore";
 import { values } from "../../utils/statuses";
 import { reportDataUrl } from "../loader";
@@ -36,15 +37,67 @@ export default class TreeCollection extends Collection {
   }
 
   parse({ uid, children }) {
-    const items = children || [];
+    const items = (children || []).map((child) =>
+      child.shard ? { ...child, children: [], lazy: true } : child,
+    );
     this.uid = uid;
     this.allResults = this.getFlattenTestResults(items);
     this.allNodes = items;
-    this.time = this.calculateTime(this.allResults);
-    this.statistic = this.calculateStatistic(this.allResults);
+    this.calculateTotals();
     return items;
   }
 
+  calculateTotals() {
+    // shards that are not loaded yet contribute their precomputed statistic and time
+    const items = [...this.allResults, ...this.allNodes.filter((node) => node.lazy)];
+    this.time = this.calculateTime(items);
+    this.statistic = this.calculateStatistic(items);
+  }
+
+  findGroup(uid, nodes = this.allNodes) {
+    for (const node of nodes) {
+      if (node.children) {
+        if (node.uid === uid) {
+          return node;
+        }
+        const found = this.findGroup(uid, node.children);
+        if (found) {
+          return found;
+        }
+      }
+    }
+  }
+
+  hasLazyNodes() {
+    return this.allNodes.some((node) => node.lazy);
+  }
+
+  isLazyNode(uid) {
+    return this.allNodes.some((node) => node.lazy && node.uid === uid);
+  }
+
+  loadShard(uid) {
+    const node = this.allNodes.find((item) => item.lazy && item.uid === uid);
+    if (!node) {
+      return Promise.resolve();
+    }
+    const url = this.url.substring(0, this.url.lastIndexOf("/") + 1) + node.shard;
+    return reportDataUrl(url, "application/json")
+      .then((value) => $.getJSON(value))
+      .then((group) => {
+        node.children = group.children || [];
+        node.lazy = false;
+        this.allResults = this.getFlattenTestResults(this.allNodes);
+        this.calculateTotals();
+      });
+  }
+
+  loadAllShards() {
+    return Promise.all(
+      this.allNodes.filter((node) => node.lazy).map((node) => this.loadShard(node.uid)),
+    );
+  }
+
   applyFilterAndSorting(filter, sorter) {
     const newChildren = this.getFilteredAndSortedChildren(this.allNodes, filter, sorter);
     this.reset(newChildren);
@@ -54,6 +107,9 @@ export default class TreeCollection extends Collection {
   getFilteredAndSortedChildren(children, filter, sorter) {
     return this.calculateOrder(children)
       .map((child) => {
+        if (child.lazy) {
+          return child;
+        }
         if (child.children) {
           const newChildren = this.getFilteredAndSortedChildren(child.children, filter, sorter);
           return {
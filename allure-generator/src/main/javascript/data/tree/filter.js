@@ -2,6 +2,9 @@ import { values as marksValues } from "../../utils/marks";
 
 function byStatuses(statuses) {
   return (child) => {
+    if (child.lazy) {
+      return Object.keys(statuses).some((status) => statuses[status] && child.statistic[status]);
+    }
     if (child.children) {
       return child.children.length > 0;
     }
@@ -12,27 +15,28 @@ function byStatuses(statuses) {
 function byDuration(min, max) {
   return (child) => {
     if (child.children) {
-      return child.children.length > 0;
+      return child.lazy || child.children.length > 0;
     }
     return min <= child.time.duration && child.time.duration <= max;
   };
 }
 
-function byCriteria(searchQuery) {
+function byCriteria(searchQuery, indexedUids) {
   if (searchQuery && searchQuery.startsWith("tag:")) {
     return byTags(searchQuery.substring(4));
   } else {
-    return byText(searchQuery);
+    return byText(searchQuery, indexedUids);
   }
 }
 
-function byText(text) {
+function byText(text, indexedUids) {
   text = (text && text.toLowerCase()) || "";
   return (child) => {
     return (
       !text ||
       child.name.toLowerCase().indexOf(text) > -1 ||
-      (child.children && child.children.some(byText(text)))
+      (!child.children && indexedUids && indexedUids.has(child.uid)) ||
+      (child.children && child.children.some(byText(text, indexedUids)))
     );
   };
 }
@@ -55,7 +59,7 @@ function byTags(tag) {
 function byMark(marks) {
   return (child) => {
     if (child.children) {
-      return child.children.length > 0;
+      return child.lazy || child.children.length > 0;
     }
     return marksValues.map((k) => !marks[k] || child[k]).reduce((a, b) => a && b, true);
   };
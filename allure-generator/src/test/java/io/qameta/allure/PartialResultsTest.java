@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.summary.SummaryPlugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.testdata.TestData.allure1data;
+import static io.qameta.allure.testdata.TestData.randomTestResult;
+import static io.qameta.allure.testdata.TestData.unpackFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartialResultsTest {
+
+    @Test
+    void shouldMergePartials(@TempDir final Path temp) throws IOException {
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+        final ReportGenerator generator = new ReportGenerator(configuration);
+        final Path first = temp.resolve("first.zip");
+        final Path second = temp.resolve("second.zip");
+        final Path results1 = createResults(temp.resolve("results1"));
+        final Path results2 = createResults(temp.resolve("results2"));
+        generator.generatePartial(first, Collections.singletonList(results1));
+        generator.generatePartial(second, Collections.singletonList(results2));
+        assertThat(PartialResults.readAggregates(Arrays.asList(first, second)))
+                .allSatisfy(aggregates -> assertThat(aggregates).containsKey(SummaryPlugin.class.getName()));
+
+        final Path report = temp.resolve("report");
+        generator.merge(report, Arrays.asList(second, first));
+        assertThat(report.resolve("index.html")).isRegularFile();
+        assertThat(report.resolve("widgets/summary.json")).isRegularFile();
+        assertThat(count(report.resolve("data/test-cases"))).isEqualTo(40);
+        assertThat(count(report.resolve("data/attachments"))).isEqualTo(26);
+
+        final Path fromFirst = temp.resolve("from-first");
+        generator.merge(fromFirst, Collections.singletonList(first));
+        final Path generated = temp.resolve("generated");
+        generator.generate(generated, results1);
+        assertThat(fromFirst.resolve("widgets/summary.json"))
+                .hasSameTextualContentAs(generated.resolve("widgets/summary.json"));
+        assertThat(fromFirst.resolve("export/prometheusData.txt"))
+                .hasSameTextualContentAs(generated.resolve("export/prometheusData.txt"));
+
+        final Path merged = temp.resolve("merged.zip");
+        generator.mergePartial(merged, Arrays.asList(first, second));
+        final Path fromMerged = temp.resolve("from-merged");
+        generator.merge(fromMerged, Collections.singletonList(merged));
+        assertThat(count(fromMerged.resolve("data/test-cases"))).isEqualTo(40);
+        assertThat(fromMerged.resolve("widgets/summary.json"))
+                .hasSameTextualContentAs(report.resolve("widgets/summary.json"));
+    }
+
+    @Test
+    void shouldFailOnDifferentAttachmentsWithSameName(@TempDir final Path temp) throws IOException {
+        final Path first = temp.resolve("first.zip");
+        final Path second = temp.resolve("second.zip");
+        PartialResults.write(first, Collections.singletonList(createLaunch(temp.resolve("first.txt"), "first")));
+        PartialResults.write(second, Collections.singletonList(createLaunch(temp.resolve("second.txt"), "second")));
+
+        assertThatThrownBy(() -> PartialResults.read(Arrays.asList(first, second), temp.resolve("attachments")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("attachment.txt");
+        assertThat(PartialResults.read(Arrays.asList(first, first), temp.resolve("same")))
+                .hasSize(2);
+    }
+
+    @Test
+    void shouldReferAttachmentsRelativeToResultsDirectory(@TempDir final Path temp) throws IOException {
+        final Path results = Files.createDirectories(temp.resolve("results"));
+        final Path partial = temp.resolve("partial.zip");
+        PartialResults.write(partial, Collections.singletonList(createLaunch(results.resolve("a.txt"), "a")), results);
+
+        final Path moved = Files.move(results, temp.resolve("moved"));
+        assertThat(PartialResults.read(Collections.singletonList(partial), temp.resolve("attachments"), moved))
+                .flatExtracting(launch -> launch.getAttachments().keySet())
+                .containsExactly(moved.toAbsolutePath().resolve("a.txt"));
+        assertThatThrownBy(() -> PartialResults.read(Collections.singletonList(partial), temp.resolve("other")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> PartialResults.write(
+                temp.resolve("outside.zip"),
+                Collections.singletonList(createLaunch(temp.resolve("b.txt"), "b")),
+                moved
+        )).isInstanceOf(IOException.class);
+    }
+
+    private static LaunchResults createLaunch(final Path attachmentFile, final String content) throws IOException {
+        Files.write(attachmentFile, content.getBytes(StandardCharsets.UTF_8));
+        return new DefaultLaunchResults(
+                Collections.singleton(randomTestResult()),
+                Collections.singletonMap(attachmentFile, new Attachment().setSource("attachment.txt")),
+                Collections.emptyMap()
+        );
+    }
+
+    private static Path createResults(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        allure1data().forEach(resource -> unpackFile("allure1data/" + resource, directory.resolve(resource)));
+        return directory;
+    }
+
+    private static long count(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -15,14 +15,31 @@
  */
 package io.qameta.allure;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LazyReportStorage;
+import io.qameta.allure.profiling.PhaseMetric;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.SetEnvironmentVariable;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static io.qameta.allure.profiling.GenerationMetrics.AGGREGATE_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.READ_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.STORAGE_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.TOTAL_PHASE;
+import static io.qameta.allure.profiling.GenerationMetrics.WEB_PHASE;
 import static io.qameta.allure.testdata.TestData.allure1data;
 import static io.qameta.allure.testdata.TestData.unpackFile;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -183,4 +200,122 @@ class ReportGeneratorTest {
         assertThat(output.resolve("export/mail.html"))
                 .isRegularFile();
     }
+
+    @SetEnvironmentVariable(key = "ALLURE_DETERMINISTIC_UIDS", value = "true")
+    @Test
+    void shouldGenerateSameTestCasesWithDeterministicUids(@TempDir final Path temp) throws Exception {
+        final Path firstResults = Files.createDirectories(temp.resolve("results"));
+        final Path secondResults = Files.createDirectories(temp.resolve("copy").resolve("results"));
+        allure1data().forEach(resource -> {
+            unpackFile("allure1data/" + resource, firstResults.resolve(resource));
+            unpackFile("allure1data/" + resource, secondResults.resolve(resource));
+        });
+        final Path first = temp.resolve("first");
+        final Path second = temp.resolve("second");
+        new ReportGenerator(ConfigurationBuilder.bundled().build()).generate(first, firstResults);
+        new ReportGenerator(ConfigurationBuilder.bundled().build()).generate(second, secondResults);
+
+        final List<Path> testCases = listFileNames(first.resolve("data/test-cases"));
+        assertThat(testCases)
+                .hasSize(20)
+                .isEqualTo(listFileNames(second.resolve("data/test-cases")));
+        for (Path testCase : testCases) {
+            assertThat(first.resolve("data/test-cases").resolve(testCase))
+                    .hasSameTextualContentAs(second.resolve("data/test-cases").resolve(testCase));
+        }
+    }
+
+    @SetEnvironmentVariable(key = "ALLURE_GENERATION_METRICS", value = "true")
+    @Test
+    void shouldWriteGenerationMetrics(@TempDir final Path temp) throws Exception {
+        final Path resultsDirectory = Files.createDirectories(temp.resolve("results"));
+        allure1data().forEach(resource -> unpackFile(
+                "allure1data/" + resource,
+                resultsDirectory.resolve(resource)
+        ));
+        final Path report = temp.resolve("report");
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+        new ReportGenerator(configuration).generate(report, resultsDirectory);
+
+        final Path metricsFile = report.resolve("export/generation-metrics.json");
+        assertThat(metricsFile).isRegularFile();
+        final List<PhaseMetric> metrics = configuration.requireContext(JacksonContext.class).getValue()
+                .readValue(metricsFile.toFile(), new TypeReference<List<PhaseMetric>>() {
+                });
+        assertThat(metrics)
+                .extracting(PhaseMetric::getPhase)
+                .contains(READ_PHASE, AGGREGATE_PHASE, STORAGE_PHASE, WEB_PHASE, TOTAL_PHASE);
+        assertThat(metrics)
+                .filteredOn(metric -> AGGREGATE_PHASE.equals(metric.getPhase()))
+                .extracting(PhaseMetric::getOutputBytes)
+                .anyMatch(bytes -> bytes > 0);
+        assertThat(metrics)
+                .filteredOn(metric -> WEB_PHASE.equals(metric.getPhase()))
+                .allMatch(metric -> metric.getCount() == 1 && metric.getOutputBytes() > 0);
+    }
+
+    @Test
+    void shouldGenerateReportDataLazily(@TempDir final Path temp) throws Exception {
+        final Path resultsDirectory = Files.createDirectories(temp.resolve("results"));
+        allure1data().forEach(resource -> unpackFile(
+                "allure1data/" + resource,
+                resultsDirectory.resolve(resource)
+        ));
+        final Path web = temp.resolve("web");
+        final LazyReportStorage storage = new ReportGenerator(ConfigurationBuilder.bundled().build())
+                .generateLazy(web, Collections.singletonList(resultsDirectory));
+
+        assertThat(web.resolve("index.html")).isRegularFile();
+        assertThat(web.resolve("data")).doesNotExist();
+        assertThat(storage.getNames())
+                .contains("widgets/summary.json", "data/suites.json")
+                .anyMatch(name -> name.startsWith("data/test-cases/"));
+
+        final ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        assertThat(storage.write("widgets/summary.json", summary)).isTrue();
+        assertThat(summary.toString(StandardCharsets.UTF_8.name())).contains("\"statistic\"");
+        assertThat(storage.getNames())
+                .filteredOn(name -> name.startsWith("data/attachments/"))
+                .allMatch(name -> storage.getFile(name).map(file -> file.startsWith(resultsDirectory)).orElse(false));
+    }
+
+    @Test
+    void shouldReuseAggregatesOfUnchangedDirectories(@TempDir final Path temp) throws Exception {
+        final Path first = Files.createDirectories(temp.resolve("first"));
+        allure1data().forEach(resource -> unpackFile("allure1data/" + resource, first.resolve(resource)));
+        final Path second = Files.createDirectories(temp.resolve("second"));
+        Stream.of(
+                "04642ae7-159a-4dcd-baef-8db98884d041-container.json",
+                "1649989e-8043-4906-b645-a317a7fc3e72-result.json",
+                "1d90317d-c327-4965-a81f-660da80919cd-result.json",
+                "7f0aea93-a14c-4e5b-8936-ee5ead7be819-result.json"
+        ).forEach(resource -> unpackFile("allure2data/" + resource, second.resolve(resource)));
+        final List<Path> directories = Stream.of(first, second).collect(Collectors.toList());
+        final ReportGenerator generator = new ReportGenerator(ConfigurationBuilder.bundled().build());
+        final Path cache = temp.resolve("cache");
+
+        generator.generateLazy(temp.resolve("web"), cache, directories);
+        assertThat(readSummary(generator.generateLazy(temp.resolve("web"), cache, directories)))
+                .isEqualTo(readSummary(generateLazy(temp.resolve("expected"), directories)));
+
+        Files.delete(second.resolve("7f0aea93-a14c-4e5b-8936-ee5ead7be819-result.json"));
+        assertThat(readSummary(generator.generateLazy(temp.resolve("web"), cache, directories)))
+                .isEqualTo(readSummary(generateLazy(temp.resolve("expected"), directories)));
+    }
+
+    private static LazyReportStorage generateLazy(final Path web, final List<Path> directories) {
+        return new ReportGenerator(ConfigurationBuilder.bundled().build()).generateLazy(web, directories);
+    }
+
+    private static String readSummary(final LazyReportStorage storage) throws IOException {
+        final ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        assertThat(storage.write("widgets/summary.json", summary)).isTrue();
+        return summary.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static List<Path> listFileNames(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(Path::getFileName).sorted().collect(Collectors.toList());
+        }
+    }
 }
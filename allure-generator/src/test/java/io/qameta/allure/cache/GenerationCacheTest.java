@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.DefaultResultsVisitor;
+import io.qameta.allure.Reader;
+import io.qameta.allure.ReportGenerator;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.testdata.TestData.allure1data;
+import static io.qameta.allure.testdata.TestData.unpackFile;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationCacheTest {
+
+    private static final FileTime OLD_TIME = FileTime.fromMillis(0);
+
+    @Test
+    void shouldRewriteOnlyChangedFiles(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Path report = temp.resolve("report");
+        final Path cache = temp.resolve("cache");
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+
+        new ReportGenerator(configuration).generateIncremental(report, cache, singletonList(results));
+        final List<Path> testCases = list(report.resolve("data/test-cases"));
+        assertThat(testCases).hasSize(20);
+        assertThat(cache.resolve("manifest.json")).isRegularFile();
+        for (Path testCase : testCases) {
+            Files.setLastModifiedTime(testCase, OLD_TIME);
+        }
+
+        new ReportGenerator(configuration).generateIncremental(report, cache, singletonList(results));
+        assertThat(list(report.resolve("data/test-cases")))
+                .isEqualTo(testCases)
+                .allSatisfy(testCase -> assertThat(Files.getLastModifiedTime(testCase)).isEqualTo(OLD_TIME));
+    }
+
+    @Test
+    void shouldRemoveOutdatedFiles(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Path report = temp.resolve("report");
+        final Path cache = temp.resolve("cache");
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+
+        new ReportGenerator(configuration).generateIncremental(report, cache, singletonList(results));
+        Files.delete(results.resolve("6e889aa3-3000-4c72-8084-f14b70c2f126-testsuite.xml"));
+        new ReportGenerator(configuration).generateIncremental(report, cache, singletonList(results));
+
+        final Path fresh = temp.resolve("fresh");
+        new ReportGenerator(configuration).generate(fresh, results);
+        assertThat(list(report.resolve("data/test-cases")))
+                .hasSameSizeAs(list(fresh.resolve("data/test-cases")))
+                .hasSizeLessThan(20);
+        assertThat(list(report.resolve("data/attachments")))
+                .hasSameSizeAs(list(fresh.resolve("data/attachments")));
+    }
+
+    @Test
+    void shouldReuseUnchangedResults(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+
+        final GenerationCache first = GenerationCache.open(temp.resolve("cache"), configuration, true);
+        first.getLaunchResults(results, () -> readResults(configuration, results));
+        first.commit(temp.resolve("report"));
+        assertThat(first.getMisses()).isEqualTo(1);
+
+        final GenerationCache second = GenerationCache.open(temp.resolve("cache"), configuration, true);
+        assertThat(second.getLaunchResults(results, () -> {
+            throw new IllegalStateException("Results should be read from cache");
+        }).getAllResults()).isNotEmpty();
+        assertThat(second.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldParseOnlyChangedFiles(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+
+        final GenerationCache first = GenerationCache.open(temp.resolve("cache"), configuration, true);
+        first.getLaunchResults(results, () -> readResults(configuration, first.getParseCache(), results));
+        first.commit(temp.resolve("report"));
+
+        Files.delete(results.resolve("6e889aa3-3000-4c72-8084-f14b70c2f126-testsuite.xml"));
+        final GenerationCache second = GenerationCache.open(temp.resolve("cache"), configuration, true);
+        second.getLaunchResults(results, () -> readResults(configuration, second.getParseCache(), results));
+        assertThat(second.getMisses()).isEqualTo(1);
+        assertThat(second.getParseCache().getHits()).isPositive();
+        assertThat(second.getParseCache().getMisses()).isZero();
+    }
+
+    private static LaunchResults readResults(final Configuration configuration,
+                                             final ParseCache parseCache,
+                                             final Path results) {
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration, parseCache);
+        configuration.getExtensions(Reader.class)
+                .forEach(reader -> reader.readResults(configuration, visitor, results));
+        return visitor.getLaunchResults();
+    }
+
+    private static LaunchResults readResults(final Configuration configuration, final Path results) {
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
+        configuration.getExtensions(Reader.class)
+                .forEach(reader -> reader.readResults(configuration, visitor, results));
+        return visitor.getLaunchResults();
+    }
+
+    private static Path createResults(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        allure1data().forEach(resource -> unpackFile("allure1data/" + resource, directory.resolve(resource)));
+        return directory;
+    }
+
+    private static List<Path> list(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.cache;
+
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.DefaultResultsVisitor;
+import io.qameta.allure.Reader;
+import io.qameta.allure.allure1.Allure1Plugin;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.context.RandomUidContext;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.core.ResultsVisitor;
+import io.qameta.allure.entity.Attachment;
+import io.qameta.allure.entity.StageResult;
+import io.qameta.allure.entity.Step;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.qameta.allure.allure1.Allure1Plugin.ENVIRONMENT_BLOCK_NAME;
+import static io.qameta.allure.testdata.TestData.allure1data;
+import static io.qameta.allure.testdata.TestData.unpackFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseCacheTest {
+
+    @Test
+    void shouldReplayCachedResults(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Path directory = temp.resolve("cache");
+
+        final ParseCache first = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final LaunchResults parsed = readResults(first, results);
+        assertThat(first.getHits()).isZero();
+        assertThat(first.getMisses()).isPositive();
+        assertThat(first.getTotalSize()).isPositive();
+
+        final ParseCache second = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final LaunchResults cached = readResults(second, results);
+        assertThat(second.getHits()).isEqualTo(first.getMisses());
+        assertThat(second.getMisses()).isZero();
+
+        assertThat(getUids(cached)).isEqualTo(getUids(parsed));
+        assertThat(cached.getAttachments()).hasSameSizeAs(parsed.getAttachments());
+        assertThat(cached.getExtra(ENVIRONMENT_BLOCK_NAME))
+                .isEqualTo(parsed.getExtra(ENVIRONMENT_BLOCK_NAME));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries(@TempDir final Path temp) {
+        final ParseCache single = new ParseCache(temp.resolve("single"), ParseCache.DEFAULT_MAX_SIZE);
+        single.put("a", temp, new CachedResults());
+        final long entrySize = single.getTotalSize();
+
+        final Path directory = temp.resolve("cache");
+        final ParseCache cache = new ParseCache(directory, entrySize * 2);
+        cache.put("a", temp, new CachedResults());
+        cache.put("b", temp, new CachedResults());
+        assertThat(cache.get("a", temp)).isPresent();
+        cache.put("c", temp, new CachedResults());
+
+        assertThat(cache.getTotalSize()).isEqualTo(entrySize * 2);
+        assertThat(directory.resolve("a.bin")).isRegularFile();
+        assertThat(directory.resolve("b.bin")).doesNotExist();
+        assertThat(directory.resolve("c.bin")).isRegularFile();
+    }
+
+    @Test
+    void shouldParseAgainWhenAttachmentIsChanged(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Path directory = temp.resolve("cache");
+        final ParseCache first = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final LaunchResults parsed = readResults(first, results);
+
+        final Path attachment = parsed.getAttachments().keySet().iterator().next();
+        Files.write(attachment, "changed".getBytes(StandardCharsets.UTF_8));
+        final ParseCache second = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        readResults(second, results);
+        assertThat(second.getMisses()).isPositive();
+        assertThat(second.getHits()).isLessThan(first.getMisses());
+    }
+
+    @Test
+    void shouldReplayExtraBlocks(@TempDir final Path temp) throws IOException {
+        final Path file = Files.write(temp.resolve("results.txt"), "content".getBytes(StandardCharsets.UTF_8));
+        final Path directory = temp.resolve("cache");
+        final List<String> block = Arrays.asList("first", "second");
+
+        final ParseCache first = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        readFile(first, file, visitor -> {
+            visitor.visitExtra("block", block);
+            return null;
+        });
+
+        final ParseCache second = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final LaunchResults cached = readFile(second, file, visitor -> {
+            throw new IllegalStateException("cached file should not be parsed");
+        });
+        assertThat(second.getHits()).isEqualTo(1);
+        assertThat(cached.getExtra("block")).hasValue(block);
+    }
+
+    @Test
+    void shouldParseAgainWhenAttachmentIsRegisteredWithOtherUid(@TempDir final Path temp) throws IOException {
+        final Path results = createResults(temp.resolve("results"));
+        final Path directory = temp.resolve("cache");
+        final ParseCache first = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final LaunchResults parsed = readResults(first, results);
+        final Path attachment = parsed.getAttachments().keySet().iterator().next();
+
+        final ParseCache second = new ParseCache(directory, ParseCache.DEFAULT_MAX_SIZE);
+        final Configuration configuration = createConfiguration(second);
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
+        final Attachment registered = visitor.visitAttachmentFile(attachment);
+        final LaunchResults cached = readResults(configuration, visitor, results);
+
+        assertThat(cached.getAttachments().get(attachment)).isSameAs(registered);
+        final Set<String> uids = cached.getAttachments().values().stream()
+                .map(Attachment::getUid)
+                .collect(Collectors.toSet());
+        assertThat(getAttachmentUids(cached))
+                .contains(registered.getUid())
+                .isSubsetOf(uids);
+    }
+
+    private static LaunchResults readResults(final ParseCache cache, final Path results) {
+        final Configuration configuration = createConfiguration(cache);
+        return readResults(configuration, new DefaultResultsVisitor(configuration), results);
+    }
+
+    private static LaunchResults readResults(final Configuration configuration,
+                                             final DefaultResultsVisitor visitor,
+                                             final Path results) {
+        configuration.getExtensions(Reader.class)
+                .forEach(reader -> reader.readResults(configuration, visitor, results));
+        return visitor.getLaunchResults();
+    }
+
+    private static LaunchResults readFile(final ParseCache cache,
+                                          final Path file,
+                                          final Function<ResultsVisitor, Object> parser) {
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(createConfiguration(cache));
+        visitor.visitCachedResults(file, "test", parser);
+        return visitor.getLaunchResults();
+    }
+
+    private static Configuration createConfiguration(final ParseCache cache) {
+        return new ConfigurationBuilder().fromExtensions(Arrays.asList(
+                new JacksonContext(),
+                new RandomUidContext(),
+                new ParseCacheContext(cache),
+                new Allure1Plugin()
+        )).build();
+    }
+
+    private static Set<String> getAttachmentUids(final LaunchResults results) {
+        return results.getAllResults().stream()
+                .flatMap(result -> Stream.concat(
+                        Stream.of(result.getTestStage()),
+                        Stream.concat(result.getBeforeStages().stream(), result.getAfterStages().stream())
+                ))
+                .filter(Objects::nonNull)
+                .flatMap(ParseCacheTest::getAttachments)
+                .map(Attachment::getUid)
+                .collect(Collectors.toSet());
+    }
+
+    private static Stream<Attachment> getAttachments(final StageResult stage) {
+        return Stream.concat(
+                stage.getAttachments().stream(),
+                stage.getSteps().stream().flatMap(ParseCacheTest::getAttachments)
+        );
+    }
+
+    private static Stream<Attachment> getAttachments(final Step step) {
+        return Stream.concat(
+                step.getAttachments().stream(),
+                step.getSteps().stream().flatMap(ParseCacheTest::getAttachments)
+        );
+    }
+
+    private static Set<String> getUids(final LaunchResults results) {
+        return results.getAllResults().stream()
+                .map(TestResult::getUid)
+                .collect(Collectors.toSet());
+    }
+
+    private static Path createResults(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        allure1data().forEach(resource -> unpackFile("allure1data/" + resource, directory.resolve(resource)));
+        return directory;
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -154,6 +155,38 @@ class CategoriesPluginTest {
                 .containsExactlyInAnyOrder("first", "third");
     }
 
+    @Test
+    void shouldGroupTreeByFailureClusters() {
+        final List<TestResult> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(new TestResult()
+                    .setName("timeout " + i)
+                    .setStatus(Status.BROKEN)
+                    .setStatusMessage("Connection to 10.0.0." + i + ":" + (8080 + i) + " timed out after " + i + " ms"));
+        }
+        results.add(new TestResult()
+                .setName("assertion")
+                .setStatus(Status.FAILED)
+                .setStatusMessage("Expected value to be present"));
+
+        final List<LaunchResults> launchResults = createSingleLaunchResults(results.toArray(new TestResult[]{}));
+        CategoriesPlugin.addCategoriesForResults(launchResults);
+        FailureClusters.cluster(results);
+
+        final Set<String> keys = new HashSet<>();
+        results.subList(0, 10).forEach(result -> keys.add(
+                result.<FailureCluster>getExtraBlock(FailureClusters.FAILURE_CLUSTER).getKey()
+        ));
+        assertThat(keys).hasSize(1);
+
+        final Tree<TestResult> tree = CategoriesPlugin.getData(launchResults);
+        assertThat(tree.getChildren())
+                .filteredOn("name", BROKEN_TESTS.getName())
+                .flatExtracting("children")
+                .extracting("name")
+                .containsExactly("Connection to <num>.<num>.<num>.<num>:<num> timed out after <num> ms");
+    }
+
     @Test
     void shouldWork() {
         final Configuration configuration = ConfigurationBuilder.bundled().build();
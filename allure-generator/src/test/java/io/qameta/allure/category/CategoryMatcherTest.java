@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.category;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryMatcherTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "'.*NullPointerException.*' | java.lang.NullPointerException: null",
+            "'.*NullPointerException.*' | java.lang.IllegalStateException",
+            "'Timeout after \\d+ ms' | Timeout after 1500 ms",
+            "'Timeout after \\d+ ms' | Timeout before 1500 ms",
+            "'ab*c' | ac",
+            "'abc|def' | def",
+            "'(?i)abc.*' | ABCD",
+            "'(foo|bar)baz' | barbaz",
+            "'.*\\(x\\).*' | value (x) here",
+            "'[]x]yz+' | ]yzzz",
+            "'Error \\x41.*' | Error A!",
+            "'Error \\x{41}.*' | Error A!",
+            "'Error \\u0041.*' | Error A!",
+            "'Code \\0101' | Code A",
+            "'Code \\0101' | Code 101",
+            "'a\\cAb' | a\u0001b",
+            "'\\p{Lu}ab.*' | Xab1",
+            "'(a)b\\1c' | abac",
+    })
+    void shouldMatchSameAsRegex(final String regex, final String value) {
+        final boolean expected = Pattern.compile(regex, Pattern.DOTALL).matcher(value).matches();
+        assertThat(CategoryMatcher.Expression.compile(regex).matches(value))
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void shouldExtractLiterals() {
+        final CategoryMatcher.Expression expression = CategoryMatcher.Expression.compile("Timeout after \\d+ ms.*");
+        assertThat(expression.getPrefix()).isEqualTo("Timeout after ");
+        assertThat(expression.getLiterals()).containsExactly(" ms");
+    }
+
+    @Test
+    void shouldKeepDeclarationOrder() {
+        final Category first = new Category().setName("first").setMessageRegex(".*error.*");
+        final Category second = new Category().setName("second")
+                .setMatchedStatuses(Collections.singletonList(Status.FAILED));
+        final Category third = new Category().setName("third").setTraceRegex(".*Assert.*");
+        final Category flaky = new Category().setName("flaky").setFlaky(true);
+
+        final CategoryMatcher matcher = CategoryMatcher.compile(Arrays.asList(third, first, flaky, second));
+        final TestResult result = new TestResult()
+                .setStatus(Status.FAILED)
+                .setStatusMessage("some error")
+                .setStatusTrace("at Assert.fail");
+
+        assertThat(matcher.match(result))
+                .extracting(Category::getName)
+                .containsExactly("third", "first", "second");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import io.qameta.allure.concurrent.ReportExecutors;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportPrecompressorTest {
+
+    private final ReportExecutors executors = new ReportExecutors(2, 2);
+
+    @Test
+    void shouldWriteGzipSiblingsForTextFiles(@TempDir final Path report) throws Exception {
+        final String json = String.join(",", Collections.nCopies(500, "{\"status\":\"passed\"}"));
+        final Path data = Files.createDirectories(report.resolve("data"));
+        Files.write(data.resolve("suites.json"), json.getBytes(StandardCharsets.UTF_8));
+        Files.write(data.resolve("small.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(data.resolve("image.png"), json.getBytes(StandardCharsets.UTF_8));
+
+        new ReportPrecompressor(true).precompress(report, executors);
+
+        assertThat(data.resolve("small.json.gz")).doesNotExist();
+        assertThat(data.resolve("image.png.gz")).doesNotExist();
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(data.resolve("suites.json.gz")))) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void shouldRemoveOrphanedAndStaleSiblings(@TempDir final Path report) throws Exception {
+        Files.write(report.resolve("removed.json.gz"), new byte[]{1});
+        Files.write(report.resolve("changed.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(report.resolve("changed.json.gz"), new byte[]{1});
+        Files.setLastModifiedTime(report.resolve("changed.json.gz"), FileTime.fromMillis(0));
+
+        new ReportPrecompressor(true).precompress(report, executors);
+
+        assertThat(report.resolve("removed.json.gz")).doesNotExist();
+        assertThat(report.resolve("changed.json.gz")).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepFilesNotWrittenByPrecompressor(@TempDir final Path report) throws Exception {
+        final Path attachments = Files.createDirectories(report.resolve("data/attachments"));
+        Files.write(attachments.resolve("trace.gz"), new byte[]{1});
+        Files.write(attachments.resolve("dump.br"), new byte[]{1});
+        Files.write(attachments.resolve("log.txt.gz"), new byte[]{1});
+        Files.write(report.resolve("archive.tar.gz"), new byte[]{1});
+        Files.write(report.resolve("removed.json.br"), new byte[]{1});
+
+        new ReportPrecompressor(true).precompress(report, executors);
+
+        assertThat(attachments.resolve("trace.gz")).exists();
+        assertThat(attachments.resolve("dump.br")).exists();
+        assertThat(attachments.resolve("log.txt.gz")).exists();
+        assertThat(report.resolve("archive.tar.gz")).exists();
+        assertThat(report.resolve("removed.json.br")).exists();
+    }
+
+    @Test
+    void shouldDoNothingIfDisabled(@TempDir final Path report) throws Exception {
+        final String json = String.join(",", Collections.nCopies(500, "{}"));
+        Files.write(report.resolve("suites.json"), json.getBytes(StandardCharsets.UTF_8));
+
+        new ReportPrecompressor(false).precompress(report, executors);
+
+        assertThat(report.resolve("suites.json.gz")).doesNotExist();
+    }
+}
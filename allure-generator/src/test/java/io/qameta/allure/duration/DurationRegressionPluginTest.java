@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.duration;
+
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.entity.Time;
+import io.qameta.allure.history.HistoryPlugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static io.qameta.allure.testdata.TestData.createSingleLaunchResults;
+import static io.qameta.allure.testdata.TestData.randomTestResult;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationRegressionPluginTest {
+
+    @Test
+    void shouldEstimateQuantilesWithFixedSize() {
+        final DurationSketch sketch = new DurationSketch();
+        LongStream.rangeClosed(1, 100_000).forEach(sketch::add);
+
+        assertThat(sketch.getBins()).hasSizeLessThanOrEqualTo(DurationSketch.MAX_BINS);
+        assertThat((double) sketch.getQuantile(0.5)).isCloseTo(50_000, within(1_000.0));
+        assertThat((double) sketch.getQuantile(0.95)).isCloseTo(95_000, within(1_900.0));
+        assertThat(sketch.getQuantile(1)).isEqualTo(100_000);
+    }
+
+    @Test
+    void shouldMergeSketches() {
+        final DurationSketch first = new DurationSketch();
+        final DurationSketch second = new DurationSketch();
+        LongStream.rangeClosed(1, 500).forEach(first::add);
+        LongStream.rangeClosed(501, 1000).forEach(second::add);
+        first.merge(second);
+
+        assertThat(first.getCount()).isEqualTo(1000);
+        assertThat((double) first.getQuantile(0.9)).isCloseTo(900, within(20.0));
+    }
+
+    @Test
+    void shouldReportSlowerTests() {
+        final DurationSketch sketch = new DurationSketch();
+        LongStream.of(100, 110, 90, 105, 95, 100).forEach(sketch::add);
+
+        final TestResult slow = createTestResult(400L);
+        slow.addExtraBlock(HistoryPlugin.DURATION_SKETCH_BLOCK_NAME, sketch);
+        final TestResult usual = createTestResult(100L);
+        usual.addExtraBlock(HistoryPlugin.DURATION_SKETCH_BLOCK_NAME, sketch);
+        final TestResult unknown = createTestResult(1000L);
+
+        final List<DurationRegression> regressions = new DurationRegressionPlugin(0.9)
+                .getData(createSingleLaunchResults(slow, usual, unknown));
+
+        assertThat(regressions)
+                .extracting(DurationRegression::getUid)
+                .containsExactly(slow.getUid());
+        assertThat(regressions.get(0).getThreshold()).isBetween(105L, 115L);
+        assertThat(regressions.get(0).getRuns()).isEqualTo(6);
+    }
+
+    private static TestResult createTestResult(final Long duration) {
+        return randomTestResult()
+                .setStatus(Status.PASSED)
+                .setTime(Time.create(duration));
+    }
+}
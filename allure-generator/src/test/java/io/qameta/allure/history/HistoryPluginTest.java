@@ -15,12 +15,27 @@
  */
 package io.qameta.allure.history;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.DefaultResultsVisitor;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.FileSystemReportStorage;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.duration.DurationSketch;
 import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,6 +47,7 @@ import static io.qameta.allure.testdata.TestData.randomTestResult;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class HistoryPluginTest {
 
@@ -142,6 +158,193 @@ class HistoryPluginTest {
         assertThat(data.get(historyId2).getItems()).hasSize(2);
     }
 
+    @Test
+    void shouldTrackStability() {
+        final String historyId = UUID.randomUUID().toString();
+        final Stability stability = new Stability();
+        for (int i = 0; i < 10; i++) {
+            stability.update(i % 2 == 0 ? PASSED : FAILED);
+        }
+        final Map<String, HistoryData> historyDataMap = new HashMap<>();
+        historyDataMap.put(historyId, new HistoryData().setStability(stability));
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put(HISTORY_BLOCK_NAME, historyDataMap);
+
+        final TestResult testResult = createTestResult(FAILED, historyId, 100, 101);
+        final List<LaunchResults> launches = singletonList(createLaunchResults(extra, testResult));
+        final HistoryPlugin plugin = new HistoryPlugin();
+        final Map<String, HistoryData> data = plugin.getData(launches);
+
+        assertThat(testResult.isFlaky()).isTrue();
+        final Stability current = testResult.getExtraBlock("stability");
+        assertThat(current.getRuns()).isEqualTo(11);
+        assertThat(current.getFlips()).isEqualTo(9);
+        assertThat(current.getStatuses())
+                .extracting(StatusRun::getStatus, StatusRun::getCount)
+                .endsWith(tuple(PASSED, 1L), tuple(FAILED, 2L));
+        assertThat(data.get(historyId).getStability().getRuns()).isEqualTo(11);
+        assertThat(plugin.getStabilityWidget(launches))
+                .extracting(StabilityWidgetItem::getUid, StabilityWidgetItem::getRuns)
+                .containsExactly(tuple(testResult.getUid(), 11L));
+    }
+
+    @Test
+    void shouldNotAddStabilityWithoutHistory() {
+        final TestResult testResult = createTestResult(FAILED, UUID.randomUUID().toString(), 100, 101);
+        final List<LaunchResults> launches = singletonList(createLaunchResults(new HashMap<>(), testResult));
+        final HistoryPlugin plugin = new HistoryPlugin();
+        plugin.getData(launches);
+
+        assertThat(testResult.hasExtraBlock("stability")).isFalse();
+        assertThat(plugin.getStabilityWidget(launches)).isEmpty();
+    }
+
+    @Test
+    void shouldAddDurationSketchOnlyForTestsWithHistory() {
+        final String historyId = UUID.randomUUID().toString();
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put(HISTORY_BLOCK_NAME, createHistoryDataMap(
+                historyId,
+                new HistoryItem().setStatus(PASSED).setTime(Time.create(2L)),
+                new HistoryItem().setStatus(PASSED).setTime(Time.create(1L))
+        ));
+
+        final TestResult withHistory = createTestResult(PASSED, historyId, 100, 104)
+                .setTime(Time.create(100L, 104L));
+        final TestResult withoutHistory = createTestResult(PASSED, UUID.randomUUID().toString(), 100, 104)
+                .setTime(Time.create(100L, 104L));
+        new HistoryPlugin().getData(singletonList(createLaunchResults(extra, withHistory, withoutHistory)));
+
+        final DurationSketch sketch = withHistory.getExtraBlock(HistoryPlugin.DURATION_SKETCH_BLOCK_NAME);
+        assertThat(sketch.getCount()).isEqualTo(2);
+        assertThat(sketch.getMax()).isEqualTo(2);
+        assertThat(withoutHistory.hasExtraBlock(HistoryPlugin.DURATION_SKETCH_BLOCK_NAME)).isFalse();
+    }
+
+    @Test
+    void shouldSeedStabilityFromHistoryItems() {
+        final String historyId = UUID.randomUUID().toString();
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put(HISTORY_BLOCK_NAME, createHistoryDataMap(
+                historyId,
+                createHistoryItem(PASSED, 3, 4),
+                createHistoryItem(PASSED, 1, 2)
+        ));
+
+        final TestResult testResult = createTestResult(PASSED, historyId, 100, 101);
+        new HistoryPlugin().getData(singletonList(createLaunchResults(extra, testResult)));
+
+        final Stability stability = testResult.getExtraBlock("stability");
+        assertThat(stability.getRuns()).isEqualTo(3);
+        assertThat(stability.getPassRate()).isEqualTo(1.0);
+        assertThat(stability.getScore()).isZero();
+        assertThat(stability.getStatuses())
+                .extracting(StatusRun::getStatus, StatusRun::getCount)
+                .containsExactly(tuple(PASSED, 3L));
+    }
+
+    @Test
+    void shouldKeepHistoryInStore(@TempDir final Path temp) throws IOException {
+        final String historyId = UUID.randomUUID().toString();
+        final Path results = Files.createDirectories(temp.resolve("results").resolve(HISTORY_BLOCK_NAME));
+        new ObjectMapper().writeValue(
+                results.resolve("history.json").toFile(),
+                createHistoryDataMap(historyId, createHistoryItem(PASSED, 1, 2))
+        );
+
+        final TestResult first = createTestResult(FAILED, historyId, 100, 101).setStatusMessage("boom");
+        generateWithStore(temp.resolve("results"), temp.resolve("first"), false, first);
+        assertThat(first.isNewFailed()).isTrue();
+        assertThat(temp.resolve("first/history/store/segments/0.jsonl")).exists();
+        assertThat(temp.resolve("first/history/history.json")).doesNotExist();
+
+        final TestResult second = createTestResult(FAILED, historyId, 200, 201).setStatusMessage("boom");
+        generateWithStore(temp.resolve("first"), temp.resolve("second"), false, second);
+        final HistoryData secondHistory = second.getExtraBlock(HISTORY_BLOCK_NAME);
+        assertThat(secondHistory.getStatistic().getFailed()).isEqualTo(1);
+        assertThat(secondHistory.getItems())
+                .extracting(HistoryItem::getStatus, HistoryItem::getStatusDetails)
+                .containsExactly(tuple(FAILED, "boom"), tuple(PASSED, null));
+        assertThat(Files.readAllLines(temp.resolve("second/history/store/segments/1.messages.jsonl")))
+                .containsExactly("\"boom\"");
+        assertThat(temp.resolve("second/history/store/messages.jsonl")).doesNotExist();
+        assertThat(Files.isSameFile(
+                temp.resolve("first/history/store/segments/0.jsonl"),
+                temp.resolve("second/history/store/segments/0.jsonl")
+        )).isTrue();
+
+        final TestResult third = createTestResult(PASSED, historyId, 300, 301);
+        generateWithStore(temp.resolve("second"), temp.resolve("third"), true, third);
+        final HistoryData thirdHistory = third.getExtraBlock(HISTORY_BLOCK_NAME);
+        assertThat(thirdHistory.getItems())
+                .extracting(HistoryItem::getStatus)
+                .containsExactly(FAILED);
+        assertThat(third.isNewPassed()).isTrue();
+        assertThat(temp.resolve("third/history/store/segments/0.jsonl")).doesNotExist();
+        assertThat(temp.resolve("third/history/store/segments/0.messages.jsonl")).doesNotExist();
+        assertThat(temp.resolve("third/history/store/segments/1.jsonl")).exists();
+
+        final Map<String, HistoryData> exported = new JacksonContext().getValue().readValue(
+                temp.resolve("third/history/history.json").toFile(),
+                new TypeReference<Map<String, HistoryData>>() {
+                }
+        );
+        assertThat(exported.get(historyId).getItems())
+                .extracting(HistoryItem::getStatus)
+                .containsExactly(PASSED, FAILED);
+    }
+
+    @Test
+    void shouldNotImportHistoryKeptInStore(@TempDir final Path temp) throws IOException {
+        final String historyId = UUID.randomUUID().toString();
+        final TestResult first = createTestResult(FAILED, historyId, 100, 101);
+        generateWithStore(Files.createDirectories(temp.resolve("results")), temp.resolve("first"), false, first);
+
+        final Configuration configuration = ConfigurationBuilder.empty().build();
+        final HistoryPlugin plugin = new HistoryPlugin(true, 2, true);
+        final DefaultResultsVisitor storeVisitor = new DefaultResultsVisitor(configuration);
+        plugin.readResults(configuration, storeVisitor, temp.resolve("first"));
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put(HISTORY_BLOCK_NAME, createHistoryDataMap(historyId, createHistoryItem(FAILED, 100, 101)));
+
+        final TestResult second = createTestResult(PASSED, historyId, 200, 201);
+        storeVisitor.visitTestResult(second);
+        plugin.aggregate(
+                configuration,
+                Arrays.asList(storeVisitor.getLaunchResults(), createLaunchResults(extra)),
+                new FileSystemReportStorage(temp.resolve("second"))
+        );
+        final HistoryData history = second.getExtraBlock(HISTORY_BLOCK_NAME);
+        assertThat(history.getItems())
+                .extracting(HistoryItem::getStatus)
+                .containsExactly(FAILED);
+
+        final Map<String, HistoryData> exported = new JacksonContext().getValue().readValue(
+                temp.resolve("second/history/history.json").toFile(),
+                new TypeReference<Map<String, HistoryData>>() {
+                }
+        );
+        assertThat(exported.get(historyId).getItems())
+                .extracting(HistoryItem::getStatus)
+                .containsExactly(PASSED, FAILED);
+    }
+
+    private void generateWithStore(final Path resultsDirectory,
+                                   final Path reportDirectory,
+                                   final boolean export,
+                                   final TestResult... results) {
+        final Configuration configuration = ConfigurationBuilder.empty().build();
+        final HistoryPlugin plugin = new HistoryPlugin(true, 2, export);
+        final DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
+        plugin.readResults(configuration, visitor, resultsDirectory);
+        Arrays.stream(results).forEach(visitor::visitTestResult);
+        plugin.aggregate(
+                configuration,
+                singletonList(visitor.getLaunchResults()),
+                new FileSystemReportStorage(reportDirectory)
+        );
+    }
+
     private Map<String, HistoryData> copyHistoryData(Map<String, HistoryData> historyDataMap) {
         return historyDataMap.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, e -> new HistoryData().setItems(e.getValue().getItems())));
@@ -47,6 +47,7 @@ import static io.qameta.allure.testdata.TestData.randomTestResult;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -68,7 +69,7 @@ class HistoryTrendPluginTest {
         when(configuration.requireContext(JacksonContext.class))
                 .thenReturn(new JacksonContext());
 
-        final ResultsVisitor visitor = mock(ResultsVisitor.class);
+        final ResultsVisitor visitor = mock(ResultsVisitor.class, CALLS_REAL_METHODS);
 
         final HistoryTrendPlugin plugin = new HistoryTrendPlugin();
         plugin.readResults(configuration, visitor, resultsDirectory);
@@ -95,7 +96,7 @@ class HistoryTrendPluginTest {
         when(configuration.requireContext(JacksonContext.class))
                 .thenReturn(new JacksonContext());
 
-        final ResultsVisitor visitor = mock(ResultsVisitor.class);
+        final ResultsVisitor visitor = mock(ResultsVisitor.class, CALLS_REAL_METHODS);
 
         final HistoryTrendPlugin plugin = new HistoryTrendPlugin();
         plugin.readResults(configuration, visitor, resultsDirectory);
@@ -132,7 +133,7 @@ class HistoryTrendPluginTest {
         when(configuration.requireContext(JacksonContext.class))
                 .thenReturn(new JacksonContext());
 
-        final ResultsVisitor visitor = mock(ResultsVisitor.class);
+        final ResultsVisitor visitor = mock(ResultsVisitor.class, CALLS_REAL_METHODS);
 
         final HistoryTrendPlugin plugin = new HistoryTrendPlugin();
         plugin.readResults(configuration, visitor, resultsDirectory);
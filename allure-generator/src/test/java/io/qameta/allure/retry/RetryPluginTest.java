@@ -21,12 +21,16 @@ import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static io.qameta.allure.retry.RetryPlugin.RETRY_BLOCK_NAME;
+import static io.qameta.allure.testdata.TestData.createLaunchResults;
 import static io.qameta.allure.testdata.TestData.createSingleLaunchResults;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
@@ -174,6 +178,34 @@ class RetryPluginTest {
                 .containsExactlyInAnyOrder(tuple(SECOND_RESULT, false));
     }
 
+    @Test
+    void shouldResolveRetriesAcrossLaunches() {
+        final String historyId = UUID.randomUUID().toString();
+        final List<LaunchResults> launchResultsList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            launchResultsList.add(createLaunchResults(
+                    new HashMap<>(),
+                    createTestResult("run " + i, historyId, i * 10L, i * 10L + 9L)
+                            .setUid(String.valueOf(i))
+                            .setStatus(i % 2 == 0 ? Status.FAILED : Status.PASSED)
+            ));
+        }
+        retryPlugin.aggregate(null, launchResultsList, null);
+
+        final List<TestResult> latest = launchResultsList.stream()
+                .flatMap(launch -> launch.getAllResults().stream())
+                .filter(result -> !result.isHidden())
+                .collect(Collectors.toList());
+        assertThat(latest)
+                .extracting(TestResult::getName, TestResult::getRetriesCount, TestResult::isRetriesStatusChange)
+                .containsExactly(tuple("run 9", 9, true));
+
+        final List<RetryItem> retries = latest.get(0).getExtraBlock(RETRY_BLOCK_NAME);
+        assertThat(retries)
+                .extracting(RetryItem::getUid)
+                .containsExactly("8", "7", "6", "5", "4", "3", "2", "1", "0");
+    }
+
     private TestResult createTestResult(String name, String historyId, long start, long stop) {
         return new TestResult()
                 .setName(name)
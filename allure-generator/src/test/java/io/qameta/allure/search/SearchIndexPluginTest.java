@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.ConfigurationBuilder;
+import io.qameta.allure.DefaultLaunchResults;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.InMemoryReportStorage;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.Label;
+import io.qameta.allure.entity.Parameter;
+import io.qameta.allure.entity.Status;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.util.PropertyUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexPluginTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldNotWriteIndexIfDisabled() {
+        final InMemoryReportStorage storage = new InMemoryReportStorage();
+        new SearchIndexPlugin(false).aggregate(ConfigurationBuilder.empty().build(), launchResults(), storage);
+
+        assertThat(storage.getReportDataFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldWriteShardedIndex() throws Exception {
+        final InMemoryReportStorage storage = new InMemoryReportStorage();
+        final Configuration configuration = ConfigurationBuilder.empty().build();
+        new SearchIndexPlugin(true).aggregate(configuration, launchResults(), storage);
+
+        final Map<String, String> files = storage.getReportDataFiles();
+        final SearchIndexData index = read(files, "data/search/index.json", new TypeReference<SearchIndexData>() {
+        });
+        assertThat(index.getDocumentsCount()).isEqualTo(2);
+        assertThat(index.getShards())
+                .contains("lo", "ti", "sm", "ch");
+
+        final List<SearchDocument> documents = read(files, "data/search/documents.json",
+                new TypeReference<List<SearchDocument>>() {
+                });
+        assertThat(documents)
+                .extracting(SearchDocument::getUid)
+                .containsExactly("a", "b");
+
+        final Map<String, List<Integer>> lo = read(files, "data/search/lo.json",
+                new TypeReference<Map<String, List<Integer>>>() {
+                });
+        assertThat(lo).containsEntry("login", List.of(0, 1));
+
+        final Map<String, List<Integer>> ti = read(files, "data/search/ti.json",
+                new TypeReference<Map<String, List<Integer>>>() {
+                });
+        assertThat(ti)
+                .containsEntry("timeout", List.of(1))
+                .doesNotContainKey("1500");
+    }
+
+    @Test
+    void shouldReadFlagForEveryBundledConfiguration() {
+        try {
+            PropertyUtils.setEnvironment(Map.of(SearchIndexPlugin.ALLURE_SEARCH_INDEX, "true"));
+            assertThat(aggregateBundled()).containsKey("data/search/index.json");
+
+            PropertyUtils.setEnvironment(Map.of());
+            assertThat(aggregateBundled()).isEmpty();
+        } finally {
+            PropertyUtils.setEnvironment(null);
+        }
+    }
+
+    @Test
+    void shouldMapNonAlphanumericPrefixes() {
+        assertThat(SearchIndexPlugin.getShardName("a")).isEqualTo("a_");
+        assertThat(SearchIndexPlugin.getShardName("ünicode")).isEqualTo("_n");
+    }
+
+    private <T> T read(final Map<String, String> files,
+                       final String name,
+                       final TypeReference<T> type) throws Exception {
+        assertThat(files).containsKey(name);
+        return mapper.readValue(Base64.getDecoder().decode(files.get(name)), type);
+    }
+
+    private static Map<String, String> aggregateBundled() {
+        final InMemoryReportStorage storage = new InMemoryReportStorage();
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+        configuration.getExtensions(SearchIndexPlugin.class)
+                .forEach(plugin -> plugin.aggregate(configuration, launchResults(), storage));
+        return storage.getReportDataFiles();
+    }
+
+    private static List<LaunchResults> launchResults() {
+        final TestResult first = new TestResult()
+                .setUid("a")
+                .setName("login works")
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(new Label().setName("suite").setValue("smoke")));
+        final TestResult second = new TestResult()
+                .setUid("b")
+                .setName("login fails")
+                .setStatus(Status.FAILED)
+                .setStatusMessage("Timeout after 1500 ms")
+                .setParameters(List.of(new Parameter().setName("browser").setValue("chrome")));
+        final TestResult hidden = new TestResult()
+                .setUid("c")
+                .setName("hidden retry")
+                .setHidden(true);
+        return List.of(new DefaultLaunchResults(Set.of(first, second, hidden), Map.of(), Map.of()));
+    }
+}
@@ -26,6 +26,7 @@ import io.qameta.allure.entity.Time;
 import io.qameta.allure.tree.Tree;
 import io.qameta.allure.tree.TreeNode;
 import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.SetEnvironmentVariable;
 
 import java.util.List;
 
@@ -87,6 +88,21 @@ class SuitesPluginTest {
                 .containsKey("data/" + SuitesPlugin.CSV_FILE_NAME);
     }
 
+    @SetEnvironmentVariable(key = "ALLURE_CHUNKED_TREES", value = "true")
+    @Test
+    void shouldCreateChunkedTree() {
+        final Configuration configuration = ConfigurationBuilder.bundled().build();
+
+        final SuitesPlugin plugin = new SuitesPlugin();
+
+        final InMemoryReportStorage storage = new InMemoryReportStorage();
+        plugin.aggregate(configuration, getSimpleLaunchResults(), storage);
+
+        assertThat(storage.getReportDataFiles())
+                .containsKeys("data/suites.json", "data/suites/0.json", "data/suites/1.json")
+                .doesNotContainKey("data/suites/2.json");
+    }
+
     private List<LaunchResults> getSimpleLaunchResults() {
         final TestResult first = new TestResult()
                 .setName("first")
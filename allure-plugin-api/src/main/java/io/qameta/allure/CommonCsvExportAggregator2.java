@@ -21,6 +21,7 @@ import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import com.opencsv.exceptions.CsvDataTypeMismatchException;
 import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 
@@ -33,7 +34,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
- * Csv exporter extension. Can be used to process results in csv file
+ * Csv exporter extension. Can be used to process results in csv file. The file is
+ * built in the CPU pool of report executors.
  *
  * @param <T> type of result bean.
  * @since 2.0
@@ -49,11 +51,20 @@ public abstract class CommonCsvExportAggregator2<T> implements Aggregator2 {
         this.type = type;
     }
 
-    @SuppressWarnings("PMD.ExceptionAsFlowControl")
     @Override
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
+        final byte[] data = ExecutorContext.getExecutors(configuration)
+                .callCpu(() -> toCsv(launchesResults));
+        storage.addDataBinary(
+                Constants.dataPath(fileName),
+                data
+        );
+    }
+
+    @SuppressWarnings("PMD.ExceptionAsFlowControl")
+    private byte[] toCsv(final List<LaunchResults> launchesResults) {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
         try (Writer writer = new OutputStreamWriter(bos, StandardCharsets.UTF_8)) {
             final StatefulBeanToCsvBuilder<T> builder = new StatefulBeanToCsvBuilder<>(writer);
@@ -69,10 +80,7 @@ public abstract class CommonCsvExportAggregator2<T> implements Aggregator2 {
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
-        storage.addDataBinary(
-                Constants.dataPath(fileName),
-                bos.toByteArray()
-        );
+        return bos.toByteArray();
     }
 
     protected abstract List<T> getData(List<LaunchResults> launchesResults);
@@ -15,13 +15,15 @@
  */
 package io.qameta.allure;
 
+import io.qameta.allure.context.ExecutorContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 
 import java.util.List;
 
 /**
- * Common json aggregator.
+ * Common json aggregator. Data is computed in the CPU pool of report executors,
+ * so parallel streams used by {@link #getData(List)} don't run in the common pool.
  */
 public abstract class CommonJsonAggregator2 implements Aggregator2 {
 
@@ -42,7 +44,8 @@ public abstract class CommonJsonAggregator2 implements Aggregator2 {
     public void aggregate(final Configuration configuration,
                           final List<LaunchResults> launchesResults,
                           final ReportStorage storage) {
-        final Object data = getData(launchesResults);
+        final Object data = ExecutorContext.getExecutors(configuration)
+                .callCpu(() -> getData(launchesResults));
         storage.addDataJson(String.format("%s/%s", this.location, this.fileName), data);
     }
 
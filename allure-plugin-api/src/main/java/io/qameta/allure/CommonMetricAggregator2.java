@@ -22,14 +22,19 @@ import io.qameta.allure.metric.Metric;
 import io.qameta.allure.metric.MetricLine;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
+ * The partial aggregate contains states of the metrics, so it is supported
+ * only if all the metrics can be merged.
+ *
  * @author charlie (Dmitry Baev).
  */
-public abstract class CommonMetricAggregator2 implements Aggregator2 {
+public abstract class CommonMetricAggregator2 implements PartialAggregator2<List<Object>> {
 
     private final String location;
 
@@ -55,11 +60,55 @@ public abstract class CommonMetricAggregator2 implements Aggregator2 {
         );
     }
 
+    @Override
+    public Optional<List<Object>> aggregatePartial(final Configuration configuration,
+                                                   final List<LaunchResults> launchesResults) {
+        final List<Object> states = new ArrayList<>();
+        for (Metric metric : update(getMetrics(), launchesResults)) {
+            final Optional<Object> state = metric.getState();
+            if (!state.isPresent()) {
+                return Optional.empty();
+            }
+            states.add(state.get());
+        }
+        return Optional.of(states);
+    }
+
+    @Override
+    public List<Object> merge(final List<Object> first, final List<Object> second) {
+        final List<Metric> metrics = getMetrics();
+        final List<Object> states = new ArrayList<>();
+        for (int i = 0; i < metrics.size(); i++) {
+            final Metric metric = metrics.get(i);
+            metric.merge(first.get(i));
+            metric.merge(second.get(i));
+            states.add(metric.getState().orElseThrow(IllegalStateException::new));
+        }
+        return states;
+    }
+
+    @Override
+    public void write(final Configuration configuration,
+                      final List<LaunchResults> launchesResults,
+                      final List<Object> aggregate,
+                      final ReportStorage storage) {
+        final List<Metric> metrics = getMetrics();
+        for (int i = 0; i < metrics.size(); i++) {
+            metrics.get(i).merge(aggregate.get(i));
+        }
+        storage.addDataBinary(
+                Constants.path(location, fileName),
+                getLines(metrics).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
     public abstract List<Metric> getMetrics();
 
-    @SuppressWarnings("MultipleStringLiterals")
     protected String getData(final List<LaunchResults> launchesResults) {
-        final List<Metric> metrics = getMetrics();
+        return getLines(update(getMetrics(), launchesResults));
+    }
+
+    private static List<Metric> update(final List<Metric> metrics, final List<LaunchResults> launchesResults) {
         final List<TestResult> results = launchesResults.stream()
                 .map(LaunchResults::getAllResults)
                 .flatMap(Collection::stream)
@@ -70,7 +119,11 @@ public abstract class CommonMetricAggregator2 implements Aggregator2 {
                 metric.update(result);
             }
         }
+        return metrics;
+    }
 
+    @SuppressWarnings("MultipleStringLiterals")
+    private static String getLines(final List<Metric> metrics) {
         return metrics.stream()
                 .map(Metric::getLines)
                 .flatMap(Collection::stream)
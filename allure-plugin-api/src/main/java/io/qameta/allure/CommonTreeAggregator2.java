@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.context.ExecutorContext;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+import io.qameta.allure.entity.TestResult;
+import io.qameta.allure.tree.TestResultTreeGroup;
+import io.qameta.allure.tree.TestResultTreeShard;
+import io.qameta.allure.tree.Tree;
+import io.qameta.allure.tree.TreeNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static io.qameta.allure.tree.TreeUtils.createGroupUid;
+import static io.qameta.allure.tree.TreeUtils.mergeGroups;
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Common tree aggregator. Stores the tree as a single json file, or, if chunked trees
+ * are enabled, as a root file with top-level groups only and a shard file per group.
+ * Shards are located next to the root file and loaded by the report on demand.
+ * The partial aggregate is the root group of the tree, trees of nodes are merged
+ * group by group.
+ *
+ * @since 2.33
+ */
+public abstract class CommonTreeAggregator2 extends CommonJsonAggregator2
+        implements PartialAggregator2<TestResultTreeGroup> {
+
+    /**
+     * The name of environment variable that enables chunked trees.
+     */
+    public static final String ALLURE_CHUNKED_TREES = "ALLURE_CHUNKED_TREES";
+
+    private static final String JSON_EXTENSION = ".json";
+
+    private final String location;
+
+    private final String fileName;
+
+    private final boolean chunked;
+
+    protected CommonTreeAggregator2(final String fileName) {
+        this(Constants.DATA_DIR, fileName);
+    }
+
+    protected CommonTreeAggregator2(final String location, final String fileName) {
+        this(location, fileName, getProperty(ALLURE_CHUNKED_TREES).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    protected CommonTreeAggregator2(final String location, final String fileName, final boolean chunked) {
+        super(location, fileName);
+        this.location = location;
+        this.fileName = fileName;
+        this.chunked = chunked;
+    }
+
+    @Override
+    public void aggregate(final Configuration configuration,
+                          final List<LaunchResults> launchesResults,
+                          final ReportStorage storage) {
+        write(configuration, launchesResults, buildTree(configuration, launchesResults), storage);
+    }
+
+    @Override
+    public Optional<TestResultTreeGroup> aggregatePartial(final Configuration configuration,
+                                                          final List<LaunchResults> launchesResults) {
+        return Optional.of(buildTree(configuration, launchesResults));
+    }
+
+    @Override
+    public TestResultTreeGroup merge(final TestResultTreeGroup first, final TestResultTreeGroup second) {
+        mergeGroups(first, second, TestResultTreeGroup.class);
+        return first;
+    }
+
+    @Override
+    public void write(final Configuration configuration,
+                      final List<LaunchResults> launchesResults,
+                      final TestResultTreeGroup aggregate,
+                      final ReportStorage storage) {
+        if (!chunked) {
+            storage.addDataJson(Constants.path(location, fileName), aggregate);
+            return;
+        }
+        final String shardsDirectory = fileName.endsWith(JSON_EXTENSION)
+                ? fileName.substring(0, fileName.length() - JSON_EXTENSION.length())
+                : fileName;
+
+        final List<TreeNode> children = new ArrayList<>();
+        for (TreeNode child : aggregate.getChildren()) {
+            if (child instanceof TestResultTreeGroup) {
+                final String shard = Constants.path(shardsDirectory, children.size() + JSON_EXTENSION);
+                storage.addDataJson(Constants.path(location, shard), child);
+                children.add(new TestResultTreeShard((TestResultTreeGroup) child, shard));
+            } else {
+                children.add(child);
+            }
+        }
+
+        final TestResultTreeGroup root = new TestResultTreeGroup(aggregate.getUid(), aggregate.getName());
+        root.setChildren(children);
+        storage.addDataJson(Constants.path(location, fileName), root);
+    }
+
+    private TestResultTreeGroup buildTree(final Configuration configuration,
+                                          final List<LaunchResults> launchesResults) {
+        return ExecutorContext.getExecutors(configuration)
+                .callCpu(() -> toGroup(getData(launchesResults)));
+    }
+
+    private static TestResultTreeGroup toGroup(final Tree<TestResult> tree) {
+        final TestResultTreeGroup root = new TestResultTreeGroup(
+                createGroupUid(null, tree.getName()),
+                tree.getName()
+        );
+        root.setChildren(new ArrayList<>(tree.getChildren()));
+        return root;
+    }
+
+    @Override
+    protected abstract Tree<TestResult> getData(List<LaunchResults> launches);
+}
@@ -18,14 +18,22 @@ package io.qameta.allure;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.LaunchResults;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Composite aggregator extension. Can be used to process the list of aggregator.
+ * The partial aggregate contains aggregates of partial aggregators of the list,
+ * other aggregators process all the results when the report is written. Partial
+ * aggregation runs other aggregators with discarded data, so their changes of the
+ * results are seen by following aggregators of the list.
  *
  * @since 2.0
  */
-public class CompositeAggregator2 implements Aggregator2 {
+public class CompositeAggregator2 implements PartialAggregator2<List<Object>> {
 
     private final List<Aggregator2> aggregators;
 
@@ -41,4 +49,78 @@ public class CompositeAggregator2 implements Aggregator2 {
             aggregator.aggregate(configuration, launchesResults, storage);
         }
     }
+
+    @Override
+    public Optional<List<Object>> aggregatePartial(final Configuration configuration,
+                                                   final List<LaunchResults> launchesResults) {
+        final List<Object> aggregates = new ArrayList<>();
+        final ReportStorage discarded = new DiscardingReportStorage();
+        for (Aggregator2 aggregator : aggregators) {
+            if (aggregator instanceof PartialAggregator2) {
+                aggregates.add(((PartialAggregator2<?>) aggregator)
+                        .aggregatePartial(configuration, launchesResults).orElse(null));
+            } else {
+                aggregator.aggregate(configuration, launchesResults, discarded);
+                aggregates.add(null);
+            }
+        }
+        return Optional.of(aggregates);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> merge(final List<Object> first, final List<Object> second) {
+        final List<Object> merged = new ArrayList<>();
+        for (int i = 0; i < aggregators.size(); i++) {
+            final Object left = get(first, i);
+            final Object right = get(second, i);
+            merged.add(Objects.isNull(left) || Objects.isNull(right)
+                    ? null
+                    : ((PartialAggregator2<Object>) aggregators.get(i)).merge(left, right));
+        }
+        return merged;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(final Configuration configuration,
+                      final List<LaunchResults> launchesResults,
+                      final List<Object> aggregate,
+                      final ReportStorage storage) {
+        for (int i = 0; i < aggregators.size(); i++) {
+            final Aggregator2 aggregator = aggregators.get(i);
+            final Object value = get(aggregate, i);
+            if (Objects.isNull(value)) {
+                aggregator.aggregate(configuration, launchesResults, storage);
+            } else {
+                ((PartialAggregator2<Object>) aggregator).write(configuration, launchesResults, value, storage);
+            }
+        }
+    }
+
+    private static Object get(final List<Object> aggregates, final int index) {
+        return index < aggregates.size() ? aggregates.get(index) : null;
+    }
+
+    /**
+     * Storage of aggregators that run during partial aggregation, their data
+     * is written with the merged aggregate.
+     */
+    private static final class DiscardingReportStorage implements ReportStorage {
+
+        @Override
+        public void addDataJson(final String name, final Object data) {
+            // do nothing
+        }
+
+        @Override
+        public void addDataBinary(final String name, final byte[] data) {
+            // do nothing
+        }
+
+        @Override
+        public void addDataFile(final String name, final Path file) {
+            // do nothing
+        }
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure;
+
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Aggregator that can process results of every node separately. Partial aggregates
+ * of nodes are stored to partial results, merged in any grouping and written to the report
+ * without processing the merged results again. Aggregates should be serializable
+ * report model objects or standard collections of them.
+ *
+ * @param <T> the type of partial aggregate.
+ * @since 2.33
+ */
+public interface PartialAggregator2<T> extends Aggregator2 {
+
+    /**
+     * Process results of a single node.
+     *
+     * @param configuration   the report configuration.
+     * @param launchesResults the parsed test results of the node.
+     * @return the partial aggregate, or empty if results can not be processed partially.
+     */
+    Optional<T> aggregatePartial(Configuration configuration,
+                                 List<LaunchResults> launchesResults);
+
+    /**
+     * Merges two partial aggregates. The merge should be associative, so partials
+     * can be merged in any grouping. The first aggregate can be modified and returned.
+     *
+     * @param first  the first aggregate.
+     * @param second the second aggregate.
+     * @return the merged aggregate.
+     */
+    T merge(T first, T second);
+
+    /**
+     * Writes report data of the merged aggregate.
+     *
+     * @param configuration   the report configuration.
+     * @param launchesResults all the parsed test results.
+     * @param aggregate       the merged aggregate of all the results.
+     * @param storage         the report storage.
+     */
+    void write(Configuration configuration,
+               List<LaunchResults> launchesResults,
+               T aggregate,
+               ReportStorage storage);
+}
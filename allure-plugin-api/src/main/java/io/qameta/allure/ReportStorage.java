@@ -28,4 +28,16 @@ public interface ReportStorage {
 
     void addDataFile(String name, Path file);
 
+    /**
+     * Adds the file that is never changed once written, so the storage may link it
+     * instead of copying. Copies the file by default.
+     *
+     * @param name the name of the file in the report.
+     * @param file the file to add.
+     * @since 2.33
+     */
+    default void addDataLink(final String name, final Path file) {
+        addDataFile(name, file);
+    }
+
 }
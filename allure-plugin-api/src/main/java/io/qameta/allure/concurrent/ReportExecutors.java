@@ -0,0 +1,332 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.concurrent;
+
+import io.qameta.allure.profiling.MetricsSpan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Executors used by readers and aggregators during report generation.
+ * <p>
+ * CPU-bound work runs in a dedicated {@link ForkJoinPool}, so parallel streams
+ * started from {@link #callCpu(Supplier)} use the configured parallelism instead
+ * of the common pool. I/O-bound work is spread over at most {@link #getIoThreads()}
+ * concurrent tasks; on JDK 21+ these tasks run on virtual threads. Virtual threads
+ * are not used on JDK 19 and 20, where they are a preview feature, and platform
+ * threads are used if the virtual thread executor can not be created.
+ * <p>
+ * Pools are created lazily and use daemon threads. Cpu time and allocated bytes of
+ * submitted tasks are added to the {@link MetricsSpan} active in the submitting thread.
+ *
+ * @since 2.33
+ */
+public class ReportExecutors {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportExecutors.class);
+
+    private static final String VIRTUAL_EXECUTOR_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    private static final int VIRTUAL_THREADS_FEATURE = 21;
+
+    private static final Method VIRTUAL_EXECUTOR = findVirtualExecutorMethod();
+
+    private static final AtomicBoolean VIRTUAL_EXECUTOR_FAILED = new AtomicBoolean();
+
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private static final ThreadLocal<Boolean> IN_IO_TASK = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final int cpuThreads;
+
+    private final int ioThreads;
+
+    private final Object lock = new Object();
+
+    private ForkJoinPool cpuPool;
+
+    private ExecutorService ioExecutor;
+
+    public ReportExecutors(final int cpuThreads, final int ioThreads) {
+        if (cpuThreads < 1 || ioThreads < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Executor sizes should be positive, got cpu=%d, io=%d", cpuThreads, ioThreads
+            ));
+        }
+        this.cpuThreads = cpuThreads;
+        this.ioThreads = ioThreads;
+    }
+
+    public int getCpuThreads() {
+        return cpuThreads;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    /**
+     * Returns true if I/O tasks run on virtual threads.
+     *
+     * @return true on JDK 21+ unless the virtual thread executor could not be created.
+     */
+    public boolean isVirtualIo() {
+        return Objects.nonNull(VIRTUAL_EXECUTOR) && !VIRTUAL_EXECUTOR_FAILED.get();
+    }
+
+    public ExecutorService getCpuExecutor() {
+        synchronized (lock) {
+            if (Objects.isNull(cpuPool)) {
+                cpuPool = new ForkJoinPool(cpuThreads);
+            }
+            return cpuPool;
+        }
+    }
+
+    public ExecutorService getIoExecutor() {
+        synchronized (lock) {
+            if (Objects.isNull(ioExecutor)) {
+                ioExecutor = createIoExecutor();
+            }
+            return ioExecutor;
+        }
+    }
+
+    /**
+     * Runs given CPU-bound task in the CPU pool and waits for its completion.
+     *
+     * @param task the task to run.
+     */
+    public void runCpu(final Runnable task) {
+        callCpu(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs given CPU-bound task in the CPU pool and returns its result. Parallel
+     * streams used by the task are executed by the same pool. The task runs in
+     * the calling thread if it is already a worker of the pool.
+     *
+     * @param task the task to run.
+     * @param <T>  the type of result.
+     * @return the result of the task.
+     */
+    public <T> T callCpu(final Supplier<T> task) {
+        final ExecutorService pool = getCpuExecutor();
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            return task.get();
+        }
+        return await(pool.submit(MetricsSpan.propagate(task::get)));
+    }
+
+    /**
+     * Applies given I/O-bound function to every item. At most {@link #getIoThreads()}
+     * items are processed at the same time. Nested calls made from I/O tasks run
+     * sequentially in the calling task.
+     *
+     * @param items    the items to process.
+     * @param function the function to apply.
+     * @param <T>      the type of items.
+     * @param <R>      the type of results.
+     * @return the results in the order of given items.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> mapIo(final Collection<? extends T> items,
+                                final Function<? super T, ? extends R> function) {
+        final List<T> list = new ArrayList<>(items);
+        final int size = list.size();
+        final Object[] results = new Object[size];
+        final int workers = Math.min(ioThreads, size);
+        if (workers <= 1 || IN_IO_TASK.get()) {
+            for (int i = 0; i < size; i++) {
+                results[i] = function.apply(list.get(i));
+            }
+            return (List<R>) Arrays.asList(results);
+        }
+
+        final AtomicInteger next = new AtomicInteger();
+        final ExecutorService executor = getIoExecutor();
+        final List<Future<Object>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            futures.add(executor.submit(MetricsSpan.propagate(() -> {
+                IN_IO_TASK.set(Boolean.TRUE);
+                try {
+                    int index = next.getAndIncrement();
+                    while (index < size) {
+                        results[index] = function.apply(list.get(index));
+                        index = next.getAndIncrement();
+                    }
+                } finally {
+                    IN_IO_TASK.remove();
+                }
+                return null;
+            })));
+        }
+        RuntimeException failure = null;
+        for (Future<Object> future : futures) {
+            try {
+                await(future);
+            } catch (RuntimeException e) {
+                if (Objects.isNull(failure)) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * Performs given I/O-bound action for every item, see {@link #mapIo(Collection, Function)}.
+     *
+     * @param items  the items to process.
+     * @param action the action to perform.
+     * @param <T>    the type of items.
+     */
+    public <T> void forEachIo(final Collection<? extends T> items,
+                              final Consumer<? super T> action) {
+        mapIo(items, item -> {
+            action.accept(item);
+            return null;
+        });
+    }
+
+    /**
+     * Shuts down created pools. Running tasks are completed.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            if (Objects.nonNull(cpuPool)) {
+                cpuPool.shutdown();
+                cpuPool = null;
+            }
+            if (Objects.nonNull(ioExecutor)) {
+                ioExecutor.shutdown();
+                ioExecutor = null;
+            }
+        }
+    }
+
+    private ExecutorService createIoExecutor() {
+        if (isVirtualIo()) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                VIRTUAL_EXECUTOR_FAILED.set(true);
+                LOGGER.warn("Could not create virtual thread executor, platform threads are used", e);
+            }
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                ioThreads, ioThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new DaemonThreadFactory("allure-io-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Method findVirtualExecutorMethod() {
+        if (getFeatureVersion() < VIRTUAL_THREADS_FEATURE) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod(VIRTUAL_EXECUTOR_METHOD);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the feature release of running JDK, e.g. 21. The main code targets Java 8,
+     * so {@code Runtime.version()} is called reflectively.
+     */
+    private static int getFeatureVersion() {
+        try {
+            final Object version = Runtime.class.getMethod("version").invoke(null);
+            return (Integer) version.getClass().getMethod("feature").invoke(version);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for task", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Task failed", cause);
+        }
+    }
+
+    /**
+     * Creates named daemon threads.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private final String prefix;
+
+        DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
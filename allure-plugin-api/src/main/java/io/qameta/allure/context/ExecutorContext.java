@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import io.qameta.allure.Context;
+import io.qameta.allure.concurrent.ReportExecutors;
+import io.qameta.allure.core.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Context that provides executors for CPU-bound and I/O-bound work of readers
+ * and aggregators. Sizes default to {@link #ALLURE_CPU_THREADS} and
+ * {@link #ALLURE_IO_THREADS} environment variables; invalid values are reported
+ * and replaced with the defaults.
+ *
+ * @since 2.33
+ */
+public class ExecutorContext implements Context<ReportExecutors> {
+
+    /**
+     * The name of environment variable that sets the parallelism of CPU-bound work.
+     */
+    public static final String ALLURE_CPU_THREADS = "ALLURE_CPU_THREADS";
+
+    /**
+     * The name of environment variable that sets the concurrency of I/O-bound work.
+     */
+    public static final String ALLURE_IO_THREADS = "ALLURE_IO_THREADS";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorContext.class);
+
+    private static final int IO_THREADS_PER_CPU = 4;
+
+    private static final ReportExecutors DEFAULT_EXECUTORS = new ReportExecutors(
+            defaultCpuThreads(), defaultIoThreads()
+    );
+
+    private final ReportExecutors executors;
+
+    public ExecutorContext() {
+        this(defaultCpuThreads(), defaultIoThreads());
+    }
+
+    public ExecutorContext(final int cpuThreads, final int ioThreads) {
+        this.executors = new ReportExecutors(cpuThreads, ioThreads);
+    }
+
+    @Override
+    public ReportExecutors getValue() {
+        return executors;
+    }
+
+    /**
+     * Returns executors of given configuration. Falls back to executors of default
+     * size if configuration is not specified or has no executor context.
+     *
+     * @param configuration the configuration, may be null.
+     * @return the executors.
+     */
+    public static ReportExecutors getExecutors(final Configuration configuration) {
+        return Optional.ofNullable(configuration)
+                .flatMap(value -> value.getContext(ExecutorContext.class))
+                .map(ExecutorContext::getValue)
+                .orElse(DEFAULT_EXECUTORS);
+    }
+
+    /**
+     * Returns the parallelism of CPU-bound work specified by {@link #ALLURE_CPU_THREADS}
+     * environment variable, or the number of available processors.
+     *
+     * @return the default number of CPU threads.
+     */
+    public static int defaultCpuThreads() {
+        return getThreads(ALLURE_CPU_THREADS, () -> Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the concurrency of I/O-bound work specified by {@link #ALLURE_IO_THREADS}
+     * environment variable, or four tasks per available processor.
+     *
+     * @return the default number of I/O threads.
+     */
+    public static int defaultIoThreads() {
+        return getThreads(ALLURE_IO_THREADS, () -> Runtime.getRuntime().availableProcessors() * IO_THREADS_PER_CPU);
+    }
+
+    private static int getThreads(final String name, final IntSupplier defaultValue) {
+        final Optional<String> value = getProperty(name);
+        if (value.isPresent()) {
+            try {
+                final int threads = Integer.parseInt(value.get().trim());
+                if (threads > 0) {
+                    return threads;
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Could not parse {}", name, e);
+            }
+            LOGGER.warn("Invalid value '{}' of {}, should be a positive number, default is used", value.get(), name);
+        }
+        return defaultValue.getAsInt();
+    }
+}
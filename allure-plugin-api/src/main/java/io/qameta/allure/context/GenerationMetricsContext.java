@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.context;
+
+import io.qameta.allure.Context;
+import io.qameta.allure.profiling.GenerationMetrics;
+
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
+/**
+ * Context that provides metrics of report generation. Metrics are enabled by
+ * {@link #ALLURE_GENERATION_METRICS} environment variable.
+ *
+ * @since 2.33
+ */
+public class GenerationMetricsContext implements Context<GenerationMetrics> {
+
+    /**
+     * The name of environment variable that enables generation metrics.
+     */
+    public static final String ALLURE_GENERATION_METRICS = "ALLURE_GENERATION_METRICS";
+
+    private final GenerationMetrics metrics;
+
+    public GenerationMetricsContext() {
+        this(getProperty(ALLURE_GENERATION_METRICS).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    public GenerationMetricsContext(final boolean enabled) {
+        this.metrics = new GenerationMetrics(enabled);
+    }
+
+    @Override
+    public GenerationMetrics getValue() {
+        return metrics;
+    }
+}
@@ -17,27 +17,160 @@ package io.qameta.allure.context;
 
 import io.qameta.allure.Context;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import static io.qameta.allure.util.PropertyUtils.getProperty;
+
 /**
- * This context used to generate random uids for Allure results.
+ * This context used to generate random uids for Allure results. In deterministic mode,
+ * enabled by {@link #ALLURE_DETERMINISTIC_UIDS} environment variable, readers use context
+ * of each result file, see {@link #forFile(Path, Path)}. Its uids are derived from the path
+ * of the file relative to results directory, the hash of its content and the position of
+ * the result in the file, so the same results produce the same report no matter where
+ * they are stored and in which order the files are read.
  *
  * @since 2.0
  */
 public class RandomUidContext implements Context<Supplier<String>> {
 
+    /**
+     * The name of environment variable that enables deterministic uids.
+     */
+    public static final String ALLURE_DETERMINISTIC_UIDS = "ALLURE_DETERMINISTIC_UIDS";
+
     private static final int UID_RANDOM_BYTES_COUNT = 8;
 
     private static final int RADIX = 16;
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean deterministic;
+
+    private final String scope;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RandomUidContext() {
+        this(getProperty(ALLURE_DETERMINISTIC_UIDS).map(Boolean::parseBoolean).orElse(false));
+    }
+
+    /**
+     * Creates uid context.
+     *
+     * @param deterministic true to derive uids from the source keys.
+     * @since 2.33
+     */
+    public RandomUidContext(final boolean deterministic) {
+        this(deterministic, "");
+    }
+
+    private RandomUidContext(final boolean deterministic, final String scope) {
+        this.deterministic = deterministic;
+        this.scope = scope;
+    }
+
+    /**
+     * Returns uid generator. In deterministic mode uids depend on the order of calls,
+     * so results of the context should be visited in a stable order.
+     *
+     * @return the uid generator.
+     */
     @Override
     public Supplier<String> getValue() {
-        return () -> {
-            final byte[] randomBytes = new byte[UID_RANDOM_BYTES_COUNT];
-            ThreadLocalRandom.current().nextBytes(randomBytes);
-            return new BigInteger(1, randomBytes).toString(RADIX);
-        };
+        if (!deterministic) {
+            return RandomUidContext::randomUid;
+        }
+        return () -> deterministicUid(scope, sequence.getAndIncrement());
+    }
+
+    /**
+     * Returns uid context for results of given file. In deterministic mode the file
+     * is keyed by its path relative to results directory and the hash of its content,
+     * so the file should be read sequentially. Otherwise this context is returned.
+     *
+     * @param resultsDirectory the results directory the file is read from.
+     * @param file             the result file.
+     * @return the uid context of the file.
+     * @since 2.33
+     */
+    public RandomUidContext forFile(final Path resultsDirectory, final Path file) {
+        if (!deterministic) {
+            return this;
+        }
+        return new RandomUidContext(
+                true,
+                getRelativePath(resultsDirectory, file) + "#" + Long.toHexString(hash(file))
+        );
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    private static String randomUid() {
+        final byte[] randomBytes = new byte[UID_RANDOM_BYTES_COUNT];
+        ThreadLocalRandom.current().nextBytes(randomBytes);
+        return new BigInteger(1, randomBytes).toString(RADIX);
+    }
+
+    private static String getRelativePath(final Path resultsDirectory, final Path file) {
+        final Path normalized = file.toAbsolutePath().normalize();
+        final Path directory = Objects.isNull(resultsDirectory)
+                ? null
+                : resultsDirectory.toAbsolutePath().normalize();
+        final Path relative = Objects.nonNull(directory) && normalized.startsWith(directory)
+                ? directory.relativize(normalized)
+                : normalized.getFileName();
+        return Objects.isNull(relative) ? "" : relative.toString().replace('\\', '/');
+    }
+
+    private static long hash(final Path file) {
+        long hash = FNV_OFFSET_BASIS;
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read = is.read(buffer);
+            while (read >= 0) {
+                hash = hash(hash, buffer, read);
+                read = is.read(buffer);
+            }
+        } catch (IOException e) {
+            // the reader fails to read such file as well
+            return FNV_OFFSET_BASIS;
+        }
+        return hash;
+    }
+
+    private static long hash(final long seed, final byte[] bytes, final int length) {
+        long hash = seed;
+        for (int i = 0; i < length; i++) {
+            hash ^= bytes[i] & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String deterministicUid(final String key, final long position) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(FNV_OFFSET_BASIS, bytes, bytes.length);
+        hash += (position + 1) * GOLDEN_GAMMA;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return Long.toHexString(hash);
     }
 }
@@ -0,0 +1,215 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Typed view of the history directory of results directory. The directory is listed
+ * once, and every file is parsed at most once into typed values, no matter how many
+ * plugins request it. Items of a file are bound one by one, so an invalid item is
+ * skipped without failing the whole file.
+ *
+ * @since 2.33
+ */
+public final class HistorySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistorySnapshot.class);
+
+    private final Path directory;
+
+    private final ObjectMapper mapper;
+
+    private final Set<String> fileNames;
+
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    private HistorySnapshot(final Path directory, final ObjectMapper mapper, final Set<String> fileNames) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.fileNames = fileNames;
+    }
+
+    /**
+     * Creates history snapshot for given results directory.
+     *
+     * @param resultsDirectory the results directory.
+     * @param mapper           the mapper to read history files.
+     * @return the snapshot, empty if results directory has no history.
+     * @throws IOException if history directory can't be listed.
+     */
+    public static HistorySnapshot open(final Path resultsDirectory, final ObjectMapper mapper) throws IOException {
+        final Path directory = resultsDirectory.resolve(Constants.HISTORY_DIR);
+        if (!Files.isDirectory(directory)) {
+            return empty(resultsDirectory, mapper);
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            final Set<String> fileNames = paths
+                    .map(Path::getFileName)
+                    .map(Path::toString)
+                    .collect(Collectors.toSet());
+            return new HistorySnapshot(directory, mapper, fileNames);
+        }
+    }
+
+    /**
+     * Creates empty history snapshot for given results directory.
+     *
+     * @param resultsDirectory the results directory.
+     * @param mapper           the mapper to read history files.
+     * @return the empty snapshot.
+     */
+    public static HistorySnapshot empty(final Path resultsDirectory, final ObjectMapper mapper) {
+        return new HistorySnapshot(resultsDirectory.resolve(Constants.HISTORY_DIR), mapper, Collections.emptySet());
+    }
+
+    public boolean isEmpty() {
+        return fileNames.isEmpty();
+    }
+
+    public boolean contains(final String fileName) {
+        return fileNames.contains(fileName);
+    }
+
+    public Path getPath(final String fileName) {
+        return directory.resolve(fileName);
+    }
+
+    /**
+     * Returns items of history file that contains json array, or values of json object.
+     * Items that can't be bound to given type are skipped.
+     *
+     * @param fileName the name of history file.
+     * @param itemType the type of items.
+     * @param <T>      the type of items.
+     * @return the items, empty list if there is no such file.
+     * @throws IOException if file can't be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getItems(final String fileName, final Class<T> itemType) throws IOException {
+        if (!contains(fileName)) {
+            return Collections.emptyList();
+        }
+        return (List<T>) read(fileName, () -> {
+            try (InputStream is = Files.newInputStream(getPath(fileName));
+                 JsonParser parser = mapper.getFactory().createParser(is)) {
+                final List<T> items = new ArrayList<>();
+                final JsonToken start = parser.nextToken();
+                if (start != JsonToken.START_ARRAY && start != JsonToken.START_OBJECT) {
+                    return items;
+                }
+                final JsonToken end = start == JsonToken.START_ARRAY ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+                final int depth = parser.getParsingContext().getNestingDepth();
+                while (Objects.nonNull(parser.nextToken()) && parser.currentToken() != end) {
+                    if (parser.currentToken() == JsonToken.FIELD_NAME) {
+                        parser.nextToken();
+                    }
+                    readItem(fileName, parser, depth, itemType).ifPresent(items::add);
+                }
+                return items;
+            }
+        });
+    }
+
+    /**
+     * Returns value of history file.
+     *
+     * @param fileName the name of history file.
+     * @param type     the type of value.
+     * @param <T>      the type of value.
+     * @return the value, empty if there is no such file.
+     * @throws IOException if file can't be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getValue(final String fileName, final TypeReference<T> type) throws IOException {
+        if (!contains(fileName)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((T) read(fileName, () -> {
+            try (InputStream is = Files.newInputStream(getPath(fileName))) {
+                return mapper.readValue(is, type);
+            }
+        }));
+    }
+
+    private <T> Optional<T> readItem(final String fileName,
+                                     final JsonParser parser,
+                                     final int depth,
+                                     final Class<T> itemType) throws IOException {
+        try {
+            return Optional.ofNullable(mapper.readValue(parser, itemType));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Could not read {}", getPath(fileName), e);
+            skipItem(parser, depth);
+            return Optional.empty();
+        }
+    }
+
+    // moves the parser to the last token of the item that could not be bound
+    private static void skipItem(final JsonParser parser, final int depth) throws IOException {
+        parser.skipChildren();
+        while (parser.getParsingContext().getNestingDepth() > depth && Objects.nonNull(parser.nextToken())) {
+            parser.skipChildren();
+        }
+    }
+
+    private Object read(final String fileName, final FileReader reader) throws IOException {
+        try {
+            return values.computeIfAbsent(fileName, name -> {
+                try {
+                    return reader.read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads history file.
+     */
+    @FunctionalInterface
+    private interface FileReader {
+
+        Object read() throws IOException;
+
+    }
+}
@@ -15,10 +15,14 @@
  */
 package io.qameta.allure.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.context.JacksonContext;
 import io.qameta.allure.entity.Attachment;
 import io.qameta.allure.entity.TestResult;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.function.Function;
 
 /**
  * Visitor that stores results data to internal storage.
@@ -68,4 +72,41 @@ public interface ResultsVisitor {
      */
     void error(String message);
 
+    /**
+     * Returns history snapshot of given results directory. Implementations may
+     * cache the snapshot, so the history directory is read only once by all readers.
+     *
+     * @param resultsDirectory the results directory.
+     * @return the history snapshot.
+     * @since 2.33
+     */
+    default HistorySnapshot getHistorySnapshot(Path resultsDirectory) {
+        final ObjectMapper mapper = new JacksonContext().getValue();
+        try {
+            return HistorySnapshot.open(resultsDirectory, mapper);
+        } catch (IOException e) {
+            error("Could not read history directory of " + resultsDirectory, e);
+            return HistorySnapshot.empty(resultsDirectory, mapper);
+        }
+    }
+
+    /**
+     * Visits results parsed from given file. Implementations may cache the results by
+     * file content and reader key, and replay them without calling the parser at all,
+     * so readers should produce all the data of the file using the visitor passed to
+     * the parser. The parser may return a value of report model or standard collections
+     * (e.g. environment of the file) that is cached together with the results; extra
+     * blocks are not cached.
+     *
+     * @param file      the parsed file.
+     * @param readerKey the key of reader; should be changed when conversion changes.
+     * @param parser    the parser of the file.
+     * @param <T>       the type of value returned by the parser.
+     * @return the value returned by the parser.
+     * @since 2.33
+     */
+    default <T> T visitCachedResults(Path file, String readerKey, Function<ResultsVisitor, T> parser) {
+        return parser.apply(this);
+    }
+
 }
@@ -18,6 +18,7 @@ package io.qameta.allure.metric;
 import io.qameta.allure.entity.TestResult;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @author charlie (Dmitry Baev).
@@ -28,4 +29,25 @@ public interface Metric {
 
     List<MetricLine> getLines();
 
+    /**
+     * Returns the state of the metric, that can be merged to the same metric
+     * created on another node.
+     *
+     * @return the state of the metric, or empty if the metric can not be merged.
+     * @since 2.33
+     */
+    default Optional<Object> getState() {
+        return Optional.empty();
+    }
+
+    /**
+     * Merges the state of the same metric created on another node.
+     *
+     * @param state the state returned by {@link #getState()}.
+     * @since 2.33
+     */
+    default void merge(final Object state) {
+        throw new UnsupportedOperationException("Metric " + getClass().getName() + " can not be merged");
+    }
+
 }
@@ -20,6 +20,7 @@ import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +46,16 @@ public class StatusMetric implements Metric {
         statistic.update(testResult);
     }
 
+    @Override
+    public Optional<Object> getState() {
+        return Optional.of(statistic);
+    }
+
+    @Override
+    public void merge(final Object state) {
+        statistic.merge((Statistic) state);
+    }
+
     @Override
     public List<MetricLine> getLines() {
         return Stream.of(Status.values())
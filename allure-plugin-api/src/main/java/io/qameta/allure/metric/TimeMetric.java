@@ -21,6 +21,7 @@ import io.qameta.allure.entity.TestResult;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 /**
@@ -43,6 +44,16 @@ public class TimeMetric implements Metric {
         }
     }
 
+    @Override
+    public Optional<Object> getState() {
+        return Optional.of(groupTime);
+    }
+
+    @Override
+    public void merge(final Object state) {
+        groupTime.merge((GroupTime) state);
+    }
+
     @Override
     public List<MetricLine> getLines() {
         return Arrays.asList(
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects metrics of report generation phases. Plugins can record their own
+ * spans using {@link #start(String, String)}:
+ * <pre>
+ * try (MetricsSpan span = metrics.start("my-plugin", "load issues")) {
+ *     ...
+ * }
+ * </pre>
+ * When metrics are disabled spans are not measured at all.
+ *
+ * @since 2.33
+ */
+public class GenerationMetrics {
+
+    public static final String READ_PHASE = "read";
+
+    public static final String AGGREGATE_PHASE = "aggregate";
+
+    public static final String STORAGE_PHASE = "storage";
+
+    public static final String WEB_PHASE = "web";
+
+    public static final String TOTAL_PHASE = "total";
+
+    private final Map<String, PhaseMetric> metrics = new LinkedHashMap<>();
+
+    private final AtomicBoolean enabled;
+
+    public GenerationMetrics(final boolean enabled) {
+        this.enabled = new AtomicBoolean(enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled.get();
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled.set(enabled);
+    }
+
+    /**
+     * Starts span of given phase.
+     *
+     * @param phase the phase of generation.
+     * @param name  the name of span, e.g. class name of extension.
+     * @return the started span.
+     */
+    public MetricsSpan start(final String phase, final String name) {
+        return start(phase, name, null);
+    }
+
+    /**
+     * Starts span of given phase for given target.
+     *
+     * @param phase  the phase of generation.
+     * @param name   the name of span, e.g. class name of extension.
+     * @param target the target of span, e.g. results directory.
+     * @return the started span.
+     */
+    public MetricsSpan start(final String phase, final String name, final String target) {
+        return isEnabled() ? new MetricsSpan(this, phase, name, target) : MetricsSpan.noop();
+    }
+
+    public List<PhaseMetric> getMetrics() {
+        synchronized (metrics) {
+            final List<PhaseMetric> result = new ArrayList<>();
+            metrics.values().forEach(metric -> result.add(metric.copy()));
+            return result;
+        }
+    }
+
+    public void clear() {
+        synchronized (metrics) {
+            metrics.clear();
+        }
+    }
+
+    void add(final PhaseMetric metric) {
+        synchronized (metrics) {
+            final String key = String.join(
+                    "\n", metric.getPhase(), metric.getName(), Objects.toString(metric.getTarget())
+            );
+            final PhaseMetric existing = metrics.get(key);
+            if (Objects.isNull(existing)) {
+                metrics.put(key, metric);
+            } else {
+                existing.add(metric);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import java.util.Objects;
+
+/**
+ * Custom Java Flight Recorder event. The event is started by {@link JfrEventType#begin()}
+ * and is committed on {@link #close()}, so its duration covers the measured operation.
+ * <pre>
+ * try (JfrEvent event = JfrEventType.READ_FILE.begin()) {
+ *     event.set(JfrEventType.PATH_FIELD, file.toString());
+ *     ...
+ * }
+ * </pre>
+ *
+ * @since 2.33
+ */
+public final class JfrEvent implements AutoCloseable {
+
+    private static final JfrEvent NOOP = new JfrEvent(null, null);
+
+    private final JfrEventType type;
+
+    private final Object event;
+
+    JfrEvent(final JfrEventType type, final Object event) {
+        this.type = type;
+        this.event = event;
+    }
+
+    static JfrEvent noop() {
+        return NOOP;
+    }
+
+    /**
+     * Returns true if the event is recorded, so values that are expensive to compute
+     * can be skipped otherwise.
+     *
+     * @return true if the event is recorded.
+     */
+    public boolean isRecording() {
+        return Objects.nonNull(event);
+    }
+
+    /**
+     * Sets value of event field.
+     *
+     * @param field the name of field.
+     * @param value the value.
+     * @return self for method chaining.
+     */
+    public JfrEvent set(final String field, final Object value) {
+        if (isRecording()) {
+            type.set(event, field, value);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (isRecording()) {
+            type.commit(event);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type of custom Java Flight Recorder event emitted during report generation. Event types
+ * are created at runtime using JFR event factory, so they are available on any JVM with
+ * JFR support and are silently disabled on JVMs without it.
+ *
+ * @since 2.33
+ */
+public final class JfrEventType {
+
+    public static final String READER_FIELD = "reader";
+    public static final String PATH_FIELD = "path";
+    public static final String BYTES_FIELD = "bytes";
+    public static final String RESULTS_FIELD = "results";
+    public static final String CACHED_FIELD = "cached";
+    public static final String AGGREGATOR_FIELD = "aggregator";
+    public static final String LAUNCHES_FIELD = "launches";
+    public static final String STORAGE_FIELD = "storage";
+    public static final String NAME_FIELD = "name";
+
+    /**
+     * Results file read by reader.
+     */
+    public static final JfrEventType READ_FILE = new JfrEventType(
+            "io.qameta.allure.ReadFile", "Read Results File", "Results file parsed by reader")
+            .withField(READER_FIELD, "Reader", String.class)
+            .withField(PATH_FIELD, "Path", String.class)
+            .withField(BYTES_FIELD, "Bytes", long.class)
+            .withField(RESULTS_FIELD, "Results", long.class)
+            .withField(CACHED_FIELD, "Cached", boolean.class);
+
+    /**
+     * Results directory read by reader.
+     */
+    public static final JfrEventType READ_RESULTS = new JfrEventType(
+            "io.qameta.allure.ReadResults", "Read Results Directory", "Results directory processed by reader")
+            .withField(READER_FIELD, "Reader", String.class)
+            .withField(PATH_FIELD, "Path", String.class)
+            .withField(RESULTS_FIELD, "Results", long.class);
+
+    /**
+     * Aggregator run.
+     */
+    public static final JfrEventType AGGREGATE = new JfrEventType(
+            "io.qameta.allure.Aggregate", "Aggregate", "Aggregator processed launch results")
+            .withField(AGGREGATOR_FIELD, "Aggregator", String.class)
+            .withField(LAUNCHES_FIELD, "Launches", long.class)
+            .withField(BYTES_FIELD, "Output Bytes", long.class);
+
+    /**
+     * Report storage write.
+     */
+    public static final JfrEventType STORAGE_WRITE = new JfrEventType(
+            "io.qameta.allure.StorageWrite", "Storage Write", "Report file written to report storage")
+            .withField(STORAGE_FIELD, "Storage", String.class)
+            .withField(NAME_FIELD, "Name", String.class)
+            .withField(BYTES_FIELD, "Bytes", long.class);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrEventType.class);
+
+    private static final String JFR_PACKAGE = "jdk.jfr.";
+
+    private static final String CATEGORY = "Allure";
+
+    private final String name;
+
+    private final String label;
+
+    private final String description;
+
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private final AtomicReference<Optional<Factory>> factory = new AtomicReference<>();
+
+    private JfrEventType(final String name, final String label, final String description) {
+        this.name = name;
+        this.label = label;
+        this.description = description;
+    }
+
+    private JfrEventType withField(final String fieldName, final String fieldLabel, final Class<?> type) {
+        fields.put(fieldName, new Field(fields.size(), fieldName, fieldLabel, type));
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if events of this type are recorded by any running recording.
+     *
+     * @return true if the event type is enabled.
+     */
+    public boolean isEnabled() {
+        final Factory current = getFactory();
+        return Objects.nonNull(current) && current.isEnabled();
+    }
+
+    /**
+     * Begins new event of this type. Returns no-op event if event type is not enabled.
+     *
+     * @return the event.
+     */
+    public JfrEvent begin() {
+        final Factory current = getFactory();
+        if (Objects.isNull(current) || !current.isEnabled()) {
+            return JfrEvent.noop();
+        }
+        return current.newEvent()
+                .map(event -> new JfrEvent(this, event))
+                .orElseGet(JfrEvent::noop);
+    }
+
+    void set(final Object event, final String fieldName, final Object value) {
+        final Field field = fields.get(fieldName);
+        final Factory current = getFactory();
+        if (Objects.nonNull(field) && Objects.nonNull(current)) {
+            current.invoke(current.setMethod, event, field.index, value);
+        }
+    }
+
+    void commit(final Object event) {
+        final Factory current = getFactory();
+        if (Objects.nonNull(current)) {
+            current.invoke(current.endMethod, event);
+            if (Boolean.TRUE.equals(current.invoke(current.shouldCommitMethod, event))) {
+                current.invoke(current.commitMethod, event);
+            }
+        }
+    }
+
+    private Factory getFactory() {
+        Optional<Factory> current = factory.get();
+        if (Objects.isNull(current)) {
+            synchronized (factory) {
+                current = factory.get();
+                if (Objects.isNull(current)) {
+                    current = Optional.ofNullable(createFactory());
+                    factory.set(current);
+                }
+            }
+        }
+        return current.orElse(null);
+    }
+
+    private Factory createFactory() {
+        try {
+            final Class<?> annotationElement = Class.forName(JFR_PACKAGE + "AnnotationElement");
+            final Constructor<?> annotationConstructor = annotationElement.getConstructor(Class.class, Object.class);
+            final Class<?> valueDescriptor = Class.forName(JFR_PACKAGE + "ValueDescriptor");
+            final Constructor<?> valueConstructor = valueDescriptor.getConstructor(
+                    Class.class, String.class, List.class
+            );
+            final List<Object> annotations = Arrays.asList(
+                    annotationConstructor.newInstance(annotation("Name"), name),
+                    annotationConstructor.newInstance(annotation("Label"), label),
+                    annotationConstructor.newInstance(annotation("Description"), description),
+                    annotationConstructor.newInstance(annotation("Category"), new String[]{CATEGORY})
+            );
+            final List<Object> values = new ArrayList<>();
+            for (Field field : fields.values()) {
+                values.add(valueConstructor.newInstance(field.type, field.name, Collections.singletonList(
+                        annotationConstructor.newInstance(annotation("Label"), field.label)
+                )));
+            }
+            final Class<?> eventFactory = Class.forName(JFR_PACKAGE + "EventFactory");
+            final Object created = eventFactory.getMethod("create", List.class, List.class)
+                    .invoke(null, annotations, values);
+            return new Factory(created);
+        } catch (ClassNotFoundException e) {
+            LOGGER.debug("Java Flight Recorder is not available, {} events are disabled", name);
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Could not create Java Flight Recorder event type {}", name, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> annotation(final String simpleName) throws ClassNotFoundException {
+        return (Class<? extends Annotation>) Class.forName(JFR_PACKAGE + simpleName);
+    }
+
+    /**
+     * Field of the event type.
+     */
+    private static final class Field {
+
+        private final int index;
+        private final String name;
+        private final String label;
+        private final Class<?> type;
+
+        Field(final int index, final String name, final String label, final Class<?> type) {
+            this.index = index;
+            this.name = name;
+            this.label = label;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Reflective access to JFR event factory and events.
+     */
+    private static final class Factory {
+
+        private final Object eventFactory;
+        private final Object eventType;
+        private final Method newEventMethod;
+        private final Method isEnabledMethod;
+        private final Method beginMethod;
+        private final Method endMethod;
+        private final Method shouldCommitMethod;
+        private final Method commitMethod;
+        private final Method setMethod;
+
+        Factory(final Object eventFactory) throws ReflectiveOperationException {
+            this.eventFactory = eventFactory;
+            this.eventType = eventFactory.getClass().getMethod("getEventType").invoke(eventFactory);
+            this.newEventMethod = eventFactory.getClass().getMethod("newEvent");
+            this.isEnabledMethod = eventType.getClass().getMethod("isEnabled");
+            final Class<?> event = Class.forName(JFR_PACKAGE + "Event");
+            this.beginMethod = event.getMethod("begin");
+            this.endMethod = event.getMethod("end");
+            this.shouldCommitMethod = event.getMethod("shouldCommit");
+            this.commitMethod = event.getMethod("commit");
+            this.setMethod = event.getMethod("set", int.class, Object.class);
+        }
+
+        boolean isEnabled() {
+            return Boolean.TRUE.equals(invoke(isEnabledMethod, eventType));
+        }
+
+        Optional<Object> newEvent() {
+            final Object event = invoke(newEventMethod, eventFactory);
+            if (Objects.nonNull(event)) {
+                invoke(beginMethod, event);
+            }
+            return Optional.ofNullable(event);
+        }
+
+        Object invoke(final Method method, final Object target, final Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                LOGGER.debug("Could not invoke {}", method, e);
+                return null;
+            }
+        }
+    }
+}
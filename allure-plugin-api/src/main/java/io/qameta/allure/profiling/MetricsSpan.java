@@ -0,0 +1,169 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measured span of report generation. Span measures wall time between creation and
+ * {@link #close()}, and cpu time and allocated bytes of the caller thread, so it
+ * should be closed by the same thread. Tasks wrapped by {@link #propagate(Callable)},
+ * such as tasks submitted to {@link io.qameta.allure.concurrent.ReportExecutors}, add
+ * cpu time and allocated bytes of their threads to the span that was active when they
+ * were submitted. Subtasks forked by parallel streams and tasks running on virtual threads,
+ * which JDK does not measure, are not included. Spans may be nested, metrics of outer span
+ * include the metrics of inner spans.
+ *
+ * @since 2.33
+ */
+public final class MetricsSpan implements AutoCloseable {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final ThreadLocal<MetricsSpan> CURRENT = new ThreadLocal<>();
+
+    private static final MetricsSpan NOOP = new MetricsSpan(null, null, null, null);
+
+    private final GenerationMetrics metrics;
+
+    private final String phase;
+
+    private final String name;
+
+    private final String target;
+
+    private final long wallStart;
+
+    private final long cpuStart;
+
+    private final long allocatedStart;
+
+    private final AtomicLong outputBytes = new AtomicLong();
+
+    private final AtomicLong taskCpuNanos = new AtomicLong();
+
+    private final AtomicLong taskAllocatedBytes = new AtomicLong();
+
+    private final MetricsSpan parent;
+
+    MetricsSpan(final GenerationMetrics metrics, final String phase, final String name, final String target) {
+        this.metrics = metrics;
+        this.phase = phase;
+        this.name = name;
+        this.target = target;
+        this.parent = CURRENT.get();
+        if (Objects.nonNull(metrics)) {
+            CURRENT.set(this);
+        }
+        this.wallStart = System.nanoTime();
+        this.cpuStart = getCpuTime();
+        this.allocatedStart = getAllocatedBytes();
+    }
+
+    static MetricsSpan noop() {
+        return NOOP;
+    }
+
+    /**
+     * Adds bytes written to the report during the span.
+     *
+     * @param bytes the count of bytes.
+     */
+    public void addOutputBytes(final long bytes) {
+        if (Objects.nonNull(metrics)) {
+            outputBytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Returns task that adds cpu time and allocated bytes of the thread running it to the span
+     * active in the calling thread and to the spans enclosing it. Spans started by the task are
+     * nested in that span. Given task is returned if there is no active span.
+     *
+     * @param task the task to wrap.
+     * @param <T>  the type of result.
+     * @return the wrapped task.
+     */
+    public static <T> Callable<T> propagate(final Callable<T> task) {
+        final MetricsSpan span = CURRENT.get();
+        if (Objects.isNull(span)) {
+            return task;
+        }
+        return () -> {
+            final MetricsSpan previous = CURRENT.get();
+            CURRENT.set(span);
+            final long cpu = getCpuTime();
+            final long allocated = getAllocatedBytes();
+            try {
+                return task.call();
+            } finally {
+                span.addTaskUsage(Math.max(0, getCpuTime() - cpu), Math.max(0, getAllocatedBytes() - allocated));
+                restore(previous);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (Objects.isNull(metrics)) {
+            return;
+        }
+        restore(parent);
+        metrics.add(new PhaseMetric()
+                .setPhase(phase)
+                .setName(name)
+                .setTarget(target)
+                .setCount(1)
+                .setWallNanos(System.nanoTime() - wallStart)
+                .setCallerCpuNanos(Math.max(0, getCpuTime() - cpuStart) + taskCpuNanos.get())
+                .setCallerAllocatedBytes(Math.max(0, getAllocatedBytes() - allocatedStart) + taskAllocatedBytes.get())
+                .setOutputBytes(outputBytes.get())
+        );
+    }
+
+    private void addTaskUsage(final long cpuNanos, final long allocatedBytes) {
+        for (MetricsSpan span = this; Objects.nonNull(span); span = span.parent) {
+            span.taskCpuNanos.addAndGet(cpuNanos);
+            span.taskAllocatedBytes.addAndGet(allocatedBytes);
+        }
+    }
+
+    private static void restore(final MetricsSpan span) {
+        if (Objects.isNull(span)) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+
+    private static long getCpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long getAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Metrics of report generation phase, accumulated over all the spans with the same
+ * phase, name and target. Cpu time and allocated bytes are measured for the caller
+ * thread that runs the span and for the tasks it submits to report executors, see
+ * {@link MetricsSpan#propagate(java.util.concurrent.Callable)}.
+ *
+ * @since 2.33
+ */
+@Data
+@Accessors(chain = true)
+public class PhaseMetric implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String phase;
+    protected String name;
+    protected String target;
+    protected long count;
+    protected long wallNanos;
+    protected long callerCpuNanos;
+    protected long callerAllocatedBytes;
+    protected long outputBytes;
+
+    public PhaseMetric add(final PhaseMetric other) {
+        this.count += other.count;
+        this.wallNanos += other.wallNanos;
+        this.callerCpuNanos += other.callerCpuNanos;
+        this.callerAllocatedBytes += other.callerAllocatedBytes;
+        this.outputBytes += other.outputBytes;
+        return this;
+    }
+
+    public PhaseMetric copy() {
+        return new PhaseMetric()
+                .setPhase(phase)
+                .setName(name)
+                .setTarget(target)
+                .add(this);
+    }
+}
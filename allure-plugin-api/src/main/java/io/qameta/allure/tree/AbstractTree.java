@@ -17,6 +17,10 @@ package io.qameta.allure.tree;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -27,6 +31,11 @@ import java.util.stream.Stream;
  */
 public abstract class AbstractTree<T, S extends TreeGroup, U extends TreeLeaf> implements Tree<T> {
 
+    /**
+     * The minimum number of items per worker for parallel tree building.
+     */
+    private static final int MIN_CHUNK_SIZE = 1000;
+
     protected final S root;
 
     private final TreeClassifier<T> treeClassifier;
@@ -45,13 +54,51 @@ public abstract class AbstractTree<T, S extends TreeGroup, U extends TreeLeaf> i
 
     @Override
     public void add(final T item) {
-        getEndNodes(item, root, treeClassifier.classify(item), 0)
+        add(root, item);
+    }
+
+    /**
+     * Adds all the items to the tree. Large inputs are split into contiguous chunks, each
+     * chunk is classified into a private subtree in parallel, and the subtrees are merged
+     * in chunk order. The result is the same as adding items one by one.
+     *
+     * @param items the items to add.
+     */
+    @Override
+    public void addAll(final List<? extends T> items) {
+        final int chunks = Math.min(getParallelism(), items.size() / MIN_CHUNK_SIZE);
+        final Optional<S> detached = createDetachedRoot();
+        if (chunks < 2 || !detached.isPresent()) {
+            items.forEach(this::add);
+            return;
+        }
+        final int chunkSize = (items.size() + chunks - 1) / chunks;
+        final List<S> subtrees = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final S subtree = createDetachedRoot().orElseThrow(IllegalStateException::new);
+                    final int to = Math.min(items.size(), (chunk + 1) * chunkSize);
+                    items.subList(chunk * chunkSize, to).forEach(item -> add(subtree, item));
+                    return subtree;
+                })
+                .collect(Collectors.toList());
+        subtrees.forEach(subtree -> TreeUtils.mergeGroups(root, subtree, getRootType()));
+    }
+
+    private void add(final S parent, final T item) {
+        getEndNodes(item, parent, treeClassifier.classify(item), 0)
                 .forEach(node -> {
                     final TreeLeaf leafNode = leafFactory.create(node, item);
                     node.addChild(leafNode);
                 });
     }
 
+    private static int getParallelism() {
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
     protected Stream<S> getEndNodes(final T item, final S node,
                                     final List<TreeLayer> classifiers,
                                     final int index) {
@@ -90,4 +137,15 @@ public abstract class AbstractTree<T, S extends TreeGroup, U extends TreeLeaf> i
 
     protected abstract Class<S> getRootType();
 
+    /**
+     * Creates an empty group that is indistinguishable from the root of this tree,
+     * so groups and leaves created under it are the same as ones created under the root.
+     * Trees that can not provide such a group are always built sequentially.
+     *
+     * @return the detached copy of the root, or empty if not supported.
+     */
+    protected Optional<S> createDetachedRoot() {
+        return Optional.empty();
+    }
+
 }
@@ -17,6 +17,8 @@ package io.qameta.allure.tree;
 
 import io.qameta.allure.entity.TestResult;
 
+import java.util.Optional;
+
 import static io.qameta.allure.tree.TreeUtils.createGroupUid;
 
 /**
@@ -43,4 +45,9 @@ public class TestResultTree extends AbstractTree<TestResult, TestResultTreeGroup
     protected Class<TestResultTreeGroup> getRootType() {
         return TestResultTreeGroup.class;
     }
+
+    @Override
+    protected Optional<TestResultTreeGroup> createDetachedRoot() {
+        return Optional.of(new TestResultTreeGroup(root.getUid(), root.getName()));
+    }
 }
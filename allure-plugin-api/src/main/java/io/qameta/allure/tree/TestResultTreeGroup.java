@@ -15,6 +15,9 @@
  */
 package io.qameta.allure.tree;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * @author charlie (Dmitry Baev).
  */
@@ -22,7 +25,9 @@ public class TestResultTreeGroup extends DefaultTreeGroup {
 
     private String uid;
 
-    public TestResultTreeGroup(final String uid, final String name) {
+    @JsonCreator
+    public TestResultTreeGroup(@JsonProperty("uid") final String uid,
+                               @JsonProperty("name") final String name) {
         super(name);
         this.uid = uid;
     }
@@ -15,6 +15,9 @@
  */
 package io.qameta.allure.tree;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import io.qameta.allure.entity.Status;
 import io.qameta.allure.entity.TestResult;
 import io.qameta.allure.entity.Time;
@@ -64,6 +67,42 @@ public class TestResultTreeLeaf extends DefaultTreeLeaf {
         this.parameters = testResult.getParameterValues();
         this.tags = testResult.getExtraBlock("tags");
     }
+
+    /**
+     * Creates the leaf read from partial results.
+     *
+     * @since 2.33
+     */
+    @JsonCreator
+    @SuppressWarnings("ParameterNumber")
+    /* default */ TestResultTreeLeaf(@JsonProperty("name") final String name,
+                                     @JsonProperty("uid") final String uid,
+                                     @JsonProperty("parentUid") final String parentUid,
+                                     @JsonProperty("status") final Status status,
+                                     @JsonProperty("time") final Time time,
+                                     @JsonProperty("flaky") final boolean flaky,
+                                     @JsonProperty("newFailed") final boolean newFailed,
+                                     @JsonProperty("newPassed") final boolean newPassed,
+                                     @JsonProperty("newBroken") final boolean newBroken,
+                                     @JsonProperty("retriesCount") final int retriesCount,
+                                     @JsonProperty("retriesStatusChange") final boolean retriesStatusChange,
+                                     @JsonProperty("parameters") final List<String> parameters,
+                                     @JsonProperty("tags") final Set<String> tags) {
+        super(name);
+        this.uid = uid;
+        this.parentUid = parentUid;
+        this.status = status;
+        this.time = time;
+        this.flaky = flaky;
+        this.newFailed = newFailed;
+        this.newPassed = newPassed;
+        this.newBroken = newBroken;
+        this.retriesCount = retriesCount;
+        this.retriesStatusChange = retriesStatusChange;
+        this.parameters = parameters;
+        this.tags = tags;
+    }
+
     public String getParentUid() {
         return parentUid;
     }
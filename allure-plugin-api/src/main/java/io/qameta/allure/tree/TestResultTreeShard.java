@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.tree;
+
+import io.qameta.allure.entity.GroupTime;
+import io.qameta.allure.entity.Statistic;
+
+/**
+ * Top-level tree group which children are stored in a separate shard file.
+ * Contains precalculated group statistic and time, so the group can be displayed
+ * before the shard is loaded.
+ */
+public class TestResultTreeShard implements TreeNode {
+
+    private final String uid;
+    private final String name;
+    private final String shard;
+    private final Statistic statistic;
+    private final GroupTime time;
+
+    public TestResultTreeShard(final TestResultTreeGroup group, final String shard) {
+        this.uid = group.getUid();
+        this.name = group.getName();
+        this.shard = shard;
+        this.statistic = TreeUtils.calculateStatisticByLeafs(group);
+        this.time = TreeUtils.calculateGroupTimeByLeafs(group);
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public String getShard() {
+        return shard;
+    }
+
+    public Statistic getStatistic() {
+        return statistic;
+    }
+
+    public GroupTime getTime() {
+        return time;
+    }
+}
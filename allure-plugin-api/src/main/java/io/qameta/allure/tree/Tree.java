@@ -15,6 +15,8 @@
  */
 package io.qameta.allure.tree;
 
+import java.util.List;
+
 /**
  * @param <T> the type of tree item.
  * @author charlie (Dmitry Baev).
@@ -23,4 +25,8 @@ public interface Tree<T> extends TreeGroup {
 
     void add(T item);
 
+    default void addAll(final List<? extends T> items) {
+        items.forEach(this::add);
+    }
+
 }
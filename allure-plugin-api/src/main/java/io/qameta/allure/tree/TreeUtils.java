@@ -15,6 +15,7 @@
  */
 package io.qameta.allure.tree;
 
+import io.qameta.allure.entity.GroupTime;
 import io.qameta.allure.entity.LabelName;
 import io.qameta.allure.entity.Statistic;
 import io.qameta.allure.entity.TestResult;
@@ -22,7 +23,10 @@ import io.qameta.allure.entity.TestResult;
 import javax.xml.bind.DatatypeConverter;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +49,37 @@ public final class TreeUtils {
         return DatatypeConverter.printHexBinary(md.digest()).toLowerCase();
     }
 
+    /**
+     * Moves children of source group to target group. Groups of given type with the same
+     * name are merged recursively, other children are appended in their order.
+     *
+     * @param target    the group to merge to.
+     * @param source    the group to merge.
+     * @param groupType the type of groups to merge.
+     * @param <S>       the type of groups to merge.
+     * @since 2.33
+     */
+    public static <S extends TreeGroup> void mergeGroups(final TreeGroup target,
+                                                         final TreeGroup source,
+                                                         final Class<S> groupType) {
+        final Map<String, S> groups = new HashMap<>();
+        target.getChildren().stream()
+                .filter(groupType::isInstance)
+                .map(groupType::cast)
+                .forEach(group -> groups.putIfAbsent(group.getName(), group));
+        for (TreeNode child : new ArrayList<>(source.getChildren())) {
+            final S existing = groupType.isInstance(child) ? groups.get(child.getName()) : null;
+            if (Objects.isNull(existing)) {
+                if (groupType.isInstance(child)) {
+                    groups.put(child.getName(), groupType.cast(child));
+                }
+                target.addChild(child);
+            } else {
+                mergeGroups(existing, groupType.cast(child), groupType);
+            }
+        }
+    }
+
     public static List<TreeLayer> groupByLabels(final TestResult testResult,
                                                 final LabelName... labelNames) {
         return Stream.of(labelNames)
@@ -73,6 +108,18 @@ public final class TreeUtils {
                 );
     }
 
+    public static GroupTime calculateGroupTimeByLeafs(final TestResultTreeGroup group) {
+        final GroupTime time = new GroupTime();
+        group.getChildren().forEach(child -> {
+            if (child instanceof TestResultTreeGroup) {
+                time.merge(calculateGroupTimeByLeafs((TestResultTreeGroup) child));
+            } else if (child instanceof TestResultTreeLeaf) {
+                time.update(((TestResultTreeLeaf) child).getTime());
+            }
+        });
+        return time;
+    }
+
     public static Statistic updateStatisticRecursive(final Statistic statistic, final TreeNode treeNode) {
         if (treeNode instanceof TestResultTreeGroup) {
             statistic.merge(calculateStatisticByLeafs((TestResultTreeGroup) treeNode));
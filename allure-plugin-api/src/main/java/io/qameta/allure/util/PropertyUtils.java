@@ -18,20 +18,49 @@ package io.qameta.allure.util;
 import io.qameta.allure.exception.PropertyNotFoundException;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Utility methods for using properties.
  */
 public final class PropertyUtils {
 
+    private static final AtomicReference<Map<String, String>> ENVIRONMENT = new AtomicReference<>();
+
     private PropertyUtils() {
     }
 
+    /**
+     * Returns the environment used to resolve properties, that is the environment
+     * of the process unless overridden by {@link #setEnvironment(Map)}.
+     *
+     * @return the environment variables.
+     * @since 2.33
+     */
+    public static Map<String, String> getEnvironment() {
+        final Map<String, String> environment = ENVIRONMENT.get();
+        return Objects.isNull(environment) ? System.getenv() : environment;
+    }
+
+    /**
+     * Overrides the environment of the process, for example with the environment
+     * of the client a daemon job is run for. The override is global, so jobs
+     * using different environments should not run concurrently.
+     *
+     * @param environment the environment variables, or null to use the process environment.
+     * @since 2.33
+     */
+    public static void setEnvironment(final Map<String, String> environment) {
+        ENVIRONMENT.set(environment);
+    }
+
     public static Optional<String> getProperty(final String key) {
         final Properties properties = new Properties();
-        properties.putAll(System.getenv());
+        properties.putAll(getEnvironment());
         return Optional.ofNullable(properties.getProperty(key)).filter(StringUtils::isNotBlank);
     }
 
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.concurrent;
+
+import io.qameta.allure.profiling.GenerationMetrics;
+import io.qameta.allure.profiling.MetricsSpan;
+import io.qameta.allure.profiling.PhaseMetric;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ReportExecutorsTest {
+
+    private final ReportExecutors executors = new ReportExecutors(2, 3);
+
+    @AfterEach
+    void tearDown() {
+        executors.shutdown();
+    }
+
+    @Test
+    void shouldMapItemsInOrderWithBoundedConcurrency() {
+        final List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final List<Integer> results = executors.mapIo(items, item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return item * 2;
+        });
+
+        assertThat(results)
+                .containsExactlyElementsOf(items.stream().map(item -> item * 2).collect(Collectors.toList()));
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void shouldRunNestedIoTasksInline() {
+        final List<Integer> outer = new ArrayList<>();
+        outer.add(1);
+        outer.add(2);
+
+        final List<List<Integer>> results = executors.mapIo(
+                outer, item -> executors.mapIo(outer, inner -> item * inner)
+        );
+
+        assertThat(results).containsExactly(outer, Arrays.asList(2, 4));
+    }
+
+    @Test
+    void shouldPropagateIoFailures() {
+        final List<Integer> items = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> executors.forEachIo(items, item -> {
+            if (item == 7) {
+                throw new IllegalArgumentException("broken item");
+            }
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("broken item");
+    }
+
+    @Test
+    void shouldRunParallelStreamsInCpuPool() {
+        final List<Integer> parallelism = executors.callCpu(() -> IntStream.range(0, 100)
+                .parallel()
+                .mapToObj(item -> ForkJoinTask.getPool())
+                .map(ForkJoinPool::getParallelism)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        assertThat(parallelism).containsExactly(2);
+        assertThat(executors.callCpu(() -> executors.callCpu(() -> ForkJoinTask.getPool())))
+                .isSameAs(executors.getCpuExecutor());
+    }
+
+    @Test
+    void shouldAddTaskUsageToSubmittingSpan() {
+        final int size = 16 * 1024 * 1024;
+        final GenerationMetrics metrics = new GenerationMetrics(true);
+        try (MetricsSpan ignored = metrics.start("test", "outer")) {
+            try (MetricsSpan inner = metrics.start("test", "inner")) {
+                assertThat(executors.callCpu(() -> new byte[size])).hasSize(size);
+            }
+        }
+
+        assertThat(metrics.getMetrics())
+                .extracting(PhaseMetric::getName, metric -> metric.getCallerAllocatedBytes() >= size)
+                .containsExactlyInAnyOrder(tuple("outer", true), tuple("inner", true));
+    }
+
+    @Test
+    void shouldRejectNonPositiveSizes() {
+        assertThatThrownBy(() -> new ReportExecutors(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
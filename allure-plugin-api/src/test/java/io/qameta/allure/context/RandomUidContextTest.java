@@ -16,7 +16,16 @@
 package io.qameta.allure.context;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,4 +53,39 @@ class RandomUidContextTest {
         assertThat(second)
                 .isNotBlank();
     }
+
+    @Test
+    void shouldGenerateDeterministicValues(@TempDir final Path temp) throws IOException {
+        final Path first = createResults(temp.resolve("first"));
+        final Path second = createResults(temp.resolve("second"));
+
+        final Map<String, List<String>> uids = getUids(
+                new RandomUidContext(true), first, "a.json", "b.json", "nested/a.json", "c.json"
+        );
+        assertThat(uids.values().stream().flatMap(List::stream))
+                .hasSize(8)
+                .doesNotHaveDuplicates();
+        assertThat(getUids(new RandomUidContext(true), second, "c.json", "nested/a.json", "b.json", "a.json"))
+                .isEqualTo(uids);
+    }
+
+    private static Path createResults(final Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("nested"));
+        Files.write(directory.resolve("a.json"), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("b.json"), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("nested/a.json"), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("c.json"), "c".getBytes(StandardCharsets.UTF_8));
+        return directory;
+    }
+
+    private static Map<String, List<String>> getUids(final RandomUidContext context,
+                                                     final Path directory,
+                                                     final String... fileNames) {
+        final Map<String, List<String>> uids = new HashMap<>();
+        for (String fileName : fileNames) {
+            final Supplier<String> generator = context.forFile(directory, directory.resolve(fileName)).getValue();
+            uids.put(fileName, Arrays.asList(generator.get(), generator.get()));
+        }
+        return uids;
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.entity.Statistic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistorySnapshotTest {
+
+    @Test
+    void shouldBeEmptyIfNoHistory(@TempDir final Path resultsDirectory) throws Exception {
+        final HistorySnapshot snapshot = HistorySnapshot.open(resultsDirectory, new JacksonContext().getValue());
+
+        assertThat(snapshot.isEmpty()).isTrue();
+        assertThat(snapshot.getItems("history-trend.json", Statistic.class)).isEmpty();
+    }
+
+    @Test
+    void shouldReadItemsOnce(@TempDir final Path resultsDirectory) throws Exception {
+        final Path history = Files.createDirectories(resultsDirectory.resolve("history"));
+        Files.write(
+                history.resolve("trend.json"),
+                "[{\"passed\": 1}, null, {\"failed\": 2}]".getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+                history.resolve("map.json"),
+                "{\"a\": {\"broken\": 3}}".getBytes(StandardCharsets.UTF_8)
+        );
+
+        final HistorySnapshot snapshot = HistorySnapshot.open(resultsDirectory, new JacksonContext().getValue());
+        final List<Statistic> items = snapshot.getItems("trend.json", Statistic.class);
+
+        assertThat(items)
+                .extracting(Statistic::getTotal)
+                .containsExactly(1L, 2L);
+        assertThat(snapshot.getItems("trend.json", Statistic.class))
+                .isSameAs(items);
+        assertThat(snapshot.getValue("map.json", new TypeReference<Map<String, Statistic>>() {
+        }))
+                .hasValueSatisfying(value -> assertThat(value.get("a").getBroken()).isEqualTo(3L));
+    }
+
+    @Test
+    void shouldSkipInvalidItems(@TempDir final Path resultsDirectory) throws Exception {
+        final Path history = Files.createDirectories(resultsDirectory.resolve("history"));
+        Files.write(
+                history.resolve("trend.json"),
+                ("[{\"passed\": 1}, \"oops\", [1], {\"passed\": 1, \"failed\": {\"x\": [1, {}]}, \"broken\": 5}, "
+                 + "{\"failed\": 2}]").getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+                history.resolve("retries.json"),
+                "{\"a\": {\"broken\": 3}, \"b\": \"oops\"}".getBytes(StandardCharsets.UTF_8)
+        );
+
+        final HistorySnapshot snapshot = HistorySnapshot.open(resultsDirectory, new JacksonContext().getValue());
+
+        assertThat(snapshot.getItems("trend.json", Statistic.class))
+                .extracting(Statistic::getTotal)
+                .containsExactly(1L, 2L);
+        assertThat(snapshot.getItems("retries.json", Statistic.class))
+                .extracting(Statistic::getBroken)
+                .containsExactly(3L);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2016-2024 Qameta Software Inc
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.qameta.allure.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.qameta.allure.profiling.JfrEventType.AGGREGATE;
+import static io.qameta.allure.profiling.JfrEventType.AGGREGATOR_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.BYTES_FIELD;
+import static io.qameta.allure.profiling.JfrEventType.LAUNCHES_FIELD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventTypeTest {
+
+    @Test
+    void shouldNotRecordWithoutRecording() {
+        try (JfrEvent event = JfrEventType.STORAGE_WRITE.begin()) {
+            assertThat(event.isRecording()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldRecordEvents(@TempDir final Path temp) throws Exception {
+        final Path file = temp.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AGGREGATE.getName());
+            recording.start();
+            try (JfrEvent event = AGGREGATE.begin()) {
+                assertThat(event.isRecording()).isTrue();
+                event.set(AGGREGATOR_FIELD, "summary")
+                        .set(LAUNCHES_FIELD, 2L)
+                        .set(BYTES_FIELD, 42L);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+                .filteredOn(event -> AGGREGATE.getName().equals(event.getEventType().getName()))
+                .hasSize(1)
+                .allSatisfy(event -> {
+                    assertThat(event.getString(AGGREGATOR_FIELD)).isEqualTo("summary");
+                    assertThat(event.getLong(LAUNCHES_FIELD)).isEqualTo(2L);
+                    assertThat(event.getLong(BYTES_FIELD)).isEqualTo(42L);
+                });
+    }
+}
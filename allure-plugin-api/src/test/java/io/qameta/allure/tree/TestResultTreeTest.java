@@ -19,7 +19,9 @@ import io.qameta.allure.entity.Label;
 import io.qameta.allure.entity.TestResult;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static io.qameta.allure.entity.LabelName.FEATURE;
 import static io.qameta.allure.entity.LabelName.STORY;
@@ -123,6 +125,45 @@ class TestResultTreeTest {
                 .containsExactlyInAnyOrder("second");
     }
 
+    @Test
+    void shouldBuildSameTreeInParallel() {
+        final List<TestResult> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            results.add(new TestResult()
+                    .setUid("uid-" + i)
+                    .setName("test-" + i)
+                    .setLabels(asList(feature("f" + i % 7), story("s" + i % 13), story("s" + i % 5))));
+        }
+
+        final Tree<TestResult> sequential = new TestResultTree(
+                "behaviors",
+                testResult -> groupByLabels(testResult, FEATURE, STORY)
+        );
+        results.forEach(sequential::add);
+
+        final Tree<TestResult> parallel = new TestResultTree(
+                "behaviors",
+                testResult -> groupByLabels(testResult, FEATURE, STORY)
+        );
+        parallel.addAll(results);
+
+        assertThat(flatten(parallel, new ArrayList<>()))
+                .containsExactlyElementsOf(flatten(sequential, new ArrayList<>()));
+    }
+
+    private List<String> flatten(final TreeGroup group, final List<String> collector) {
+        group.getChildren().forEach(child -> {
+            if (child instanceof TestResultTreeGroup) {
+                collector.add("group:" + ((TestResultTreeGroup) child).getUid());
+                flatten((TestResultTreeGroup) child, collector);
+            } else if (child instanceof TestResultTreeLeaf) {
+                final TestResultTreeLeaf leaf = (TestResultTreeLeaf) child;
+                collector.add("leaf:" + leaf.getParentUid() + "/" + leaf.getUid());
+            }
+        });
+        return collector;
+    }
+
     private Label feature(final String value) {
         return new Label().setName("feature").setValue(value);
     }
@@ -17,6 +17,7 @@ package io.qameta.allure.behaviors;
 
 import io.qameta.allure.CommonCsvExportAggregator2;
 import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.CommonTreeAggregator2;
 import io.qameta.allure.CompositeAggregator2;
 import io.qameta.allure.Constants;
 import io.qameta.allure.core.LaunchResults;
@@ -81,11 +82,11 @@ public class BehaviorsPlugin extends CompositeAggregator2 {
         );
         // @formatter:on
 
-        launchResults.stream()
+        behaviors.addAll(launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
                 .sorted(comparingByTimeAsc())
-                .forEach(behaviors::add);
+                .collect(Collectors.toList()));
         return behaviors;
     }
 
@@ -96,7 +97,7 @@ public class BehaviorsPlugin extends CompositeAggregator2 {
     /**
      * Generates tree data.
      */
-    private static class JsonAggregator extends CommonJsonAggregator2 {
+    private static class JsonAggregator extends CommonTreeAggregator2 {
 
         JsonAggregator() {
             super(JSON_FILE_NAME);
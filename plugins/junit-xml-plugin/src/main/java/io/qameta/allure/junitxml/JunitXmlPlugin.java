@@ -125,7 +125,9 @@ public class JunitXmlPlugin implements Reader {
     @Override
     public void readResults(final Configuration configuration, final ResultsVisitor visitor, final Path directory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        listResults(directory).forEach(result -> parseRootElement(directory, result, context, visitor));
+        listResults(directory).forEach(result -> parseRootElement(
+                directory, result, context.forFile(directory, result), visitor
+        ));
     }
 
     private void parseRootElement(final Path resultsDirectory, final Path parsedFile,
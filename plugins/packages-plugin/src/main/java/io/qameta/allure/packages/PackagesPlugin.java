@@ -15,7 +15,7 @@
  */
 package io.qameta.allure.packages;
 
-import io.qameta.allure.CommonJsonAggregator2;
+import io.qameta.allure.CommonTreeAggregator2;
 import io.qameta.allure.Constants;
 import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.entity.LabelName;
@@ -41,7 +41,7 @@ import static io.qameta.allure.entity.TestResult.comparingByTimeAsc;
  *
  * @since 2.0
  */
-public class PackagesPlugin extends CommonJsonAggregator2 {
+public class PackagesPlugin extends CommonTreeAggregator2 {
 
     public PackagesPlugin() {
         super(Constants.DATA_DIR, "packages.json");
@@ -57,11 +57,11 @@ public class PackagesPlugin extends CommonJsonAggregator2 {
                 this::createLeaf
         );
 
-        launchResults.stream()
+        packages.addAll(launchResults.stream()
                 .map(LaunchResults::getResults)
                 .flatMap(Collection::stream)
                 .sorted(comparingByTimeAsc())
-                .forEach(packages::add);
+                .collect(Collectors.toList()));
 
         return collapseGroupsWithOnlyOneChild(packages);
     }
@@ -64,6 +64,8 @@ public class TrxPlugin implements Reader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TrxPlugin.class);
 
+    private static final String CACHE_KEY = "trx;1";
+
     private static final String TEST_RUN_ELEMENT_NAME = "TestRun";
 
     public static final String TRX_RESULTS_FORMAT = "trx";
@@ -98,7 +100,10 @@ public class TrxPlugin implements Reader {
                             final ResultsVisitor visitor,
                             final Path directory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        listResults(directory).forEach(result -> parseTestRun(result, context, visitor));
+        listResults(directory).forEach(result -> visitor.visitCachedResults(result, CACHE_KEY, fileVisitor -> {
+            parseTestRun(result, context.forFile(directory, result), fileVisitor);
+            return null;
+        }));
     }
 
     protected void parseTestRun(final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {
@@ -23,7 +23,6 @@ import io.qameta.allure.entity.Time;
 
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * The collection of Test result utils methods.
@@ -43,9 +42,9 @@ public final class ResultsUtils {
     private ResultsUtils() {
     }
 
-    public static TestResult getTestResult(final Map<String, Object> props) {
+    public static TestResult getTestResult(final Map<String, Object> props, final String uid) {
         return new TestResult()
-                .setUid(UUID.randomUUID().toString())
+                .setUid(uid)
                 .setName(getTestName(props))
                 .setStatus(getTestStatus(props))
                 .setFullName(getFullName(props))
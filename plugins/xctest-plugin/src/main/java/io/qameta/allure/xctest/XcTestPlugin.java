@@ -16,6 +16,7 @@
 package io.qameta.allure.xctest;
 
 import io.qameta.allure.Reader;
+import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.Status;
@@ -72,45 +73,52 @@ public class XcTestPlugin implements Reader {
     public void readResults(final Configuration configuration,
                             final ResultsVisitor visitor,
                             final Path directory) {
+        final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
         final List<Path> testSummaries = listSummaries(directory);
-        testSummaries.forEach(summaryPath -> readSummaries(directory, summaryPath, visitor));
+        testSummaries.forEach(summaryPath -> readSummaries(
+                directory, summaryPath, context.forFile(directory, summaryPath), visitor
+        ));
     }
 
-    private void readSummaries(final Path directory, final Path testSummariesPath, final ResultsVisitor visitor) {
+    private void readSummaries(final Path directory, final Path testSummariesPath,
+                               final RandomUidContext context, final ResultsVisitor visitor) {
         try {
             LOGGER.info("Parse file {}", testSummariesPath);
             final Map<String, Object> loaded = Plist.load(testSummariesPath.toFile());
             final List<?> summaries = asList(loaded.getOrDefault(TESTABLE_SUMMARIES, emptyList()));
-            summaries.forEach(summary -> parseSummary(directory, summary, visitor));
+            summaries.forEach(summary -> parseSummary(directory, summary, context, visitor));
         } catch (XmlParseException | IOException e) {
             LOGGER.error("Could not parse file {}: {}", testSummariesPath, e);
         }
     }
 
-    private void parseSummary(final Path directory, final Object summary, final ResultsVisitor visitor) {
+    private void parseSummary(final Path directory, final Object summary,
+                              final RandomUidContext context, final ResultsVisitor visitor) {
         final Map<String, Object> props = asMap(summary);
         final String name = ResultsUtils.getTestName(props);
         final List<Object> tests = asList(props.getOrDefault(TESTS, emptyList()));
-        tests.forEach(test -> parseTestSuite(name, test, directory, visitor));
+        tests.forEach(test -> parseTestSuite(name, test, directory, context, visitor));
     }
 
     @SuppressWarnings("unchecked")
-    private void parseTestSuite(final String parentName, final Object testSuite,
-                                final Path directory, final ResultsVisitor visitor) {
+    private void parseTestSuite(final String parentName, final Object testSuite, final Path directory,
+                                final RandomUidContext context, final ResultsVisitor visitor) {
         final Map<String, Object> props = asMap(testSuite);
         if (ResultsUtils.isTest(props)) {
-            parseTest(parentName, testSuite, directory, visitor);
+            parseTest(parentName, testSuite, directory, context, visitor);
             return;
         }
 
         final List<?> subTests = asList(props.getOrDefault(SUB_TESTS, emptyList()));
-        subTests.forEach(subTest -> parseTestSuite(ResultsUtils.getTestName(props), subTest, directory, visitor));
+        subTests.forEach(subTest -> parseTestSuite(
+                ResultsUtils.getTestName(props), subTest, directory, context, visitor
+        ));
     }
 
-    private void parseTest(final String suiteName, final Object test,
-                           final Path directory, final ResultsVisitor visitor) {
+    private void parseTest(final String suiteName, final Object test, final Path directory,
+                           final RandomUidContext context, final ResultsVisitor visitor) {
         final Map<String, Object> props = asMap(test);
-        final TestResult result = ResultsUtils.getTestResult(props);
+        final TestResult result = ResultsUtils.getTestResult(props, context.getValue().get());
         result.addLabelIfNotExists(RESULT_FORMAT, XCTEST_RESULTS_FORMAT);
         result.addLabelIfNotExists(SUITE, suiteName);
 
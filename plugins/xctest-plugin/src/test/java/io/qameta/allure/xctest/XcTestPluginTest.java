@@ -16,6 +16,7 @@
 package io.qameta.allure.xctest;
 
 import io.qameta.allure.context.JacksonContext;
+import io.qameta.allure.context.RandomUidContext;
 import io.qameta.allure.core.Configuration;
 import io.qameta.allure.core.ResultsVisitor;
 import io.qameta.allure.entity.TestResult;
@@ -47,6 +48,7 @@ class XcTestPluginTest {
     void setUp(@TempDir final Path resultsDirectory) {
         configuration = mock(Configuration.class);
         when(configuration.requireContext(JacksonContext.class)).thenReturn(new JacksonContext());
+        when(configuration.requireContext(RandomUidContext.class)).thenReturn(new RandomUidContext());
         visitor = mock(ResultsVisitor.class);
         this.resultsDirectory = resultsDirectory;
     }
@@ -87,7 +87,7 @@ public class XunitXmlPlugin implements Reader {
                             final ResultsVisitor visitor,
                             final Path directory) {
         final RandomUidContext context = configuration.requireContext(RandomUidContext.class);
-        listResults(directory).forEach(result -> parseAssemblies(result, context, visitor));
+        listResults(directory).forEach(result -> parseAssemblies(result, context.forFile(directory, result), visitor));
     }
 
     private void parseAssemblies(final Path parsedFile, final RandomUidContext context, final ResultsVisitor visitor) {